@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia;
+
+import com.mongodb.MongoClient;
+import com.mongodb.client.MongoCollection;
+import org.mongodb.morphia.benchmarks.model.Flat;
+import org.mongodb.morphia.benchmarks.model.Indexed;
+import org.mongodb.morphia.mapping.MappedClass;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Times working out the indexes of an entity.  It lives in this package to reach the IndexHelper, and hands it a collection which only
+ * counts the indexes it is asked to create.
+ */
+@State(Scope.Thread)
+public class IndexBenchmarks {
+    private final int[] created = new int[1];
+    private MongoClient client;
+    private IndexHelper helper;
+    private MappedClass mc;
+    private MongoCollection collection;
+
+    /**
+     * Creates the IndexHelper with a database which is never contacted
+     */
+    @Setup
+    public void setUp() {
+        client = new MongoClient();
+        final Morphia morphia = new Morphia().mapPackage(Flat.class.getPackage().getName());
+        helper = new IndexHelper(morphia.getMapper(), client.getDatabase("benchmarks"));
+        mc = morphia.getMapper().getMappedClass(Indexed.class);
+        collection = (MongoCollection) Proxy.newProxyInstance(
+            MongoCollection.class.getClassLoader(), new Class[]{MongoCollection.class}, new InvocationHandler() {
+                @Override
+                public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                    created[0]++;
+                    return null;
+                }
+            });
+    }
+
+    /**
+     * Closes the client
+     */
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    /**
+     * @return the number of indexes created so far
+     */
+    @Benchmark
+    public int createIndexes() {
+        helper.createIndex(collection, mc, false);
+        return created[0];
+    }
+}
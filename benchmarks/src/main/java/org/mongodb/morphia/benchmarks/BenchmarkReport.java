@@ -0,0 +1,174 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.benchmarks;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.lang.String.format;
+
+/**
+ * Summarizes the JSON results of a JMH run, made with {@code -prof gc}, as the time and the memory allocated per operation of each
+ * benchmark.  If the results of an earlier run are given as the baseline, each result is compared with it and those which got slower, or
+ * allocate more, by more than the threshold are marked as regressions.
+ * <p>
+ * The threshold, in percent, is read from the {@code benchmark.threshold} system property and is 10 by default.
+ */
+public final class BenchmarkReport {
+    private static final double PERCENT = 100;
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private final double threshold = Double.parseDouble(System.getProperty("benchmark.threshold", "10"));
+
+    private BenchmarkReport() {
+    }
+
+    /**
+     * Writes the report.
+     *
+     * @param args the JMH results file, the report file to write, and optionally the JMH results file of an earlier run to compare with
+     * @throws IOException if the results can not be read or the report written
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkReport <results file> <report file> [<baseline results file>]");
+            System.exit(1);
+        }
+        final Map<String, Result> results = load(new File(args[0]));
+        final Map<String, Result> baseline = args.length > 2 ? load(new File(args[2])) : null;
+
+        final BenchmarkReport report = new BenchmarkReport();
+        final PrintStream out = new PrintStream(new File(args[1]), "UTF-8");
+        try {
+            for (final Map.Entry<String, Result> entry : results.entrySet()) {
+                final Result base = baseline != null ? baseline.get(entry.getKey()) : null;
+                final String line = report.describe(entry.getKey(), entry.getValue(), base);
+                out.println(line);
+                System.out.println(line);
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    private static Map<String, Result> load(final File file) throws IOException {
+        final StringBuilder json = new StringBuilder("{\"results\": ");
+        final Reader in = new InputStreamReader(new FileInputStream(file), "UTF-8");
+        try {
+            final char[] buffer = new char[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                json.append(buffer, 0, read);
+            }
+        } finally {
+            in.close();
+        }
+        json.append('}');
+
+        final Map<String, Result> results = new TreeMap<String, Result>();
+        for (final BsonValue value : BsonDocument.parse(json.toString()).getArray("results")) {
+            final BsonDocument benchmark = value.asDocument();
+            final BsonDocument primary = benchmark.getDocument("primaryMetric");
+            Double bytes = null;
+            if (benchmark.containsKey("secondaryMetrics")) {
+                // older versions of JMH prefix the names of the profiler's metrics with a middle dot
+                for (final Map.Entry<String, BsonValue> metric : benchmark.getDocument("secondaryMetrics").entrySet()) {
+                    if (metric.getKey().endsWith(ALLOCATION)) {
+                        bytes = number(metric.getValue().asDocument().get("score"));
+                    }
+                }
+            }
+            results.put(name(benchmark), new Result(number(primary.get("score")), number(primary.get("scoreError")),
+                                                    primary.getString("scoreUnit").getValue(), bytes));
+        }
+        return results;
+    }
+
+    private static String name(final BsonDocument benchmark) {
+        String name = benchmark.getString("benchmark").getValue();
+        name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+        if (benchmark.containsKey("params")) {
+            final StringBuilder params = new StringBuilder();
+            for (final Map.Entry<String, BsonValue> param : benchmark.getDocument("params").entrySet()) {
+                params.append(params.length() == 0 ? "[" : ",").append(param.getKey()).append('=')
+                      .append(param.getValue().asString().getValue());
+            }
+            name += params.append(']');
+        }
+        return name;
+    }
+
+    /**
+     * JMH writes the values it could not compute, such as the error of a single measurement, as the string "NaN".
+     */
+    private static double number(final BsonValue value) {
+        return value.isNumber() ? value.asNumber().doubleValue() : Double.parseDouble(value.asString().getValue());
+    }
+
+    private String describe(final String name, final Result result, final Result baseline) {
+        final StringBuilder line = new StringBuilder(format("%-60s %12.1f %s +- %8.1f", name, result.score, result.unit,
+                                                            margin(result)));
+        if (result.bytes != null) {
+            line.append(format(" %10.1f B/op", result.bytes));
+        }
+        if (baseline != null) {
+            final double timeChange = change(baseline.score, result.score);
+            line.append(format("   time %+7.1f%%", timeChange));
+            boolean regression = timeChange > threshold && result.score - margin(result) > baseline.score + margin(baseline);
+            if (result.bytes != null && baseline.bytes != null) {
+                final double bytesChange = change(baseline.bytes, result.bytes);
+                line.append(format("   allocation %+7.1f%%", bytesChange));
+                regression |= bytesChange > threshold;
+            }
+            if (regression) {
+                line.append("   REGRESSION");
+            }
+        }
+        return line.toString();
+    }
+
+    private static double margin(final Result result) {
+        return Double.isNaN(result.error) ? 0 : result.error;
+    }
+
+    private static double change(final double before, final double after) {
+        return before == 0 ? (after == 0 ? 0 : PERCENT) : (after - before) * PERCENT / before;
+    }
+
+    private static final class Result {
+        private final double score;
+        private final double error;
+        private final String unit;
+        private final Double bytes;
+
+        private Result(final double score, final double error, final String unit, final Double bytes) {
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+            this.bytes = bytes;
+        }
+    }
+}
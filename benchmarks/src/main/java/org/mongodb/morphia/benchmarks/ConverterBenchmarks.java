@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.benchmarks;
+
+import org.bson.types.ObjectId;
+import org.mongodb.morphia.Morphia;
+import org.mongodb.morphia.benchmarks.model.Flat;
+import org.mongodb.morphia.converters.Converters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Times encoding and decoding a value with each of the built-in converters.
+ */
+@State(Scope.Thread)
+public class ConverterBenchmarks {
+    private static final Object[] VALUES = {"a string", 42, 42L, 4.2D, 4.2F, (short) 42, (byte) 42, true, 'c', "chars".toCharArray(),
+                                            new Date(), new ObjectId(), Flat.Status.ACTIVE, Locale.CANADA_FRENCH,
+                                            URI.create("http://mongodb.org/"), UUID.randomUUID(), new BigDecimal("42.42"), Flat.class};
+
+    /**
+     * The name of the type of the value to convert
+     */
+    @Param({"String", "Integer", "Long", "Double", "Float", "Short", "Byte", "Boolean", "Character", "charArray", "Date", "ObjectId",
+            "Status", "Locale", "URI", "UUID", "BigDecimal", "Class"})
+    public String type;
+
+    private Converters converters;
+    private Object value;
+    private Class<?> valueType;
+    private Object encoded;
+
+    /**
+     * Finds the value of the type being timed and encodes it once to have a value to decode
+     */
+    @Setup
+    public void setUp() {
+        converters = new Morphia().getMapper().getConverters();
+        for (final Object candidate : VALUES) {
+            final Class<?> candidateType = candidate instanceof Enum ? ((Enum) candidate).getDeclaringClass() : candidate.getClass();
+            if (name(candidateType).equals(type)) {
+                value = candidate;
+                valueType = candidateType;
+            }
+        }
+        if (value == null) {
+            throw new IllegalArgumentException(String.format("Unknown type: %s.  The types are those of %s", type, Arrays.asList(VALUES)));
+        }
+        encoded = converters.encode(value);
+    }
+
+    private static String name(final Class<?> type) {
+        return type.isArray() ? type.getComponentType().getSimpleName() + "Array" : type.getSimpleName();
+    }
+
+    /**
+     * @return the encoded value
+     */
+    @Benchmark
+    public Object encode() {
+        return converters.encode(value);
+    }
+
+    /**
+     * @return the decoded value
+     */
+    @Benchmark
+    public Object decode() {
+        return converters.decode(valueType, encoded, null);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.benchmarks;
+
+import com.mongodb.DBObject;
+import org.mongodb.morphia.Morphia;
+import org.mongodb.morphia.benchmarks.model.Catalog;
+import org.mongodb.morphia.benchmarks.model.Deep;
+import org.mongodb.morphia.benchmarks.model.Drawing;
+import org.mongodb.morphia.benchmarks.model.Flat;
+import org.mongodb.morphia.benchmarks.model.Inventory;
+import org.mongodb.morphia.mapping.Mapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Times converting entities of different shapes to documents and back.
+ */
+@State(Scope.Thread)
+public class MapperBenchmarks {
+    /**
+     * The shape of the entity to convert
+     */
+    @Param({"flat", "deepEmbedded", "polymorphic", "references", "mapsOfLists"})
+    public String shape;
+
+    private Mapper mapper;
+    private Object entity;
+    private Class<?> type;
+    private DBObject document;
+
+    /**
+     * Maps the model and creates the entity, and its document, of the shape being timed
+     */
+    @Setup
+    public void setUp() {
+        mapper = new Morphia().mapPackage(Flat.class.getPackage().getName()).getMapper();
+        if (shape.equals("flat")) {
+            entity = new Flat(42);
+        } else if (shape.equals("deepEmbedded")) {
+            entity = new Deep(4, 3);
+        } else if (shape.equals("polymorphic")) {
+            entity = new Drawing(20);
+        } else if (shape.equals("references")) {
+            entity = new Catalog(50);
+        } else if (shape.equals("mapsOfLists")) {
+            entity = new Inventory(10);
+        } else {
+            throw new IllegalArgumentException("Unknown shape: " + shape);
+        }
+        type = entity.getClass();
+        document = mapper.toDBObject(entity);
+    }
+
+    /**
+     * @return the document of the entity
+     */
+    @Benchmark
+    public Object toDBObject() {
+        return mapper.toDBObject(entity);
+    }
+
+    /**
+     * @return the entity read from its document
+     */
+    @Benchmark
+    public Object fromDBObject() {
+        // the model holds no references to fetch so no Datastore is needed
+        return mapper.fromDBObject(null, type, document, mapper.createEntityCache());
+    }
+}
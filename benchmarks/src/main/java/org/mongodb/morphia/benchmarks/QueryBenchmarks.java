@@ -0,0 +1,97 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.benchmarks;
+
+import com.mongodb.MongoClient;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.Morphia;
+import org.mongodb.morphia.benchmarks.model.Flat;
+import org.mongodb.morphia.query.UpdateOpsImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Times building queries and updates, which needs a Datastore but never contacts the server.
+ */
+@State(Scope.Thread)
+public class QueryBenchmarks {
+    private MongoClient client;
+    private Datastore datastore;
+
+    /**
+     * Creates the Datastore to build the queries and updates with
+     */
+    @Setup
+    public void setUp() {
+        client = new MongoClient();
+        datastore = new Morphia().mapPackage(Flat.class.getPackage().getName()).createDatastore(client, "benchmarks");
+    }
+
+    /**
+     * Closes the client
+     */
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    /**
+     * @return the query document built with the field API
+     */
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public Object fields() {
+        return datastore.createQuery(Flat.class)
+                        .field("name").equal("flat-1")
+                        .field("count").greaterThan(3)
+                        .field("status").in(Arrays.asList(Flat.Status.NEW, Flat.Status.ACTIVE))
+                        .order("-count")
+                        .getQueryObject();
+    }
+
+    /**
+     * @return the query document built with filters
+     */
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public Object filters() {
+        return datastore.createQuery(Flat.class)
+                        .filter("name", "flat-1")
+                        .filter("count >", 3)
+                        .filter("active", true)
+                        .getQueryObject();
+    }
+
+    /**
+     * @return the update document
+     */
+    @Benchmark
+    public Object updateOperations() {
+        return ((UpdateOpsImpl<Flat>) datastore.createUpdateOperations(Flat.class)
+                                               .set("name", "flat-2")
+                                               .inc("count", 2)
+                                               .unset("ratio")
+                                               .setOnInsert("created", new Date(0)))
+            .getOps();
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.benchmarks;
+
+import org.mongodb.morphia.Morphia;
+import org.mongodb.morphia.benchmarks.model.Flat;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Times mapping the model with a new Morphia, as an application does when it starts.
+ */
+public class StartupBenchmarks {
+    /**
+     * @return the Morphia with the model mapped
+     */
+    @Benchmark
+    public Object mapPackage() {
+        return new Morphia().mapPackage(Flat.class.getPackage().getName());
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.benchmarks.model;
+
+import org.bson.types.ObjectId;
+import org.mongodb.morphia.Key;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An entity of references to other entities, held as keys so that they map without a server.
+ */
+@Entity("catalogs")
+public class Catalog {
+    @Id
+    private ObjectId id = new ObjectId();
+    private Key<Flat> featured;
+    private List<Key<Flat>> items = new ArrayList<Key<Flat>>();
+    private Map<String, Key<Flat>> itemsByName = new HashMap<String, Key<Flat>>();
+
+    /**
+     * Creates an empty Catalog for the mapper
+     */
+    public Catalog() {
+    }
+
+    /**
+     * Creates a Catalog referencing some entities
+     *
+     * @param size the number of entities referenced
+     */
+    public Catalog(final int size) {
+        for (int i = 0; i < size; i++) {
+            final Key<Flat> key = new Key<Flat>(Flat.class, "flat", new ObjectId());
+            items.add(key);
+            itemsByName.put("item-" + i, key);
+        }
+        featured = items.get(0);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.benchmarks.model;
+
+import org.bson.types.ObjectId;
+import org.mongodb.morphia.annotations.Embedded;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An entity of documents embedded several levels deep.
+ */
+@Entity("deep")
+public class Deep {
+    @Id
+    private ObjectId id = new ObjectId();
+    private Level root;
+
+    /**
+     * Creates an empty Deep for the mapper
+     */
+    public Deep() {
+    }
+
+    /**
+     * Creates a Deep with each level embedding the same number of levels below it
+     *
+     * @param depth the number of levels
+     * @param width the number of levels embedded in each level
+     */
+    public Deep(final int depth, final int width) {
+        root = new Level(depth, width);
+    }
+
+    /**
+     * A level of embedded documents
+     */
+    @Embedded
+    public static class Level {
+        private String name;
+        private int depth;
+        private List<Level> children = new ArrayList<Level>();
+
+        /**
+         * Creates an empty Level for the mapper
+         */
+        public Level() {
+        }
+
+        Level(final int depth, final int width) {
+            this.depth = depth;
+            name = "level-" + depth;
+            if (depth > 1) {
+                for (int i = 0; i < width; i++) {
+                    children.add(new Level(depth - 1, width));
+                }
+            }
+        }
+    }
+}
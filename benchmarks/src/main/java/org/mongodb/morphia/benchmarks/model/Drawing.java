@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.benchmarks.model;
+
+import org.bson.types.ObjectId;
+import org.mongodb.morphia.annotations.Embedded;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An entity of embedded documents of several classes, which are stored with their class names.
+ */
+@Entity("drawings")
+public class Drawing {
+    @Id
+    private ObjectId id = new ObjectId();
+    private List<Shape> shapes = new ArrayList<Shape>();
+
+    /**
+     * Creates an empty Drawing for the mapper
+     */
+    public Drawing() {
+    }
+
+    /**
+     * Creates a Drawing of circles and squares
+     *
+     * @param size the number of shapes
+     */
+    public Drawing(final int size) {
+        for (int i = 0; i < size; i++) {
+            shapes.add(i % 2 == 0 ? new Circle(i) : new Square(i));
+        }
+    }
+
+    /**
+     * A shape in a drawing
+     */
+    @Embedded
+    public abstract static class Shape {
+        private double x;
+        private double y;
+
+        Shape() {
+        }
+
+        Shape(final double position) {
+            x = position;
+            y = -position;
+        }
+    }
+
+    /**
+     * A circle
+     */
+    public static class Circle extends Shape {
+        private double radius;
+
+        /**
+         * Creates an empty Circle for the mapper
+         */
+        public Circle() {
+        }
+
+        Circle(final double radius) {
+            super(radius);
+            this.radius = radius;
+        }
+    }
+
+    /**
+     * A square
+     */
+    public static class Square extends Shape {
+        private double side;
+
+        /**
+         * Creates an empty Square for the mapper
+         */
+        public Square() {
+        }
+
+        Square(final double side) {
+            super(side);
+            this.side = side;
+        }
+    }
+}
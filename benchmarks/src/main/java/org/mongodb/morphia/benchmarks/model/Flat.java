@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.benchmarks.model;
+
+import org.bson.types.ObjectId;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.Property;
+
+import java.util.Date;
+
+/**
+ * An entity of simple values only.
+ */
+@Entity("flat")
+public class Flat {
+    @Id
+    private ObjectId id = new ObjectId();
+    private String name;
+    @Property("c")
+    private int count;
+    private long total;
+    private double ratio;
+    private boolean active;
+    private Date created;
+    private Status status;
+
+    /**
+     * Creates an empty Flat for the mapper
+     */
+    public Flat() {
+    }
+
+    /**
+     * Creates a Flat with every field set
+     *
+     * @param seed the value the fields are worked out from
+     */
+    public Flat(final int seed) {
+        name = "flat-" + seed;
+        count = seed;
+        total = seed * 1000L;
+        ratio = seed / 7.0;
+        active = seed % 2 == 0;
+        created = new Date(seed);
+        status = Status.values()[seed % Status.values().length];
+    }
+
+    /**
+     * @return the id
+     */
+    public ObjectId getId() {
+        return id;
+    }
+
+    /**
+     * The states of a Flat
+     */
+    public enum Status {
+        NEW,
+        ACTIVE,
+        RETIRED
+    }
+}
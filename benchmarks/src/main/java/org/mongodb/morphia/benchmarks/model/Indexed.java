@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.benchmarks.model;
+
+import org.bson.types.ObjectId;
+import org.mongodb.morphia.annotations.Embedded;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Field;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.Index;
+import org.mongodb.morphia.annotations.IndexOptions;
+import org.mongodb.morphia.annotations.Indexes;
+import org.mongodb.morphia.annotations.Text;
+import org.mongodb.morphia.utils.IndexType;
+
+/**
+ * An entity with indexes declared on the class, on its fields and on the fields of a document it embeds.
+ */
+@Entity("indexed")
+@Indexes({@Index(fields = {@Field("name"), @Field(value = "rank", type = IndexType.DESC)}),
+          @Index(fields = @Field("created"), options = @IndexOptions(expireAfterSeconds = 3600)),
+          @Index(fields = @Field(value = "description", type = IndexType.TEXT))})
+public class Indexed {
+    @Id
+    private ObjectId id;
+    @org.mongodb.morphia.annotations.Indexed(options = @IndexOptions(unique = true))
+    private String name;
+    private int rank;
+    private long created;
+    @Text
+    private String description;
+    private Detail detail;
+
+    /**
+     * A document with indexes of its own
+     */
+    @Embedded
+    public static class Detail {
+        @org.mongodb.morphia.annotations.Indexed
+        private String sku;
+        private String color;
+    }
+}
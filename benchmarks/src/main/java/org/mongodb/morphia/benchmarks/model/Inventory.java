@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.benchmarks.model;
+
+import org.bson.types.ObjectId;
+import org.mongodb.morphia.annotations.Embedded;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An entity of maps of lists, of both values and embedded documents.
+ */
+@Entity("inventories")
+public class Inventory {
+    @Id
+    private ObjectId id = new ObjectId();
+    private Map<String, List<Integer>> counts = new HashMap<String, List<Integer>>();
+    private Map<String, List<Slot>> slots = new HashMap<String, List<Slot>>();
+
+    /**
+     * Creates an empty Inventory for the mapper
+     */
+    public Inventory() {
+    }
+
+    /**
+     * Creates an Inventory with the same number of entries in each map and list
+     *
+     * @param size the number of entries
+     */
+    public Inventory(final int size) {
+        for (int i = 0; i < size; i++) {
+            final List<Integer> values = new ArrayList<Integer>();
+            final List<Slot> slotList = new ArrayList<Slot>();
+            for (int j = 0; j < size; j++) {
+                values.add(i * j);
+                slotList.add(new Slot("slot-" + j, j));
+            }
+            counts.put("key-" + i, values);
+            slots.put("key-" + i, slotList);
+        }
+    }
+
+    /**
+     * A slot in an inventory
+     */
+    @Embedded
+    public static class Slot {
+        private String label;
+        private int quantity;
+
+        /**
+         * Creates an empty Slot for the mapper
+         */
+        public Slot() {
+        }
+
+        Slot(final String label, final int quantity) {
+            this.label = label;
+            this.quantity = quantity;
+        }
+    }
+}
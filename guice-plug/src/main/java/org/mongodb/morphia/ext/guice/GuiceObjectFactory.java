@@ -14,6 +14,7 @@ import java.lang.reflect.Modifier;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -26,6 +27,7 @@ public class GuiceObjectFactory implements ObjectFactory {
 
     private final ObjectFactory delegate;
     private final Injector injector;
+    private final Map<Class, Boolean> injectOnConstructor = new ConcurrentHashMap<Class, Boolean>();
 
     /**
      * Create a GuiceObjectFactory wrapper around an ObjectFactory
@@ -51,13 +53,18 @@ public class GuiceObjectFactory implements ObjectFactory {
 
     @SuppressWarnings("unchecked")
     private boolean injectOnConstructor(final Class clazz) {
-        final Constructor[] cs = clazz.getDeclaredConstructors();
-        for (final Constructor constructor : cs) {
-            if (constructor.getAnnotation(Inject.class) != null) {
-                return true;
+        Boolean inject = injectOnConstructor.get(clazz);
+        if (inject == null) {
+            inject = false;
+            for (final Constructor constructor : clazz.getDeclaredConstructors()) {
+                if (constructor.getAnnotation(Inject.class) != null) {
+                    inject = true;
+                    break;
+                }
             }
+            injectOnConstructor.put(clazz, inject);
         }
-        return false;
+        return inject;
     }
 
     private <T> T injectMembers(final T o) {
@@ -0,0 +1,396 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.WriteResult;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.mapping.Mapper;
+import org.mongodb.morphia.query.CountOptions;
+import org.mongodb.morphia.query.FindOptions;
+import org.mongodb.morphia.query.Query;
+import org.mongodb.morphia.query.UpdateOperations;
+import org.mongodb.morphia.query.UpdateResults;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@link Datastore} operations on an Executor and returns their pending results instead of blocking the caller.  At most a set
+ * number of operations run against each collection at a time; the others wait in order for one of them to finish.
+ * <p>
+ * Cancelling a {@link DatastoreFuture} before its operation starts removes the operation from those waiting; once started, the thread
+ * running it is interrupted but the server is not told to stop, and the operation keeps its place against the collection's limit until it
+ * returns.
+ * Time limits are passed to the server: reads take the {@code maxTime} of the options passed in or of the timeout given, and writes given
+ * a timeout use it as the {@code wtimeout} of their write concern.  A {@code wtimeout} only bounds the wait for replication, so it has no
+ * effect unless the write concern waits for more than one member; neither limit covers the time an operation waits for its turn.
+ *
+ * @since 1.4
+ */
+public class AsyncDatastore {
+    private static final Executor CALLING_THREAD = new Executor() {
+        @Override
+        public void execute(final Runnable command) {
+            command.run();
+        }
+    };
+
+    private final Datastore datastore;
+    private final Executor executor;
+    private final int maxConcurrencyPerCollection;
+    private final ConcurrentMap<String, Lane> lanes = new ConcurrentHashMap<String, Lane>();
+
+    /**
+     * Creates an AsyncDatastore
+     *
+     * @param datastore                   the Datastore to run the operations against
+     * @param executor                    the Executor to run the operations on
+     * @param maxConcurrencyPerCollection the number of operations allowed to run against one collection at a time
+     */
+    public AsyncDatastore(final Datastore datastore, final Executor executor, final int maxConcurrencyPerCollection) {
+        if (maxConcurrencyPerCollection <= 0) {
+            throw new IllegalArgumentException("The concurrency per collection must be greater than 0");
+        }
+        this.datastore = datastore;
+        this.executor = executor;
+        this.maxConcurrencyPerCollection = maxConcurrencyPerCollection;
+    }
+
+    /**
+     * @return the Datastore the operations run against
+     */
+    public Datastore getDatastore() {
+        return datastore;
+    }
+
+    /**
+     * Deletes entities based on the query
+     *
+     * @param query the query to use when finding documents to delete
+     * @param <T>   the type to delete
+     * @return the pending results of the delete
+     * @see Datastore#delete(Query)
+     */
+    public <T> DatastoreFuture<WriteResult> delete(final Query<T> query) {
+        return submit(query, new Callable<WriteResult>() {
+            @Override
+            public WriteResult call() {
+                return datastore.delete(query);
+            }
+        });
+    }
+
+    /**
+     * Finds the entities matching the query
+     *
+     * @param query   the query to run
+     * @param options the options to apply to the find operation, including its maxTime
+     * @param <T>     the type to find
+     * @return the pending list of entities
+     * @see Query#asList(FindOptions)
+     */
+    public <T> DatastoreFuture<List<T>> find(final Query<T> query, final FindOptions options) {
+        return submit(query, new Callable<List<T>>() {
+            @Override
+            public List<T> call() {
+                return query.asList(options);
+            }
+        });
+    }
+
+    /**
+     * Find the first entity matching the query, and modify it.
+     *
+     * @param query      the query to find the entity with
+     * @param operations the updates to apply to the entity
+     * @param options    the options to apply, including its maxTime
+     * @param <T>        the type to update
+     * @return the pending entity, or null if none matched
+     * @see Datastore#findAndModify(Query, UpdateOperations, FindAndModifyOptions)
+     */
+    public <T> DatastoreFuture<T> findAndModify(final Query<T> query, final UpdateOperations<T> operations,
+                                                final FindAndModifyOptions options) {
+        return submit(query, new Callable<T>() {
+            @Override
+            public T call() {
+                return datastore.findAndModify(query, operations, options);
+            }
+        });
+    }
+
+    /**
+     * Find the given entity by its id
+     *
+     * @param clazz the class to use for mapping
+     * @param id    the id to find
+     * @param <T>   the type to find
+     * @param <V>   the type of the id
+     * @return the pending entity, or null if none was found
+     * @see Datastore#get(Class, Object)
+     */
+    public <T, V> DatastoreFuture<T> get(final Class<T> clazz, final V id) {
+        return submit(datastore.getCollection(clazz).getName(), new Callable<T>() {
+            @Override
+            public T call() {
+                return datastore.get(clazz, id);
+            }
+        });
+    }
+
+    /**
+     * Find the given entity by its id, asking the server to stop if it takes longer than the timeout
+     *
+     * @param clazz   the class to use for mapping
+     * @param id      the id to find
+     * @param maxTime the time the server may spend on the query
+     * @param unit    the unit of maxTime
+     * @param <T>     the type to find
+     * @param <V>     the type of the id
+     * @return the pending entity, or null if none was found
+     * @see FindOptions#maxTime(long, TimeUnit)
+     */
+    public <T, V> DatastoreFuture<T> get(final Class<T> clazz, final V id, final long maxTime, final TimeUnit unit) {
+        return submit(datastore.getCollection(clazz).getName(), new Callable<T>() {
+            @Override
+            public T call() {
+                return datastore.find(clazz)
+                                .filter(Mapper.ID_KEY, id)
+                                .get(new FindOptions().maxTime(maxTime, unit));
+            }
+        });
+    }
+
+    /**
+     * Counts the entities matching the query
+     *
+     * @param query   the query to count
+     * @param options the options to apply to the count, including its maxTime
+     * @param <T>     the type to count
+     * @return the pending count
+     * @see Datastore#getCount(Query, CountOptions)
+     */
+    public <T> DatastoreFuture<Long> getCount(final Query<T> query, final CountOptions options) {
+        return submit(query, new Callable<Long>() {
+            @Override
+            public Long call() {
+                return datastore.getCount(query, options);
+            }
+        });
+    }
+
+    /**
+     * Saves an entity and validates it first
+     *
+     * @param entity the entity to save
+     * @param <T>    the type of the entity
+     * @return the pending key of the entity
+     * @see Datastore#save(Object)
+     */
+    public <T> DatastoreFuture<Key<T>> save(final T entity) {
+        return submit(datastore.getCollection(entity.getClass()).getName(), new Callable<Key<T>>() {
+            @Override
+            public Key<T> call() {
+                return datastore.save(entity);
+            }
+        });
+    }
+
+    /**
+     * Saves an entity and validates it first, waiting at most the timeout for the write to be replicated
+     *
+     * @param entity   the entity to save
+     * @param wtimeout the time the server may wait for the write concern to be satisfied
+     * @param unit     the unit of wtimeout
+     * @param <T>      the type of the entity
+     * @return the pending key of the entity
+     * @see Datastore#save(Object, InsertOptions)
+     */
+    public <T> DatastoreFuture<Key<T>> save(final T entity, final long wtimeout, final TimeUnit unit) {
+        final WriteConcern writeConcern = getWriteConcern(entity.getClass(), wtimeout, unit);
+        return submit(datastore.getCollection(entity.getClass()).getName(), new Callable<Key<T>>() {
+            @Override
+            public Key<T> call() {
+                return datastore.save(entity, new InsertOptions().writeConcern(writeConcern));
+            }
+        });
+    }
+
+    /**
+     * Updates all entities found with the operations
+     *
+     * @param query      the query used to match the documents to update
+     * @param operations the update operations to perform
+     * @param <T>        the type of the entities
+     * @return the pending results of the update
+     * @see Datastore#update(Query, UpdateOperations)
+     */
+    public <T> DatastoreFuture<UpdateResults> update(final Query<T> query, final UpdateOperations<T> operations) {
+        return submit(query, new Callable<UpdateResults>() {
+            @Override
+            public UpdateResults call() {
+                return datastore.update(query, operations);
+            }
+        });
+    }
+
+    /**
+     * Updates all entities found with the operations, waiting at most the timeout for the write to be replicated
+     *
+     * @param query      the query used to match the documents to update
+     * @param operations the update operations to perform
+     * @param wtimeout   the time the server may wait for the write concern to be satisfied
+     * @param unit       the unit of wtimeout
+     * @param <T>        the type of the entities
+     * @return the pending results of the update
+     * @see Datastore#update(Query, UpdateOperations, UpdateOptions)
+     */
+    public <T> DatastoreFuture<UpdateResults> update(final Query<T> query, final UpdateOperations<T> operations, final long wtimeout,
+                                                     final TimeUnit unit) {
+        final UpdateOptions options = new UpdateOptions()
+            .multi(true)
+            .writeConcern(getWriteConcern(query.getEntityClass(), wtimeout, unit));
+        return submit(query, new Callable<UpdateResults>() {
+            @Override
+            public UpdateResults call() {
+                return datastore.update(query, operations, options);
+            }
+        });
+    }
+
+    /**
+     * Deletes entities based on the query, waiting at most the timeout for the write to be replicated
+     *
+     * @param query    the query to use when finding documents to delete
+     * @param wtimeout the time the server may wait for the write concern to be satisfied
+     * @param unit     the unit of wtimeout
+     * @param <T>      the type to delete
+     * @return the pending results of the delete
+     * @see Datastore#delete(Query, DeleteOptions)
+     */
+    public <T> DatastoreFuture<WriteResult> delete(final Query<T> query, final long wtimeout, final TimeUnit unit) {
+        final DeleteOptions options = new DeleteOptions().writeConcern(getWriteConcern(query.getEntityClass(), wtimeout, unit));
+        return submit(query, new Callable<WriteResult>() {
+            @Override
+            public WriteResult call() {
+                return datastore.delete(query, options);
+            }
+        });
+    }
+
+    /**
+     * Gets the write concern the Datastore would use for the type, with the timeout applied.
+     */
+    private WriteConcern getWriteConcern(final Class<?> type, final long wtimeout, final TimeUnit unit) {
+        WriteConcern writeConcern = datastore.getDefaultWriteConcern();
+        final Entity entity = type != null ? type.getAnnotation(Entity.class) : null;
+        if (entity != null && entity.concern().length() != 0) {
+            writeConcern = WriteConcern.valueOf(entity.concern());
+        }
+        return writeConcern.withWTimeout(wtimeout, unit);
+    }
+
+    @SuppressWarnings("deprecation")
+    private <V> DatastoreFuture<V> submit(final Query<?> query, final Callable<V> operation) {
+        return submit(query.getCollection().getName(), operation);
+    }
+
+    private <V> DatastoreFuture<V> submit(final String collection, final Callable<V> operation) {
+        final DatastoreFuture<V> future = new DatastoreFuture<V>(operation);
+        Lane lane = lanes.get(collection);
+        if (lane == null) {
+            lane = new Lane();
+            final Lane existing = lanes.putIfAbsent(collection, lane);
+            if (existing != null) {
+                lane = existing;
+            }
+        }
+        lane.submit(future);
+        return future;
+    }
+
+    /**
+     * Limits the operations running against one collection.
+     */
+    private final class Lane {
+        private final Queue<DatastoreFuture<?>> waiting = new LinkedList<DatastoreFuture<?>>();
+        private int running;
+
+        void submit(final DatastoreFuture<?> future) {
+            synchronized (this) {
+                if (running >= maxConcurrencyPerCollection) {
+                    waiting.add(future);
+                    future.addListener(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (future.isCancelled()) {
+                                withdraw(future);
+                            }
+                        }
+                    }, CALLING_THREAD);
+                    return;
+                }
+                running++;
+            }
+            start(future);
+        }
+
+        private synchronized void withdraw(final DatastoreFuture<?> future) {
+            waiting.remove(future);
+        }
+
+        private void start(final DatastoreFuture<?> future) {
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        // released only once the operation returns, even if the future was cancelled while it ran
+                        try {
+                            future.run();
+                        } finally {
+                            finished();
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                future.fail(e);
+                finished();
+            }
+        }
+
+        private void finished() {
+            DatastoreFuture<?> next;
+            synchronized (this) {
+                do {
+                    next = waiting.poll();
+                } while (next != null && next.isDone());
+                if (next == null) {
+                    running--;
+                    return;
+                }
+            }
+            start(next);
+        }
+    }
+}
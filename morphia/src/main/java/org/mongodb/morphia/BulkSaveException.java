@@ -0,0 +1,39 @@
+package org.mongodb.morphia;
+
+import com.mongodb.BulkWriteError;
+import com.mongodb.BulkWriteException;
+import com.mongodb.MongoException;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Signifies that more than one entity of a bulk save could not be written.  The errors are given by the position of their entity in the
+ * entities saved.
+ *
+ * @see org.mongodb.morphia.mapping.MapperOptions#setUseBulkWriteOperations(boolean)
+ */
+public class BulkSaveException extends MongoException {
+    private static final long serialVersionUID = 1L;
+
+    private final Map<Integer, BulkWriteError> errors;
+
+    /**
+     * Creates an instance with the errors of each entity which was not saved
+     *
+     * @param message the message
+     * @param cause   the error of the bulk write
+     * @param errors  the errors by the position of their entity in the entities saved
+     */
+    public BulkSaveException(final String message, final BulkWriteException cause, final Map<Integer, BulkWriteError> errors) {
+        super(message, cause);
+        this.errors = Collections.unmodifiableMap(errors);
+    }
+
+    /**
+     * @return the errors by the position of their entity in the entities saved
+     */
+    public Map<Integer, BulkWriteError> getErrors() {
+        return errors;
+    }
+}
@@ -419,21 +419,26 @@ public interface Datastore {
     <T> T getByKey(Class<T> clazz, Key<T> key);
 
     /**
-     * Find the given entities (by id), verifying they are of the correct type; shorthand for {@code find("_id in", ids)}
+     * Find the given entities (by id), verifying they are of the correct type; shorthand for {@code find("_id in", ids)}.  The entities are
+     * returned in the order of the keys.
      *
      * @param clazz the class to use for mapping
      * @param keys  the keys to search with
      * @param <T>   the type to fetch
      * @return the matched entities.  may be null.
+     * @see org.mongodb.morphia.mapping.MapperOptions#setNullsForMissingKeys(boolean)
+     * @see org.mongodb.morphia.mapping.MapperOptions#setKeyLookupExecutor(java.util.concurrent.Executor)
      */
     <T> List<T> getByKeys(Class<T> clazz, Iterable<Key<T>> keys);
 
     /**
-     * Find the given entities (by id); shorthand for {@code find("_id in", ids)}
+     * Find the given entities (by id); shorthand for {@code find("_id in", ids)}.  The entities are returned in the order of the keys.
      *
      * @param keys the keys to search with
      * @param <T>  the type to fetch
      * @return the matched entities.  may be null.
+     * @see org.mongodb.morphia.mapping.MapperOptions#setNullsForMissingKeys(boolean)
+     * @see org.mongodb.morphia.mapping.MapperOptions#setKeyLookupExecutor(java.util.concurrent.Executor)
      */
     <T> List<T> getByKeys(Iterable<Key<T>> keys);
 
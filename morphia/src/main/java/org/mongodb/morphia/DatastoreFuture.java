@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * The pending result of an {@link AsyncDatastore} operation.  Listeners can be registered to be told when the operation completes, fails
+ * or is cancelled so that callers never have to block on {@link #get()}.
+ *
+ * @param <V> the type of the result
+ * @since 1.4
+ */
+public final class DatastoreFuture<V> extends FutureTask<V> {
+    private List<Listener> listeners = new ArrayList<Listener>();
+
+    DatastoreFuture(final Callable<V> callable) {
+        super(callable);
+    }
+
+    /**
+     * Registers a listener to run once this operation is done.  If it is already done, the listener is handed to the executor right away.
+     * The listener can call {@link #get()} without blocking.
+     *
+     * @param listener the listener to run
+     * @param executor the executor to run the listener on
+     */
+    public void addListener(final Runnable listener, final Executor executor) {
+        final Listener entry = new Listener(listener, executor);
+        synchronized (this) {
+            if (listeners != null) {
+                listeners.add(entry);
+                return;
+            }
+        }
+        entry.run();
+    }
+
+    @Override
+    protected void done() {
+        final List<Listener> toRun;
+        synchronized (this) {
+            toRun = listeners;
+            listeners = null;
+        }
+        for (final Listener listener : toRun) {
+            listener.run();
+        }
+    }
+
+    void fail(final Throwable throwable) {
+        setException(throwable);
+    }
+
+    private static final class Listener {
+        private final Runnable runnable;
+        private final Executor executor;
+
+        private Listener(final Runnable runnable, final Executor executor) {
+            this.runnable = runnable;
+            this.executor = executor;
+        }
+
+        void run() {
+            executor.execute(runnable);
+        }
+    }
+}
@@ -2,24 +2,43 @@ package org.mongodb.morphia;
 
 import com.mongodb.BasicDBObject;
 import com.mongodb.BasicDBObjectBuilder;
+import com.mongodb.BulkWriteException;
+import com.mongodb.BulkWriteOperation;
+import com.mongodb.BulkWriteResult;
 import com.mongodb.CommandResult;
 import com.mongodb.DB;
 import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
 import com.mongodb.DBDecoderFactory;
 import com.mongodb.DBObject;
 import com.mongodb.DBRef;
 import com.mongodb.DefaultDBDecoder;
+import com.mongodb.DuplicateKeyException;
+import com.mongodb.ErrorCategory;
 import com.mongodb.MapReduceCommand;
 import com.mongodb.MapReduceCommand.OutputType;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoClient;
+import com.mongodb.MongoInterruptedException;
+import com.mongodb.MongoServerException;
+import com.mongodb.MongoWriteException;
 import com.mongodb.ReadPreference;
 import com.mongodb.WriteConcern;
+import com.mongodb.WriteConcernResult;
 import com.mongodb.WriteResult;
+import com.mongodb.bulk.BulkWriteError;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.CreateCollectionOptions;
 import com.mongodb.client.model.DBCollectionUpdateOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.InsertOneOptions;
 import com.mongodb.client.model.ValidationOptions;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.types.ObjectId;
 import org.mongodb.morphia.aggregation.AggregationPipeline;
 import org.mongodb.morphia.aggregation.AggregationPipelineImpl;
 import org.mongodb.morphia.annotations.CappedAt;
@@ -30,12 +49,16 @@ import org.mongodb.morphia.annotations.Validation;
 import org.mongodb.morphia.annotations.Version;
 import org.mongodb.morphia.logging.Logger;
 import org.mongodb.morphia.logging.MorphiaLoggerFactory;
+import org.mongodb.morphia.mapping.EntityCodec;
 import org.mongodb.morphia.mapping.MappedClass;
 import org.mongodb.morphia.mapping.MappedField;
 import org.mongodb.morphia.mapping.Mapper;
 import org.mongodb.morphia.mapping.MappingException;
 import org.mongodb.morphia.mapping.cache.EntityCache;
+import org.mongodb.morphia.mapping.cache.EntityCacheFactory;
+import org.mongodb.morphia.mapping.cache.SharedEntityCacheFactory;
 import org.mongodb.morphia.mapping.lazy.proxy.ProxyHelper;
+import org.mongodb.morphia.metrics.Operation;
 import org.mongodb.morphia.query.CountOptions;
 import org.mongodb.morphia.query.DefaultQueryFactory;
 import org.mongodb.morphia.query.Query;
@@ -51,11 +74,19 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import static com.mongodb.BasicDBObject.parse;
 import static com.mongodb.BasicDBObjectBuilder.start;
@@ -63,6 +94,8 @@ import static com.mongodb.DBCollection.ID_FIELD_NAME;
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static org.bson.codecs.configuration.CodecRegistries.fromCodecs;
+import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
 
 /**
  * A generic (type-safe) wrapper around mongodb collections
@@ -84,6 +117,8 @@ public class DatastoreImpl implements AdvancedDatastore {
     private DBDecoderFactory decoderFactory;
 
     private volatile QueryFactory queryFactory = new DefaultQueryFactory();
+    private final Map<Class, WriteCodec> writeCodecs = new ConcurrentHashMap<Class, WriteCodec>();
+    private final ThreadLocal<Map<Object, DBObject>> encodingInvolvedObjects = new ThreadLocal<Map<Object, DBObject>>();
 
     /**
      * Create a new DatastoreImpl
@@ -173,7 +208,12 @@ public class DatastoreImpl implements AdvancedDatastore {
             throw new QueryException("Delete does not allow sort/offset/limit query options.");
         }
 
-        return dbColl.remove(query.getQueryObject(), enforceWriteConcern(options, query.getEntityClass()).getOptions());
+        final long start = System.nanoTime();
+        final WriteResult result = dbColl.remove(query.getQueryObject(),
+                                                 enforceWriteConcern(options, query.getEntityClass()).getOptions());
+        recordOperation(query.getEntityClass(), Operation.DELETE, System.nanoTime() - start, 0, getAffected(result));
+        evictFromCache(dbColl, query.getQueryObject());
+        return result;
     }
 
     @Override
@@ -350,9 +390,14 @@ public class DatastoreImpl implements AdvancedDatastore {
             .upsert(false)
             .remove(true);
 
+        // the cache is created before the write so that the entity read is not shared once it has been evicted
+        final EntityCache cache = createCache();
+        final long start = System.nanoTime();
         final DBObject result = dbColl.findAndModify(query.getQueryObject(), copy.getOptions());
+        final long written = System.nanoTime();
+        evictFromCache(dbColl, result == null ? query.getQueryObject() : result);
 
-        return result == null ? null : mapper.fromDBObject(this, query.getEntityClass(), result, createCache());
+        return mapFindAndModify(query.getEntityClass(), result, cache, written - start);
     }
 
     @Override
@@ -368,14 +413,24 @@ public class DatastoreImpl implements AdvancedDatastore {
         }
 
         updateForVersioning(query, operations);
+        final EntityCache cache = createCache();
+        final long start = System.nanoTime();
         DBObject res = dbColl.findAndModify(query.getQueryObject(), options.copy()
                                                                            .sort(query.getSortObject())
                                                                            .projection(query.getFieldsObject())
                                                                            .update(((UpdateOpsImpl<T>) operations).getOps())
                                            .getOptions());
+        final long written = System.nanoTime();
+        evictFromCache(dbColl, res == null ? query.getQueryObject() : res);
 
-        return res == null ? null : mapper.fromDBObject(this, query.getEntityClass(), res, createCache());
+        return mapFindAndModify(query.getEntityClass(), res, cache, written - start);
+    }
 
+    private <T> T mapFindAndModify(final Class<T> type, final DBObject result, final EntityCache cache, final long driverNanos) {
+        final long start = System.nanoTime();
+        final T entity = result == null ? null : mapper.fromDBObject(this, type, result, cache);
+        recordOperation(type, Operation.FIND_AND_MODIFY, driverNanos, System.nanoTime() - start, result == null ? 0 : 1);
+        return entity;
     }
 
     @Override
@@ -418,7 +473,16 @@ public class DatastoreImpl implements AdvancedDatastore {
 
     @Override
     public <T, V> T get(final Class<T> clazz, final V id) {
-        return find(getCollection(clazz).getName(), clazz, Mapper.ID_KEY, id, 0, 1, true).get();
+        final String collection = getCollection(clazz).getName();
+        final EntityCacheFactory cacheFactory = mapper.getOptions().getCacheFactory();
+        if (cacheFactory instanceof SharedEntityCacheFactory) {
+            final Object cached = ((SharedEntityCacheFactory) cacheFactory)
+                                      .getEntity(new Key<T>(clazz, collection, mapper.toMongoObject(null, null, id)));
+            if (clazz.isInstance(cached)) {
+                return clazz.cast(cached);
+            }
+        }
+        return find(collection, clazz, Mapper.ID_KEY, id, 0, 1, true).get();
     }
 
     @Override
@@ -450,37 +514,62 @@ public class DatastoreImpl implements AdvancedDatastore {
     @Override
     @SuppressWarnings({"rawtypes", "unchecked"})
     public <T> List<T> getByKeys(final Class<T> clazz, final Iterable<Key<T>> keys) {
-
-        final Map<String, List<Key>> kindMap = new HashMap<String, List<Key>>();
-        final List<T> entities = new ArrayList<T>();
-        // String clazzKind = (clazz==null) ? null :
-        // getMapper().getCollectionName(clazz);
-        for (final Key<?> key : keys) {
+        final List<Key<T>> keyList = new ArrayList<Key<T>>();
+        final Map<String, Map<Object, List<Integer>>> positionsByCollection = new LinkedHashMap<String, Map<Object, List<Integer>>>();
+        for (final Key<T> key : keys) {
             mapper.updateCollection(key);
 
-            // if (clazzKind != null && !key.getKind().equals(clazzKind))
-            // throw new IllegalArgumentException("Types are not equal (" +
-            // clazz + "!=" + key.getKindClass() +
-            // ") for key and method parameter clazz");
-            //
-            if (kindMap.containsKey(key.getCollection())) {
-                kindMap.get(key.getCollection()).add(key);
-            } else {
-                kindMap.put(key.getCollection(), new ArrayList<Key>(singletonList((Key) key)));
+            Map<Object, List<Integer>> positions = positionsByCollection.get(key.getCollection());
+            if (positions == null) {
+                positions = new LinkedHashMap<Object, List<Integer>>();
+                positionsByCollection.put(key.getCollection(), positions);
+            }
+            final Object id = mapper.toMongoObject(null, null, key.getId());
+            List<Integer> idPositions = positions.get(id);
+            if (idPositions == null) {
+                idPositions = new ArrayList<Integer>();
+                positions.put(id, idPositions);
             }
+            idPositions.add(keyList.size());
+            keyList.add(key);
         }
-        for (final Map.Entry<String, List<Key>> entry : kindMap.entrySet()) {
-            final List<Key> kindKeys = entry.getValue();
 
+        final List<String> lookupCollections = new ArrayList<String>();
+        final int keyBatchSize = mapper.getOptions().getKeyLookupBatchSize();
+        final List<Callable<List>> lookups = new ArrayList<Callable<List>>();
+        for (final Entry<String, Map<Object, List<Integer>>> entry : positionsByCollection.entrySet()) {
             final List<Object> objIds = new ArrayList<Object>();
-            for (final Key key : kindKeys) {
-                objIds.add(key.getId());
+            for (final List<Integer> idPositions : entry.getValue().values()) {
+                objIds.add(keyList.get(idPositions.get(0)).getId());
+            }
+            for (int start = 0; start < objIds.size(); start += keyBatchSize) {
+                lookupCollections.add(entry.getKey());
+                lookups.add(createKeyLookup(entry.getKey(),
+                                            new ArrayList<Object>(objIds.subList(start, Math.min(start + keyBatchSize, objIds.size())))));
+            }
+        }
+
+        final Object[] found = new Object[keyList.size()];
+        final List<List> results = runKeyLookups(lookups);
+        for (int i = 0; i < results.size(); i++) {
+            final Map<Object, List<Integer>> positions = positionsByCollection.get(lookupCollections.get(i));
+            for (final Object entity : results.get(i)) {
+                final List<Integer> idPositions = positions.get(mapper.toMongoObject(null, null, mapper.getId(entity)));
+                if (idPositions != null) {
+                    for (final Integer position : idPositions) {
+                        found[position] = entity;
+                    }
+                }
             }
-            final List kindResults = find(entry.getKey(), null).disableValidation().filter("_id in", objIds).asList();
-            entities.addAll(kindResults);
         }
 
-        // TODO: order them based on the incoming Keys.
+        final boolean includeMissing = mapper.getOptions().isNullsForMissingKeys();
+        final List<T> entities = new ArrayList<T>(found.length);
+        for (final Object entity : found) {
+            if (entity != null || includeMissing) {
+                entities.add((T) entity);
+            }
+        }
         return entities;
     }
 
@@ -516,14 +605,41 @@ public class DatastoreImpl implements AdvancedDatastore {
         return database.getCollection(name, clazz);
     }
 
+    /**
+     * Gets a collection which reads and writes the entities of a mapped type with an {@link EntityCodec} rather than through DBObjects.
+     *
+     * @param name  the collection name
+     * @param type  the entity type
+     * @param cache the EntityCache to use for all the documents read, or null to use a new one for each document
+     * @param <T>   the entity type
+     * @return the collection
+     * @since 1.4
+     */
+    public <T> MongoCollection<T> getCodecCollection(final String name, final Class<T> type, final EntityCache cache) {
+        return getCodecCollection(name, new EntityCodec<T>(this, mapper, type, database.getCodecRegistry(), cache, null));
+    }
+
+    private <T> MongoCollection<T> getCodecCollection(final String name, final EntityCodec<T> codec) {
+        final MongoCollection<T> collection = getMongoCollection(name, codec.getEncoderClass());
+        return collection.withCodecRegistry(fromRegistries(fromCodecs(codec), collection.getCodecRegistry()));
+    }
+
     @Override
     public <T> long getCount(final T entity) {
-        return getCollection(ProxyHelper.unwrap(entity)).count();
+        final T unwrapped = ProxyHelper.unwrap(entity);
+        return count(unwrapped.getClass(), getCollection(unwrapped));
     }
 
     @Override
     public <T> long getCount(final Class<T> clazz) {
-        return getCollection(clazz).count();
+        return count(clazz, getCollection(clazz));
+    }
+
+    private long count(final Class<?> type, final DBCollection dbColl) {
+        final long start = System.nanoTime();
+        final long count = dbColl.count();
+        recordOperation(type, Operation.COUNT, System.nanoTime() - start, 0, count);
+        return count;
     }
 
     @Override
@@ -700,22 +816,37 @@ public class DatastoreImpl implements AdvancedDatastore {
         final MappedClass mc = mapper.getMappedClass(unwrapped);
         final DBCollection dbColl = getCollection(unwrapped);
 
+        // with a snapshot only the changed fields are sent, leaving out the fields to remove as a merge never removes fields
+        final DBObject changes = getChanges(unwrapped, dbObj);
+        final DBObject changedFields = changes == null ? dbObj : (DBObject) changes.get("$set");
+        DBObject setChanges = null;
+        if (changes != null) {
+            setChanges = changedFields == null ? new BasicDBObject() : new BasicDBObject("$set", changedFields);
+        }
+
         // try to do an update if there is a @Version field
-        wr = tryVersionedUpdate(dbColl, unwrapped, dbObj, idValue, new InsertOptions().writeConcern(wc), mc);
+        wr = tryVersionedUpdate(dbColl, unwrapped, dbObj, idValue, new InsertOptions().writeConcern(wc), mc, setChanges);
 
-        if (wr == null) {
+        if (wr == null && changedFields != null) {
             final Query<T> query = (Query<T>) createQuery(unwrapped.getClass()).filter(Mapper.ID_KEY, id);
-            wr = update(query, new BasicDBObject("$set", dbObj), false, false, wc).getWriteResult();
+            wr = update(query, new BasicDBObject("$set", changedFields), false, false, wc).getWriteResult();
         }
 
-        final UpdateResults res = new UpdateResults(wr);
-
-        if (res.getUpdatedCount() == 0) {
+        if (wr != null && new UpdateResults(wr).getUpdatedCount() == 0) {
+            throw new UpdateException("Nothing updated");
+        }
+        // nothing changed so nothing was written, but a merge still fails if the document is gone
+        if (wr == null && dbColl.findOne(new BasicDBObject(Mapper.ID_KEY, idValue), new BasicDBObject(Mapper.ID_KEY, 1),
+                                         ReadPreference.primary()) == null) {
             throw new UpdateException("Nothing updated");
         }
 
         dbObj.put(Mapper.ID_KEY, idValue);
         postSaveOperations(Collections.<Object>singletonList(entity), involvedObjects, dbColl, false);
+        // the stored document may keep fields the entity no longer has so the next save writes it in full
+        if (mapper.getOptions().isTrackChanges()) {
+            mapper.getChangeTracker().forget(unwrapped);
+        }
         return key;
     }
 
@@ -739,6 +870,9 @@ public class DatastoreImpl implements AdvancedDatastore {
 
     @Override
     public <T> Iterable<Key<T>> save(final Iterable<T> entities, final InsertOptions options) {
+        if (mapper.getOptions().isUseBulkWriteOperations()) {
+            return saveInBulk(entities, options);
+        }
         final List<Key<T>> savedKeys = new ArrayList<Key<T>>();
         for (final T ent : entities) {
             savedKeys.add(save(ent, options));
@@ -1231,10 +1365,19 @@ public class DatastoreImpl implements AdvancedDatastore {
 
     protected <T> Key<T> insert(final DBCollection dbColl, final T entity, final InsertOptions options) {
         final LinkedHashMap<Object, DBObject> involvedObjects = new LinkedHashMap<Object, DBObject>();
-        dbColl.insert(singletonList(entityToDBObj(entity, involvedObjects)), enforceWriteConcern(options, entity.getClass())
-            .getOptions());
+        if (useCodecs(singletonList(entity))) {
+            return insertWithCodec(dbColl, singletonList(entity), enforceWriteConcern(options, entity.getClass()), involvedObjects).get(0);
+        }
+        final long start = System.nanoTime();
+        final DBObject document = entityToDBObj(entity, involvedObjects);
+        final long mapped = System.nanoTime();
+        dbColl.insert(singletonList(document), enforceWriteConcern(options, entity.getClass()).getOptions());
+        final long written = System.nanoTime();
 
-        return postSaveOperations(singletonList(entity), involvedObjects, dbColl).get(0);
+        final Key<T> key = postSaveOperations(singletonList(entity), involvedObjects, dbColl).get(0);
+        trackChanges(entity, document);
+        recordOperation(entity.getClass(), Operation.INSERT, written - mapped, mapped - start + System.nanoTime() - written, 1);
+        return key;
     }
 
     <T> FindAndModifyOptions enforceWriteConcern(final FindAndModifyOptions options, final Class<T> klass) {
@@ -1278,25 +1421,398 @@ public class DatastoreImpl implements AdvancedDatastore {
             throw new UpdateException("Can not persist a null entity");
         }
 
-        final MappedClass mc = mapper.getMappedClass(entity);
-        if (mc.getAnnotation(NotSaved.class) != null) {
-            throw new MappingException(format("Entity type: %s is marked as NotSaved which means you should not try to save it!",
-                                              mc.getClazz().getName()));
-        }
+        final MappedClass mc = getSavableClass(entity);
 
         // involvedObjects is used not only as a cache but also as a list of what needs to be called for life-cycle methods at the end.
         final LinkedHashMap<Object, DBObject> involvedObjects = new LinkedHashMap<Object, DBObject>();
+        if (useCodecs(singletonList(entity))) {
+            return saveWithCodec(dbColl, entity, options, involvedObjects);
+        }
+        final long start = System.nanoTime();
         final DBObject document = entityToDBObj(entity, involvedObjects);
+        final long mapped = System.nanoTime();
 
         // try to do an update if there is a @Version field
         final Object idValue = document.get(Mapper.ID_KEY);
-        WriteResult wr = tryVersionedUpdate(dbColl, entity, document, idValue, enforceWriteConcern(options, entity.getClass()), mc);
+        final DBObject changes = idValue == null ? null : getChanges(entity, document);
+        WriteResult wr = tryVersionedUpdate(dbColl, entity, document, idValue, enforceWriteConcern(options, entity.getClass()), mc,
+                                            changes);
 
-        if (wr == null) {
+        if (wr == null && (changes == null || !saveChanges(dbColl, idValue, changes, options))) {
             saveDocument(dbColl, document, options);
         }
+        final long written = System.nanoTime();
+
+        final Key<T> key = postSaveOperations(singletonList(entity), involvedObjects, dbColl).get(0);
+        trackChanges(entity, document);
+        recordOperation(mc.getClazz(), Operation.SAVE, written - mapped, mapped - start + System.nanoTime() - written, 1);
+        return key;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Callable<List> createKeyLookup(final String collection, final List<Object> ids) {
+        return new Callable<List>() {
+            @Override
+            public List call() {
+                return find(collection, null).disableValidation().filter("_id in", ids).asList();
+            }
+        };
+    }
+
+    @SuppressWarnings("rawtypes")
+    private List<List> runKeyLookups(final List<Callable<List>> lookups) {
+        final List<List> results = new ArrayList<List>(lookups.size());
+        final Executor executor = mapper.getOptions().getKeyLookupExecutor();
+        if (executor == null || lookups.size() < 2) {
+            for (final Callable<List> lookup : lookups) {
+                try {
+                    results.add(lookup.call());
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new MappingException(e.getMessage(), e);
+                }
+            }
+            return results;
+        }
+
+        final List<FutureTask<List>> tasks = new ArrayList<FutureTask<List>>(lookups.size());
+        try {
+            for (final Callable<List> lookup : lookups) {
+                final FutureTask<List> task = new FutureTask<List>(lookup);
+                tasks.add(task);
+                executor.execute(task);
+            }
+            for (final FutureTask<List> task : tasks) {
+                results.add(task.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MongoInterruptedException("Interrupted while waiting for the entities of a group of keys", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new MappingException(cause.getMessage(), cause);
+        } finally {
+            for (final FutureTask<List> task : tasks) {
+                task.cancel(true);
+            }
+        }
+    }
+
+    private MappedClass getSavableClass(final Object entity) {
+        final MappedClass mc = mapper.getMappedClass(entity);
+        if (mc.getAnnotation(NotSaved.class) != null) {
+            throw new MappingException(format("Entity type: %s is marked as NotSaved which means you should not try to save it!",
+                                              mc.getClazz().getName()));
+        }
+        return mc;
+    }
+
+    /**
+     * Saves entities with one bulk write per collection and write concern, as classes sharing a collection may each declare their own
+     * concern.  The keys are returned in the order of the entities given.
+     */
+    private <T> List<Key<T>> saveInBulk(final Iterable<T> entities, final InsertOptions options) {
+        final List<T> unwrapped = new ArrayList<T>();
+        final Map<String, Map<WriteConcern, List<Integer>>> positions = new LinkedHashMap<String, Map<WriteConcern, List<Integer>>>();
+        final Map<String, DBCollection> collections = new HashMap<String, DBCollection>();
+        final Map<Class<?>, InsertOptions> classOptions = new HashMap<Class<?>, InsertOptions>();
+        final Map<WriteConcern, InsertOptions> concernOptions = new HashMap<WriteConcern, InsertOptions>();
+        for (final T entity : entities) {
+            if (entity == null) {
+                throw new UpdateException("Can not persist a null entity");
+            }
+            final T ent = ProxyHelper.unwrap(entity);
+            final DBCollection dbColl = getCollection(ent);
+            InsertOptions entityOptions = classOptions.get(ent.getClass());
+            if (entityOptions == null) {
+                entityOptions = enforceWriteConcern(options, ent.getClass());
+                classOptions.put(ent.getClass(), entityOptions);
+                concernOptions.put(entityOptions.getWriteConcern(), entityOptions);
+            }
+            Map<WriteConcern, List<Integer>> byConcern = positions.get(dbColl.getName());
+            if (byConcern == null) {
+                byConcern = new LinkedHashMap<WriteConcern, List<Integer>>();
+                positions.put(dbColl.getName(), byConcern);
+                collections.put(dbColl.getName(), dbColl);
+            }
+            List<Integer> list = byConcern.get(entityOptions.getWriteConcern());
+            if (list == null) {
+                list = new ArrayList<Integer>();
+                byConcern.put(entityOptions.getWriteConcern(), list);
+            }
+            list.add(unwrapped.size());
+            unwrapped.add(ent);
+        }
+
+        final List<Key<T>> keys = new ArrayList<Key<T>>(Collections.<Key<T>>nCopies(unwrapped.size(), null));
+        for (final Entry<String, Map<WriteConcern, List<Integer>>> collection : positions.entrySet()) {
+            for (final Entry<WriteConcern, List<Integer>> entry : collection.getValue().entrySet()) {
+                final List<T> group = new ArrayList<T>();
+                for (final Integer position : entry.getValue()) {
+                    group.add(unwrapped.get(position));
+                }
+                final List<Key<T>> groupKeys = saveInBulk(collections.get(collection.getKey()), group, entry.getValue(),
+                                                          concernOptions.get(entry.getKey()));
+                for (int i = 0; i < groupKeys.size(); i++) {
+                    keys.set(entry.getValue().get(i), groupKeys.get(i));
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Saves entities of one collection with a single bulk write.  Entities with an id are replaced or upserted by id, new entities are
+     * inserted and versioned entities are replaced only if the stored version is the one they were read with.  Version conflicts do
+     * not stop the other writes; they are looked up afterwards and reported with a {@link ConcurrentModificationException} once the
+     * other entities are updated.  If the bulk write fails, the entities it did save are still updated before the error is thrown.
+     *
+     * @param positions the position of each entity in the entities given to the save, used to report errors
+     */
+    private <T> List<Key<T>> saveInBulk(final DBCollection dbColl, final List<T> entities, final List<Integer> positions,
+                                        final InsertOptions options) {
+        final long start = System.nanoTime();
+        final BulkWriteOperation bulk = options.isContinueOnError() ? dbColl.initializeUnorderedBulkOperation()
+                                                                    : dbColl.initializeOrderedBulkOperation();
+        bulk.setBypassDocumentValidation(options.getBypassDocumentValidation());
+
+        // as with single saves each entity has its own involvedObjects so entities which are equal to each other are kept apart
+        final List<Map<Object, DBObject>> involvedObjects = new ArrayList<Map<Object, DBObject>>();
+        final List<DBObject> documents = new ArrayList<DBObject>();
+        final Map<Integer, String> versionedUpdates = new LinkedHashMap<Integer, String>();
+        final List<Integer> replaces = new ArrayList<Integer>();
+        for (final T entity : entities) {
+            final MappedClass mc = getSavableClass(entity);
+            involvedObjects.add(new LinkedHashMap<Object, DBObject>());
+            final DBObject document = entityToDBObj(entity, involvedObjects.get(involvedObjects.size() - 1));
+            documents.add(document);
+            final Object idValue = document.get(Mapper.ID_KEY);
+
+            if (!mc.getFieldsAnnotatedWith(Version.class).isEmpty()) {
+                final MappedField mfVersion = mc.getMappedVersionField();
+                final String versionKeyName = mfVersion.getNameToStore();
+                final Long oldVersion = (Long) mfVersion.getFieldValue(entity);
+                final long newVersion = nextValue(oldVersion);
+                document.put(versionKeyName, newVersion);
+
+                if (idValue != null && newVersion != 1) {
+                    bulk.find(new BasicDBObject(Mapper.ID_KEY, idValue).append(versionKeyName, oldVersion)).replaceOne(document);
+                    versionedUpdates.put(documents.size() - 1, versionKeyName);
+                    replaces.add(documents.size() - 1);
+                    continue;
+                }
+            }
+
+            if (idValue == null) {
+                document.put(Mapper.ID_KEY, new ObjectId());
+                bulk.insert(document);
+            } else {
+                bulk.find(new BasicDBObject(Mapper.ID_KEY, idValue)).upsert().replaceOne(document);
+                replaces.add(documents.size() - 1);
+            }
+        }
+
+        final long mapped = System.nanoTime();
+        BulkWriteException error = null;
+        BulkWriteResult result;
+        try {
+            result = bulk.execute(options.getWriteConcern());
+        } catch (BulkWriteException e) {
+            error = e;
+            result = e.getWriteResult();
+        }
+
+        // the writes which were applied are not repeated by a caller retrying the save once the entities have their ids
+        final Set<Integer> failed = new HashSet<Integer>();
+        if (error != null) {
+            for (final com.mongodb.BulkWriteError writeError : error.getWriteErrors()) {
+                failed.add(writeError.getIndex());
+            }
+        }
+        final int applied = error == null || options.isContinueOnError() || failed.isEmpty() ? entities.size() : Collections.min(failed);
+
+        int attemptedReplaces = 0;
+        for (final Integer position : replaces) {
+            if (position < applied && !failed.contains(position)) {
+                attemptedReplaces++;
+            }
+        }
+        Set<Integer> conflicts = Collections.emptySet();
+        if (!versionedUpdates.isEmpty() && result.isAcknowledged()
+            && result.getMatchedCount() + result.getUpserts().size() < attemptedReplaces) {
+            conflicts = findVersionConflicts(dbColl, documents, versionedUpdates, failed, applied,
+                                             attemptedReplaces - result.getMatchedCount() - result.getUpserts().size());
+        }
+        final long written = System.nanoTime();
+
+        // the entities which were saved are still updated before any error or conflict is reported
+        final List<Key<T>> keys = new ArrayList<Key<T>>();
+        for (int i = 0; i < applied; i++) {
+            if (!failed.contains(i) && !conflicts.contains(i)) {
+                keys.add(saved(entities, documents, involvedObjects, i, dbColl));
+            }
+        }
+        recordOperation(entities.get(0).getClass(), Operation.SAVE, written - mapped, mapped - start + System.nanoTime() - written,
+                        entities.size());
+        if (error != null) {
+            throw translateBulkWriteError(error, documents, entities, positions);
+        }
+        if (conflicts.isEmpty()) {
+            return keys;
+        }
+
+        final T entity = entities.get(Collections.min(conflicts));
+        final MappedField mfVersion = mapper.getMappedClass(entity).getMappedVersionField();
+        throw new ConcurrentModificationException(format("Entity of class %s (id='%s',version='%d') was concurrently updated.",
+                                                         entity.getClass().getName(), mapper.getId(entity),
+                                                         (Long) mfVersion.getFieldValue(entity)));
+    }
+
+    /**
+     * Finds the versioned replaces of a bulk write which did not match a document with a single query for the versions stored.  A
+     * replace which was applied stored the version it wrote, so any other version stored is a conflict.  Only when a concurrent save
+     * stored the same version, and so leaves some of the replaces which did not match unexplained, are the documents stored with that
+     * version compared with the ones written.
+     *
+     * @param versionedUpdates the name of the version field by the position of each versioned replace
+     * @param failed           the positions of the writes which failed
+     * @param applied          the number of writes which were attempted
+     * @param missed           the number of replaces which did not match a document
+     */
+    private Set<Integer> findVersionConflicts(final DBCollection dbColl, final List<DBObject> documents,
+                                              final Map<Integer, String> versionedUpdates, final Set<Integer> failed, final int applied,
+                                              final long missed) {
+        final List<Integer> candidates = new ArrayList<Integer>();
+        final List<Object> ids = new ArrayList<Object>();
+        final DBObject fields = new BasicDBObject();
+        for (final Entry<Integer, String> update : versionedUpdates.entrySet()) {
+            if (update.getKey() < applied && !failed.contains(update.getKey())) {
+                candidates.add(update.getKey());
+                ids.add(documents.get(update.getKey()).get(Mapper.ID_KEY));
+                fields.put(update.getValue(), 1);
+            }
+        }
+        final Map<Object, DBObject> stored = findById(dbColl, ids, fields);
+
+        final Set<Integer> conflicts = new HashSet<Integer>();
+        final List<Object> sameVersion = new ArrayList<Object>();
+        for (final Integer position : candidates) {
+            final DBObject document = documents.get(position);
+            final String versionKeyName = versionedUpdates.get(position);
+            final DBObject version = stored.get(document.get(Mapper.ID_KEY));
+            if (version == null || !document.get(versionKeyName).equals(version.get(versionKeyName))) {
+                conflicts.add(position);
+            } else {
+                sameVersion.add(document.get(Mapper.ID_KEY));
+            }
+        }
+        if (conflicts.size() < missed && !sameVersion.isEmpty()) {
+            final Map<Object, DBObject> storedDocuments = findById(dbColl, sameVersion, null);
+            for (final Integer position : candidates) {
+                final DBObject document = documents.get(position);
+                final DBObject storedDocument = storedDocuments.get(document.get(Mapper.ID_KEY));
+                if (storedDocument != null && !document.equals(storedDocument)) {
+                    conflicts.add(position);
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    private Map<Object, DBObject> findById(final DBCollection dbColl, final List<Object> ids, final DBObject fields) {
+        final Map<Object, DBObject> found = new HashMap<Object, DBObject>();
+        final DBCursor cursor = dbColl.find(new BasicDBObject(Mapper.ID_KEY, new BasicDBObject("$in", ids)), fields);
+        try {
+            for (final DBObject dbObject : cursor) {
+                found.put(dbObject.get(Mapper.ID_KEY), dbObject);
+            }
+        } finally {
+            cursor.close();
+        }
+        return found;
+    }
 
-        return postSaveOperations(singletonList(entity), involvedObjects, dbColl).get(0);
+    /**
+     * Copies the id and version of a document saved in bulk back to its entity and calls its {@code @PostPersist} methods.
+     */
+    private <T> Key<T> saved(final List<T> entities, final List<DBObject> documents, final List<Map<Object, DBObject>> involvedObjects,
+                             final int position, final DBCollection dbColl) {
+        final Key<T> key = postSaveOperations(singletonList(entities.get(position)), involvedObjects.get(position), dbColl).get(0);
+        trackChanges(entities.get(position), documents.get(position));
+        return key;
+    }
+
+    /**
+     * Reports the errors of a bulk save against the entities they were for.  A single error is reported as it is for the single entity
+     * writes, so duplicate keys are reported with a {@link DuplicateKeyException}.  Several errors are reported together with a
+     * {@link BulkSaveException}.
+     *
+     * @param positions the position of each entity in the entities given to the save
+     */
+    private <T> RuntimeException translateBulkWriteError(final BulkWriteException e, final List<DBObject> documents,
+                                                         final List<T> entities, final List<Integer> positions) {
+        if (e.getWriteErrors().isEmpty()) {
+            return e;
+        }
+        final Map<Integer, com.mongodb.BulkWriteError> errors = new TreeMap<Integer, com.mongodb.BulkWriteError>();
+        final StringBuilder message = new StringBuilder();
+        for (final com.mongodb.BulkWriteError error : e.getWriteErrors()) {
+            errors.put(positions.get(error.getIndex()), error);
+            if (message.length() != 0) {
+                message.append("; ");
+            }
+            message.append(format("%s (entity of class %s with id '%s')", error.getMessage(),
+                                  entities.get(error.getIndex()).getClass().getName(),
+                                  documents.get(error.getIndex()).get(Mapper.ID_KEY)));
+        }
+        if (errors.size() == 1) {
+            return translateWriteError(e, e.getWriteErrors().get(0).getCode(), message.toString());
+        }
+        return new BulkSaveException(message.toString(), e, errors);
+    }
+
+    private DBObject getChanges(final Object entity, final DBObject document) {
+        return mapper.getOptions().isTrackChanges() ? mapper.getChangeTracker().getChanges(entity, document) : null;
+    }
+
+    private void trackChanges(final Object entity, final DBObject document) {
+        if (mapper.getOptions().isTrackChanges()) {
+            mapper.getChangeTracker().snapshot(entity, document);
+        }
+    }
+
+    /**
+     * Writes the changes to an entity which is not versioned.
+     *
+     * @return false if the document was not found, in which case it has to be written in full
+     */
+    private boolean saveChanges(final DBCollection dbColl, final Object idValue, final DBObject changes, final InsertOptions options) {
+        if (changes.keySet().isEmpty()) {
+            return true;
+        }
+        final WriteResult result = dbColl.update(new BasicDBObject(ID_FIELD_NAME, idValue), changes,
+                                                 new DBCollectionUpdateOptions()
+                                                     .bypassDocumentValidation(options.getBypassDocumentValidation())
+                                                     .writeConcern(options.getWriteConcern()));
+        return !result.wasAcknowledged() || result.getN() == 1;
+    }
+
+    private static DBObject withoutField(final DBObject changes, final String field) {
+        for (final String operator : new ArrayList<String>(changes.keySet())) {
+            final DBObject fields = (DBObject) changes.get(operator);
+            fields.removeField(field);
+            if (fields.keySet().isEmpty()) {
+                changes.removeField(operator);
+            }
+        }
+        return changes;
     }
 
     private WriteResult saveDocument(final DBCollection dbColl, final DBObject document, final InsertOptions options) {
@@ -1311,8 +1827,11 @@ public class DatastoreImpl implements AdvancedDatastore {
         }
     }
 
+    /**
+     * @param changes the changes to the stored document to write instead of replacing it, or null to replace it
+     */
     private <T> WriteResult tryVersionedUpdate(final DBCollection dbColl, final T entity, final DBObject dbObj, final Object idValue,
-                                               final InsertOptions options, final MappedClass mc) {
+                                               final InsertOptions options, final MappedClass mc, final DBObject changes) {
         WriteResult wr;
         if (mc.getFieldsAnnotatedWith(Version.class).isEmpty()) {
             return null;
@@ -1333,7 +1852,8 @@ public class DatastoreImpl implements AdvancedDatastore {
                 .filter(Mapper.ID_KEY, idValue)
                 .enableValidation()
                 .filter(versionKeyName, oldVersion);
-            final UpdateResults res = update(query, dbObj, new UpdateOptions()
+            // the version is incremented by the update when only the changes are written
+            final UpdateResults res = update(query, changes == null ? dbObj : withoutField(changes, versionKeyName), new UpdateOptions()
                 .bypassDocumentValidation(options.getBypassDocumentValidation())
                 .writeConcern(options.getWriteConcern()));
 
@@ -1361,6 +1881,40 @@ public class DatastoreImpl implements AdvancedDatastore {
         return find(key.getCollection(), key.getType()).filter(Mapper.ID_KEY, key.getId());
     }
 
+    /**
+     * Removes the entities a write may have changed from the shared cache, if there is one: the entity with the document's _id or, if
+     * that isn't a single value, all the entities of the collection.
+     */
+    private void evictFromCache(final DBCollection dbColl, final DBObject document) {
+        final EntityCacheFactory cacheFactory = mapper.getOptions().getCacheFactory();
+        if (cacheFactory instanceof SharedEntityCacheFactory) {
+            final Object id = document.get(Mapper.ID_KEY);
+            if (id == null || id instanceof DBObject && hasOperators((DBObject) id)) {
+                ((SharedEntityCacheFactory) cacheFactory).invalidate(dbColl.getName());
+            } else {
+                ((SharedEntityCacheFactory) cacheFactory).invalidate(dbColl.getName(), id);
+            }
+        }
+    }
+
+    private boolean hasOperators(final DBObject value) {
+        for (final String key : value.keySet()) {
+            if (key.startsWith("$")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void recordOperation(final Class<?> type, final Operation operation, final long driverNanos, final long mappingNanos,
+                                 final long documents) {
+        mapper.getOptions().getMetrics().recordOperation(type, operation, driverNanos, mappingNanos, documents);
+    }
+
+    private static long getAffected(final WriteResult result) {
+        return result.wasAcknowledged() ? result.getN() : 0;
+    }
+
     private EntityCache createCache() {
         return mapper.createEntityCache();
     }
@@ -1375,6 +1929,10 @@ public class DatastoreImpl implements AdvancedDatastore {
         }
 
         final Map<Object, DBObject> involvedObjects = new LinkedHashMap<Object, DBObject>();
+        if (useCodecs(entities)) {
+            return insertWithCodec(dbColl, entities, enforceWriteConcern(options, entities.iterator().next().getClass()), involvedObjects);
+        }
+        final long start = System.nanoTime();
         final List<DBObject> list = new ArrayList<DBObject>();
         com.mongodb.InsertOptions insertOptions = options.getOptions();
         for (final T entity : entities) {
@@ -1383,9 +1941,18 @@ public class DatastoreImpl implements AdvancedDatastore {
             }
             list.add(toDbObject(entity, involvedObjects));
         }
+        final long mapped = System.nanoTime();
         dbColl.insert(list, insertOptions);
+        final long written = System.nanoTime();
 
-        return postSaveOperations(entities, involvedObjects, dbColl);
+        final List<Key<T>> keys = postSaveOperations(entities, involvedObjects, dbColl);
+        int i = 0;
+        for (final T entity : entities) {
+            trackChanges(entity, list.get(i++));
+        }
+        recordOperation(entities.iterator().next().getClass(), Operation.INSERT, written - mapped,
+                        mapped - start + System.nanoTime() - written, list.size());
+        return keys;
     }
 
     /**
@@ -1406,6 +1973,180 @@ public class DatastoreImpl implements AdvancedDatastore {
         return getQueryFactory().createQuery(this, collection, type);
     }
 
+    /**
+     * Checks if entities can be written with an {@link EntityCodec}.  Versioned entities need the conditional update done for them by
+     * {@link #tryVersionedUpdate(DBCollection, Object, DBObject, Object, InsertOptions, MappedClass, DBObject)}, entities with lifecycle
+     * methods may assign their ids in a {@code @PrePersist} method which must run before any id is generated for them, and only the
+     * changes to tracked entities are written.
+     */
+    private <T> boolean useCodecs(final Iterable<T> entities) {
+        if (!mapper.getOptions().isUseCodecs()) {
+            return false;
+        }
+        for (final T entity : entities) {
+            final MappedClass mc = mapper.getMappedClass(entity);
+            if (!mc.getFieldsAnnotatedWith(Version.class).isEmpty() || mc.getAnnotation(NotSaved.class) != null
+                || !EntityCodec.isStreamable(mapper, mc.getClazz())
+                || mapper.getOptions().isTrackChanges() && mapper.getChangeTracker().isTracked(entity)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the codec writing the entities of a type, which is built once for each time the type is mapped.  The codec and its registry
+     * are shared by every write of the type, so the involved objects are collected in the map bound to the writing thread by
+     * {@link #bindInvolvedObjects(Map)}.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> WriteCodec<T> getWriteCodec(final Class<T> type) {
+        final MappedClass mc = mapper.getMappedClass(type);
+        WriteCodec<T> writeCodec = writeCodecs.get(type);
+        if (writeCodec == null || writeCodec.mappedClass != mc) {
+            final EntityCodec<T> codec = new EntityCodec<T>(this, mapper, type, database.getCodecRegistry()) {
+                @Override
+                protected Map<Object, DBObject> getInvolvedObjects() {
+                    return encodingInvolvedObjects.get();
+                }
+            };
+            writeCodec = new WriteCodec<T>(mc, codec, fromRegistries(fromCodecs(codec), database.getCodecRegistry()));
+            writeCodecs.put(type, writeCodec);
+        }
+        return writeCodec;
+    }
+
+    /**
+     * @return the map bound before, which must be bound again once the write is done
+     */
+    private Map<Object, DBObject> bindInvolvedObjects(final Map<Object, DBObject> involvedObjects) {
+        final Map<Object, DBObject> previous = encodingInvolvedObjects.get();
+        if (involvedObjects != null) {
+            encodingInvolvedObjects.set(involvedObjects);
+        } else {
+            encodingInvolvedObjects.remove();
+        }
+        return previous;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Key<T> saveWithCodec(final DBCollection dbColl, final T entity, final InsertOptions options,
+                                     final Map<Object, DBObject> involvedObjects) {
+        final WriteCodec<T> writeCodec = getWriteCodec((Class<T>) entity.getClass());
+        final EntityCodec<T> codec = writeCodec.codec;
+        MongoCollection<T> collection = getMongoCollection(dbColl.getName(), codec.getEncoderClass())
+            .withCodecRegistry(writeCodec.registry);
+        if (options.getWriteConcern() != null) {
+            collection = collection.withWriteConcern(options.getWriteConcern());
+        }
+
+        final long start = System.nanoTime();
+        final Map<Object, DBObject> previous = bindInvolvedObjects(involvedObjects);
+        try {
+            if (codec.documentHasId(entity)) {
+                collection.replaceOne(new BsonDocument(ID_FIELD_NAME, codec.getDocumentId(entity)), entity,
+                                      new com.mongodb.client.model.UpdateOptions()
+                                          .upsert(true)
+                                          .bypassDocumentValidation(options.getBypassDocumentValidation()));
+            } else {
+                collection.insertOne(entity, new InsertOneOptions().bypassDocumentValidation(options.getBypassDocumentValidation()));
+            }
+        } catch (MongoWriteException e) {
+            throw translateWriteError(e, e.getError().getCode(), e.getError().getMessage());
+        } finally {
+            bindInvolvedObjects(previous);
+        }
+        final long written = System.nanoTime();
+
+        final Key<T> key = postCodecSaveOperations(singletonList(entity), involvedObjects, dbColl).get(0);
+        recordOperation(entity.getClass(), Operation.SAVE, written - start, System.nanoTime() - written, 1);
+        return key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<Key<T>> insertWithCodec(final DBCollection dbColl, final Iterable<T> entities, final InsertOptions options,
+                                             final Map<Object, DBObject> involvedObjects) {
+        final List<T> list = new ArrayList<T>();
+        for (final T entity : entities) {
+            list.add(entity);
+        }
+        final Class<T> type = (Class<T>) list.get(0).getClass();
+        MongoCollection<T> collection = getMongoCollection(dbColl.getName(), type).withCodecRegistry(getWriteCodec(type).registry);
+        if (options.getWriteConcern() != null) {
+            collection = collection.withWriteConcern(options.getWriteConcern());
+        }
+        final long start = System.nanoTime();
+        final Map<Object, DBObject> previous = bindInvolvedObjects(involvedObjects);
+        try {
+            collection.insertMany(list, new InsertManyOptions()
+                .ordered(!options.isContinueOnError())
+                .bypassDocumentValidation(options.getBypassDocumentValidation()));
+        } catch (MongoBulkWriteException e) {
+            // as with the bulk saves, the entities which were inserted are finished before the first error is reported
+            final Set<Integer> failed = new HashSet<Integer>();
+            for (final BulkWriteError error : e.getWriteErrors()) {
+                failed.add(error.getIndex());
+            }
+            final int applied = options.isContinueOnError() || failed.isEmpty() ? list.size() : Collections.min(failed);
+            final List<T> inserted = new ArrayList<T>();
+            for (int i = 0; i < applied; i++) {
+                if (!failed.contains(i)) {
+                    inserted.add(list.get(i));
+                }
+            }
+            postCodecSaveOperations(inserted, involvedObjects, dbColl);
+            if (e.getWriteErrors().isEmpty()) {
+                throw e;
+            }
+            final BulkWriteError error = e.getWriteErrors().get(0);
+            throw translateWriteError(e, error.getCode(), error.getMessage());
+        } finally {
+            bindInvolvedObjects(previous);
+        }
+        final long written = System.nanoTime();
+
+        final List<Key<T>> keys = postCodecSaveOperations(list, involvedObjects, dbColl);
+        recordOperation(type, Operation.INSERT, written - start, System.nanoTime() - written, list.size());
+        return keys;
+    }
+
+    /**
+     * Reports duplicate keys from MongoCollection writes with the same exception as the DBCollection writes do.
+     */
+    private RuntimeException translateWriteError(final MongoServerException e, final int code, final String message) {
+        if (ErrorCategory.fromErrorCode(code) != ErrorCategory.DUPLICATE_KEY) {
+            return e;
+        }
+        final BsonDocument response = new BsonDocument("ok", new BsonInt32(1))
+                                          .append("err", new BsonString(message))
+                                          .append("code", new BsonInt32(code));
+        return new DuplicateKeyException(response, e.getServerAddress(), WriteConcernResult.acknowledged(0, false, null));
+    }
+
+    /**
+     * Collects the keys of entities written with an {@link EntityCodec}.  Their ids were assigned before they were encoded so, unlike
+     * {@link #postSaveOperations(Iterable, Map, DBCollection)}, there is nothing to copy back to the entities.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<Key<T>> postCodecSaveOperations(final Iterable<T> entities, final Map<Object, DBObject> involvedObjects,
+                                                     final DBCollection collection) {
+        final List<Key<T>> keys = new ArrayList<Key<T>>();
+        for (final T entity : entities) {
+            keys.add(new Key<T>((Class<? extends T>) entity.getClass(), collection.getName(), mapper.getId(entity)));
+            evictFromCache(collection, new BasicDBObject(Mapper.ID_KEY, mapper.toMongoObject(null, null, mapper.getId(entity))));
+            final DBObject dbObj = involvedObjects.remove(entity);
+            if (dbObj != null) {
+                mapper.getMappedClass(entity).callLifecycleMethods(PostPersist.class, entity, dbObj, mapper);
+            }
+        }
+
+        for (Entry<Object, DBObject> entry : involvedObjects.entrySet()) {
+            final Object key = entry.getKey();
+            mapper.getMappedClass(key).callLifecycleMethods(PostPersist.class, key, entry.getValue(), mapper);
+        }
+        return keys;
+    }
+
     private long nextValue(final Long oldVersion) {
         return oldVersion == null ? 1 : oldVersion + 1;
     }
@@ -1429,6 +2170,7 @@ public class DatastoreImpl implements AdvancedDatastore {
                 mapper.updateKeyAndVersionInfo(this, dbObj, createCache(), entity);
                 keys.add(new Key<T>((Class<? extends T>) entity.getClass(), collection.getName(), mapper.getId(entity)));
             }
+            evictFromCache(collection, dbObj);
             mapper.getMappedClass(entity).callLifecycleMethods(PostPersist.class, entity, dbObj, mapper);
         }
 
@@ -1492,9 +2234,11 @@ public class DatastoreImpl implements AdvancedDatastore {
                              dbColl.getName(), queryObject, update, options.isMulti(), options.isUpsert()));
         }
 
-        return new UpdateResults(dbColl.update(queryObject, update,
-                                               enforceWriteConcern(options, query.getEntityClass())
-                                                   .getOptions()));
+        final long start = System.nanoTime();
+        final WriteResult result = dbColl.update(queryObject, update, enforceWriteConcern(options, query.getEntityClass()).getOptions());
+        recordOperation(query.getEntityClass(), Operation.UPDATE, System.nanoTime() - start, 0, getAffected(result));
+        evictFromCache(dbColl, queryObject);
+        return new UpdateResults(result);
     }
 
     @SuppressWarnings("unchecked")
@@ -1545,9 +2289,11 @@ public class DatastoreImpl implements AdvancedDatastore {
                              dbColl.getName(), queryObject, update, options.isMulti(), options.isUpsert()));
         }
 
-        return new UpdateResults(dbColl.update(queryObject, update,
-                                               enforceWriteConcern(options, query.getEntityClass())
-                                                   .getOptions()));
+        final long start = System.nanoTime();
+        final WriteResult result = dbColl.update(queryObject, update, enforceWriteConcern(options, query.getEntityClass()).getOptions());
+        recordOperation(query.getEntityClass(), Operation.UPDATE, System.nanoTime() - start, 0, getAffected(result));
+        evictFromCache(dbColl, queryObject);
+        return new UpdateResults(result);
     }
 
     /**
@@ -1566,4 +2312,19 @@ public class DatastoreImpl implements AdvancedDatastore {
 
         return wc;
     }
+
+    /**
+     * The codec writing the entities of a type, and the registry of the collections it writes to, for the MappedClass it was built with
+     */
+    private static final class WriteCodec<T> {
+        private final MappedClass mappedClass;
+        private final EntityCodec<T> codec;
+        private final CodecRegistry registry;
+
+        private WriteCodec(final MappedClass mappedClass, final EntityCodec<T> codec, final CodecRegistry registry) {
+            this.mappedClass = mappedClass;
+            this.codec = codec;
+            this.registry = registry;
+        }
+    }
 }
@@ -22,14 +22,22 @@ import org.mongodb.morphia.annotations.Entity;
 import org.mongodb.morphia.logging.Logger;
 import org.mongodb.morphia.logging.MorphiaLoggerFactory;
 import org.mongodb.morphia.mapping.Mapper;
+import org.mongodb.morphia.mapping.MapperOptions;
 import org.mongodb.morphia.mapping.MappingException;
 import org.mongodb.morphia.mapping.cache.EntityCache;
+import org.mongodb.morphia.metrics.MorphiaMetrics;
 import org.mongodb.morphia.utils.ReflectionUtils;
 
 import java.io.IOException;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.lang.String.format;
 
 
 /**
@@ -39,6 +47,8 @@ import java.util.Set;
 public class Morphia {
     private static final Logger LOG = MorphiaLoggerFactory.get(Morphia.class);
     private final Mapper mapper;
+    // mapping a package scans the class path so a lock rather than a monitor is held while it does
+    private final ReentrantLock mappingLock = new ReentrantLock();
 
     /**
      * Creates a Morphia instance with a default Mapper and an empty class set.
@@ -147,13 +157,12 @@ public class Morphia {
     }
 
     /**
-     * @return false.  Setting this value has no value functionally or performance-wise.
-     * @deprecated
-     * @see <a href="https://github.com/mongodb/morphia/issues/1052">Issue #1052</a>
+     * @return true if saving a group of entities uses one bulk write per collection
+     * @deprecated use {@link #isUseBulkWriteOperations()}
      */
     @Deprecated
     public boolean getUseBulkWriteOperations() {
-        return false;
+        return isUseBulkWriteOperations();
     }
 
     /**
@@ -167,24 +176,41 @@ public class Morphia {
     }
 
     /**
-     * @return false.  Setting this value has no value functionally or performance-wise.
-     * @deprecated
-     * @see <a href="https://github.com/mongodb/morphia/issues/1052">Issue #1052</a>
+     * @return true if saving a group of entities uses one bulk write per collection
+     * @see MapperOptions#isUseBulkWriteOperations()
      */
-    @Deprecated
     public boolean isUseBulkWriteOperations() {
-        return false;
+        return mapper.getOptions().isUseBulkWriteOperations();
     }
 
     /**
-     * Configures Morphia to use bulk writes.  Only useful with MongoDB 2.6+.
+     * Configures Morphia to use bulk writes when saving a group of entities.  Only useful with MongoDB 2.6+.
      *
      * @param useBulkWriteOperations true if Morphia should use bulk writes
-     * @see <a href="https://github.com/mongodb/morphia/issues/1052">Issue #1052</a>
-     * @deprecated Setting this value has no value functionally or performance-wise.
+     * @see MapperOptions#setUseBulkWriteOperations(boolean)
      */
-    @Deprecated
     public void setUseBulkWriteOperations(final boolean useBulkWriteOperations) {
+        mapper.getOptions().setUseBulkWriteOperations(useBulkWriteOperations);
+    }
+
+    /**
+     * @return the MorphiaMetrics the operations of this instance's Datastores are reported to
+     * @see MapperOptions#getMetrics()
+     * @since 1.4
+     */
+    public MorphiaMetrics getMetrics() {
+        return mapper.getOptions().getMetrics();
+    }
+
+    /**
+     * Sets the MorphiaMetrics the operations of this instance's Datastores are reported to
+     *
+     * @param metrics the metrics to use
+     * @see MapperOptions#setMetrics(MorphiaMetrics)
+     * @since 1.4
+     */
+    public void setMetrics(final MorphiaMetrics metrics) {
+        mapper.getOptions().setMetrics(metrics);
     }
 
     /**
@@ -193,12 +219,17 @@ public class Morphia {
      * @param entityClasses the classes to map
      * @return this
      */
-    public synchronized Morphia map(final Class... entityClasses) {
+    public Morphia map(final Class... entityClasses) {
         if (entityClasses != null && entityClasses.length > 0) {
-            for (final Class entityClass : entityClasses) {
-                if (!mapper.isMapped(entityClass)) {
-                    mapper.addMappedClass(entityClass);
+            mappingLock.lock();
+            try {
+                for (final Class entityClass : entityClasses) {
+                    if (!mapper.isMapped(entityClass)) {
+                        mapper.addMappedClass(entityClass);
+                    }
                 }
+            } finally {
+                mappingLock.unlock();
             }
         }
         return this;
@@ -210,12 +241,17 @@ public class Morphia {
      * @param entityClasses the classes to map
      * @return this
      */
-    public synchronized Morphia map(final Set<Class> entityClasses) {
+    public Morphia map(final Set<Class> entityClasses) {
         if (entityClasses != null && !entityClasses.isEmpty()) {
-            for (final Class entityClass : entityClasses) {
-                if (!mapper.isMapped(entityClass)) {
-                    mapper.addMappedClass(entityClass);
+            mappingLock.lock();
+            try {
+                for (final Class entityClass : entityClasses) {
+                    if (!mapper.isMapped(entityClass)) {
+                        mapper.addMappedClass(entityClass);
+                    }
                 }
+            } finally {
+                mappingLock.unlock();
             }
         }
         return this;
@@ -227,20 +263,23 @@ public class Morphia {
      * @param packageName the name of the package to process
      * @return the Morphia instance
      */
-    public synchronized Morphia mapPackage(final String packageName) {
+    public Morphia mapPackage(final String packageName) {
         return mapPackage(packageName, false);
     }
 
     /**
-     * Tries to map all classes in the package specified.
+     * Tries to map all classes in the package specified.  If reading the mapped class index is turned on and the Morphia annotation
+     * processor indexed classes in the package when they were compiled, only those classes are mapped instead of scanning the classpath.
      *
      * @param packageName          the name of the package to process
      * @param ignoreInvalidClasses specifies whether to ignore classes in the package that cannot be mapped
      * @return the Morphia instance
+     * @see MapperOptions#setUseMappedClassIndex(boolean)
      */
-    public synchronized Morphia mapPackage(final String packageName, final boolean ignoreInvalidClasses) {
+    public Morphia mapPackage(final String packageName, final boolean ignoreInvalidClasses) {
+        mappingLock.lock();
         try {
-            for (final Class clazz : ReflectionUtils.getClasses(packageName, mapper.getOptions().isMapSubPackages())) {
+            for (final Class clazz : findClasses(packageName)) {
                 try {
                     final Embedded embeddedAnn = ReflectionUtils.getClassEmbeddedAnnotation(clazz);
                     final Entity entityAnn = ReflectionUtils.getClassEntityAnnotation(clazz);
@@ -259,7 +298,32 @@ public class Morphia {
             throw new MappingException("Could not get map classes from package " + packageName, e);
         } catch (ClassNotFoundException e) {
             throw new MappingException("Could not get map classes from package " + packageName, e);
+        } finally {
+            mappingLock.unlock();
+        }
+    }
+
+    private Collection<Class<?>> findClasses(final String packageName) throws IOException, ClassNotFoundException {
+        final boolean mapSubPackages = mapper.getOptions().isMapSubPackages();
+        if (mapper.getOptions().isUseMappedClassIndex()) {
+            final List<String> names = mapper.getMappedClassIndex().getClassNames(packageName, mapSubPackages);
+            if (!names.isEmpty()) {
+                LOG.info(format("Mapping the %d indexed classes of package '%s' instead of scanning the classpath", names.size(),
+                                packageName));
+                final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+                final List<Class<?>> classes = new ArrayList<Class<?>>(names.size());
+                for (final String name : names) {
+                    try {
+                        classes.add(Class.forName(name, true, loader));
+                    } catch (ClassNotFoundException e) {
+                        throw new MappingException(format("The mapped class index lists %s which could not be loaded.  Rebuild the index "
+                                                          + "or turn off MapperOptions.setUseMappedClassIndex()", name), e);
+                    }
+                }
+                return classes;
+            }
         }
+        return ReflectionUtils.getClasses(packageName, mapSubPackages);
     }
 
     /**
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mongodb.morphia.annotations;
+
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * Marks an {@link Entity} whose instances may be kept by a {@link org.mongodb.morphia.mapping.cache.SharedEntityCacheFactory} and handed
+ * to every query which loads them.  This is meant for read-mostly data.  The same instance is returned to every caller on every thread,
+ * without copying it and without any locking, so a loaded {@code @Cached} entity must be treated as immutable: a change made to it is
+ * seen by every other reader until the entity is evicted, even if it is never saved.
+ *
+ * @since 1.4
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface Cached {
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.mongodb.morphia.annotations;
+
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * Gives a mapped class a short name which is stored in the {@link org.mongodb.morphia.mapping.Mapper#CLASS_NAME_FIELDNAME} field in
+ * place of the fully qualified class name.  Documents written with the class name can still be read.  The value must be unique amongst
+ * the mapped classes and may not contain a '.'.  It is not inherited so every subclass which is stored needs its own value, and a class
+ * must be mapped before documents using its discriminator are read; reading one earlier fails with a MappingException.
+ *
+ * @since 1.4
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface Discriminator {
+    /**
+     * @return the name to store
+     */
+    String value();
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Leaves an embedded collection or map in its stored form when an entity is loaded and maps it the first time the field's value is used,
+ * so that loading entities to read a few of their fields does not pay for mapping large lists and maps which are never touched.  When
+ * placed on a class, it applies to every embedded collection and map field of the class.
+ * <p>
+ * The field is given a proxy of the collection or map which maps the stored values on first use.  Arrays, single values, references and
+ * collections of values which need no mapping, such as strings, are always read as the entity is loaded.  Like lazy references, this
+ * needs the optional cglib dependency; without it the values are mapped as usual.
+ *
+ * @see Reference#lazy()
+ * @since 1.4
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.TYPE})
+public @interface Lazy {
+}
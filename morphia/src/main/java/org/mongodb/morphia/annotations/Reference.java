@@ -41,6 +41,15 @@ public @interface Reference {
      */
     @Deprecated Class<?> concreteClass() default Object.class;
 
+    /**
+     * Fetch the entities of a collection, array or map of references with one query per collection rather than one query per entity.
+     * Has no effect on lazy or single references.
+     *
+     * @see org.mongodb.morphia.mapping.MapperOptions#setBatchReferences(boolean)
+     * @since 1.4
+     */
+    boolean batch() default false;
+
     /**
      * Specifies whether only _id should be stored versus storing a DBRef
      */
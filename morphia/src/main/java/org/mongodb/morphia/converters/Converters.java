@@ -14,6 +14,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.lang.String.format;
 
@@ -23,10 +25,19 @@ import static java.lang.String.format;
 public abstract class Converters {
     private static final Logger LOG = MorphiaLoggerFactory.get(Converters.class);
 
+    /**
+     * Cached in place of a null result so that types and fields without a converter are not searched for again
+     */
+    static final Object NO_CONVERTER = new Object();
+
     private final Mapper mapper;
     private final List<TypeConverter> untypedTypeEncoders = new LinkedList<TypeConverter>();
     private final Map<Class, List<TypeConverter>> tcMap = new ConcurrentHashMap<Class, List<TypeConverter>>();
     private final List<Class<? extends TypeConverter>> registeredConverterClasses = new ArrayList<Class<? extends TypeConverter>>();
+    private final AtomicInteger modificationCount = new AtomicInteger();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private volatile Map<Class, Object> resolvedEncoders = new ConcurrentHashMap<Class, Object>();
 
     /**
      * Creates a bundle with a particular Mapper.
@@ -64,6 +75,7 @@ public abstract class Converters {
 
         registeredConverterClasses.add(tc.getClass());
         tc.setMapper(mapper);
+        converterModified();
 
         return tc;
     }
@@ -82,7 +94,7 @@ public abstract class Converters {
         if (toDecode == null) {
             toDecode = fromDBObject.getClass();
         }
-        return getEncoder(toDecode).decode(toDecode, fromDBObject, mf);
+        return resolveEncoder(toDecode).decode(toDecode, fromDBObject, mf);
     }
 
     /**
@@ -106,7 +118,7 @@ public abstract class Converters {
      * @return the encoded version of the object
      */
     public Object encode(final Class c, final Object o) {
-        return getEncoder(c).encode(o);
+        return resolveEncoder(c).encode(o);
     }
 
     /**
@@ -118,7 +130,18 @@ public abstract class Converters {
      * @param targetEntity then entity to hold the state from the database
      */
     public void fromDBObject(final DBObject dbObj, final MappedField mf, final Object targetEntity) {
-        final Object object = mf.getDbObjectValue(dbObj);
+        fromDBValue(mf.getDbObjectValue(dbObj), mf, targetEntity);
+    }
+
+    /**
+     * Decodes a value already read from a document and sets it on the field of the entity.  Null values leave the field untouched.
+     *
+     * @param object       the value read from the document
+     * @param mf           the MappedField to update
+     * @param targetEntity the entity to update
+     * @since 1.4
+     */
+    public void fromDBValue(final Object object, final MappedField mf, final Object targetEntity) {
         if (object != null) {
             final TypeConverter enc = getEncoder(mf);
             final Object decodedValue = enc.decode(mf.getType(), object, mf);
@@ -131,6 +154,39 @@ public abstract class Converters {
         }
     }
 
+    /**
+     * Returns how many times a converter was found in the cache of converters already chosen for a type or field.  Together with
+     * {@link #getCacheMisses()} this shows how well the cache works for an application's types.
+     *
+     * @return the number of cache hits
+     * @since 1.4
+     */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * Returns how many times the registered converters had to be searched for a type or field.  Misses happen the first time a type or
+     * field is converted and again after converters are added or removed.
+     *
+     * @return the number of cache misses
+     * @since 1.4
+     */
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    /**
+     * Returns a counter which changes every time a converter is added to or removed from this bundle.  Anything derived from the
+     * converters registered here can compare this value to know when it needs to be recomputed.
+     *
+     * @return the current modification count
+     * @since 1.4
+     */
+    public int getModificationCount() {
+        return modificationCount.get();
+    }
+
     /**
      * @param field the field to check with
      * @return true if there is a converter for the type of the field
@@ -145,7 +201,7 @@ public abstract class Converters {
      * @return true if there is a converter for the type
      */
     public boolean hasDbObjectConverter(final Class c) {
-        final TypeConverter converter = getEncoder(c);
+        final TypeConverter converter = resolveEncoder(c);
         return converter != null && !(converter instanceof IdentityConverter) && !(converter instanceof SimpleValueConverter);
     }
 
@@ -173,7 +229,7 @@ public abstract class Converters {
      * @see SimpleValueConverter
      */
     public boolean hasSimpleValueConverter(final Class c) {
-        return (getEncoder(c) instanceof SimpleValueConverter);
+        return (resolveEncoder(c) instanceof SimpleValueConverter);
     }
 
     /**
@@ -214,7 +270,7 @@ public abstract class Converters {
             }
             registeredConverterClasses.remove(tc.getClass());
         }
-
+        converterModified();
     }
 
     /**
@@ -227,7 +283,7 @@ public abstract class Converters {
      */
     public void toDBObject(final Object containingObject, final MappedField mf, final DBObject dbObj, final MapperOptions opts) {
         final Object fieldValue = mf.getFieldValue(containingObject);
-        final TypeConverter enc = getEncoder(fieldValue, mf);
+        final TypeConverter enc = resolveEncoder(fieldValue, mf);
 
         final Object encoded = enc.encode(fieldValue, mf);
         if (encoded != null || opts.isStoreNulls()) {
@@ -292,7 +348,55 @@ public abstract class Converters {
         }
     }
 
+    private void converterModified() {
+        resolvedEncoders = new ConcurrentHashMap<Class, Object>();
+        modificationCount.incrementAndGet();
+    }
+
     private TypeConverter getEncoder(final MappedField mf) {
-        return getEncoder(null, mf);
+        return resolveEncoder(null, mf);
+    }
+
+    /**
+     * Looks up the converter for a type in the cache before asking {@link #getEncoder(Class)}.
+     */
+    private TypeConverter resolveEncoder(final Class c) {
+        if (c == null) {
+            return getEncoder(c);
+        }
+        // a lookup racing with a converter change stores its result in the map being discarded
+        final Map<Class, Object> encoders = resolvedEncoders;
+        final Object cached = encoders.get(c);
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            return cached == NO_CONVERTER ? null : (TypeConverter) cached;
+        }
+        cacheMisses.incrementAndGet();
+        final TypeConverter encoder = getEncoder(c);
+        encoders.put(c, encoder != null ? encoder : NO_CONVERTER);
+        return encoder;
+    }
+
+    /**
+     * Looks up the converter for a field and value type in the converters stored on the field before asking
+     * {@link #getEncoder(Object, MappedField)}.
+     */
+    private TypeConverter resolveEncoder(final Object val, final MappedField mf) {
+        final int count = modificationCount.get();
+        ResolvedConverters resolved = mf.getResolvedConverters();
+        if (resolved == null || !resolved.isCurrent(this, count)) {
+            resolved = new ResolvedConverters(this, count);
+            mf.setResolvedConverters(resolved);
+        }
+        final Class valueType = val == null ? null : val.getClass();
+        final Object cached = resolved.get(valueType);
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            return cached == NO_CONVERTER ? null : (TypeConverter) cached;
+        }
+        cacheMisses.incrementAndGet();
+        final TypeConverter encoder = getEncoder(val, mf);
+        resolved.put(valueType, encoder != null ? encoder : NO_CONVERTER);
+        return encoder;
     }
 }
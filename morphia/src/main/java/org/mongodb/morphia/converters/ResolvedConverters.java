@@ -0,0 +1,53 @@
+package org.mongodb.morphia.converters;
+
+import org.mongodb.morphia.mapping.MappedField;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the converters a {@link Converters} bundle has chosen for the values of a {@link MappedField}.  An instance is only valid for the
+ * bundle which created it and only until a converter is added to or removed from that bundle.
+ *
+ * @see MappedField#getResolvedConverters()
+ * @since 1.4
+ */
+public final class ResolvedConverters {
+    private final Converters converters;
+    private final int modificationCount;
+    private final Map<Class, Object> byValueType = new ConcurrentHashMap<Class, Object>();
+    private volatile Object fieldConverter;
+
+    ResolvedConverters(final Converters converters, final int modificationCount) {
+        this.converters = converters;
+        this.modificationCount = modificationCount;
+    }
+
+    /**
+     * @return the converter chosen for the field's declared type, or null if none has been chosen yet
+     */
+    public TypeConverter getFieldConverter() {
+        final Object converter = fieldConverter;
+        return converter == Converters.NO_CONVERTER ? null : (TypeConverter) converter;
+    }
+
+    /**
+     * @return the converter chosen for values of the type, {@link Converters#NO_CONVERTER} if none was found, or null if none has been
+     * chosen yet
+     */
+    Object get(final Class valueType) {
+        return valueType == null ? fieldConverter : byValueType.get(valueType);
+    }
+
+    boolean isCurrent(final Converters bundle, final int count) {
+        return converters == bundle && modificationCount == count;
+    }
+
+    void put(final Class valueType, final Object converter) {
+        if (valueType == null) {
+            fieldConverter = converter;
+        } else {
+            byValueType.put(valueType, converter);
+        }
+    }
+}
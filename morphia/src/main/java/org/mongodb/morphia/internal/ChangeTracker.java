@@ -0,0 +1,251 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.internal;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.mongodb.DefaultDBEncoder;
+import org.mongodb.morphia.mapping.Mapper;
+import org.mongodb.morphia.mapping.MappingException;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers what the documents of loaded and saved entities looked like so that saving them again only sends the fields which changed.
+ * A snapshot holds a digest of the value at each path of the document, where a path ends at a value which is not a non-empty embedded
+ * document, so comparing a document with its snapshot finds the paths to {@code $set} and {@code $unset} without keeping a copy of the
+ * document.  Snapshots are dropped once their entity is garbage collected.
+ * <p>
+ * This is an internal class and is subject to change or removal.
+ *
+ * @see org.mongodb.morphia.mapping.MapperOptions#setTrackChanges(boolean)
+ * @since 1.4
+ */
+public final class ChangeTracker {
+    private static final String VALUE = "v";
+
+    private final ConcurrentMap<EntityKey, Map<String, byte[]>> snapshots = new ConcurrentHashMap<EntityKey, Map<String, byte[]>>();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<Object>();
+
+    /**
+     * Records the document of an entity as it is stored.
+     *
+     * @param entity   the entity
+     * @param document the document stored for the entity
+     */
+    public void snapshot(final Object entity, final DBObject document) {
+        purge();
+        final Map<String, byte[]> digests = new HashMap<String, byte[]>();
+        flatten(document, "", digests, new DefaultDBEncoder(), newDigest());
+        snapshots.put(new EntityKey(entity, collected), digests);
+    }
+
+    /**
+     * Drops the snapshot of an entity so that its next save writes the whole document.
+     *
+     * @param entity the entity
+     */
+    public void forget(final Object entity) {
+        snapshots.remove(new EntityKey(entity, null));
+    }
+
+    /**
+     * @param entity the entity
+     * @return true if there is a snapshot of the entity
+     */
+    public boolean isTracked(final Object entity) {
+        return snapshots.containsKey(new EntityKey(entity, null));
+    }
+
+    /**
+     * Compares the document of an entity with its snapshot.  The {@code _id} is never part of the changes.
+     *
+     * @param entity   the entity
+     * @param document the entity's document as it would be saved now
+     * @return an update with the {@code $set} and {@code $unset} operations which turn the stored document into the one given, which is
+     * empty if nothing changed, or null if there is no snapshot of the entity
+     */
+    public DBObject getChanges(final Object entity, final DBObject document) {
+        final Map<String, byte[]> snapshot = snapshots.get(new EntityKey(entity, null));
+        if (snapshot == null) {
+            return null;
+        }
+        final Map<String, byte[]> current = new HashMap<String, byte[]>();
+        flatten(document, "", current, new DefaultDBEncoder(), newDigest());
+
+        final Map<String, Object> set = new LinkedHashMap<String, Object>();
+        for (final Entry<String, byte[]> entry : current.entrySet()) {
+            final String path = entry.getKey();
+            if (!path.equals(Mapper.ID_KEY) && !Arrays.equals(entry.getValue(), snapshot.get(path))) {
+                // a document can not be written into a value which is not one so the whole value is set instead
+                final String target = findStoredAncestor(snapshot, path);
+                set.put(target, getValue(document, target));
+            }
+        }
+
+        final Set<String> unset = new LinkedHashSet<String>();
+        for (final String path : snapshot.keySet()) {
+            if (!path.equals(Mapper.ID_KEY) && !current.containsKey(path) && !isSetWithin(set, path)) {
+                // removing the highest missing document removes its fields with it
+                final String target = findMissingAncestor(document, path);
+                if (target != null) {
+                    unset.add(target);
+                }
+            }
+        }
+
+        final BasicDBObject changes = new BasicDBObject();
+        if (!set.isEmpty()) {
+            changes.put("$set", new BasicDBObject(set));
+        }
+        if (!unset.isEmpty()) {
+            final BasicDBObject fields = new BasicDBObject();
+            for (final String path : unset) {
+                fields.put(path, "");
+            }
+            changes.put("$unset", fields);
+        }
+        return changes;
+    }
+
+    /**
+     * @return the number of snapshots held
+     */
+    public int size() {
+        purge();
+        return snapshots.size();
+    }
+
+    private static void flatten(final DBObject document, final String prefix, final Map<String, byte[]> digests,
+                                final DefaultDBEncoder encoder, final MessageDigest digest) {
+        for (final String key : document.keySet()) {
+            final Object value = document.get(key);
+            if (value instanceof DBObject && !(value instanceof List) && !((DBObject) value).keySet().isEmpty()) {
+                flatten((DBObject) value, prefix + key + ".", digests, encoder, digest);
+            } else {
+                digests.put(prefix + key, digest.digest(encoder.encode(new BasicDBObject(VALUE, value))));
+            }
+        }
+    }
+
+    private static String findStoredAncestor(final Map<String, byte[]> snapshot, final String path) {
+        int dot = path.indexOf('.');
+        while (dot != -1) {
+            final String ancestor = path.substring(0, dot);
+            if (snapshot.containsKey(ancestor)) {
+                return ancestor;
+            }
+            dot = path.indexOf('.', dot + 1);
+        }
+        return path;
+    }
+
+    private static String findMissingAncestor(final DBObject document, final String path) {
+        DBObject current = document;
+        int start = 0;
+        while (true) {
+            final int dot = path.indexOf('.', start);
+            final String key = dot == -1 ? path.substring(start) : path.substring(start, dot);
+            if (!current.containsField(key)) {
+                return dot == -1 ? path : path.substring(0, dot);
+            }
+            final Object value = current.get(key);
+            if (dot == -1 || !(value instanceof DBObject) || value instanceof List) {
+                // the path ends at or passes through a value which is being set
+                return null;
+            }
+            current = (DBObject) value;
+            start = dot + 1;
+        }
+    }
+
+    private static Object getValue(final DBObject document, final String path) {
+        Object value = document;
+        for (final String key : path.split("\\.")) {
+            value = ((DBObject) value).get(key);
+        }
+        return value;
+    }
+
+    private static boolean isSetWithin(final Map<String, Object> set, final String path) {
+        for (final String target : set.keySet()) {
+            if (path.equals(target) || path.startsWith(target + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            // the digests only need to tell values apart, and MD5 is short and always available
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new MappingException(e.getMessage(), e);
+        }
+    }
+
+    private void purge() {
+        Reference<?> reference;
+        while ((reference = collected.poll()) != null) {
+            snapshots.remove(reference);
+        }
+    }
+
+    /**
+     * Compares entities by identity without keeping them from being collected.
+     */
+    private static final class EntityKey extends WeakReference<Object> {
+        private final int hash;
+
+        private EntityKey(final Object entity, final ReferenceQueue<Object> queue) {
+            super(entity, queue);
+            hash = System.identityHashCode(entity);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof EntityKey)) {
+                return false;
+            }
+            final Object entity = get();
+            return entity != null && entity == ((EntityKey) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.internal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The classes listed in the {@value #LOCATION} resources written by the Morphia annotation processor.  Each line of those resources is
+ * the binary name of a concrete {@code @Entity} or {@code @Embedded} class which passed the class level mapping rules when it was
+ * compiled, and lines starting with {@code #} are comments.  Reading the index lets a package be mapped without scanning the classpath.
+ * <p>
+ * This is an internal class and is subject to change or removal.
+ *
+ * @since 1.4
+ */
+public final class MappedClassIndex {
+    /**
+     * The location of the index resources
+     */
+    public static final String LOCATION = "META-INF/morphia/mapped-classes";
+
+    private static final String ENCODING = "UTF-8";
+
+    private final Set<String> classNames;
+
+    private MappedClassIndex(final Set<String> classNames) {
+        this.classNames = Collections.unmodifiableSet(classNames);
+    }
+
+    /**
+     * Reads every index resource the class loader can see.
+     *
+     * @param loader the ClassLoader to read the resources with
+     * @return the index, which is empty if there are no resources
+     * @throws IOException if a resource can not be read
+     */
+    public static MappedClassIndex load(final ClassLoader loader) throws IOException {
+        final Set<String> names = new TreeSet<String>();
+        final Enumeration<URL> resources = loader.getResources(LOCATION);
+        while (resources.hasMoreElements()) {
+            read(resources.nextElement(), names);
+        }
+        return new MappedClassIndex(names);
+    }
+
+    /**
+     * Reads the class names listed in an index resource.
+     *
+     * @param resource the resource to read
+     * @param names    the set to add the names to
+     * @throws IOException if the resource can not be read
+     */
+    public static void read(final URL resource, final Set<String> names) throws IOException {
+        final InputStream in = resource.openStream();
+        try {
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(in, ENCODING));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    names.add(line);
+                }
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * @param clazz the class to look for
+     * @return true if the class is listed in the index
+     */
+    public boolean contains(final Class<?> clazz) {
+        return classNames.contains(clazz.getName());
+    }
+
+    /**
+     * @return the binary names of all the classes in the index, in order
+     */
+    public Set<String> getClassNames() {
+        return classNames;
+    }
+
+    /**
+     * Finds the classes in the index which are in a package.
+     *
+     * @param packageName    the name of the package
+     * @param mapSubPackages whether to include the classes in the sub packages of the package
+     * @return the binary names of the classes, in order
+     */
+    public List<String> getClassNames(final String packageName, final boolean mapSubPackages) {
+        final List<String> names = new ArrayList<String>();
+        final String prefix = packageName + ".";
+        for (final String name : classNames) {
+            if (name.startsWith(prefix) && (mapSubPackages || name.indexOf('.', prefix.length()) < 0)) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * @return true if no classes are indexed
+     */
+    public boolean isEmpty() {
+        return classNames.isEmpty();
+    }
+}
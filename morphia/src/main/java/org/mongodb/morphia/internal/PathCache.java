@@ -0,0 +1,162 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.internal;
+
+import org.mongodb.morphia.mapping.MappedClass;
+import org.mongodb.morphia.mapping.MappedField;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers how field paths were resolved against a root type so that repeated queries and updates do not have to walk the mapped
+ * classes again.  Only successful resolutions are kept.  The cache is cleared whenever a class is mapped and once it holds more than
+ * {@link #MAX_SIZE} paths, which bounds it when paths contain map keys.
+ * <p>
+ * This is an internal class and is subject to change or removal.
+ *
+ * @since 1.4
+ */
+public final class PathCache {
+    /**
+     * The number of paths held before the cache is cleared
+     */
+    public static final int MAX_SIZE = 10000;
+
+    private final ConcurrentMap<Key, ResolvedPath> paths = new ConcurrentHashMap<Key, ResolvedPath>();
+
+    /**
+     * Finds a previous resolution of a path.
+     *
+     * @param resolver the type that resolved the path, as different resolvers apply different rules
+     * @param root     the type the path starts from
+     * @param path     the path as given by the user
+     * @param validate whether the path was validated
+     * @return the resolution or null if the path has not been resolved
+     */
+    public ResolvedPath get(final Class<?> resolver, final Class<?> root, final String path, final boolean validate) {
+        return paths.get(new Key(resolver, root, path, validate));
+    }
+
+    /**
+     * Records the resolution of a path.
+     *
+     * @param resolver the type that resolved the path
+     * @param root     the type the path starts from
+     * @param path     the path as given by the user
+     * @param validate whether the path was validated
+     * @param resolved the resolution
+     */
+    public void put(final Class<?> resolver, final Class<?> root, final String path, final boolean validate, final ResolvedPath resolved) {
+        if (paths.size() >= MAX_SIZE) {
+            paths.clear();
+        }
+        paths.put(new Key(resolver, root, path, validate), resolved);
+    }
+
+    /**
+     * Removes every cached path.
+     */
+    public void clear() {
+        paths.clear();
+    }
+
+    /**
+     * @return the number of cached paths
+     */
+    public int size() {
+        return paths.size();
+    }
+
+    /**
+     * The outcome of resolving a path.
+     */
+    public static final class ResolvedPath {
+        private final String translatedPath;
+        private final MappedField target;
+        private final MappedClass context;
+
+        /**
+         * Creates a resolution
+         *
+         * @param translatedPath the path using the stored field names
+         * @param target         the field at the end of the path, if found
+         * @param context        the class declaring the field at the end of the path, if known
+         */
+        public ResolvedPath(final String translatedPath, final MappedField target, final MappedClass context) {
+            this.translatedPath = translatedPath;
+            this.target = target;
+            this.context = context;
+        }
+
+        /**
+         * @return the path using the stored field names
+         */
+        public String getTranslatedPath() {
+            return translatedPath;
+        }
+
+        /**
+         * @return the field at the end of the path, if found
+         */
+        public MappedField getTarget() {
+            return target;
+        }
+
+        /**
+         * @return the class declaring the field at the end of the path, if known
+         */
+        public MappedClass getContext() {
+            return context;
+        }
+    }
+
+    private static final class Key {
+        private final Class<?> resolver;
+        private final Class<?> root;
+        private final String path;
+        private final boolean validate;
+
+        private Key(final Class<?> resolver, final Class<?> root, final String path, final boolean validate) {
+            this.resolver = resolver;
+            this.root = root;
+            this.path = path;
+            this.validate = validate;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return validate == key.validate && resolver.equals(key.resolver) && root.equals(key.root) && path.equals(key.path);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = resolver.hashCode();
+            result = 31 * result + root.hashCode();
+            result = 31 * result + path.hashCode();
+            result = 31 * result + (validate ? 1 : 0);
+            return result;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package org.mongodb.morphia.internal;
 
+import org.mongodb.morphia.internal.PathCache.ResolvedPath;
 import org.mongodb.morphia.mapping.MappedClass;
 import org.mongodb.morphia.mapping.MappedField;
 import org.mongodb.morphia.mapping.Mapper;
@@ -35,13 +36,14 @@ import static org.mongodb.morphia.internal.MorphiaUtils.join;
  */
 public class PathTarget {
     private final String path;
-    private final List<String> segments;
+    private List<String> segments;
     private boolean validateNames = true;
     private int position;
     private Mapper mapper;
     private MappedClass context;
     private MappedClass root;
     private MappedField target;
+    private String translatedPath;
     private boolean resolved = false;
 
     /**
@@ -53,7 +55,6 @@ public class PathTarget {
      */
     public PathTarget(final Mapper mapper, final MappedClass root, final String path) {
         this.root = root;
-        segments = asList(path.split("\\."));
         this.mapper = mapper;
         this.path = path;
     }
@@ -79,7 +80,7 @@ public class PathTarget {
         if (!resolved) {
             resolve();
         }
-        return join(segments, '.');
+        return translatedPath;
     }
 
     /**
@@ -99,6 +100,20 @@ public class PathTarget {
     }
 
     private void resolve() {
+        final PathCache cache = mapper.getPathCache();
+        ResolvedPath resolution = cache.get(PathTarget.class, root.getClazz(), path, validateNames);
+        if (resolution == null) {
+            final MappedField field = walk();
+            resolution = new ResolvedPath(join(segments, '.'), field, context);
+            cache.put(PathTarget.class, root.getClazz(), path, validateNames, resolution);
+        }
+        translatedPath = resolution.getTranslatedPath();
+        target = resolution.getTarget();
+        resolved = true;
+    }
+
+    private MappedField walk() {
+        segments = asList(path.split("\\."));
         context = this.root;
         position = 0;
         MappedField field = null;
@@ -107,7 +122,7 @@ public class PathTarget {
 
             if (segment.equals("$") || segment.matches("[0-9]+")) {  // array operator
                 if (!hasNext()) {
-                    return;
+                    return null;
                 }
                 segment = next();
             }
@@ -125,8 +140,7 @@ public class PathTarget {
                 }
             }
         }
-        target = field;
-        resolved = true;
+        return field;
     }
 
     private void translate(final String nameToStore) {
@@ -154,6 +168,7 @@ public class PathTarget {
 
     @Override
     public String toString() {
-        return String.format("PathTarget{root=%s, segments=%s, target=%s}", root.getClazz().getSimpleName(), segments, target);
+        return String.format("PathTarget{root=%s, segments=%s, target=%s}", root.getClazz().getSimpleName(),
+                             segments != null ? segments : path, target);
     }
 }
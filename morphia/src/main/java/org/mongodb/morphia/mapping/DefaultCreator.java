@@ -8,6 +8,7 @@ import org.mongodb.morphia.logging.Logger;
 import org.mongodb.morphia.logging.MorphiaLoggerFactory;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -26,6 +27,9 @@ public class DefaultCreator implements ObjectFactory {
     private static final Logger LOG = MorphiaLoggerFactory.get(DefaultCreator.class);
 
     private Map<String, Class> classNameCache = new ConcurrentHashMap<String, Class>();
+    private final Map<Class, Constructor> constructors = new ConcurrentHashMap<Class, Constructor>();
+    private final Map<Class, Boolean> uninstantiable = new ConcurrentHashMap<Class, Boolean>();
+    private final Map<Class, Class> fallbacks = new ConcurrentHashMap<Class, Class>();
 
     private MapperOptions options = null;
 
@@ -44,14 +48,31 @@ public class DefaultCreator implements ObjectFactory {
         this.options = options;
     }
 
-    private static <T> Constructor<T> getNoArgsConstructor(final Class<T> type) {
-        try {
-            final Constructor<T> constructor = type.getDeclaredConstructor();
-            constructor.setAccessible(true);
-            return constructor;
-        } catch (NoSuchMethodException e) {
-            throw new MappingException("No usable constructor for " + type.getName(), e);
+    /**
+     * Gets the accessible no-args constructor of a type.  Constructors are looked up once per type and types which can't be created
+     * that way, such as interfaces, are remembered so the lookup isn't repeated for every instance.  Collection and map
+     * types are then created through the fallback recorded for them by {@link #createInstance(Class)} without getting here.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Constructor<T> getNoArgsConstructor(final Class<T> type) {
+        Constructor<T> constructor = constructors.get(type);
+        if (constructor == null) {
+            if (uninstantiable.containsKey(type)) {
+                throw new MappingException("No usable constructor for " + type.getName());
+            }
+            try {
+                if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+                    throw new InstantiationException(type.getName() + " is abstract");
+                }
+                constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                constructors.put(type, constructor);
+            } catch (Exception e) {
+                uninstantiable.put(type, Boolean.TRUE);
+                throw new MappingException("No usable constructor for " + type.getName(), e);
+            }
         }
+        return constructor;
     }
 
     /**
@@ -68,15 +89,19 @@ public class DefaultCreator implements ObjectFactory {
     @Override
     @SuppressWarnings("unchecked")
     public <T> T createInstance(final Class<T> clazz) {
+        final Class fallback = fallbacks.get(clazz);
+        if (fallback != null) {
+            return (T) createFallback(fallback);
+        }
         try {
             return getNoArgsConstructor(clazz).newInstance();
         } catch (Exception e) {
-            if (Collection.class.isAssignableFrom(clazz)) {
-                return (T) createList(null);
-            } else if (Map.class.isAssignableFrom(clazz)) {
-                return (T) createMap(null);
-            } else if (Set.class.isAssignableFrom(clazz)) {
-                return (T) createSet(null);
+            final Class kind = getFallbackKind(clazz);
+            if (kind != null) {
+                if (uninstantiable.containsKey(clazz)) {
+                    fallbacks.put(clazz, kind);
+                }
+                return (T) createFallback(kind);
             }
             throw new MappingException("No usable constructor for " + clazz.getName(), e);
         }
@@ -102,7 +127,7 @@ public class DefaultCreator implements ObjectFactory {
             }
         }
         try {
-            return createInstance(c, dbObj);
+            return createInstance(c);
         } catch (RuntimeException e) {
             final ConstructorArgs argAnn = mf.getAnnotation(ConstructorArgs.class);
             if (argAnn == null) {
@@ -186,12 +211,37 @@ public class DefaultCreator implements ObjectFactory {
         return c;
     }
 
+    /**
+     * Gets the kind of container to create in place of a collection or map type which can't be instantiated itself.
+     */
+    private Class getFallbackKind(final Class type) {
+        if (Collection.class.isAssignableFrom(type)) {
+            return List.class;
+        } else if (Map.class.isAssignableFrom(type)) {
+            return Map.class;
+        } else if (Set.class.isAssignableFrom(type)) {
+            return Set.class;
+        }
+        return null;
+    }
+
+    private Object createFallback(final Class kind) {
+        if (kind == List.class) {
+            return createList(null);
+        } else if (kind == Map.class) {
+            return createMap(null);
+        }
+        return createSet(null);
+    }
+
     /**
      * creates an instance of testType (if it isn't Object.class or null) or fallbackType
      */
     private <T> T newInstance(final Constructor<T> tryMe, final Class<T> fallbackType) {
         if (tryMe != null) {
-            tryMe.setAccessible(true);
+            if (!tryMe.isAccessible()) {
+                tryMe.setAccessible(true);
+            }
             try {
                 return tryMe.newInstance();
             } catch (Exception e) {
@@ -4,7 +4,9 @@ import com.mongodb.BasicDBList;
 import com.mongodb.BasicDBObject;
 import com.mongodb.DBObject;
 import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.annotations.Lazy;
 import org.mongodb.morphia.mapping.cache.EntityCache;
+import org.mongodb.morphia.mapping.lazy.CGLibLazyProxyFactory;
 import org.mongodb.morphia.utils.IterHelper;
 import org.mongodb.morphia.utils.IterHelper.MapIterCallback;
 import org.mongodb.morphia.utils.ReflectionUtils;
@@ -63,7 +65,7 @@ class EmbeddedMapper implements CustomMapper {
                             refObj = mapper.getConverters().decode(mf.getType(), dbVal, mf);
                         } else {
                             DBObject value = (DBObject) dbVal;
-                            refObj = mapper.getOptions().getObjectFactory().createInstance(mapper, mf, value);
+                            refObj = mapper.createFieldInstance(mf, value);
                             refObj = mapper.fromDb(datastore, value, refObj, cache);
                         }
                         if (refObj != null) {
@@ -111,42 +113,13 @@ class EmbeddedMapper implements CustomMapper {
     @SuppressWarnings("unchecked")
     private void readCollection(final Datastore datastore, final Mapper mapper, final Object entity, final EntityCache cache,
                                 final MappedField mf, final DBObject dbObject) {
-        Collection values;
-
         final Object dbVal = mf.getDbObjectValue(dbObject);
         if (dbVal != null) {
-            // multiple documents in a List
-            values = mf.isSet() ? mapper.getOptions().getObjectFactory().createSet(mf)
-                                : mapper.getOptions().getObjectFactory().createList(mf);
-
-            final List dbValues;
-            if (dbVal instanceof List) {
-                dbValues = (List) dbVal;
-            } else {
-                dbValues = new BasicDBList();
-                dbValues.add(dbVal);
-            }
-
-            EphemeralMappedField ephemeralMappedField = !mapper.isMapped(mf.getType()) && isMapOrCollection(mf)
-                                                            && (mf.getSubType() instanceof ParameterizedType)
-                                                        ? new EphemeralMappedField((ParameterizedType) mf.getSubType(), mf, mapper)
-                                                        : null;
-            for (final Object o : dbValues) {
-
-                Object newEntity = null;
-
-                if (o != null) {
-                    //run converters
-                    if (mapper.getConverters().hasSimpleValueConverter(mf) || mapper.getConverters()
-                                                                                    .hasSimpleValueConverter(mf.getSubClass())) {
-                        newEntity = mapper.getConverters().decode(mf.getSubClass(), o, mf);
-                    } else {
-                        newEntity = readMapOrCollectionOrEntity(datastore, mapper, cache, mf, ephemeralMappedField, (DBObject) o);
-                    }
-                }
-
-                values.add(newEntity);
+            if (isLazy(mapper, entity, mf) && !(dbVal instanceof List && ((List) dbVal).isEmpty())) {
+                mf.setFieldValue(entity, createLazyValue(datastore, mapper, mf, dbVal, createCollection(mapper, mf)));
+                return;
             }
+            final Collection values = readCollectionValues(datastore, mapper, cache, mf, dbVal);
             if (!values.isEmpty() || mapper.getOptions().isStoreEmpties()) {
                 if (mf.getType().isArray()) {
                     mf.setFieldValue(entity, ReflectionUtils.convertToArray(mf.getSubClass(), ReflectionUtils.iterToList(values)));
@@ -158,45 +131,120 @@ class EmbeddedMapper implements CustomMapper {
     }
 
     @SuppressWarnings("unchecked")
+    private Collection readCollectionValues(final Datastore datastore, final Mapper mapper, final EntityCache cache, final MappedField mf,
+                                            final Object dbVal) {
+        // multiple documents in a List
+        final Collection values = createCollection(mapper, mf);
+
+        final List dbValues;
+        if (dbVal instanceof List) {
+            dbValues = (List) dbVal;
+        } else {
+            dbValues = new BasicDBList();
+            dbValues.add(dbVal);
+        }
+
+        EphemeralMappedField ephemeralMappedField = !mapper.isMapped(mf.getType()) && isMapOrCollection(mf)
+                                                        && (mf.getSubType() instanceof ParameterizedType)
+                                                    ? new EphemeralMappedField((ParameterizedType) mf.getSubType(), mf, mapper)
+                                                    : null;
+        for (final Object o : dbValues) {
+
+            Object newEntity = null;
+
+            if (o != null) {
+                //run converters
+                if (mapper.getConverters().hasSimpleValueConverter(mf) || mapper.getConverters()
+                                                                                .hasSimpleValueConverter(mf.getSubClass())) {
+                    newEntity = mapper.getConverters().decode(mf.getSubClass(), o, mf);
+                } else {
+                    newEntity = readMapOrCollectionOrEntity(datastore, mapper, cache, mf, ephemeralMappedField, (DBObject) o);
+                }
+            }
+
+            values.add(newEntity);
+        }
+        return values;
+    }
+
+    private Collection createCollection(final Mapper mapper, final MappedField mf) {
+        return mf.isSet() ? mapper.getOptions().getObjectFactory().createSet(mf)
+                          : mapper.getOptions().getObjectFactory().createList(mf);
+    }
+
     private void readMap(final Datastore datastore, final Mapper mapper, final Object entity, final EntityCache cache,
                          final MappedField mf, final DBObject dbObject) {
         final DBObject dbObj = (DBObject) mf.getDbObjectValue(dbObject);
 
         if (dbObj != null) {
-            final Map map = mapper.getOptions().getObjectFactory().createMap(mf);
+            if (isLazy(mapper, entity, mf) && !dbObj.keySet().isEmpty()) {
+                final Map map = mapper.getOptions().getObjectFactory().createMap(mf);
+                mf.setFieldValue(entity, createLazyValue(datastore, mapper, mf, dbObj, map));
+                return;
+            }
+            final Map map = readMapValues(datastore, mapper, cache, mf, dbObj);
+            if (!map.isEmpty() || mapper.getOptions().isStoreEmpties()) {
+                mf.setFieldValue(entity, map);
+            }
+        }
+    }
 
-            final EphemeralMappedField ephemeralMappedField = isMapOrCollection(mf)
-                                                              ? new EphemeralMappedField((ParameterizedType) mf.getSubType(), mf, mapper)
-                                                              : null;
-            new IterHelper<Object, Object>().loopMap(dbObj, new MapIterCallback<Object, Object>() {
-                @Override
-                public void eval(final Object k, final Object val) {
-                    Object newEntity = null;
+    @SuppressWarnings("unchecked")
+    private Map readMapValues(final Datastore datastore, final Mapper mapper, final EntityCache cache, final MappedField mf,
+                              final DBObject dbObj) {
+        final Map map = mapper.getOptions().getObjectFactory().createMap(mf);
+
+        final EphemeralMappedField ephemeralMappedField = isMapOrCollection(mf)
+                                                          ? new EphemeralMappedField((ParameterizedType) mf.getSubType(), mf, mapper)
+                                                          : null;
+        new IterHelper<Object, Object>().loopMap(dbObj, new MapIterCallback<Object, Object>() {
+            @Override
+            public void eval(final Object k, final Object val) {
+                Object newEntity = null;
 
-                    //run converters
-                    if (val != null) {
-                        if (mapper.getConverters().hasSimpleValueConverter(mf)
-                            || mapper.getConverters().hasSimpleValueConverter(mf.getSubClass())) {
-                            newEntity = mapper.getConverters().decode(mf.getSubClass(), val, mf);
+                //run converters
+                if (val != null) {
+                    if (mapper.getConverters().hasSimpleValueConverter(mf)
+                        || mapper.getConverters().hasSimpleValueConverter(mf.getSubClass())) {
+                        newEntity = mapper.getConverters().decode(mf.getSubClass(), val, mf);
+                    } else {
+                        if (val instanceof DBObject) {
+                            newEntity = readMapOrCollectionOrEntity(datastore, mapper, cache, mf, ephemeralMappedField, (DBObject) val);
                         } else {
-                            if (val instanceof DBObject) {
-                                newEntity = readMapOrCollectionOrEntity(datastore, mapper, cache, mf, ephemeralMappedField, (DBObject) val);
-                            } else {
-                                newEntity = val;
-                            }
-
+                            newEntity = val;
                         }
-                    }
 
-                    final Object objKey = mapper.getConverters().decode(mf.getMapKeyClass(), k, mf);
-                    map.put(objKey, newEntity);
+                    }
                 }
-            });
 
-            if (!map.isEmpty() || mapper.getOptions().isStoreEmpties()) {
-                mf.setFieldValue(entity, map);
+                final Object objKey = mapper.getConverters().decode(mf.getMapKeyClass(), k, mf);
+                map.put(objKey, newEntity);
             }
-        }
+        });
+        return map;
+    }
+
+    /**
+     * Maps the stored form of a collection or map field which was left for later.
+     *
+     * @see LazyEmbeddedValue
+     */
+    Object readValue(final Datastore datastore, final Mapper mapper, final EntityCache cache, final MappedField mf, final Object dbVal) {
+        return mf.isMap() ? readMapValues(datastore, mapper, cache, mf, (DBObject) dbVal)
+                          : readCollectionValues(datastore, mapper, cache, mf, dbVal);
+    }
+
+    private boolean isLazy(final Mapper mapper, final Object entity, final MappedField mf) {
+        // the values of nested collections and maps are read through an EphemeralMappedField and are mapped with their parent
+        return !mf.getType().isArray() && !(entity instanceof MappedField)
+               && (mf.hasAnnotation(Lazy.class) || mapper.getMappedClass(entity).getAnnotation(Lazy.class) != null)
+               && mapper.getProxyFactory() instanceof CGLibLazyProxyFactory;
+    }
+
+    private Object createLazyValue(final Datastore datastore, final Mapper mapper, final MappedField mf, final Object dbVal,
+                                   final Object value) {
+        final LazyEmbeddedValue reference = new LazyEmbeddedValue(this, datastore, mapper, mf, dbVal, value.getClass());
+        return ((CGLibLazyProxyFactory) mapper.getProxyFactory()).createDeferredProxy(value, reference);
     }
 
     private Object readMapOrCollectionOrEntity(final Datastore datastore, final Mapper mapper, final EntityCache cache,
@@ -206,7 +254,7 @@ class EmbeddedMapper implements CustomMapper {
             mapper.fromDb(datastore, dbObj, ephemeralMappedField, cache);
             return ephemeralMappedField.getValue();
         } else {
-            final Object newEntity = mapper.getOptions().getObjectFactory().createInstance(mapper, mf, dbObj);
+            final Object newEntity = mapper.createFieldInstance(mf, dbObj);
             return mapper.fromDb(datastore, dbObj, newEntity, cache);
         }
     }
@@ -0,0 +1,514 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.mongodb.DBObjectCodec;
+import com.mongodb.DBRef;
+import org.bson.BSON;
+import org.bson.BSONObject;
+import org.bson.BsonBinary;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonDbPointer;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.codecs.BsonTypeClassMap;
+import org.bson.codecs.BsonTypeCodecMap;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.types.BSONTimestamp;
+import org.bson.types.Binary;
+import org.bson.types.CodeWScope;
+import org.bson.types.ObjectId;
+import org.bson.types.Symbol;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.Key;
+import org.mongodb.morphia.mapping.cache.EntityCache;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static java.lang.String.format;
+import static org.mongodb.morphia.mapping.Mapper.CLASS_NAME_FIELDNAME;
+import static org.mongodb.morphia.mapping.Mapper.ID_KEY;
+
+/**
+ * A driver {@link Codec} which reads and writes mapped entities directly from and to BSON.
+ * <p>
+ * Value fields are decoded as soon as their key is read from the {@link BsonReader} and written straight to the {@link BsonWriter} so
+ * no DBObject is built for the document as a whole.  The {@code _id} and {@code className} of a document are read before its other
+ * fields; they are normally its first fields, and when they are not the rest of the document is skipped through to find them before
+ * going back.  Keys no field is loaded from are skipped without being decoded.  Embedded and referenced fields are still handed to the
+ * configured {@link CustomMapper}s with a DBObject holding just their own values.  Classes with lifecycle methods, and any class when
+ * {@link EntityInterceptor}s are registered, are converted through a complete DBObject so that those callbacks see the same document
+ * as they do everywhere else.
+ * <p>
+ * When creating instances, the {@link org.mongodb.morphia.ObjectFactory} is given a DBObject with only the {@code _id} and
+ * {@code className} keys of the document.
+ *
+ * @param <T> the entity type
+ * @see MapperOptions#setUseCodecs(boolean)
+ * @since 1.4
+ */
+public class EntityCodec<T> implements CollectibleCodec<T> {
+    private static final BsonTypeClassMap BSON_TYPE_CLASS_MAP;
+
+    static {
+        final Map<BsonType, Class<?>> replacements = new HashMap<BsonType, Class<?>>();
+        replacements.put(BsonType.REGULAR_EXPRESSION, Pattern.class);
+        replacements.put(BsonType.SYMBOL, String.class);
+        replacements.put(BsonType.TIMESTAMP, BSONTimestamp.class);
+        replacements.put(BsonType.JAVASCRIPT_WITH_SCOPE, null);
+        replacements.put(BsonType.DOCUMENT, null);
+        BSON_TYPE_CLASS_MAP = new BsonTypeClassMap(replacements);
+    }
+
+    private final Datastore datastore;
+    private final Mapper mapper;
+    private final Class<T> type;
+    private final CodecRegistry registry;
+    private final BsonTypeCodecMap bsonTypeCodecMap;
+    private final DBObjectCodec documentCodec;
+    private final EntityCache cache;
+    private final Map<Object, DBObject> involvedObjects;
+
+    /**
+     * Creates a codec which uses a new EntityCache for each document it decodes.
+     *
+     * @param datastore the Datastore to use when resolving references
+     * @param mapper    the Mapper to use
+     * @param type      the entity type
+     * @param registry  the registry to use for the values of the documents
+     */
+    public EntityCodec(final Datastore datastore, final Mapper mapper, final Class<T> type, final CodecRegistry registry) {
+        this(datastore, mapper, type, registry, null, null);
+    }
+
+    /**
+     * Creates a codec
+     *
+     * @param datastore       the Datastore to use when resolving references
+     * @param mapper          the Mapper to use
+     * @param type            the entity type
+     * @param registry        the registry to use for the values of the documents
+     * @param cache           the EntityCache shared by all the documents decoded, or null to use a new one for each document
+     * @param involvedObjects the map collecting the DBObjects of any entities converted while encoding, which need their
+     *                        {@link org.mongodb.morphia.annotations.PostPersist} methods called once they are saved.  May be null.
+     */
+    public EntityCodec(final Datastore datastore, final Mapper mapper, final Class<T> type, final CodecRegistry registry,
+                       final EntityCache cache, final Map<Object, DBObject> involvedObjects) {
+        this.datastore = datastore;
+        this.mapper = mapper;
+        this.type = type;
+        this.registry = registry;
+        this.cache = cache;
+        this.involvedObjects = involvedObjects;
+        bsonTypeCodecMap = new BsonTypeCodecMap(BSON_TYPE_CLASS_MAP, registry);
+        documentCodec = new DBObjectCodec(registry, BSON_TYPE_CLASS_MAP);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T decode(final BsonReader reader, final DecoderContext decoderContext) {
+        final EntityCache entityCache = cache != null ? cache : mapper.createEntityCache();
+
+        reader.readStartDocument();
+        final DBObject header = new BasicDBObject();
+        final String firstField = readHeader(reader, decoderContext, header);
+        final T entity = mapper.createInstance(type, header);
+        final MappedClass mc = mapper.getMappedClass(entity);
+        if (!isStreamable(mc)) {
+            final DBObject document = new BasicDBObject(header.toMap());
+            readDocumentBody(reader, decoderContext, firstField, document);
+            reader.readEndDocument();
+            return mapper.fromDb(datastore, document, entity, entityCache);
+        }
+
+        Key<T> key = null;
+        if (header.containsField(ID_KEY) && mc.getIdField() != null) {
+            key = new Key<T>((Class<? extends T>) entity.getClass(), mc.getCollectionName(), header.get(ID_KEY));
+            if (mc.getEntityAnnotation() != null) {
+                final T cachedInstance = entityCache.getEntity(key);
+                if (cachedInstance != null) {
+                    skipDocumentBody(reader, firstField);
+                    return cachedInstance;
+                }
+                entityCache.putEntity(key, entity);
+            }
+        }
+
+        try {
+            readFields(reader, decoderContext, header, firstField, mc, entity, entityCache);
+        } catch (final MappingException e) {
+            throw new MappingException(format("Could not map %s with ID: %s in database '%s'", entity.getClass().getName(),
+                                              header.get(ID_KEY), datastore.getDB().getName()), e);
+        }
+
+        if (key != null) {
+            entityCache.putEntity(key, entity);
+        }
+        return entity;
+    }
+
+    @Override
+    public void encode(final BsonWriter writer, final T value, final EncoderContext encoderContext) {
+        final MappedClass mc = mapper.getMappedClass(value);
+        if (!isStreamable(mc)) {
+            documentCodec.encode(writer, mapper.toDBObject(value, getInvolvedObjects()), encoderContext);
+            return;
+        }
+
+        writer.writeStartDocument();
+        if (mc.getEntityAnnotation() == null || !mc.getEntityAnnotation().noClassnameStored()) {
+            writer.writeString(CLASS_NAME_FIELDNAME, mc.getDiscriminator() != null ? mc.getDiscriminator() : value.getClass().getName());
+        }
+        final BasicDBObject fieldDocument = new BasicDBObject();
+        for (final MappingPlan.FieldPlan fieldPlan : mapper.getMappingPlan(mc).getFields()) {
+            try {
+                mapper.writeMappedField(fieldDocument, fieldPlan, value, getInvolvedObjects());
+            } catch (Exception e) {
+                throw new MappingException("Error mapping field:" + fieldPlan.getField().getFullName(), e);
+            }
+            for (final String name : fieldDocument.keySet()) {
+                writer.writeName(name);
+                writeValue(writer, fieldDocument.get(name), encoderContext);
+            }
+            fieldDocument.clear();
+        }
+        writer.writeEndDocument();
+    }
+
+    /**
+     * Subclasses which are shared between writes may override this to give the map of the write being encoded.
+     *
+     * @return the map collecting the DBObjects of any entities converted while encoding, or null
+     */
+    protected Map<Object, DBObject> getInvolvedObjects() {
+        return involvedObjects;
+    }
+
+    @Override
+    public Class<T> getEncoderClass() {
+        return type;
+    }
+
+    @Override
+    public T generateIdIfAbsentFromDocument(final T document) {
+        if (!documentHasId(document)) {
+            mapper.updateKeyAndVersionInfo(datastore, new BasicDBObject(ID_KEY, new ObjectId()), mapper.createEntityCache(), document);
+        }
+        return document;
+    }
+
+    @Override
+    public boolean documentHasId(final T document) {
+        final MappedField idField = mapper.getMappedClass(document).getMappedIdField();
+        return idField != null && idField.getFieldValue(document) != null;
+    }
+
+    @Override
+    public BsonValue getDocumentId(final T document) {
+        final MappedClass mc = mapper.getMappedClass(document);
+        final MappedField idField = mc.getMappedIdField();
+        if (idField == null) {
+            throw new MappingException(format("%s does not have an @Id field", mc.getClazz().getName()));
+        }
+        final DBObject fieldDocument = new BasicDBObject();
+        for (final MappingPlan.FieldPlan fieldPlan : mapper.getMappingPlan(mc).getFields()) {
+            if (fieldPlan.getField().equals(idField)) {
+                mapper.writeMappedField(fieldDocument, fieldPlan, document, null);
+            }
+        }
+
+        final BsonDocument idDocument = new BsonDocument();
+        final BsonDocumentWriter writer = new BsonDocumentWriter(idDocument);
+        writer.writeStartDocument();
+        writer.writeName(ID_KEY);
+        writeValue(writer, fieldDocument.get(ID_KEY), EncoderContext.builder().build());
+        writer.writeEndDocument();
+        return idDocument.get(ID_KEY);
+    }
+
+    /**
+     * Checks whether instances of a type are decoded and encoded without building a DBObject for the whole document.  Instances of
+     * other types are still converted by this codec, but through {@link Mapper#fromDb(Datastore, DBObject, Object, EntityCache)} and
+     * {@link Mapper#toDBObject(Object, Map)} so that their lifecycle methods and any {@link EntityInterceptor}s are called.
+     *
+     * @param mapper the Mapper to use
+     * @param type   the type to check
+     * @return true if the type is converted directly
+     */
+    public static boolean isStreamable(final Mapper mapper, final Class<?> type) {
+        final MappedClass mc = mapper.getMappedClass(type);
+        return mapper.getInterceptors().isEmpty()
+               && !mapper.getMappingPlan(mc).hasLifecycleMethods()
+               && !Map.class.isAssignableFrom(mc.getClazz())
+               && !Collection.class.isAssignableFrom(mc.getClazz());
+    }
+
+    private boolean isStreamable(final MappedClass mc) {
+        return isStreamable(mapper, mc.getClazz());
+    }
+
+    /**
+     * Reads the {@code _id} and {@code className} of a document, which are usually its first fields.  If either comes after another
+     * field, the rest of the document is skipped through to look for it and the reader is then moved back.
+     *
+     * @return the name of the first other field, whose value is the next to be read, or null if there are no other fields
+     */
+    private String readHeader(final BsonReader reader, final DecoderContext decoderContext, final DBObject header) {
+        String firstField = null;
+        while (firstField == null && reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            final String name = reader.readName();
+            if (isHeaderField(name) && !header.containsField(name)) {
+                header.put(name, readValue(reader, decoderContext));
+            } else {
+                firstField = name;
+            }
+        }
+        if (firstField != null && !(header.containsField(ID_KEY) && header.containsField(CLASS_NAME_FIELDNAME))) {
+            reader.mark();
+            reader.skipValue();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                final String name = reader.readName();
+                if (isHeaderField(name) && !header.containsField(name)) {
+                    header.put(name, readValue(reader, decoderContext));
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.reset();
+        }
+        return firstField;
+    }
+
+    private static boolean isHeaderField(final String name) {
+        return ID_KEY.equals(name) || CLASS_NAME_FIELDNAME.equals(name);
+    }
+
+    private void readFields(final BsonReader reader, final DecoderContext decoderContext, final DBObject header, final String firstField,
+                            final MappedClass mc, final T entity, final EntityCache entityCache) {
+        final MappingPlan plan = mapper.getMappingPlan(mc);
+        final boolean decodeValues = mapper.getOptions().getValueMapper().getClass().equals(ValueMapper.class);
+        final DBObject remaining = new BasicDBObject();
+        final Set<MappedField> decoded = new HashSet<MappedField>();
+
+        for (final String name : header.keySet()) {
+            if (plan.isLoaded(name)) {
+                readField(plan, decodeValues, name, header.get(name), entity, remaining, decoded);
+            }
+        }
+        String name = firstField;
+        while (name != null) {
+            if (header.containsField(name) || !plan.isLoaded(name)) {
+                reader.skipValue();
+            } else {
+                readField(plan, decodeValues, name, readValue(reader, decoderContext), entity, remaining, decoded);
+            }
+            name = reader.readBsonType() != BsonType.END_OF_DOCUMENT ? reader.readName() : null;
+        }
+        reader.readEndDocument();
+
+        for (final MappingPlan.FieldPlan fieldPlan : plan.getFields()) {
+            if (!decoded.contains(fieldPlan.getField())) {
+                fieldPlan.getReadKind().getMapper(mapper.getOptions())
+                         .fromDBObject(datastore, remaining, fieldPlan.getField(), entity, entityCache, mapper);
+            }
+        }
+    }
+
+    /**
+     * Decodes a value field straight into the entity and keeps any other value for the field mappers.
+     */
+    private void readField(final MappingPlan plan, final boolean decodeValues, final String name, final Object value, final T entity,
+                           final DBObject remaining, final Set<MappedField> decoded) {
+        final MappingPlan.FieldPlan fieldPlan = decodeValues ? plan.getValueField(name) : null;
+        if (fieldPlan != null) {
+            mapper.getConverters().fromDBValue(value, fieldPlan.getField(), entity);
+            decoded.add(fieldPlan.getField());
+        } else {
+            remaining.put(name, value);
+        }
+    }
+
+    private void readDocumentBody(final BsonReader reader, final DecoderContext decoderContext, final String firstField,
+                                  final DBObject document) {
+        String name = firstField;
+        while (name != null) {
+            document.put(name, readValue(reader, decoderContext));
+            name = reader.readBsonType() != BsonType.END_OF_DOCUMENT ? reader.readName() : null;
+        }
+    }
+
+    private void skipDocumentBody(final BsonReader reader, final String firstField) {
+        if (firstField != null) {
+            reader.skipValue();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                reader.readName();
+                reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+    }
+
+    private DBObject readDocumentBody(final BsonReader reader, final DecoderContext decoderContext) {
+        final DBObject document = new BasicDBObject();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            final String name = reader.readName();
+            document.put(name, readValue(reader, decoderContext));
+        }
+        return document;
+    }
+
+    /**
+     * Reads a value the same way {@link DBObjectCodec} does for the values of a document.
+     */
+    private Object readValue(final BsonReader reader, final DecoderContext decoderContext) {
+        final Object value;
+        switch (reader.getCurrentBsonType()) {
+            case DOCUMENT:
+                reader.readStartDocument();
+                final DBObject document = readDocumentBody(reader, decoderContext);
+                reader.readEndDocument();
+                value = document.containsField("$ref") && document.containsField("$id")
+                        ? new DBRef((String) document.get("$ref"), document.get("$id"))
+                        : document;
+                break;
+            case ARRAY:
+                reader.readStartArray();
+                final BasicDBList list = new BasicDBList();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    list.add(readValue(reader, decoderContext));
+                }
+                reader.readEndArray();
+                value = list;
+                break;
+            case JAVASCRIPT_WITH_SCOPE:
+                final String code = reader.readJavaScriptWithScope();
+                reader.readStartDocument();
+                final DBObject scope = readDocumentBody(reader, decoderContext);
+                reader.readEndDocument();
+                value = new CodeWScope(code, scope);
+                break;
+            case DB_POINTER:
+                final BsonDbPointer pointer = reader.readDBPointer();
+                value = new DBRef(pointer.getNamespace(), pointer.getId());
+                break;
+            case BINARY:
+                value = readBinary(reader, decoderContext);
+                break;
+            case NULL:
+                reader.readNull();
+                value = null;
+                break;
+            default:
+                value = bsonTypeCodecMap.get(reader.getCurrentBsonType()).decode(reader, decoderContext);
+        }
+        return BSON.applyDecodingHooks(value);
+    }
+
+    private Object readBinary(final BsonReader reader, final DecoderContext decoderContext) {
+        final byte subType = reader.peekBinarySubType();
+        final int uuidSize = 16;
+        if (BsonBinarySubType.isUuid(subType) && reader.peekBinarySize() == uuidSize) {
+            return registry.get(UUID.class).decode(reader, decoderContext);
+        } else if (subType == BsonBinarySubType.BINARY.getValue() || subType == BsonBinarySubType.OLD_BINARY.getValue()) {
+            return registry.get(byte[].class).decode(reader, decoderContext);
+        } else {
+            return registry.get(Binary.class).decode(reader, decoderContext);
+        }
+    }
+
+    /**
+     * Writes a value the same way {@link DBObjectCodec} does for the values of a document.
+     */
+    @SuppressWarnings("unchecked")
+    private void writeValue(final BsonWriter writer, final Object initialValue, final EncoderContext encoderContext) {
+        final Object value = BSON.applyEncodingHooks(initialValue);
+        if (value == null) {
+            writer.writeNull();
+        } else if (value instanceof DBRef) {
+            final DBRef dbRef = (DBRef) value;
+            writer.writeStartDocument();
+            writer.writeString("$ref", dbRef.getCollectionName());
+            writer.writeName("$id");
+            writeValue(writer, dbRef.getId(), encoderContext);
+            if (dbRef.getDatabaseName() != null) {
+                writer.writeString("$db", dbRef.getDatabaseName());
+            }
+            writer.writeEndDocument();
+        } else if (value instanceof Map) {
+            writer.writeStartDocument();
+            for (final Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+                writer.writeName(entry.getKey());
+                writeValue(writer, entry.getValue(), encoderContext);
+            }
+            writer.writeEndDocument();
+        } else if (value instanceof Iterable) {
+            writer.writeStartArray();
+            for (final Object item : (Iterable) value) {
+                writeValue(writer, item, encoderContext);
+            }
+            writer.writeEndArray();
+        } else if (value instanceof BSONObject) {
+            writeDocument(writer, (BSONObject) value, encoderContext);
+        } else if (value instanceof CodeWScope) {
+            final CodeWScope codeWScope = (CodeWScope) value;
+            writer.writeJavaScriptWithScope(codeWScope.getCode());
+            writeDocument(writer, codeWScope.getScope(), encoderContext);
+        } else if (value instanceof byte[]) {
+            writer.writeBinaryData(new BsonBinary((byte[]) value));
+        } else if (value.getClass().isArray()) {
+            writer.writeStartArray();
+            final int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                writeValue(writer, Array.get(value, i), encoderContext);
+            }
+            writer.writeEndArray();
+        } else if (value instanceof Symbol) {
+            writer.writeSymbol(((Symbol) value).getSymbol());
+        } else {
+            final Codec codec = registry.get(value.getClass());
+            encoderContext.encodeWithChildContext(codec, writer, value);
+        }
+    }
+
+    private void writeDocument(final BsonWriter writer, final BSONObject document, final EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        for (final String name : document.keySet()) {
+            writer.writeName(name);
+            writeValue(writer, document.get(name), encoderContext);
+        }
+        writer.writeEndDocument();
+    }
+}
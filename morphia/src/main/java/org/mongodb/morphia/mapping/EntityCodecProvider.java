@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping;
+
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.mongodb.morphia.Datastore;
+
+/**
+ * Provides an {@link EntityCodec} for every class already mapped by a {@link Mapper}.  This allows the mapped types to be used with
+ * {@code MongoCollection<T>}:
+ * <pre>
+ * CodecRegistry registry = CodecRegistries.fromRegistries(
+ *     CodecRegistries.fromProviders(new EntityCodecProvider(datastore, mapper)),
+ *     MongoClient.getDefaultCodecRegistry());
+ * MongoCollection&lt;Hotel&gt; hotels = database.getCollection("hotels", Hotel.class).withCodecRegistry(registry);
+ * </pre>
+ *
+ * @since 1.4
+ */
+public class EntityCodecProvider implements CodecProvider {
+    private final Datastore datastore;
+    private final Mapper mapper;
+
+    /**
+     * Creates a provider
+     *
+     * @param datastore the Datastore to use when resolving references
+     * @param mapper    the Mapper holding the mapped classes
+     */
+    public EntityCodecProvider(final Datastore datastore, final Mapper mapper) {
+        this.datastore = datastore;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public <T> Codec<T> get(final Class<T> clazz, final CodecRegistry registry) {
+        return mapper.isMapped(clazz) ? new EntityCodec<T>(datastore, mapper, clazz, registry) : null;
+    }
+}
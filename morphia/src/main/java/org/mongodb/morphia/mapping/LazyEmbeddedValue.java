@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping;
+
+import com.thoughtworks.proxy.kit.ObjectReference;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.mapping.lazy.proxy.ProxiedReference;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the stored form of a collection or map field marked {@link org.mongodb.morphia.annotations.Lazy} and maps it the first time the
+ * field's proxy is used.
+ */
+final class LazyEmbeddedValue implements ObjectReference, ProxiedReference, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final ReentrantLock mapLock = new ReentrantLock();
+    private final Class valueClass;
+    private transient EmbeddedMapper embeddedMapper;
+    private transient Datastore datastore;
+    private transient Mapper mapper;
+    private transient MappedField mf;
+    private transient Object dbValue;
+    private Object value;
+    private volatile boolean isMapped;
+
+    LazyEmbeddedValue(final EmbeddedMapper embeddedMapper, final Datastore datastore, final Mapper mapper, final MappedField mf,
+                      final Object dbValue, final Class valueClass) {
+        this.embeddedMapper = embeddedMapper;
+        this.datastore = datastore;
+        this.mapper = mapper;
+        this.mf = mf;
+        this.dbValue = dbValue;
+        this.valueClass = valueClass;
+    }
+
+    @Override
+    public Object get() {
+        if (isMapped) {
+            return value;
+        }
+
+        mapLock.lock();
+        try {
+            if (!isMapped) {
+                // mapped into a cache of its own since the one of the query which loaded the entity is long gone
+                value = embeddedMapper.readValue(datastore, mapper, mapper.createEntityCache(), mf, dbValue);
+                isMapped = true;
+                embeddedMapper = null;
+                datastore = null;
+                mapper = null;
+                mf = null;
+                dbValue = null;
+            }
+            return value;
+        } finally {
+            mapLock.unlock();
+        }
+    }
+
+    @Override
+    public void set(final Object item) {
+        throw new UnsupportedOperationException();
+    }
+
+    //CHECKSTYLE:OFF
+    @Override
+    public Class __getReferenceObjClass() {
+        return valueClass;
+    }
+
+    @Override
+    public boolean __isFetched() {
+        return isMapped;
+    }
+
+    @Override
+    public Object __unwrap() {
+        return get();
+    }
+    //CHECKSTYLE:ON
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        // the stored form can not be mapped again once deserialized
+        get();
+        out.defaultWriteObject();
+    }
+}
@@ -20,6 +20,7 @@ package org.mongodb.morphia.mapping;
 import com.mongodb.DBObject;
 import org.mongodb.morphia.EntityInterceptor;
 import org.mongodb.morphia.annotations.Converters;
+import org.mongodb.morphia.annotations.Discriminator;
 import org.mongodb.morphia.annotations.Embedded;
 import org.mongodb.morphia.annotations.Entity;
 import org.mongodb.morphia.annotations.EntityListeners;
@@ -27,6 +28,7 @@ import org.mongodb.morphia.annotations.Field;
 import org.mongodb.morphia.annotations.Id;
 import org.mongodb.morphia.annotations.IndexOptions;
 import org.mongodb.morphia.annotations.Indexes;
+import org.mongodb.morphia.annotations.Lazy;
 import org.mongodb.morphia.annotations.PostLoad;
 import org.mongodb.morphia.annotations.PostPersist;
 import org.mongodb.morphia.annotations.PreLoad;
@@ -48,6 +50,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -93,6 +96,7 @@ public class MappedClass {
         INTERESTING_ANNOTATIONS.add(Validation.class);
         INTERESTING_ANNOTATIONS.add(Field.class);
         INTERESTING_ANNOTATIONS.add(IndexOptions.class);
+        INTERESTING_ANNOTATIONS.add(Lazy.class);
     }
 
     /**
@@ -108,7 +112,7 @@ public class MappedClass {
     /**
      * a list of the fields to map
      */
-    private final List<MappedField> persistenceFields = new ArrayList<MappedField>();
+    private final List<MappedField> persistenceFields = new PersistenceFields();
     /**
      * the type we are mapping to/from
      */
@@ -125,6 +129,9 @@ public class MappedClass {
     private MapperOptions mapperOptions;
     private MappedClass superClass;
     private List<MappedClass> interfaces = new ArrayList<MappedClass>();
+    private volatile MappingPlan mappingPlan;
+    private volatile FieldIndex fieldIndex;
+    private String discriminator;
 
     /**
      * Creates a MappedClass instance
@@ -339,6 +346,14 @@ public class MappedClass {
         return clazz;
     }
 
+    /**
+     * @return the value stored in the className field for this class, set with {@link Discriminator}, or null if the class name is stored
+     * @since 1.4
+     */
+    public String getDiscriminator() {
+        return discriminator;
+    }
+
     /**
      * @return the collName
      */
@@ -370,13 +385,8 @@ public class MappedClass {
      * @return the list of fields
      */
     public List<MappedField> getFieldsAnnotatedWith(final Class<? extends Annotation> clazz) {
-        final List<MappedField> results = new ArrayList<MappedField>();
-        for (final MappedField mf : persistenceFields) {
-            if (mf.getAnnotations().containsKey(clazz)) {
-                results.add(mf);
-            }
-        }
-        return results;
+        final List<MappedField> results = getFieldIndex().byAnnotation.get(clazz);
+        return results != null ? results : Collections.<MappedField>emptyList();
     }
 
     /**
@@ -414,15 +424,7 @@ public class MappedClass {
      * @return true if that mapped field name is found
      */
     public MappedField getMappedField(final String storedName) {
-        for (final MappedField mf : persistenceFields) {
-            for (final String n : mf.getLoadNames()) {
-                if (storedName.equals(n)) {
-                    return mf;
-                }
-            }
-        }
-
-        return null;
+        return getFieldIndex().byLoadName.get(storedName);
     }
 
     /**
@@ -432,13 +434,7 @@ public class MappedClass {
      * @return the MappedField for the named Java field
      */
     public MappedField getMappedFieldByJavaField(final String name) {
-        for (final MappedField mf : persistenceFields) {
-            if (name.equals(mf.getJavaFieldName())) {
-                return mf;
-            }
-        }
-
-        return null;
+        return getFieldIndex().byJavaName.get(name);
     }
 
     /**
@@ -458,6 +454,9 @@ public class MappedClass {
     }
 
     /**
+     * Returns the fields to map.  The lookups by name and annotation see fields added to or removed from this list, but {@link #update()}
+     * should still be called afterwards if the {@code @Id} field changes.
+     *
      * @return the persistenceFields
      */
     public List<MappedField> getPersistenceFields() {
@@ -491,8 +490,20 @@ public class MappedClass {
 
     }
 
-    boolean isSubType(final MappedClass mc) {
-        return mc.equals(superClass) || interfaces.contains(mc);
+    MappingPlan getMappingPlan() {
+        return mappingPlan;
+    }
+
+    void setMappingPlan(final MappingPlan mappingPlan) {
+        this.mappingPlan = mappingPlan;
+    }
+
+    boolean hasLifecycleMethods() {
+        return !lifecycleMethods.isEmpty();
+    }
+
+    List<MappedClass> getInterfaces() {
+        return interfaces;
     }
 
     @Override
@@ -508,6 +519,8 @@ public class MappedClass {
         embeddedAn = (Embedded) getAnnotation(Embedded.class);
         entityAn = (Entity) getFirstAnnotation(Entity.class);
         // polymorphicAn = (Polymorphic) getAnnotation(Polymorphic.class);
+        fieldIndex = new FieldIndex(this, persistenceFields);
+        mappingPlan = null;
         final List<MappedField> fields = getFieldsAnnotatedWith(Id.class);
         if (fields != null && !fields.isEmpty()) {
             idField = fields.get(0).getField();
@@ -523,6 +536,14 @@ public class MappedClass {
         new MappingValidator(mapper.getOptions().getObjectFactory()).validate(mapper, this);
     }
 
+    /**
+     * Validates this MappedClass with the rules the Morphia annotation processor does not check as classes are compiled
+     * @param mapper the Mapper to use for validation
+     */
+    void validateIndexed(final Mapper mapper) {
+        new MappingValidator(mapper.getOptions().getObjectFactory()).validateIndexed(mapper, Collections.singletonList(this));
+    }
+
     protected void basicValidate() {
         final boolean isStatic = Modifier.isStatic(clazz.getModifiers());
         if (!isStatic && clazz.isMemberClass()) {
@@ -538,6 +559,15 @@ public class MappedClass {
             addAnnotation(c);
         }
 
+        final Discriminator discriminatorAn = clazz.getAnnotation(Discriminator.class);
+        if (discriminatorAn != null) {
+            if (discriminatorAn.value().length() == 0 || discriminatorAn.value().contains(".")) {
+                throw new MappingException(format("The discriminator '%s' of %s must not be empty or contain a '.'",
+                                                  discriminatorAn.value(), clazz.getName()));
+            }
+            discriminator = discriminatorAn.value();
+        }
+
         Class<?> superclass = clazz.getSuperclass();
         if (superclass != null && !superclass.equals(Object.class)) {
             superClass = mapper.getMappedClass(superclass);
@@ -590,6 +620,7 @@ public class MappedClass {
                 }
             }
         }
+        fieldIndex = new FieldIndex(this, persistenceFields);
     }
 
     /**
@@ -634,6 +665,27 @@ public class MappedClass {
         }
     }
 
+    /**
+     * Drops the lookup tables and the mapping plan for the persistence fields after a field is added or removed or an annotation is
+     * added to one of them.
+     */
+    void fieldsChanged() {
+        fieldIndex = null;
+        mappingPlan = null;
+    }
+
+    /**
+     * Gets the lookup tables for the persistence fields, rebuilding them if the fields have changed since they were built.
+     */
+    private FieldIndex getFieldIndex() {
+        FieldIndex index = fieldIndex;
+        if (index == null) {
+            index = new FieldIndex(this, persistenceFields);
+            fieldIndex = index;
+        }
+        return index;
+    }
+
     private Object getOrCreateInstance(final Class<?> clazz, final Mapper mapper) {
         if (mapper.getInstanceCache().containsKey(clazz)) {
             return mapper.getInstanceCache().get(clazz);
@@ -658,6 +710,46 @@ public class MappedClass {
                || mapper.getOptions().isIgnoreFinals() && Modifier.isFinal(fieldMods);
     }
 
+    /**
+     * The persistence fields, which drop the lookup tables built from them whenever they are changed.  The other ways of changing the
+     * list, such as its iterators and {@code remove(Object)}, all go through these methods.
+     */
+    private final class PersistenceFields extends AbstractList<MappedField> {
+        private final List<MappedField> fields = new ArrayList<MappedField>();
+
+        @Override
+        public MappedField get(final int index) {
+            return fields.get(index);
+        }
+
+        @Override
+        public int size() {
+            return fields.size();
+        }
+
+        @Override
+        public MappedField set(final int index, final MappedField element) {
+            final MappedField previous = fields.set(index, element);
+            fieldsChanged();
+            return previous;
+        }
+
+        @Override
+        public void add(final int index, final MappedField element) {
+            fields.add(index, element);
+            modCount++;
+            fieldsChanged();
+        }
+
+        @Override
+        public MappedField remove(final int index) {
+            final MappedField removed = fields.remove(index);
+            modCount++;
+            fieldsChanged();
+            return removed;
+        }
+    }
+
     private static class ClassMethodPair {
         private final Class<?> clazz;
         private final Method method;
@@ -668,4 +760,41 @@ public class MappedClass {
         }
     }
 
+    /**
+     * Lookup tables for the persistence fields by stored and alternate names, by Java name and by annotation.  When names collide the
+     * field which comes first in the list wins.
+     */
+    private static final class FieldIndex {
+        private final Map<String, MappedField> byLoadName = new HashMap<String, MappedField>();
+        private final Map<String, MappedField> byJavaName = new HashMap<String, MappedField>();
+        private final Map<Class<? extends Annotation>, List<MappedField>> byAnnotation =
+            new HashMap<Class<? extends Annotation>, List<MappedField>>();
+
+        private FieldIndex(final MappedClass mappedClass, final List<MappedField> fields) {
+            final Map<Class<? extends Annotation>, List<MappedField>> annotated =
+                new HashMap<Class<? extends Annotation>, List<MappedField>>();
+            for (final MappedField mf : fields) {
+                mf.setIndexedBy(mappedClass);
+                for (final String name : mf.getLoadNames()) {
+                    if (!byLoadName.containsKey(name)) {
+                        byLoadName.put(name, mf);
+                    }
+                }
+                if (!byJavaName.containsKey(mf.getJavaFieldName())) {
+                    byJavaName.put(mf.getJavaFieldName(), mf);
+                }
+                for (final Class<? extends Annotation> annotation : mf.getAnnotations().keySet()) {
+                    List<MappedField> list = annotated.get(annotation);
+                    if (list == null) {
+                        list = new ArrayList<MappedField>();
+                        annotated.put(annotation, list);
+                    }
+                    list.add(mf);
+                }
+            }
+            for (final Map.Entry<Class<? extends Annotation>, List<MappedField>> entry : annotated.entrySet()) {
+                byAnnotation.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+            }
+        }
+    }
 }
@@ -25,6 +25,7 @@ import org.mongodb.morphia.annotations.ConstructorArgs;
 import org.mongodb.morphia.annotations.Embedded;
 import org.mongodb.morphia.annotations.Id;
 import org.mongodb.morphia.annotations.Indexed;
+import org.mongodb.morphia.annotations.Lazy;
 import org.mongodb.morphia.annotations.NotSaved;
 import org.mongodb.morphia.annotations.Property;
 import org.mongodb.morphia.annotations.Reference;
@@ -32,8 +33,10 @@ import org.mongodb.morphia.annotations.Serialized;
 import org.mongodb.morphia.annotations.Text;
 import org.mongodb.morphia.annotations.Transient;
 import org.mongodb.morphia.annotations.Version;
+import org.mongodb.morphia.converters.ResolvedConverters;
 import org.mongodb.morphia.logging.Logger;
 import org.mongodb.morphia.logging.MorphiaLoggerFactory;
+import org.mongodb.morphia.mapping.accessor.FieldAccessor;
 import org.mongodb.morphia.utils.ReflectionUtils;
 
 import java.lang.annotation.Annotation;
@@ -49,6 +52,7 @@ import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -81,6 +85,7 @@ public class MappedField {
         INTERESTING.add(AlsoLoad.class);
         INTERESTING.add(NotSaved.class);
         INTERESTING.add(Text.class);
+        INTERESTING.add(Lazy.class);
     }
 
     // Annotations that have been found relevant to mapping
@@ -88,6 +93,7 @@ public class MappedField {
     private final List<MappedField> typeParameters = new ArrayList<MappedField>();
     private Class persistedClass;
     private Field field; // the field :)
+    private FieldAccessor accessor; // reads and writes the field
     private Class realType; // the real type
     private Constructor constructor; // the constructor for the type
     private Type subType; // the type (T) for the Collection<T>/T[]/Map<?,T>
@@ -101,6 +107,9 @@ public class MappedField {
     private boolean isArray; // indicated if it is an Array
     private boolean isCollection; // indicated if the collection is a list)
     private Type genericType;
+    private List<String> loadNames; // the names to load from, computed on first use
+    private volatile ResolvedConverters resolvedConverters; // the converters chosen for this field's values
+    private volatile MappedClass indexedBy; // the class whose field lookup tables include this field
 
     MappedField(final Field f, final Class<?> clazz, final Mapper mapper) {
         f.setAccessible(true);
@@ -109,6 +118,7 @@ public class MappedField {
         realType = field.getType();
         genericType = field.getGenericType();
         discover(mapper);
+        accessor = mapper.getOptions().getFieldAccessorFactory().createAccessor(f);
     }
 
     /**
@@ -122,6 +132,7 @@ public class MappedField {
         this.field = field;
         genericType = type;
         discoverType(mapper);
+        accessor = mapper.getOptions().getFieldAccessorFactory().createAccessor(field);
     }
 
     /**
@@ -141,6 +152,7 @@ public class MappedField {
     public void addAnnotation(final Class<? extends Annotation> clazz) {
         if (field.isAnnotationPresent(clazz)) {
             foundAnnotations.put(clazz, field.getAnnotation(clazz));
+            annotationsChanged();
         }
     }
 
@@ -152,6 +164,19 @@ public class MappedField {
      */
     public void addAnnotation(final Class<? extends Annotation> clazz, final Annotation ann) {
         foundAnnotations.put(clazz, ann);
+        annotationsChanged();
+    }
+
+    void setIndexedBy(final MappedClass mappedClass) {
+        indexedBy = mappedClass;
+    }
+
+    private void annotationsChanged() {
+        loadNames = null;
+        final MappedClass mappedClass = indexedBy;
+        if (mappedClass != null) {
+            mappedClass.fieldsChanged();
+        }
     }
 
     /**
@@ -222,6 +247,34 @@ public class MappedField {
         return field;
     }
 
+    /**
+     * @return the accessor used to read and write the java field
+     * @since 1.4
+     */
+    public FieldAccessor getAccessor() {
+        return accessor;
+    }
+
+    /**
+     * @return the converters last chosen for this field's values, or null if none have been chosen yet
+     * @see org.mongodb.morphia.converters.Converters
+     * @since 1.4
+     */
+    public ResolvedConverters getResolvedConverters() {
+        return resolvedConverters;
+    }
+
+    /**
+     * Stores the converters chosen for this field's values.  This method is primarily an internal method used by
+     * {@link org.mongodb.morphia.converters.Converters}.
+     *
+     * @param resolvedConverters the converters chosen
+     * @since 1.4
+     */
+    public void setResolvedConverters(final ResolvedConverters resolvedConverters) {
+        this.resolvedConverters = resolvedConverters;
+    }
+
     /**
      * Gets the value of the field mapped on the instance given.
      *
@@ -229,11 +282,7 @@ public class MappedField {
      * @return the value stored in the java field
      */
     public Object getFieldValue(final Object instance) {
-        try {
-            return field.get(instance);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
-        }
+        return accessor.get(instance);
     }
 
     /**
@@ -274,15 +323,20 @@ public class MappedField {
     }
 
     /**
-     * @return the name of the field's (key)name for mongodb, in order of loading.
+     * @return the name of the field's (key)name for mongodb, in order of loading.  The returned list can not be modified.
      */
     public List<String> getLoadNames() {
-        final List<String> names = new ArrayList<String>();
-        names.add(getMappedFieldName());
-
-        final AlsoLoad al = (AlsoLoad) foundAnnotations.get(AlsoLoad.class);
-        if (al != null && al.value() != null && al.value().length > 0) {
-            names.addAll(asList(al.value()));
+        List<String> names = loadNames;
+        if (names == null) {
+            names = new ArrayList<String>();
+            names.add(getMappedFieldName());
+
+            final AlsoLoad al = (AlsoLoad) foundAnnotations.get(AlsoLoad.class);
+            if (al != null && al.value() != null && al.value().length > 0) {
+                names.addAll(asList(al.value()));
+            }
+            names = Collections.unmodifiableList(names);
+            loadNames = names;
         }
 
         return names;
@@ -419,7 +473,9 @@ public class MappedField {
      * @return ann the annotation
      */
     public Annotation putAnnotation(final Annotation ann) {
-        return foundAnnotations.put(ann.getClass(), ann);
+        final Annotation previous = foundAnnotations.put(ann.getClass(), ann);
+        annotationsChanged();
+        return previous;
     }
 
     /**
@@ -429,11 +485,7 @@ public class MappedField {
      * @param value    the value to set
      */
     public void setFieldValue(final Object instance, final Object value) {
-        try {
-            field.set(instance, value);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
-        }
+        accessor.set(instance, value);
     }
 
     @Override
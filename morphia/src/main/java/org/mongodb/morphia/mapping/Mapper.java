@@ -21,6 +21,7 @@ import org.mongodb.morphia.Datastore;
 import org.mongodb.morphia.EntityInterceptor;
 import org.mongodb.morphia.Key;
 import org.mongodb.morphia.annotations.Converters;
+import org.mongodb.morphia.annotations.Discriminator;
 import org.mongodb.morphia.annotations.Embedded;
 import org.mongodb.morphia.annotations.NotSaved;
 import org.mongodb.morphia.annotations.PostLoad;
@@ -32,6 +33,9 @@ import org.mongodb.morphia.annotations.Reference;
 import org.mongodb.morphia.annotations.Serialized;
 import org.mongodb.morphia.converters.CustomConverters;
 import org.mongodb.morphia.converters.TypeConverter;
+import org.mongodb.morphia.internal.ChangeTracker;
+import org.mongodb.morphia.internal.MappedClassIndex;
+import org.mongodb.morphia.internal.PathCache;
 import org.mongodb.morphia.logging.Logger;
 import org.mongodb.morphia.logging.MorphiaLoggerFactory;
 import org.mongodb.morphia.mapping.cache.EntityCache;
@@ -51,11 +55,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
 
 import static java.lang.String.format;
@@ -92,14 +96,20 @@ public class Mapper {
      */
     private final Map<String, MappedClass> mappedClasses = new ConcurrentHashMap<String, MappedClass>();
     private final ConcurrentHashMap<String, Set<MappedClass>> mappedClassesByCollection = new ConcurrentHashMap<String, Set<MappedClass>>();
+    private final ConcurrentHashMap<String, MappedClass> mappedClassesByDiscriminator = new ConcurrentHashMap<String, MappedClass>();
+    private final ConcurrentHashMap<Class, List<MappedClass>> subTypes = new ConcurrentHashMap<Class, List<MappedClass>>();
+    private final PathCache pathCache = new PathCache();
+    private final ChangeTracker changeTracker = new ChangeTracker();
+    private volatile MappedClassIndex mappedClassIndex;
 
     //EntityInterceptors; these are called after EntityListeners and lifecycle methods on an Entity, for all Entities
-    private final List<EntityInterceptor> interceptors = new LinkedList<EntityInterceptor>();
+    //read on every lifecycle callback so it is copied on write rather than locked
+    private final List<EntityInterceptor> interceptors = new CopyOnWriteArrayList<EntityInterceptor>();
 
     //A general cache of instances of classes; used by MappedClass for EntityListener(s)
     private final Map<Class, Object> instanceCache = new ConcurrentHashMap();
     // TODO: make these configurable
-    private final LazyProxyFactory proxyFactory = LazyFeatureDependencies.createDefaultProxyFactory();
+    private final LazyProxyFactory proxyFactory = LazyFeatureDependencies.createDefaultProxyFactory(this);
     private final org.mongodb.morphia.converters.Converters converters;
     private MapperOptions opts = new MapperOptions();
 
@@ -132,7 +142,7 @@ public class Mapper {
     public Mapper(final MapperOptions options, final Mapper mapper) {
         this(options);
         for (final MappedClass mappedClass : mapper.getMappedClasses()) {
-            addMappedClass(mappedClass, false);
+            addMappedClass(mappedClass, false, false);
         }
     }
 
@@ -146,7 +156,9 @@ public class Mapper {
     }
 
     /**
-     * Creates a MappedClass and validates it.
+     * Creates a MappedClass and validates it.  If it was checked at compile time and
+     * {@link MapperOptions#setValidateIndexedClasses(boolean)} is turned off, only the rules which the annotation processor does not check
+     * are run.
      *
      * @param c the Class to map
      * @return the MappedClass for the given Class
@@ -156,7 +168,9 @@ public class Mapper {
         MappedClass mappedClass = mappedClasses.get(c.getName());
         if (mappedClass == null) {
             mappedClass = new MappedClass(c, this);
-            return addMappedClass(mappedClass, true);
+            // classes checked by the annotation processor can skip the rules it checked
+            final boolean indexed = !opts.isValidateIndexedClasses() && getMappedClassIndex().contains(c);
+            return addMappedClass(mappedClass, !indexed, indexed);
         }
         return mappedClass;
     }
@@ -189,28 +203,105 @@ public class Mapper {
         }
 
         T entity;
-        entity = opts.getObjectFactory().createInstance(entityClass, dbObject);
+        entity = createInstance(entityClass, dbObject);
         entity = fromDb(datastore, dbObject, entity, cache);
         return entity;
     }
 
+    /**
+     * Converts a DBObject read with a projection back to a type-safe java object (POJO).  Only the fields which the projection lets the
+     * server return are looked for in the document.
+     *
+     * @param <T>         the type of the entity
+     * @param datastore   the Datastore to use when fetching this reference
+     * @param entityClass The type to return, or use; can be overridden by the @see Mapper.CLASS_NAME_FIELDNAME in the DBObject
+     * @param dbObject    the DBObject containing the document from mongodb
+     * @param cache       the EntityCache to use
+     * @param projection  the projection the document was read with, or null if it has all the fields
+     * @return the new entity
+     * @since 1.4
+     */
+    public <T> T fromDBObject(final Datastore datastore, final Class<T> entityClass, final DBObject dbObject, final EntityCache cache,
+                              final DBObject projection) {
+        if (projection == null || dbObject == null) {
+            return fromDBObject(datastore, entityClass, dbObject, cache);
+        }
+        return fromDb(datastore, dbObject, createInstance(entityClass, dbObject), cache, projection);
+    }
+
+    /**
+     * Finds the class named by the {@link Discriminator} stored in a document's className field.  Unlike a class name, a discriminator
+     * can only be resolved once its class has been mapped.
+     *
+     * @param dbObject the document
+     * @return the MappedClass or null if the document has no className or it is the name of a class
+     * @throws MappingException if the className is a discriminator, having no '.', of no class mapped yet
+     * @see Discriminator
+     * @since 1.4
+     */
+    public MappedClass getDiscriminatedClass(final DBObject dbObject) {
+        final Object className = dbObject.get(CLASS_NAME_FIELDNAME);
+        if (className == null) {
+            return null;
+        }
+        final String name = className.toString();
+        final MappedClass mc = mappedClassesByDiscriminator.get(name);
+        if (mc == null && name.indexOf('.') < 0) {
+            throw new MappingException(format("No mapped class has the discriminator '%s'.  The class has to be mapped before documents "
+                                              + "storing its discriminator are read.", name));
+        }
+        return mc;
+    }
+
+    /**
+     * @return the snapshots of the entities loaded and saved by this Mapper's Datastores
+     * @see MapperOptions#setTrackChanges(boolean)
+     * @since 1.4
+     */
+    public ChangeTracker getChangeTracker() {
+        return changeTracker;
+    }
+
+    /**
+     * Reads the index written by the Morphia annotation processor the first time it is asked for, using the context class loader of the
+     * current thread.
+     *
+     * @return the classes indexed at compile time
+     * @see MapperOptions#setUseMappedClassIndex(boolean)
+     * @since 1.4
+     */
+    public MappedClassIndex getMappedClassIndex() {
+        MappedClassIndex index = mappedClassIndex;
+        if (index == null) {
+            try {
+                index = MappedClassIndex.load(Thread.currentThread().getContextClassLoader());
+            } catch (IOException e) {
+                throw new MappingException("Could not read the mapped class index", e);
+            }
+            mappedClassIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * @return the cache of resolved field paths for the classes mapped by this Mapper
+     * @since 1.4
+     */
+    public PathCache getPathCache() {
+        return pathCache;
+    }
+
     /**
      * Finds any subtypes for the given MappedClass.
      *
      * @param mc the parent type
      *
-     * @return the list of subtypes
+     * @return the unmodifiable list of the mapped classes which directly extend or implement the type
      * @since 1.3
      */
     public List<MappedClass> getSubTypes(final MappedClass mc) {
-        List<MappedClass> subtypes = new ArrayList<MappedClass>();
-        for (MappedClass mappedClass : getMappedClasses()) {
-            if (mappedClass.isSubType(mc)) {
-                subtypes.add(mappedClass);
-            }
-        }
-
-        return subtypes;
+        final List<MappedClass> subtypes = subTypes.get(mc.getClazz());
+        return subtypes == null ? Collections.<MappedClass>emptyList() : Collections.unmodifiableList(subtypes);
     }
 
     /**
@@ -223,7 +314,7 @@ public class Mapper {
      */
     <T> T fromDBObject(final Datastore datastore, final DBObject dbObject) {
         if (dbObject.containsField(CLASS_NAME_FIELDNAME)) {
-            T entity = opts.getObjectFactory().createInstance(null, dbObject);
+            T entity = createInstance(null, dbObject);
             entity = fromDb(datastore, dbObject, entity, createEntityCache());
 
             return entity;
@@ -244,6 +335,11 @@ public class Mapper {
      * @return the entity
      */
     public <T> T fromDb(final Datastore datastore, final DBObject dbObject, final T entity, final EntityCache cache) {
+        return fromDb(datastore, dbObject, entity, cache, null);
+    }
+
+    private <T> T fromDb(final Datastore datastore, final DBObject dbObject, final T entity, final EntityCache cache,
+                         final DBObject projection) {
         //hack to bypass things and just read the value.
         if (entity instanceof MappedField) {
             readMappedField(datastore, (MappedField) entity, entity, cache, dbObject);
@@ -276,10 +372,29 @@ public class Mapper {
             }
         } else {
             final MappedClass mc = getMappedClass(entity);
+            if (opts.isTrackChanges() && mc.getEntityAnnotation() != null && dbObject.containsField(ID_KEY)) {
+                // taken before mapping, which may change the document
+                changeTracker.snapshot(entity, dbObject);
+            }
             final DBObject updated = mc.callLifecycleMethods(PreLoad.class, entity, dbObject, this);
             try {
-                for (final MappedField mf : mc.getPersistenceFields()) {
-                    readMappedField(datastore, mf, entity, cache, updated);
+                // a PreLoad method or interceptor may add values the projection left out
+                final boolean projected = projection != null && !getMappingPlan(mc).hasLifecycleMethods()
+                                          && interceptors.isEmpty();
+                if (opts.isCompileMappings() || projected) {
+                    final MappingPlan plan = getMappingPlan(mc);
+                    for (final MappingPlan.FieldPlan fieldPlan : projected ? plan.getFields(projection) : plan.getFields()) {
+                        if (opts.isCompileMappings()) {
+                            fieldPlan.getReadKind().getMapper(opts).fromDBObject(datastore, updated, fieldPlan.getField(), entity, cache,
+                                                                                 this);
+                        } else {
+                            readMappedField(datastore, fieldPlan.getField(), entity, cache, updated);
+                        }
+                    }
+                } else {
+                    for (final MappedField mf : mc.getPersistenceFields()) {
+                        readMappedField(datastore, mf, entity, cache, updated);
+                    }
                 }
             } catch (final MappingException e) {
                 Object id = dbObject.get(ID_KEY);
@@ -288,8 +403,8 @@ public class Mapper {
                                                   datastore.getDB().getName()), e);
             }
 
-            if (updated.containsField(ID_KEY) && getMappedClass(entity).getIdField() != null) {
-                final Key key = new Key(entity.getClass(), getCollectionName(entity.getClass()), updated.get(ID_KEY));
+            if (updated.containsField(ID_KEY) && mc.getIdField() != null) {
+                final Key key = new Key(entity.getClass(), mc.getCollectionName(), updated.get(ID_KEY));
                 cache.putEntity(key, entity);
             }
             mc.callLifecycleMethods(PostLoad.class, entity, updated, this);
@@ -483,16 +598,16 @@ public class Mapper {
         if (mc == null) {
             mc = new MappedClass(type, this);
             // no validation
-            addMappedClass(mc, false);
+            addMappedClass(mc, false, false);
         }
         return mc;
     }
 
     /**
-     * @return collection of MappedClasses
+     * @return an unmodifiable view of the MappedClasses which reflects classes mapped later
      */
     public Collection<MappedClass> getMappedClasses() {
-        return new ArrayList<MappedClass>(mappedClasses.values());
+        return Collections.unmodifiableCollection(mappedClasses.values());
     }
 
     /**
@@ -557,6 +672,59 @@ public class Mapper {
         return id == null ? null : new Key<T>(type, getCollectionName(type), id);
     }
 
+    /**
+     * Loads the entities referenced by some fields of a batch of documents into an EntityCache.  The references of all the documents
+     * are fetched with one query per referenced collection so that mapping the documents afterwards with the same cache finds the
+     * entities already loaded.  Lazy references are not prefetched.
+     *
+     * @param datastore the Datastore to use when fetching the references
+     * @param type      the type the documents are mapped to
+     * @param fields    the java or stored names of the reference fields to prefetch
+     * @param dbObjects the documents about to be mapped
+     * @param cache     the EntityCache to fill
+     * @return the entities loaded.  Caches such as the default one only hold their entities weakly, so the caller has to keep the
+     * entities until the documents are mapped.
+     * @since 1.4
+     */
+    public List<Object> prefetchReferences(final Datastore datastore, final Class<?> type, final List<String> fields,
+                                           final List<DBObject> dbObjects, final EntityCache cache) {
+        final List<Object> loaded = new ArrayList<Object>();
+        if (!(opts.getReferenceMapper() instanceof ReferenceMapper)) {
+            return loaded;
+        }
+        final ReferenceMapper referenceMapper = (ReferenceMapper) opts.getReferenceMapper();
+        final MappedClass mc = getMappedClass(type);
+        for (final String field : fields) {
+            MappedField mf = mc.getMappedFieldByJavaField(field);
+            if (mf == null) {
+                mf = mc.getMappedField(field);
+            }
+            if (mf == null || !mf.hasAnnotation(Reference.class)) {
+                throw new MappingException(format("%s is not a reference field of %s", field, type.getName()));
+            }
+            if (mf.getAnnotation(Reference.class).lazy()) {
+                continue;
+            }
+
+            final List<Object> refs = new ArrayList<Object>();
+            for (final DBObject dbObject : dbObjects) {
+                final Object value = mf.getDbObjectValue(dbObject);
+                if (value == null) {
+                    continue;
+                }
+                if (mf.isMap()) {
+                    refs.addAll(((DBObject) value).toMap().values());
+                } else if (value instanceof List) {
+                    refs.addAll((List) value);
+                } else {
+                    refs.add(value);
+                }
+            }
+            loaded.addAll(referenceMapper.prefetchObjects(datastore, this, cache, mf, refs));
+        }
+        return loaded;
+    }
+
     /**
      * Converts a DBRef to a Key
      *
@@ -770,11 +938,21 @@ public class Mapper {
     /**
      * Add MappedClass to internal cache, possibly validating first.
      */
-    private MappedClass addMappedClass(final MappedClass mc, final boolean validate) {
+    private MappedClass addMappedClass(final MappedClass mc, final boolean validate, final boolean validateIndexed) {
         addConverters(mc);
 
         if (validate && !mc.isInterface()) {
             mc.validate(this);
+        } else if (validateIndexed && !mc.isInterface()) {
+            mc.validateIndexed(this);
+        }
+
+        if (mc.getDiscriminator() != null) {
+            final MappedClass existing = mappedClassesByDiscriminator.putIfAbsent(mc.getDiscriminator(), mc);
+            if (existing != null && !existing.getClazz().equals(mc.getClazz())) {
+                throw new MappingException(format("%s and %s both use the discriminator '%s'", existing.getClazz().getName(),
+                                                  mc.getClazz().getName(), mc.getDiscriminator()));
+            }
         }
 
         mappedClasses.put(mc.getClazz().getName(), mc);
@@ -790,9 +968,59 @@ public class Mapper {
 
         mcs.add(mc);
 
+        if (mc.getSuperClass() != null) {
+            addSubType(mc.getSuperClass(), mc);
+        }
+        for (final MappedClass anInterface : mc.getInterfaces()) {
+            addSubType(anInterface, mc);
+        }
+
+        // a new subtype can change how a path resolves
+        pathCache.clear();
+
         return mc;
     }
 
+    private void addSubType(final MappedClass parent, final MappedClass mc) {
+        List<MappedClass> list = subTypes.get(parent.getClazz());
+        if (list == null) {
+            list = new CopyOnWriteArrayList<MappedClass>();
+            final List<MappedClass> existing = subTypes.putIfAbsent(parent.getClazz(), list);
+            if (existing != null) {
+                list = existing;
+            }
+        }
+        synchronized (list) {
+            list.remove(mc);
+            list.add(mc);
+        }
+    }
+
+    /**
+     * Creates the instance a document is read into, using the class of its discriminator if it has one and otherwise letting the
+     * ObjectFactory read the className.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T createInstance(final Class<T> entityClass, final DBObject dbObject) {
+        final MappedClass discriminated = getDiscriminatedClass(dbObject);
+        if (discriminated != null) {
+            return (T) opts.getObjectFactory().createInstance(discriminated.getClazz());
+        }
+        return opts.getObjectFactory().createInstance(entityClass, dbObject);
+    }
+
+    /**
+     * Creates the instance an embedded or referenced document is read into, using the class of its discriminator if it has one and
+     * otherwise letting the ObjectFactory pick the type from the className and the field.
+     */
+    Object createFieldInstance(final MappedField mf, final DBObject dbObject) {
+        final MappedClass discriminated = getDiscriminatedClass(dbObject);
+        if (discriminated != null) {
+            return opts.getObjectFactory().createInstance(discriminated.getClazz());
+        }
+        return opts.getObjectFactory().createInstance(this, mf, dbObject);
+    }
+
     private Object extractFirstElement(final Object value) {
         return value.getClass().isArray() ? Array.get(value, 0) : ((Iterable) value).iterator().next();
     }
@@ -878,6 +1106,31 @@ public class Mapper {
 
     }
 
+    void writeMappedField(final DBObject dbObject, final MappingPlan.FieldPlan fieldPlan, final Object entity,
+                          final Map<Object, DBObject> involvedObjects) {
+        if (!fieldPlan.isSaved()) {
+            return;
+        }
+
+        final MappedField mf = fieldPlan.getField();
+        final MappingPlan.Kind kind = fieldPlan.isAlwaysWriteValue() || getConverters().hasSimpleValueConverter(mf.getFieldValue(entity))
+                                      ? MappingPlan.Kind.VALUE
+                                      : fieldPlan.getWriteKind();
+        kind.getMapper(opts).toDBObject(entity, mf, dbObject, involvedObjects, this);
+    }
+
+    /**
+     * Gets the mapping plan for a MappedClass, building it if there is none yet or if the converters have changed since it was built.
+     */
+    MappingPlan getMappingPlan(final MappedClass mc) {
+        MappingPlan plan = mc.getMappingPlan();
+        if (plan == null || !plan.isCurrent(getConverters())) {
+            plan = new MappingPlan(mc, this);
+            mc.setMappingPlan(plan);
+        }
+        return plan;
+    }
+
     <T> Key<T> manualRefToKey(final String collection, final Object id) {
         return id == null ? null : new Key<T>((Class<? extends T>) getClassFromCollection(collection), collection, id);
     }
@@ -970,18 +1223,28 @@ public class Mapper {
         final MappedClass mc = getMappedClass(entity);
 
         if (mc.getEntityAnnotation() == null || !mc.getEntityAnnotation().noClassnameStored()) {
-            dbObject.put(CLASS_NAME_FIELDNAME, entity.getClass().getName());
+            dbObject.put(CLASS_NAME_FIELDNAME, mc.getDiscriminator() != null ? mc.getDiscriminator() : entity.getClass().getName());
         }
 
         if (lifecycle) {
             dbObject = mc.callLifecycleMethods(PrePersist.class, entity, dbObject, this);
         }
 
-        for (final MappedField mf : mc.getPersistenceFields()) {
-            try {
-                writeMappedField(dbObject, mf, entity, involvedObjects);
-            } catch (Exception e) {
-                throw new MappingException("Error mapping field:" + mf.getFullName(), e);
+        if (opts.isCompileMappings()) {
+            for (final MappingPlan.FieldPlan fieldPlan : getMappingPlan(mc).getFields()) {
+                try {
+                    writeMappedField(dbObject, fieldPlan, entity, involvedObjects);
+                } catch (Exception e) {
+                    throw new MappingException("Error mapping field:" + fieldPlan.getField().getFullName(), e);
+                }
+            }
+        } else {
+            for (final MappedField mf : mc.getPersistenceFields()) {
+                try {
+                    writeMappedField(dbObject, mf, entity, involvedObjects);
+                } catch (Exception e) {
+                    throw new MappingException("Error mapping field:" + mf.getFullName(), e);
+                }
             }
         }
         if (involvedObjects != null) {
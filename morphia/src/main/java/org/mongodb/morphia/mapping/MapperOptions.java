@@ -5,8 +5,14 @@ import org.mongodb.morphia.ObjectFactory;
 import org.mongodb.morphia.annotations.Reference;
 import org.mongodb.morphia.logging.Logger;
 import org.mongodb.morphia.logging.MorphiaLoggerFactory;
+import org.mongodb.morphia.mapping.accessor.FieldAccessorFactory;
+import org.mongodb.morphia.mapping.accessor.ReflectiveFieldAccessorFactory;
 import org.mongodb.morphia.mapping.cache.DefaultEntityCacheFactory;
 import org.mongodb.morphia.mapping.cache.EntityCacheFactory;
+import org.mongodb.morphia.metrics.MorphiaMetrics;
+import org.mongodb.morphia.metrics.NoOpMetrics;
+
+import java.util.concurrent.Executor;
 
 /**
  * Options to control mapping behavior.
@@ -25,10 +31,22 @@ public class MapperOptions {
     private boolean storeNulls;
     private boolean storeEmpties;
     private boolean useLowerCaseCollectionNames;
+    private boolean batchReferences = false;
     private boolean cacheClassLookups = false;
     private boolean mapSubPackages = false;
+    private boolean compileMappings = false;
+    private boolean useCodecs = false;
+    private boolean useBulkWriteOperations = false;
+    private boolean nullsForMissingKeys = false;
+    private int keyLookupBatchSize = 1000;
+    private Executor keyLookupExecutor;
+    private boolean trackChanges = false;
+    private boolean useMappedClassIndex = false;
+    private boolean validateIndexedClasses = true;
     private ObjectFactory objectFactory = new DefaultCreator(this);
     private EntityCacheFactory cacheFactory = new DefaultEntityCacheFactory();
+    private FieldAccessorFactory fieldAccessorFactory = new ReflectiveFieldAccessorFactory();
+    private MorphiaMetrics metrics = new NoOpMetrics();
     private CustomMapper embeddedMapper = new EmbeddedMapper();
     private CustomMapper defaultMapper = embeddedMapper;
     private CustomMapper referenceMapper = new ReferenceMapper();
@@ -55,10 +73,22 @@ public class MapperOptions {
         setCacheClassLookups(options.isCacheClassLookups());
         setObjectFactory(options.getObjectFactory());
         setCacheFactory(options.getCacheFactory());
+        setFieldAccessorFactory(options.getFieldAccessorFactory());
+        setMetrics(options.getMetrics());
         setEmbeddedMapper(options.getEmbeddedMapper());
         setDefaultMapper(options.getDefaultMapper());
         setReferenceMapper(options.getReferenceMapper());
         setValueMapper(options.getValueMapper());
+        setCompileMappings(options.isCompileMappings());
+        setUseCodecs(options.isUseCodecs());
+        setBatchReferences(options.isBatchReferences());
+        setUseBulkWriteOperations(options.isUseBulkWriteOperations());
+        setNullsForMissingKeys(options.isNullsForMissingKeys());
+        setKeyLookupBatchSize(options.getKeyLookupBatchSize());
+        setKeyLookupExecutor(options.getKeyLookupExecutor());
+        setTrackChanges(options.isTrackChanges());
+        setUseMappedClassIndex(options.isUseMappedClassIndex());
+        setValidateIndexedClasses(options.isValidateIndexedClasses());
     }
 
     /**
@@ -77,6 +107,44 @@ public class MapperOptions {
         this.cacheFactory = cacheFactory;
     }
 
+    /**
+     * @return the factory to create the accessors for mapped fields
+     * @since 1.4
+     */
+    public FieldAccessorFactory getFieldAccessorFactory() {
+        return fieldAccessorFactory;
+    }
+
+    /**
+     * Sets the factory to create the accessors for mapped fields.  The accessors are created when a class is mapped so this should be
+     * set before any classes are mapped.
+     *
+     * @param fieldAccessorFactory the factory
+     * @since 1.4
+     */
+    public void setFieldAccessorFactory(final FieldAccessorFactory fieldAccessorFactory) {
+        this.fieldAccessorFactory = fieldAccessorFactory;
+    }
+
+    /**
+     * @return the MorphiaMetrics operations are reported to
+     * @since 1.4
+     */
+    public MorphiaMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the MorphiaMetrics the timings of operations are reported to.  By default they are not recorded.
+     *
+     * @param metrics the metrics to use
+     * @see org.mongodb.morphia.metrics.HistogramMetrics
+     * @since 1.4
+     */
+    public void setMetrics(final MorphiaMetrics metrics) {
+        this.metrics = metrics == null ? new NoOpMetrics() : metrics;
+    }
+
     /**
      * @return the DatastoreProvider Morphia should use
      * @deprecated unused
@@ -201,6 +269,25 @@ public class MapperOptions {
         this.actLikeSerializer = actLikeSerializer;
     }
 
+    /**
+     * @return true if the entities of reference collections and maps are fetched in batches
+     * @since 1.4
+     */
+    public boolean isBatchReferences() {
+        return batchReferences;
+    }
+
+    /**
+     * Controls if the entities of every non-lazy {@link Reference} collection, array or map are fetched with one query per collection
+     * rather than one query per entity.  This can also be turned on for individual fields with {@link Reference#batch()}.
+     *
+     * @param batchReferences true if references should be fetched in batches
+     * @since 1.4
+     */
+    public void setBatchReferences(final boolean batchReferences) {
+        this.batchReferences = batchReferences;
+    }
+
     /**
      * @return true if Morphia should cache name -> Class lookups
      */
@@ -217,6 +304,197 @@ public class MapperOptions {
         this.cacheClassLookups = cacheClassLookups;
     }
 
+    /**
+     * @return true if Morphia should build a pre-resolved mapping plan for each mapped class
+     * @since 1.4
+     */
+    public boolean isCompileMappings() {
+        return compileMappings;
+    }
+
+    /**
+     * Controls if Morphia should build a pre-resolved plan for each mapped class the first time the class is read or written.  The plan
+     * decides once which mapper handles each field so that converting documents does not repeat those lookups for every field.
+     *
+     * @param compileMappings true if Morphia should build and use mapping plans
+     * @since 1.4
+     */
+    public void setCompileMappings(final boolean compileMappings) {
+        this.compileMappings = compileMappings;
+    }
+
+    /**
+     * @return true if queries and saves should read and write entities with an {@link EntityCodec}
+     * @since 1.4
+     */
+    public boolean isUseCodecs() {
+        return useCodecs;
+    }
+
+    /**
+     * Controls if {@link org.mongodb.morphia.query.Query#fetch()}, {@link org.mongodb.morphia.query.Query#asList()} and the save and
+     * insert methods of the Datastore read and write entities with an {@link EntityCodec}.  The codec streams documents directly between
+     * the driver and the entities' fields instead of building an intermediate DBObject for each document.  Entities with a
+     * {@link org.mongodb.morphia.annotations.Version} field are still saved through the DBObject path.
+     *
+     * @param useCodecs true if Morphia should use codecs
+     * @since 1.4
+     */
+    public void setUseCodecs(final boolean useCodecs) {
+        this.useCodecs = useCodecs;
+    }
+
+    /**
+     * @return true if saving a group of entities uses one bulk write per collection
+     * @since 1.4
+     */
+    public boolean isUseBulkWriteOperations() {
+        return useBulkWriteOperations;
+    }
+
+    /**
+     * Controls if saving a group of entities sends all of the writes for each collection as one bulk write rather than one write per
+     * entity.
+     *
+     * @param useBulkWriteOperations true if Morphia should use bulk writes
+     * @see org.mongodb.morphia.Datastore#save(Iterable)
+     * @since 1.4
+     */
+    public void setUseBulkWriteOperations(final boolean useBulkWriteOperations) {
+        this.useBulkWriteOperations = useBulkWriteOperations;
+    }
+
+    /**
+     * @return true if fetching entities by key returns null for the keys which have no matching document
+     * @since 1.4
+     */
+    public boolean isNullsForMissingKeys() {
+        return nullsForMissingKeys;
+    }
+
+    /**
+     * Controls if the list returned when fetching entities by key has one element for every key, with null for those keys which have no
+     * matching document, rather than only the entities which were found.
+     *
+     * @param nullsForMissingKeys true if missing keys should be returned as nulls
+     * @see org.mongodb.morphia.Datastore#getByKeys(Iterable)
+     * @since 1.4
+     */
+    public void setNullsForMissingKeys(final boolean nullsForMissingKeys) {
+        this.nullsForMissingKeys = nullsForMissingKeys;
+    }
+
+    /**
+     * @return the largest number of ids sent in one query when fetching entities by key
+     * @since 1.4
+     */
+    public int getKeyLookupBatchSize() {
+        return keyLookupBatchSize;
+    }
+
+    /**
+     * Sets the largest number of ids sent in one query when fetching entities by key.  Larger groups of keys are split into several
+     * queries so each query document stays well below the BSON size limit.
+     *
+     * @param keyLookupBatchSize the number of ids per query
+     * @see org.mongodb.morphia.Datastore#getByKeys(Iterable)
+     * @since 1.4
+     */
+    public void setKeyLookupBatchSize(final int keyLookupBatchSize) {
+        if (keyLookupBatchSize < 1) {
+            throw new IllegalArgumentException("The key lookup batch size must be greater than 0");
+        }
+        this.keyLookupBatchSize = keyLookupBatchSize;
+    }
+
+    /**
+     * @return the Executor used to run the queries when fetching entities by key, or null if they are run on the calling thread
+     * @since 1.4
+     */
+    public Executor getKeyLookupExecutor() {
+        return keyLookupExecutor;
+    }
+
+    /**
+     * Sets the Executor used to run the queries when fetching entities by key concurrently when the keys span several collections or
+     * batches.  The calling thread waits for all of the queries to finish.
+     *
+     * @param keyLookupExecutor the Executor to use, or null to run the queries one after another on the calling thread
+     * @see org.mongodb.morphia.Datastore#getByKeys(Iterable)
+     * @since 1.4
+     */
+    public void setKeyLookupExecutor(final Executor keyLookupExecutor) {
+        this.keyLookupExecutor = keyLookupExecutor;
+    }
+
+    /**
+     * @return true if saving an entity which was loaded or saved before only writes the fields which changed
+     * @since 1.4
+     */
+    public boolean isTrackChanges() {
+        return trackChanges;
+    }
+
+    /**
+     * Controls if a snapshot of each entity's document is kept when it is loaded or saved, so that saving it again sends only
+     * {@code $set} and {@code $unset} operations for the fields which changed instead of replacing the whole document.  An entity with
+     * no changes is not written at all unless it is versioned, in which case only its version is incremented.  Entities read through
+     * codecs have no snapshot, and bulk saves replace whole documents.
+     *
+     * @param trackChanges true if Morphia should only write the changes to entities
+     * @see org.mongodb.morphia.Datastore#save(Object)
+     * @see org.mongodb.morphia.Datastore#merge(Object)
+     * @since 1.4
+     */
+    public void setTrackChanges(final boolean trackChanges) {
+        this.trackChanges = trackChanges;
+    }
+
+    /**
+     * @return true if packages are mapped from the classes indexed by the Morphia annotation processor when there is an index for them
+     * @since 1.4
+     */
+    public boolean isUseMappedClassIndex() {
+        return useMappedClassIndex;
+    }
+
+    /**
+     * Controls if {@link org.mongodb.morphia.Morphia#mapPackage(String)} maps the classes the Morphia annotation processor listed in
+     * {@value org.mongodb.morphia.internal.MappedClassIndex#LOCATION} for the package instead of scanning the classpath for them.
+     * Packages with no indexed classes are always scanned.  The index is only written when the {@code morphia-processor} jar is on the
+     * compiler's classpath, so this has no effect otherwise.  Off by default.
+     * <p>
+     * Once a package has an indexed class, only the indexed classes of that package are mapped, so the index has to cover the whole
+     * package: classes in the package compiled without the processor, such as those of another jar, of test sources or of an IDE build
+     * with annotation processing turned off, are not mapped.
+     *
+     * @param useMappedClassIndex true if the index should be used
+     * @since 1.4
+     */
+    public void setUseMappedClassIndex(final boolean useMappedClassIndex) {
+        this.useMappedClassIndex = useMappedClassIndex;
+    }
+
+    /**
+     * @return true if the rules checked by the Morphia annotation processor are checked again when its classes are mapped
+     * @since 1.4
+     */
+    public boolean isValidateIndexedClasses() {
+        return validateIndexedClasses;
+    }
+
+    /**
+     * Controls if the rules checked by the Morphia annotation processor are checked again when the classes listed in its index are mapped.
+     * The processor checks the rules about the {@code @Id} and {@code @Version} fields of a class when it is compiled.  The other rules,
+     * such as those about the annotations of each field, are always checked when a class is mapped.
+     *
+     * @param validateIndexedClasses false if the rules checked by the processor should not be checked again
+     * @since 1.4
+     */
+    public void setValidateIndexedClasses(final boolean validateIndexedClasses) {
+        this.validateIndexedClasses = validateIndexedClasses;
+    }
+
     /**
      * @return true if Morphia should ignore final fields
      */
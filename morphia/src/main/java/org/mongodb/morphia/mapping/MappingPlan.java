@@ -0,0 +1,262 @@
+package org.mongodb.morphia.mapping;
+
+import com.mongodb.DBObject;
+import org.mongodb.morphia.annotations.Embedded;
+import org.mongodb.morphia.annotations.NotSaved;
+import org.mongodb.morphia.annotations.Property;
+import org.mongodb.morphia.annotations.Reference;
+import org.mongodb.morphia.annotations.Serialized;
+import org.mongodb.morphia.converters.Converters;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A pre-resolved plan for reading and writing the persistent fields of a {@link MappedClass}.  The choice of {@link CustomMapper} for
+ * each field is made once when the plan is built rather than for every field of every document.  A plan is only valid for the
+ * converters registered when it was built.
+ *
+ * @see MapperOptions#setCompileMappings(boolean)
+ */
+final class MappingPlan {
+    private final FieldPlan[] fields;
+    private final Map<String, FieldPlan> valueFields;
+    private final Set<String> loadNames = new HashSet<String>();
+    private final boolean lifecycleMethods;
+    private final int converterModificationCount;
+    private volatile Projection lastProjection;
+
+    MappingPlan(final MappedClass mc, final Mapper mapper) {
+        final Converters converters = mapper.getConverters();
+        converterModificationCount = converters.getModificationCount();
+
+        final List<MappedField> persistenceFields = mc.getPersistenceFields();
+        fields = new FieldPlan[persistenceFields.size()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = new FieldPlan(persistenceFields.get(i), converters);
+            loadNames.addAll(fields[i].getField().getLoadNames());
+        }
+        valueFields = findValueFields(fields);
+        lifecycleMethods = mc.hasLifecycleMethods();
+    }
+
+    /**
+     * Finds the value fields which are only ever read from a single document key.  Those can be decoded as soon as the key is read
+     * without looking at the rest of the document.
+     */
+    private static Map<String, FieldPlan> findValueFields(final FieldPlan[] fields) {
+        final Set<String> otherNames = new HashSet<String>();
+        final Map<String, FieldPlan> candidates = new HashMap<String, FieldPlan>();
+        for (final FieldPlan fieldPlan : fields) {
+            final List<String> loadNames = fieldPlan.getField().getLoadNames();
+            if (fieldPlan.getReadKind() == Kind.VALUE && loadNames.size() == 1 && !candidates.containsKey(loadNames.get(0))) {
+                candidates.put(loadNames.get(0), fieldPlan);
+            } else {
+                otherNames.addAll(loadNames);
+            }
+        }
+        candidates.keySet().removeAll(otherNames);
+        return candidates;
+    }
+
+    FieldPlan[] getFields() {
+        return fields;
+    }
+
+    /**
+     * Finds the fields which can have a value in a document read with a projection, so reading the document does not look for the rest.
+     * The last projection seen is remembered, so the fields are only worked out once for the documents read by a query.
+     *
+     * @param projection the projection the document was read with
+     * @return the fields to read, which are all of them if the projection does not leave any out
+     */
+    FieldPlan[] getFields(final DBObject projection) {
+        final Projection last = lastProjection;
+        if (last != null && last.projection == projection) {
+            return last.fields;
+        }
+        final FieldPlan[] projected = findProjectedFields(projection);
+        lastProjection = new Projection(projection, projected);
+        return projected;
+    }
+
+    private FieldPlan[] findProjectedFields(final DBObject projection) {
+        final Set<String> included = new HashSet<String>();
+        final Set<String> excluded = new HashSet<String>();
+        boolean inclusive = false;
+        for (final String key : projection.keySet()) {
+            final Object value = projection.get(key);
+            final int dot = key.indexOf('.');
+            final String name = dot == -1 ? key : key.substring(0, dot);
+            if (value instanceof DBObject) {
+                // $elemMatch leaves out the fields not named while $slice and $meta do not
+                inclusive |= ((DBObject) value).containsField("$elemMatch");
+                included.add(name);
+            } else if (isIncluded(value)) {
+                inclusive = true;
+                included.add(name);
+            } else if (dot == -1) {
+                excluded.add(name);
+            }
+        }
+        if (inclusive && !excluded.contains(Mapper.ID_KEY)) {
+            included.add(Mapper.ID_KEY);
+        }
+
+        final List<FieldPlan> projected = new ArrayList<FieldPlan>(fields.length);
+        for (final FieldPlan fieldPlan : fields) {
+            final List<String> loadNames = fieldPlan.getField().getLoadNames();
+            if (inclusive ? containsAny(included, loadNames) : !excluded.containsAll(loadNames)) {
+                projected.add(fieldPlan);
+            }
+        }
+        return projected.size() == fields.length ? fields : projected.toArray(new FieldPlan[projected.size()]);
+    }
+
+    private static boolean isIncluded(final Object value) {
+        return value instanceof Boolean ? (Boolean) value : !(value instanceof Number) || ((Number) value).intValue() != 0;
+    }
+
+    private static boolean containsAny(final Set<String> names, final List<String> candidates) {
+        for (final String candidate : candidates) {
+            if (names.contains(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param name the document key
+     * @return the value field read from only that key, or null
+     */
+    FieldPlan getValueField(final String name) {
+        return valueFields.get(name);
+    }
+
+    /**
+     * @param name the document key
+     * @return true if any field is read from the key
+     */
+    boolean isLoaded(final String name) {
+        return loadNames.contains(name);
+    }
+
+    boolean hasLifecycleMethods() {
+        return lifecycleMethods;
+    }
+
+    boolean isCurrent(final Converters converters) {
+        return converterModificationCount == converters.getModificationCount();
+    }
+
+    /**
+     * The mapper to use for a field
+     */
+    enum Kind {
+        VALUE,
+        EMBEDDED,
+        REFERENCE,
+        DEFAULT;
+
+        CustomMapper getMapper(final MapperOptions options) {
+            switch (this) {
+                case VALUE:
+                    return options.getValueMapper();
+                case EMBEDDED:
+                    return options.getEmbeddedMapper();
+                case REFERENCE:
+                    return options.getReferenceMapper();
+                default:
+                    return options.getDefaultMapper();
+            }
+        }
+    }
+
+    /**
+     * The resolved read and write strategies for a single field
+     */
+    static final class FieldPlan {
+        private final MappedField field;
+        private final Kind readKind;
+        private final Kind writeKind;
+        private final boolean alwaysWriteValue;
+        private final boolean saved;
+
+        FieldPlan(final MappedField mf, final Converters converters) {
+            field = mf;
+            saved = !mf.hasAnnotation(NotSaved.class);
+
+            final boolean simpleValue = mf.isTypeMongoCompatible() || converters.hasSimpleValueConverter(mf);
+            if (mf.hasAnnotation(Property.class) || mf.hasAnnotation(Serialized.class) || simpleValue) {
+                readKind = Kind.VALUE;
+            } else if (mf.hasAnnotation(Embedded.class)) {
+                readKind = Kind.EMBEDDED;
+            } else if (mf.hasAnnotation(Reference.class)) {
+                readKind = Kind.REFERENCE;
+            } else {
+                readKind = Kind.DEFAULT;
+            }
+
+            // writes look at the first mapping annotation found, in this order, rather than at all of them
+            Class<?> annType = null;
+            for (final Class<?> testType : new Class<?>[]{Property.class, Embedded.class, Serialized.class, Reference.class}) {
+                if (mf.hasAnnotation(testType)) {
+                    annType = testType;
+                    break;
+                }
+            }
+            alwaysWriteValue = Property.class.equals(annType) || Serialized.class.equals(annType) || simpleValue;
+            if (Reference.class.equals(annType)) {
+                writeKind = Kind.REFERENCE;
+            } else if (Embedded.class.equals(annType)) {
+                writeKind = Kind.EMBEDDED;
+            } else {
+                writeKind = Kind.DEFAULT;
+            }
+        }
+
+        MappedField getField() {
+            return field;
+        }
+
+        Kind getReadKind() {
+            return readKind;
+        }
+
+        /**
+         * @return the mapper kind to use when the field's value does not have a simple value converter
+         */
+        Kind getWriteKind() {
+            return writeKind;
+        }
+
+        /**
+         * @return true if the field is always written with the value mapper regardless of its runtime value
+         */
+        boolean isAlwaysWriteValue() {
+            return alwaysWriteValue;
+        }
+
+        boolean isSaved() {
+            return saved;
+        }
+    }
+
+    /**
+     * The fields to read for a projection
+     */
+    private static final class Projection {
+        private final DBObject projection;
+        private final FieldPlan[] fields;
+
+        private Projection(final DBObject projection, final FieldPlan[] fields) {
+            this.projection = projection;
+            this.fields = fields;
+        }
+    }
+}
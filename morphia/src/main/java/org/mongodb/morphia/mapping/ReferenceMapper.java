@@ -1,7 +1,9 @@
 package org.mongodb.morphia.mapping;
 
 
+import com.mongodb.BasicDBObject;
 import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
 import com.mongodb.DBRef;
 import org.mongodb.morphia.Datastore;
@@ -21,7 +23,11 @@ import org.mongodb.morphia.utils.IterHelper.MapIterCallback;
 import org.mongodb.morphia.utils.ReflectionUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -139,6 +145,18 @@ class ReferenceMapper implements CustomMapper {
                                             : mapper.refToKey((DBRef) dbVal));
                 }
             }
+        } else if (isBatched(refAnn, mapper)) {
+            final Object dbVal = mf.getDbObjectValue(dbObject);
+            if (dbVal != null) {
+                final List refs = dbVal instanceof List ? (List) dbVal : Collections.singletonList(dbVal);
+                for (final Object ent : resolveObjects(datastore, mapper, cache, mf, refAnn.idOnly(), refs)) {
+                    if (ent == null) {
+                        LOG.warning("Null reference found when retrieving value for " + mf.getFullName());
+                    } else {
+                        references.add(ent);
+                    }
+                }
+            }
         } else {
             final Object dbVal = mf.getDbObjectValue(dbObject);
             final Collection refs = references;
@@ -175,26 +193,51 @@ class ReferenceMapper implements CustomMapper {
             }
 
             final Map map = m;
-            new IterHelper<Object, Object>().loopMap(dbVal, new MapIterCallback<Object, Object>() {
-                @Override
-                public void eval(final Object k, final Object val) {
-
-                    final Object objKey = mapper.getConverters().decode(mf.getMapKeyClass(), k, mf);
-
-                    if (refAnn.lazy() && LazyFeatureDependencies.assertDependencyFullFilled()) {
-                        final ProxiedEntityReferenceMap proxiedMap = (ProxiedEntityReferenceMap) map;
-                        proxiedMap.__put(objKey, refAnn.idOnly()
-                                                 ? mapper.manualRefToKey(referenceObjClass, val)
-                                                 : mapper.refToKey((DBRef) val));
-                    } else {
-                        map.put(objKey, resolveObject(datastore, mapper, cache, mf, refAnn.idOnly(), val));
+            if (!(map instanceof ProxiedEntityReferenceMap) && isBatched(refAnn, mapper)) {
+                readMapInBatch(datastore, mapper, cache, mf, refAnn, dbVal, map);
+            } else {
+                new IterHelper<Object, Object>().loopMap(dbVal, new MapIterCallback<Object, Object>() {
+                    @Override
+                    public void eval(final Object k, final Object val) {
+
+                        final Object objKey = mapper.getConverters().decode(mf.getMapKeyClass(), k, mf);
+
+                        if (refAnn.lazy() && LazyFeatureDependencies.assertDependencyFullFilled()) {
+                            final ProxiedEntityReferenceMap proxiedMap = (ProxiedEntityReferenceMap) map;
+                            proxiedMap.__put(objKey, refAnn.idOnly()
+                                                     ? mapper.manualRefToKey(referenceObjClass, val)
+                                                     : mapper.refToKey((DBRef) val));
+                        } else {
+                            map.put(objKey, resolveObject(datastore, mapper, cache, mf, refAnn.idOnly(), val));
+                        }
                     }
-                }
-            });
+                });
+            }
         }
         mf.setFieldValue(entity, m);
     }
 
+    private void readMapInBatch(final Datastore datastore, final Mapper mapper, final EntityCache cache, final MappedField mf,
+                                final Reference refAnn, final DBObject dbVal, final Map map) {
+        final List keys = new ArrayList();
+        final List refs = new ArrayList();
+        new IterHelper<Object, Object>().loopMap(dbVal, new MapIterCallback<Object, Object>() {
+            @Override
+            public void eval(final Object k, final Object val) {
+                keys.add(mapper.getConverters().decode(mf.getMapKeyClass(), k, mf));
+                refs.add(val);
+            }
+        });
+        final List resolved = resolveObjects(datastore, mapper, cache, mf, refAnn.idOnly(), refs);
+        for (int i = 0; i < keys.size(); i++) {
+            map.put(keys.get(i), resolved.get(i));
+        }
+    }
+
+    private boolean isBatched(final Reference refAnn, final Mapper mapper) {
+        return refAnn.batch() || mapper.getOptions().isBatchReferences();
+    }
+
     private void readSingle(final Datastore datastore, final Mapper mapper, final Object entity, final Class fieldType,
                             final Reference annotation, final EntityCache cache, final MappedField mf, final DBObject dbObject) {
 
@@ -300,38 +343,132 @@ class ReferenceMapper implements CustomMapper {
             return null;
         }
 
-        final DBRef dbRef = idOnly ? null : (DBRef) ref;
-        final Key key = mapper.createKey(mf.isSingleValue() ? mf.getType() : mf.getSubClass(),
-                                         idOnly ? ref : dbRef.getId());
+        final Key key = createKey(mapper, mf, idOnly, ref);
 
         final Object cached = cache.getEntity(key);
         if (cached != null) {
             return cached;
         }
 
-        final DBObject refDbObject;
-        DBCollection collection;
-        Object id;
+        final DBObject refDbObject = getCollection(datastore, key, idOnly, ref).findOne(getId(idOnly, ref));
 
-        if (idOnly) {
-            collection = datastore.getCollection(key.getType());
-            id = ref;
-        } else {
-            collection = datastore.getDB().getCollection(dbRef.getCollectionName());
-            id = dbRef.getId();
+        if (refDbObject != null) {
+            mapper.getOptions().getMetrics().recordReferenceFetches(key.getType(), 1);
+            return readReferenced(datastore, mapper, cache, mf, key, refDbObject);
         }
-        if (id instanceof DBObject) {
-            ((DBObject) id).removeField(Mapper.CLASS_NAME_FIELDNAME);
+
+        return missingReference(mf, ref);
+    }
+
+    /**
+     * Resolves a list of references with one query per collection for the entities which are not in the cache yet.
+     *
+     * @return the entities in the order of the references given.  Missing entities are null if the field ignores missing references.
+     */
+    List resolveObjects(final Datastore datastore, final Mapper mapper, final EntityCache cache, final MappedField mf,
+                        final boolean idOnly, final List refs) {
+        final Object[] resolved = fetchObjects(datastore, mapper, cache, mf, idOnly, refs);
+        for (int i = 0; i < resolved.length; i++) {
+            if (resolved[i] == null && refs.get(i) != null) {
+                resolved[i] = missingReference(mf, refs.get(i));
+            }
         }
-        refDbObject = collection.findOne(id);
+        return Arrays.asList(resolved);
+    }
 
-        if (refDbObject != null) {
-            Object refObj = mapper.getOptions().getObjectFactory().createInstance(mapper, mf, refDbObject);
-            refObj = mapper.fromDb(datastore, refDbObject, refObj, cache);
-            cache.putEntity(key, refObj);
-            return refObj;
+    /**
+     * Loads the entities for a list of references into the cache so that reading the field later does not need to query for them.
+     * Missing entities are ignored here and reported when the field is read.
+     *
+     * @return the entities found, which the caller has to hold on to for as long as they are to stay in a cache with weak values
+     */
+    List<Object> prefetchObjects(final Datastore datastore, final Mapper mapper, final EntityCache cache, final MappedField mf,
+                                 final List refs) {
+        final List<Object> found = new ArrayList<Object>();
+        for (final Object entity : fetchObjects(datastore, mapper, cache, mf, mf.getAnnotation(Reference.class).idOnly(), refs)) {
+            if (entity != null) {
+                found.add(entity);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return the entities in the order of the references given with null for any not found
+     */
+    private Object[] fetchObjects(final Datastore datastore, final Mapper mapper, final EntityCache cache, final MappedField mf,
+                                  final boolean idOnly, final List refs) {
+        final Object[] resolved = new Object[refs.size()];
+        final Key[] keys = new Key[refs.size()];
+        final Map<String, DBCollection> collections = new LinkedHashMap<String, DBCollection>();
+        final Map<String, Map<Object, List<Integer>>> idsByCollection = new HashMap<String, Map<Object, List<Integer>>>();
+
+        for (int i = 0; i < resolved.length; i++) {
+            final Object ref = refs.get(i);
+            if (ref == null) {
+                continue;
+            }
+            keys[i] = createKey(mapper, mf, idOnly, ref);
+            resolved[i] = cache.getEntity(keys[i]);
+            if (resolved[i] == null) {
+                final DBCollection collection = getCollection(datastore, keys[i], idOnly, ref);
+                Map<Object, List<Integer>> ids = idsByCollection.get(collection.getName());
+                if (ids == null) {
+                    ids = new LinkedHashMap<Object, List<Integer>>();
+                    idsByCollection.put(collection.getName(), ids);
+                    collections.put(collection.getName(), collection);
+                }
+                final Object id = getId(idOnly, ref);
+                List<Integer> positions = ids.get(id);
+                if (positions == null) {
+                    positions = new ArrayList<Integer>();
+                    ids.put(id, positions);
+                }
+                positions.add(i);
+            }
+        }
+
+        for (final Map.Entry<String, DBCollection> entry : collections.entrySet()) {
+            final Map<Object, List<Integer>> ids = idsByCollection.get(entry.getKey());
+            final DBCursor cursor = entry.getValue().find(new BasicDBObject(Mapper.ID_KEY,
+                                                                            new BasicDBObject("$in", new ArrayList<Object>(ids.keySet()))));
+            int fetched = 0;
+            try {
+                for (final DBObject refDbObject : cursor) {
+                    final List<Integer> positions = ids.get(refDbObject.get(Mapper.ID_KEY));
+                    if (positions != null) {
+                        final Object refObj = readReferenced(datastore, mapper, cache, mf, keys[positions.get(0)], refDbObject);
+                        for (final Integer position : positions) {
+                            resolved[position] = refObj;
+                        }
+                        fetched++;
+                    }
+                }
+            } finally {
+                cursor.close();
+            }
+            mapper.getOptions().getMetrics().recordReferenceFetches(mf.isSingleValue() ? mf.getType() : mf.getSubClass(), fetched);
+        }
+        return resolved;
+    }
+
+    private Key createKey(final Mapper mapper, final MappedField mf, final boolean idOnly, final Object ref) {
+        return mapper.createKey(mf.isSingleValue() ? mf.getType() : mf.getSubClass(), idOnly ? ref : ((DBRef) ref).getId());
+    }
+
+    private DBCollection getCollection(final Datastore datastore, final Key key, final boolean idOnly, final Object ref) {
+        return idOnly ? datastore.getCollection(key.getType()) : datastore.getDB().getCollection(((DBRef) ref).getCollectionName());
+    }
+
+    private Object getId(final boolean idOnly, final Object ref) {
+        final Object id = idOnly ? ref : ((DBRef) ref).getId();
+        if (id instanceof DBObject) {
+            ((DBObject) id).removeField(Mapper.CLASS_NAME_FIELDNAME);
         }
+        return id;
+    }
 
+    private Object missingReference(final MappedField mf, final Object ref) {
         final boolean ignoreMissing = mf.getAnnotation(Reference.class) != null && mf.getAnnotation(Reference.class).ignoreMissing();
         if (!ignoreMissing) {
             throw new MappingException("The reference(" + ref.toString() + ") could not be fetched for " + mf.getFullName());
@@ -339,4 +476,12 @@ class ReferenceMapper implements CustomMapper {
             return null;
         }
     }
+
+    private Object readReferenced(final Datastore datastore, final Mapper mapper, final EntityCache cache, final MappedField mf,
+                                  final Key key, final DBObject refDbObject) {
+        Object refObj = mapper.createFieldInstance(mf, refDbObject);
+        refObj = mapper.fromDb(datastore, refDbObject, refObj, cache);
+        cache.putEntity(key, refObj);
+        return refObj;
+    }
 }
@@ -0,0 +1,25 @@
+package org.mongodb.morphia.mapping.accessor;
+
+/**
+ * Reads and writes the value of a single java field on instances of a mapped class.  An accessor is created once per field when the
+ * field is mapped and is used for every subsequent read and write of that field.
+ *
+ * @since 1.4
+ */
+public interface FieldAccessor {
+    /**
+     * Gets the value of the field on the instance given.
+     *
+     * @param instance the instance to read from
+     * @return the value stored in the java field
+     */
+    Object get(Object instance);
+
+    /**
+     * Sets the value of the field on the instance given.
+     *
+     * @param instance the instance to update
+     * @param value    the value to set
+     */
+    void set(Object instance, Object value);
+}
@@ -0,0 +1,19 @@
+package org.mongodb.morphia.mapping.accessor;
+
+import java.lang.reflect.Field;
+
+/**
+ * Factory for field accessors.
+ *
+ * @see org.mongodb.morphia.mapping.MapperOptions#setFieldAccessorFactory(FieldAccessorFactory)
+ * @since 1.4
+ */
+public interface FieldAccessorFactory {
+    /**
+     * Called once for every mapped field when its class is mapped.
+     *
+     * @param field the java field to access
+     * @return the accessor for the field
+     */
+    FieldAccessor createAccessor(Field field);
+}
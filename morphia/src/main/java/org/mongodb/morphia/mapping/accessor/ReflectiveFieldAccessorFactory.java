@@ -0,0 +1,43 @@
+package org.mongodb.morphia.mapping.accessor;
+
+import java.lang.reflect.Field;
+
+/**
+ * Default implementation of the accessor factory, reading and writing fields through {@link Field#get(Object)} and
+ * {@link Field#set(Object, Object)}.
+ *
+ * @since 1.4
+ */
+public class ReflectiveFieldAccessorFactory implements FieldAccessorFactory {
+    @Override
+    public FieldAccessor createAccessor(final Field field) {
+        field.setAccessible(true);
+        return new ReflectiveFieldAccessor(field);
+    }
+
+    private static class ReflectiveFieldAccessor implements FieldAccessor {
+        private final Field field;
+
+        ReflectiveFieldAccessor(final Field field) {
+            this.field = field;
+        }
+
+        @Override
+        public Object get(final Object instance) {
+            try {
+                return field.get(instance);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public void set(final Object instance, final Object value) {
+            try {
+                field.set(instance, value);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
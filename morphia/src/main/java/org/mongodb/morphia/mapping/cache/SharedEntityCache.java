@@ -0,0 +1,79 @@
+package org.mongodb.morphia.mapping.cache;
+
+import org.mongodb.morphia.Key;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The EntityCache of a single query which falls back to the entities shared by a {@link SharedEntityCacheFactory}.  Mapper puts an
+ * entity in the cache before reading its fields, so recursive references resolve to it, and again once it has been read.  Only then is
+ * it added to the shared store, and only if no write has invalidated its collection since the cache was created.
+ */
+class SharedEntityCache implements EntityCache {
+    private final DefaultEntityCache local = new DefaultEntityCache();
+    private final Map<Key, Object> incomplete = new HashMap<Key, Object>();
+    private final SharedEntityCacheFactory factory;
+    private final long created;
+
+    SharedEntityCache(final SharedEntityCacheFactory factory, final long created) {
+        this.factory = factory;
+        this.created = created;
+    }
+
+    @Override
+    public Boolean exists(final Key<?> k) {
+        final Boolean exists = local.exists(k);
+        if (exists == null && factory.getEntity(k) != null) {
+            return true;
+        }
+        return exists;
+    }
+
+    @Override
+    public void flush() {
+        local.flush();
+        incomplete.clear();
+    }
+
+    @Override
+    public <T> T getEntity(final Key<T> k) {
+        T entity = local.getEntity(k);
+        if (entity == null) {
+            entity = factory.getEntity(k);
+            if (entity != null) {
+                local.putEntity(k, entity);
+            }
+        }
+        return entity;
+    }
+
+    @Override
+    public <T> T getProxy(final Key<T> k) {
+        return local.getProxy(k);
+    }
+
+    @Override
+    public void notifyExists(final Key<?> k, final boolean exists) {
+        local.notifyExists(k, exists);
+    }
+
+    @Override
+    public <T> void putEntity(final Key<T> k, final T t) {
+        local.putEntity(k, t);
+        if (incomplete.put(k, t) == t) {
+            incomplete.remove(k);
+            factory.putEntity(k, t, created);
+        }
+    }
+
+    @Override
+    public <T> void putProxy(final Key<T> k, final T t) {
+        local.putProxy(k, t);
+    }
+
+    @Override
+    public EntityCacheStatistics stats() {
+        return local.stats();
+    }
+}
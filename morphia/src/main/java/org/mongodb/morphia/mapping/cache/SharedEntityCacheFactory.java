@@ -0,0 +1,258 @@
+package org.mongodb.morphia.mapping.cache;
+
+import org.mongodb.morphia.Key;
+import org.mongodb.morphia.annotations.Cached;
+import org.mongodb.morphia.mapping.lazy.proxy.ProxyHelper;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates EntityCaches which share the entities of {@link Cached} types between queries.  Every query still gets its own
+ * {@link DefaultEntityCache} but a {@code @Cached} entity which is not found there is looked up in a bounded store common to all of the
+ * caches made by this factory.  An entity is added to the store once it has been completely read from a document.
+ * <p>
+ * The store is split into segments, each locked separately and each evicting its least recently used entity when full, and can also
+ * drop entities a fixed time after they were stored.  A Datastore using this factory removes entities from the store as they are saved,
+ * updated or deleted through it, and an entity read by a query which started before such a change to its collection is not added.
+ * Changes made by other applications are only seen once the entity has been evicted or has expired.
+ * <p>
+ * The store hands out the same instance of an entity to every query, on every thread; nothing is copied and nothing guards access to the
+ * entity's fields.  A change made to a shared entity without saving it is seen by every later reader until the entity is evicted, and
+ * concurrent changes race with those readers.  {@code @Cached} entities must therefore be treated as immutable once loaded: to change
+ * one, load it with a factory which does not share it, or copy it, and save the change so that it is invalidated here.
+ *
+ * @see org.mongodb.morphia.mapping.MapperOptions#setCacheFactory(EntityCacheFactory)
+ * @since 1.4
+ */
+public class SharedEntityCacheFactory implements EntityCacheFactory {
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment[] segments;
+    private final long timeToLive;
+    private final Map<Class<?>, Boolean> cachedTypes = new ConcurrentHashMap<Class<?>, Boolean>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Map<String, Long> invalidated = new ConcurrentHashMap<String, Long>();
+    private volatile long allInvalidated;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    /**
+     * Creates a factory whose entities are kept until they are evicted or invalidated
+     *
+     * @param maxEntities the most entities to keep
+     */
+    public SharedEntityCacheFactory(final int maxEntities) {
+        this(maxEntities, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a factory whose entities expire a fixed time after they were stored
+     *
+     * @param maxEntities the most entities to keep
+     * @param timeToLive  how long to keep each entity, or 0 to keep them until they are evicted or invalidated
+     * @param unit        the unit of timeToLive
+     */
+    public SharedEntityCacheFactory(final int maxEntities, final long timeToLive, final TimeUnit unit) {
+        if (maxEntities < 1) {
+            throw new IllegalArgumentException("maxEntities must be greater than 0");
+        }
+        this.timeToLive = unit.toNanos(timeToLive);
+        segments = new Segment[Math.min(MAX_SEGMENTS, maxEntities)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(maxEntities / segments.length + (i < maxEntities % segments.length ? 1 : 0));
+        }
+    }
+
+    @Override
+    public EntityCache createCache() {
+        return new SharedEntityCache(this, invalidations.get());
+    }
+
+    /**
+     * Looks up an entity in the shared store
+     *
+     * @param key the key of the entity, with the id as it is stored in the database
+     * @param <T> the type of the entity
+     * @return the entity or null if it is not stored or has expired
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getEntity(final Key<T> key) {
+        if (key.getCollection() == null || key.getType() != null && !isCached(key.getType())) {
+            return null;
+        }
+        final CacheKey cacheKey = new CacheKey(key.getCollection(), key.getId());
+        final Segment segment = getSegment(cacheKey);
+        final Object entity;
+        synchronized (segment) {
+            final CachedEntity cached = segment.get(cacheKey);
+            if (cached != null && cached.isExpired()) {
+                segment.remove(cacheKey);
+                entity = null;
+            } else {
+                entity = cached == null ? null : cached.entity;
+            }
+        }
+        (entity == null ? misses : hits).incrementAndGet();
+        return (T) entity;
+    }
+
+    /**
+     * @return the statistics of the shared store
+     */
+    public EntityCacheStatistics getStatistics() {
+        int entities = 0;
+        for (final Segment segment : segments) {
+            synchronized (segment) {
+                entities += segment.size();
+            }
+        }
+        return new EntityCacheStatistics(entities, hits.get(), misses.get());
+    }
+
+    /**
+     * Removes an entity from the shared store
+     *
+     * @param collection the collection of the entity
+     * @param id         the id of the entity as it is stored in the database
+     */
+    public void invalidate(final String collection, final Object id) {
+        invalidated.put(collection, invalidations.incrementAndGet());
+        final CacheKey cacheKey = new CacheKey(collection, id);
+        final Segment segment = getSegment(cacheKey);
+        synchronized (segment) {
+            segment.remove(cacheKey);
+        }
+    }
+
+    /**
+     * Removes all the entities of a collection from the shared store
+     *
+     * @param collection the collection
+     */
+    public void invalidate(final String collection) {
+        invalidated.put(collection, invalidations.incrementAndGet());
+        for (final Segment segment : segments) {
+            synchronized (segment) {
+                final Iterator<CacheKey> keys = segment.keySet().iterator();
+                while (keys.hasNext()) {
+                    if (keys.next().collection.equals(collection)) {
+                        keys.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes every entity from the shared store
+     */
+    public void invalidateAll() {
+        allInvalidated = invalidations.incrementAndGet();
+        for (final Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Adds an entity to the shared store unless its collection has been invalidated since it was read.  The invalidation is recorded
+     * before the entities are removed and checked while the segment is locked, so an entity is either refused or removed.
+     *
+     * @param readSince the number of invalidations made when the read of the entity started
+     */
+    void putEntity(final Key<?> key, final Object entity, final long readSince) {
+        if (key.getCollection() == null || !isCached(ProxyHelper.unwrap(entity).getClass())) {
+            return;
+        }
+        final CacheKey cacheKey = new CacheKey(key.getCollection(), key.getId());
+        final Segment segment = getSegment(cacheKey);
+        synchronized (segment) {
+            final Long collectionInvalidated = invalidated.get(key.getCollection());
+            if (allInvalidated > readSince || collectionInvalidated != null && collectionInvalidated > readSince) {
+                return;
+            }
+            final CachedEntity cached = segment.get(cacheKey);
+            if (cached != null && cached.entity == entity) {
+                return;
+            }
+            segment.put(cacheKey, new CachedEntity(entity, timeToLive == 0 ? 0 : System.nanoTime() + timeToLive));
+        }
+    }
+
+
+    private Segment getSegment(final CacheKey key) {
+        final int hash = key.hashCode();
+        return segments[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % segments.length];
+    }
+
+    private boolean isCached(final Class<?> type) {
+        Boolean cached = cachedTypes.get(type);
+        if (cached == null) {
+            cached = type.isAnnotationPresent(Cached.class);
+            cachedTypes.put(type, cached);
+        }
+        return cached;
+    }
+
+    private static final class CacheKey {
+        private final String collection;
+        private final Object id;
+
+        private CacheKey(final String collection, final Object id) {
+            this.collection = collection;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            final CacheKey other = (CacheKey) o;
+            return collection.equals(other.collection) && (id == null ? other.id == null : id.equals(other.id));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * collection.hashCode() + (id == null ? 0 : id.hashCode());
+        }
+    }
+
+    private static final class CachedEntity {
+        private final Object entity;
+        private final long expiresAt;
+
+        private CachedEntity(final Object entity, final long expiresAt) {
+            this.entity = entity;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return expiresAt != 0 && System.nanoTime() - expiresAt > 0;
+        }
+    }
+
+    private static final class Segment extends LinkedHashMap<CacheKey, CachedEntity> {
+        private static final long serialVersionUID = 1L;
+        private static final float LOAD_FACTOR = 0.75f;
+
+        private final int capacity;
+
+        private Segment(final int capacity) {
+            super(capacity, LOAD_FACTOR, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<CacheKey, CachedEntity> eldest) {
+            return size() > capacity;
+        }
+    }
+}
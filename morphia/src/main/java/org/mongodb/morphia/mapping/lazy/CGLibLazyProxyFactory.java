@@ -2,16 +2,19 @@ package org.mongodb.morphia.mapping.lazy;
 
 
 import com.thoughtworks.proxy.factory.CglibProxyFactory;
+import com.thoughtworks.proxy.kit.ObjectReference;
 import com.thoughtworks.proxy.toys.delegate.DelegationMode;
 import com.thoughtworks.proxy.toys.dispatch.Dispatching;
 import org.mongodb.morphia.Datastore;
 import org.mongodb.morphia.Key;
+import org.mongodb.morphia.mapping.Mapper;
 import org.mongodb.morphia.mapping.lazy.proxy.ProxiedEntityReference;
 import org.mongodb.morphia.mapping.lazy.proxy.ProxiedEntityReferenceList;
 import org.mongodb.morphia.mapping.lazy.proxy.ProxiedEntityReferenceMap;
 import org.mongodb.morphia.mapping.lazy.proxy.CollectionObjectReference;
 import org.mongodb.morphia.mapping.lazy.proxy.EntityObjectReference;
 import org.mongodb.morphia.mapping.lazy.proxy.MapObjectReference;
+import org.mongodb.morphia.mapping.lazy.proxy.ProxiedReference;
 
 import java.io.Serializable;
 import java.util.Collection;
@@ -26,13 +29,31 @@ import java.util.Map;
 @SuppressWarnings("unchecked")
 public class CGLibLazyProxyFactory implements LazyProxyFactory {
     private final CglibProxyFactory factory = new CglibProxyFactory();
+    private final Mapper mapper;
+
+    /**
+     * Creates a factory whose references don't report their fetches
+     */
+    public CGLibLazyProxyFactory() {
+        this(null);
+    }
+
+    /**
+     * Creates a factory whose references report their fetches to the metrics of a Mapper
+     *
+     * @param mapper the Mapper
+     * @since 1.4
+     */
+    public CGLibLazyProxyFactory(final Mapper mapper) {
+        this.mapper = mapper;
+    }
 
     @Override
     public <T extends Collection> T createListProxy(final Datastore datastore, final T listToProxy, final Class referenceObjClass,
                                                     final boolean ignoreMissing) {
         final Class<? extends Collection> targetClass = listToProxy.getClass();
         final CollectionObjectReference objectReference = new CollectionObjectReference(listToProxy, referenceObjClass, ignoreMissing,
-                                                                                        datastore);
+                                                                                        datastore, mapper);
 
         final T backend = (T) new NonFinalizingHotSwappingInvoker(new Class[]{targetClass, Serializable.class}, factory, objectReference,
                                                                   DelegationMode.SIGNATURE).proxy();
@@ -47,7 +68,8 @@ public class CGLibLazyProxyFactory implements LazyProxyFactory {
     public <T extends Map> T createMapProxy(final Datastore datastore, final T mapToProxy, final Class referenceObjClass,
                                             final boolean ignoreMissing) {
         final Class<? extends Map> targetClass = mapToProxy.getClass();
-        final MapObjectReference objectReference = new MapObjectReference(datastore, mapToProxy, referenceObjClass, ignoreMissing);
+        final MapObjectReference objectReference = new MapObjectReference(datastore, mapper, mapToProxy, referenceObjClass,
+                                                                         ignoreMissing);
 
         final T backend = (T) new NonFinalizingHotSwappingInvoker(new Class[]{targetClass, Serializable.class}, factory, objectReference,
                                                                   DelegationMode.SIGNATURE).proxy();
@@ -61,7 +83,7 @@ public class CGLibLazyProxyFactory implements LazyProxyFactory {
     @Override
     public <T> T createProxy(final Datastore datastore, final Class<T> targetClass, final Key<T> key, final boolean ignoreMissing) {
 
-        final EntityObjectReference objectReference = new EntityObjectReference(datastore, targetClass, key, ignoreMissing);
+        final EntityObjectReference objectReference = new EntityObjectReference(datastore, mapper, targetClass, key, ignoreMissing);
 
         final T backend = (T) new NonFinalizingHotSwappingInvoker(new Class[]{targetClass, Serializable.class}, factory, objectReference,
                                                                   DelegationMode.SIGNATURE).proxy();
@@ -71,4 +93,24 @@ public class CGLibLazyProxyFactory implements LazyProxyFactory {
                               .build(factory);
 
     }
+
+    /**
+     * Creates a proxy for a value which is only worked out the first time one of its methods is called.
+     *
+     * @param <T>       the type of the value
+     * @param value     an instance of the value's class, which the proxy extends
+     * @param reference the reference which works out the value, which must also implement {@link ProxiedReference}
+     * @return the proxy
+     * @since 1.4
+     */
+    public <T> T createDeferredProxy(final T value, final ObjectReference reference) {
+        final Class<?> targetClass = value.getClass();
+
+        final T backend = (T) new NonFinalizingHotSwappingInvoker(new Class[]{targetClass, Serializable.class}, factory, reference,
+                                                                  DelegationMode.SIGNATURE).proxy();
+
+        return (T) Dispatching.proxy(targetClass, new Class[]{ProxiedReference.class, targetClass, Serializable.class})
+                              .with(reference, backend)
+                              .build(factory);
+    }
 }
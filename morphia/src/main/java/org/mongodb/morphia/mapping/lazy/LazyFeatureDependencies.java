@@ -3,6 +3,7 @@ package org.mongodb.morphia.mapping.lazy;
 
 import org.mongodb.morphia.logging.Logger;
 import org.mongodb.morphia.logging.MorphiaLoggerFactory;
+import org.mongodb.morphia.mapping.Mapper;
 
 
 /**
@@ -54,10 +55,21 @@ public final class LazyFeatureDependencies {
      * @return the LazyProxyFactory
      */
     public static LazyProxyFactory createDefaultProxyFactory() {
+        return createDefaultProxyFactory(null);
+    }
+
+    /**
+     * Creates a LazyProxyFactory whose references report their fetches to the metrics of a Mapper
+     *
+     * @param mapper the Mapper
+     * @return the LazyProxyFactory
+     * @since 1.4
+     */
+    public static LazyProxyFactory createDefaultProxyFactory(final Mapper mapper) {
         if (testDependencyFullFilled()) {
             final String factoryClassName = "org.mongodb.morphia.mapping.lazy.CGLibLazyProxyFactory";
             try {
-                return (LazyProxyFactory) Class.forName(factoryClassName).newInstance();
+                return (LazyProxyFactory) Class.forName(factoryClassName).getConstructor(Mapper.class).newInstance(mapper);
             } catch (Exception e) {
                 LOG.error("While instantiating " + factoryClassName, e);
             }
@@ -4,10 +4,12 @@ package org.mongodb.morphia.mapping.lazy.proxy;
 import com.thoughtworks.proxy.kit.ObjectReference;
 import org.mongodb.morphia.Datastore;
 import org.mongodb.morphia.Key;
+import org.mongodb.morphia.mapping.Mapper;
 
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.concurrent.locks.ReentrantLock;
 
 
 /**
@@ -19,14 +21,29 @@ public abstract class AbstractReference implements Serializable, ObjectReference
     private static final long serialVersionUID = 1L;
     //CHECKSTYLE:OFF
     private final Datastore datastore;
+    private final transient Mapper mapper;
     protected final boolean ignoreMissing;
     protected final Class referenceObjClass;
     protected Object object;
     //CHECKSTYLE:ON
-    private boolean isFetched;
+    private final ReentrantLock fetchLock = new ReentrantLock();
+    private volatile boolean isFetched;
 
     protected AbstractReference(final Datastore datastore, final Class referenceObjClass, final boolean ignoreMissing) {
+        this(datastore, null, referenceObjClass, ignoreMissing);
+    }
+
+    /**
+     * @param datastore         the Datastore to use when fetching this reference
+     * @param mapper            the Mapper whose metrics are told about the fetches, may be null
+     * @param referenceObjClass the Class of the referenced objects
+     * @param ignoreMissing     ignore missing referenced documents
+     * @since 1.4
+     */
+    protected AbstractReference(final Datastore datastore, final Mapper mapper, final Class referenceObjClass,
+                                final boolean ignoreMissing) {
         this.datastore = datastore;
+        this.mapper = mapper;
         this.referenceObjClass = referenceObjClass;
         this.ignoreMissing = ignoreMissing;
     }
@@ -52,15 +69,28 @@ public abstract class AbstractReference implements Serializable, ObjectReference
         return get();
     }
 
+    /**
+     * Fetches the referenced value on first use.  A lock rather than a monitor guards the fetch so a thread waiting on the database does
+     * not hold on to a monitor while it does.
+     *
+     * @return the referenced value
+     */
     @Override
-    public final synchronized Object get() {
+    public final Object get() {
         if (isFetched) {
             return object;
         }
 
-        object = fetch();
-        isFetched = true;
-        return object;
+        fetchLock.lock();
+        try {
+            if (!isFetched) {
+                object = fetch();
+                isFetched = true;
+            }
+            return object;
+        } finally {
+            fetchLock.unlock();
+        }
     }
 
     @Override
@@ -73,7 +103,12 @@ public abstract class AbstractReference implements Serializable, ObjectReference
 
     @SuppressWarnings("unchecked")
     protected final Object fetch(final Key<?> id) {
-        return getDatastore().getByKey(referenceObjClass, id);
+        final Object entity = getDatastore().getByKey(referenceObjClass, id);
+        // the Mapper is not serialized, so fetches of deserialized references go unrecorded
+        if (entity != null && mapper != null) {
+            mapper.getOptions().getMetrics().recordReferenceFetches(referenceObjClass, 1);
+        }
+        return entity;
     }
 
     protected abstract Object fetch();
@@ -2,6 +2,7 @@ package org.mongodb.morphia.mapping.lazy.proxy;
 
 import org.mongodb.morphia.Datastore;
 import org.mongodb.morphia.Key;
+import org.mongodb.morphia.mapping.Mapper;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -30,8 +31,23 @@ public class CollectionObjectReference<T> extends AbstractReference implements P
      */
     public CollectionObjectReference(final Collection<T> type, final Class<T> referenceObjClass, final boolean ignoreMissing,
                                      final Datastore datastore) {
+        this(type, referenceObjClass, ignoreMissing, datastore, null);
+    }
+
+    /**
+     * Creates a CollectionObjectReference which reports its fetches to the metrics of a Mapper
+     *
+     * @param type              the collection
+     * @param referenceObjClass the Class of the referenced objects
+     * @param ignoreMissing     ignore missing referenced documents
+     * @param datastore         the Datastore to use when fetching this reference
+     * @param mapper            the Mapper whose metrics are told about the fetches
+     * @since 1.4
+     */
+    public CollectionObjectReference(final Collection<T> type, final Class<T> referenceObjClass, final boolean ignoreMissing,
+                                     final Datastore datastore, final Mapper mapper) {
 
-        super(datastore, referenceObjClass, ignoreMissing);
+        super(datastore, mapper, referenceObjClass, ignoreMissing);
 
         object = type;
         listOfKeys = new ArrayList<Key<?>>();
@@ -69,7 +85,7 @@ public class CollectionObjectReference<T> extends AbstractReference implements P
 
     @Override
     @SuppressWarnings("unchecked")
-    protected synchronized Object fetch() {
+    protected Object fetch() {
         final Collection<T> c = (Collection<T>) object;
         c.clear();
 
@@ -81,7 +97,7 @@ public class CollectionObjectReference<T> extends AbstractReference implements P
         // so we do it the lousy way: FIXME
         final List<T> retrievedEntities = new ArrayList<T>(listOfKeys.size());
         for (final Key<?> k : listOfKeys) {
-            T entity = (T) getDatastore().getByKey(referenceObjClass, k);
+            T entity = (T) fetch(k);
             if (entity != null) {
                 retrievedEntities.add(entity);
             }
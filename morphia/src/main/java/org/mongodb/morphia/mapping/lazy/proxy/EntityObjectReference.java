@@ -3,6 +3,7 @@ package org.mongodb.morphia.mapping.lazy.proxy;
 
 import org.mongodb.morphia.Datastore;
 import org.mongodb.morphia.Key;
+import org.mongodb.morphia.mapping.Mapper;
 
 import static java.lang.String.format;
 
@@ -23,7 +24,22 @@ public class EntityObjectReference extends AbstractReference implements ProxiedE
      * @param ignoreMissing ignore references that don't exist in the database
      */
     public EntityObjectReference(final Datastore datastore, final Class targetClass, final Key key, final boolean ignoreMissing) {
-        super(datastore, targetClass, ignoreMissing);
+        this(datastore, null, targetClass, key, ignoreMissing);
+    }
+
+    /**
+     * Creates an object reference which reports its fetch to the metrics of a Mapper
+     *
+     * @param datastore     the Datastore to use when fetching this reference
+     * @param mapper        the Mapper whose metrics are told about the fetch
+     * @param targetClass   the Class of the referenced item
+     * @param key           the Key value
+     * @param ignoreMissing ignore references that don't exist in the database
+     * @since 1.4
+     */
+    public EntityObjectReference(final Datastore datastore, final Mapper mapper, final Class targetClass, final Key key,
+                                 final boolean ignoreMissing) {
+        super(datastore, mapper, targetClass, ignoreMissing);
         this.key = key;
     }
 
@@ -42,7 +58,7 @@ public class EntityObjectReference extends AbstractReference implements ProxiedE
     @Override
     @SuppressWarnings("unchecked")
     protected Object fetch() {
-        final Object entity = getDatastore().getByKey(referenceObjClass, key);
+        final Object entity = fetch(key);
         if (entity == null && !ignoreMissing) {
             throw new LazyReferenceFetchingException(format("During the lifetime of the proxy, the Entity identified by '%s' "
                                                                 + "disappeared from the Datastore.", key));
@@ -3,6 +3,7 @@ package org.mongodb.morphia.mapping.lazy.proxy;
 
 import org.mongodb.morphia.Datastore;
 import org.mongodb.morphia.Key;
+import org.mongodb.morphia.mapping.Mapper;
 
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -26,8 +27,23 @@ public class MapObjectReference extends AbstractReference implements ProxiedEnti
      * @param ignoreMissing     ignore missing referenced documents
      */
     public MapObjectReference(final Datastore datastore, final Map mapToProxy, final Class referenceObjClass, final boolean ignoreMissing) {
+        this(datastore, null, mapToProxy, referenceObjClass, ignoreMissing);
+    }
+
+    /**
+     * Creates a MapObjectReference which reports its fetches to the metrics of a Mapper
+     *
+     * @param datastore         the Datastore to use when fetching this reference
+     * @param mapper            the Mapper whose metrics are told about the fetches
+     * @param mapToProxy        the map to proxy
+     * @param referenceObjClass the referenced objects' Class
+     * @param ignoreMissing     ignore missing referenced documents
+     * @since 1.4
+     */
+    public MapObjectReference(final Datastore datastore, final Mapper mapper, final Map mapToProxy, final Class referenceObjClass,
+                              final boolean ignoreMissing) {
 
-        super(datastore, referenceObjClass, ignoreMissing);
+        super(datastore, mapper, referenceObjClass, ignoreMissing);
         object = mapToProxy;
         keyMap = new LinkedHashMap<Object, Key<?>>();
     }
@@ -28,6 +28,7 @@ import org.mongodb.morphia.mapping.validation.fieldrules.ReferenceToUnidentifiab
 import org.mongodb.morphia.mapping.validation.fieldrules.VersionMisuse;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
@@ -44,6 +45,11 @@ import static java.util.Collections.sort;
 public class MappingValidator {
 
     private static final Logger LOG = MorphiaLoggerFactory.get(MappingValidator.class);
+    /**
+     * The rules the Morphia annotation processor checks as the classes are compiled.
+     */
+    private static final List<Class<? extends ClassConstraint>> COMPILE_TIME_RULES
+        = Arrays.<Class<? extends ClassConstraint>>asList(MultipleId.class, MultipleVersions.class, NoId.class, EmbeddedAndId.class);
     private ObjectFactory creator;
 
     /**
@@ -73,6 +79,28 @@ public class MappingValidator {
      * @param mapper the Mapper to use for validation
      */
     public void validate(final Mapper mapper, final List<MappedClass> classes) {
+        validate(mapper, classes, getConstraints());
+    }
+
+    /**
+     * Validates a List of MappedClasses which the Morphia annotation processor checked as they were compiled.  Only the rules the
+     * processor does not check are run.
+     *
+     * @param classes the MappedClasses to validate
+     * @param mapper the Mapper to use for validation
+     * @since 1.4
+     */
+    public void validateIndexed(final Mapper mapper, final List<MappedClass> classes) {
+        final List<ClassConstraint> rules = new ArrayList<ClassConstraint>();
+        for (final ClassConstraint rule : getConstraints()) {
+            if (!COMPILE_TIME_RULES.contains(rule.getClass())) {
+                rules.add(rule);
+            }
+        }
+        validate(mapper, classes, rules);
+    }
+
+    private void validate(final Mapper mapper, final List<MappedClass> classes, final List<ClassConstraint> rules) {
         final Set<ConstraintViolation> ve = new TreeSet<ConstraintViolation>(new Comparator<ConstraintViolation>() {
 
             @Override
@@ -81,7 +109,6 @@ public class MappingValidator {
             }
         });
 
-        final List<ClassConstraint> rules = getConstraints();
         for (final MappedClass c : classes) {
             for (final ClassConstraint v : rules) {
                 v.check(mapper, c, ve);
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The metrics recorded by {@link HistogramMetrics} for one entity type.
+ *
+ * @since 1.4
+ */
+public class EntityMetrics {
+    private final Class<?> type;
+    private final AtomicReferenceArray<OperationMetrics> operations = new AtomicReferenceArray<OperationMetrics>(Operation.values().length);
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong referenceFetches = new AtomicLong();
+
+    EntityMetrics(final Class<?> type) {
+        this.type = type;
+    }
+
+    /**
+     * @return the number of EntityCache lookups which found an entity
+     */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * @return the fraction of EntityCache lookups which found an entity, or 0 if there have been none
+     */
+    public double getCacheHitRatio() {
+        final long hits = cacheHits.get();
+        final long lookups = hits + cacheMisses.get();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * @return the number of EntityCache lookups which did not find an entity
+     */
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    /**
+     * @param operation the operation
+     * @return the timings of the operation, or null if it has not been recorded for this type
+     */
+    public OperationMetrics getOperation(final Operation operation) {
+        return operations.get(operation.ordinal());
+    }
+
+    /**
+     * @return the number of entities of this type read to resolve references
+     */
+    public long getReferenceFetches() {
+        return referenceFetches.get();
+    }
+
+    /**
+     * @return the entity type
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    void recordOperation(final Operation operation, final long driverNanos, final long mappingNanos, final long documents) {
+        OperationMetrics metrics = operations.get(operation.ordinal());
+        if (metrics == null) {
+            // the histograms are not small so they are only created for the operations used
+            operations.compareAndSet(operation.ordinal(), null, new OperationMetrics());
+            metrics = operations.get(operation.ordinal());
+        }
+        metrics.record(driverNanos, mappingNanos, documents);
+    }
+
+    void recordCacheLookups(final int hits, final int misses) {
+        cacheHits.addAndGet(hits);
+        cacheMisses.addAndGet(misses);
+    }
+
+    void recordReferenceFetches(final int count) {
+        referenceFetches.addAndGet(count);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps latency histograms of the driver and mapping time of each operation on each entity type, along with the documents read or written,
+ * the EntityCache hit ratio and the references fetched, so that the slow entity types can be found without a profiler.
+ *
+ * @see org.mongodb.morphia.Morphia#setMetrics(MorphiaMetrics)
+ * @since 1.4
+ */
+public class HistogramMetrics implements MorphiaMetrics {
+    private final ConcurrentMap<Class<?>, EntityMetrics> entities = new ConcurrentHashMap<Class<?>, EntityMetrics>();
+
+    /**
+     * @param type the entity type
+     * @return the metrics of the type, or null if nothing has been recorded for it
+     */
+    public EntityMetrics get(final Class<?> type) {
+        return entities.get(type);
+    }
+
+    /**
+     * @return the metrics of every entity type something has been recorded for
+     */
+    public Collection<EntityMetrics> getAll() {
+        return new ArrayList<EntityMetrics>(entities.values());
+    }
+
+    /**
+     * Discards everything recorded so far.
+     */
+    public void clear() {
+        entities.clear();
+    }
+
+    @Override
+    public void recordOperation(final Class<?> type, final Operation operation, final long driverNanos, final long mappingNanos,
+                                final long documents) {
+        getOrCreate(type).recordOperation(operation, driverNanos, mappingNanos, documents);
+    }
+
+    @Override
+    public void recordCacheLookups(final Class<?> type, final int hits, final int misses) {
+        getOrCreate(type).recordCacheLookups(hits, misses);
+    }
+
+    @Override
+    public void recordReferenceFetches(final Class<?> type, final int count) {
+        getOrCreate(type).recordReferenceFetches(count);
+    }
+
+    private EntityMetrics getOrCreate(final Class<?> type) {
+        final Class<?> key = type == null ? Object.class : type;
+        EntityMetrics metrics = entities.get(key);
+        if (metrics == null) {
+            metrics = new EntityMetrics(key);
+            final EntityMetrics existing = entities.putIfAbsent(key, metrics);
+            if (existing != null) {
+                metrics = existing;
+            }
+        }
+        return metrics;
+    }
+}
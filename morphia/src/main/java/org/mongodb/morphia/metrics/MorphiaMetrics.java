@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.metrics;
+
+/**
+ * Receives the timings of the operations Morphia runs.  Implementations are called on the threads running the operations so they should
+ * be thread safe and return quickly.
+ *
+ * @see org.mongodb.morphia.mapping.MapperOptions#setMetrics(MorphiaMetrics)
+ * @see HistogramMetrics
+ * @since 1.4
+ */
+public interface MorphiaMetrics {
+    /**
+     * Records an operation.  The results of a query are recorded once they have all been read or the iterator is closed.
+     *
+     * @param type         the entity type of the operation
+     * @param operation    the operation
+     * @param driverNanos  the time spent in the driver, including waiting on the server, in nanoseconds
+     * @param mappingNanos the time spent mapping between entities and documents in nanoseconds
+     * @param documents    the number of documents read, written or affected
+     */
+    void recordOperation(Class<?> type, Operation operation, long driverNanos, long mappingNanos, long documents);
+
+    /**
+     * Records the lookups made in the EntityCache while the results of a query were mapped.
+     *
+     * @param type   the entity type of the query
+     * @param hits   the lookups which found an entity
+     * @param misses the lookups which did not
+     */
+    void recordCacheLookups(Class<?> type, int hits, int misses);
+
+    /**
+     * Records the references read from the database, either while mapping an entity or when a lazy reference was first used.
+     *
+     * @param type  the type referenced
+     * @param count the number of entities read
+     */
+    void recordReferenceFetches(Class<?> type, int count);
+}
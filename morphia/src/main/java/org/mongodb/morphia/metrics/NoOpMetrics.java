@@ -0,0 +1,37 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.metrics;
+
+/**
+ * The default MorphiaMetrics which ignores everything reported to it.
+ *
+ * @since 1.4
+ */
+public class NoOpMetrics implements MorphiaMetrics {
+    @Override
+    public void recordOperation(final Class<?> type, final Operation operation, final long driverNanos, final long mappingNanos,
+                                final long documents) {
+    }
+
+    @Override
+    public void recordCacheLookups(final Class<?> type, final int hits, final int misses) {
+    }
+
+    @Override
+    public void recordReferenceFetches(final Class<?> type, final int count) {
+    }
+}
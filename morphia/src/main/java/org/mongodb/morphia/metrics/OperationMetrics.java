@@ -0,0 +1,64 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The timings of one operation on one entity type recorded by {@link HistogramMetrics}.
+ *
+ * @since 1.4
+ */
+public class OperationMetrics {
+    private final LatencyHistogram driverTimes = new LatencyHistogram();
+    private final LatencyHistogram mappingTimes = new LatencyHistogram();
+    private final AtomicLong documents = new AtomicLong();
+
+    void record(final long driverNanos, final long mappingNanos, final long documentCount) {
+        driverTimes.record(driverNanos);
+        mappingTimes.record(mappingNanos);
+        documents.addAndGet(documentCount);
+    }
+
+    /**
+     * @return the number of times the operation ran
+     */
+    public long getCount() {
+        return driverTimes.getCount();
+    }
+
+    /**
+     * @return the number of documents read, written or affected over all of the operations
+     */
+    public long getDocuments() {
+        return documents.get();
+    }
+
+    /**
+     * @return the time spent in the driver by each operation in nanoseconds
+     */
+    public LatencyHistogram getDriverTimes() {
+        return driverTimes;
+    }
+
+    /**
+     * @return the time spent mapping by each operation in nanoseconds
+     */
+    public LatencyHistogram getMappingTimes() {
+        return mappingTimes;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.query;
+
+import org.mongodb.morphia.mapping.MappedClass;
+import org.mongodb.morphia.mapping.MappedField;
+import org.mongodb.morphia.mapping.Mapper;
+import org.mongodb.morphia.utils.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static java.lang.String.format;
+
+/**
+ * Copies the fields of an entity into a view of it: a class with fields, or an interface with getters, named after some of the entity's
+ * fields.
+ *
+ * @param <P> the type of the view
+ * @see QueryResults#asList(Class, FindOptions)
+ */
+final class EntityView<P> {
+    private static final Map<Class<?>, Class<?>> WRAPPERS = new HashMap<Class<?>, Class<?>>();
+
+    static {
+        WRAPPERS.put(boolean.class, Boolean.class);
+        WRAPPERS.put(byte.class, Byte.class);
+        WRAPPERS.put(char.class, Character.class);
+        WRAPPERS.put(short.class, Short.class);
+        WRAPPERS.put(int.class, Integer.class);
+        WRAPPERS.put(long.class, Long.class);
+        WRAPPERS.put(float.class, Float.class);
+        WRAPPERS.put(double.class, Double.class);
+    }
+
+    private final Mapper mapper;
+    private final Class<P> view;
+    private final Map<Field, MappedField> viewFields = new LinkedHashMap<Field, MappedField>();
+    private final Map<String, MappedField> viewMethods = new HashMap<String, MappedField>();
+
+    EntityView(final Mapper mapper, final MappedClass mc, final Class<P> view) {
+        this.mapper = mapper;
+        this.view = view;
+        if (view.isInterface()) {
+            for (final Method method : view.getMethods()) {
+                if (method.getParameterTypes().length != 0) {
+                    throw new QueryException(format("The method %s of the view %s takes parameters", method.getName(), view.getName()));
+                }
+                viewMethods.put(method.getName(), findField(mc, getPropertyName(method.getName()), method.getReturnType()));
+            }
+        } else {
+            for (final Field field : ReflectionUtils.getDeclaredAndInheritedFields(view, false)) {
+                if (!Modifier.isTransient(field.getModifiers())) {
+                    field.setAccessible(true);
+                    viewFields.put(field, findField(mc, field.getName(), field.getType()));
+                }
+            }
+        }
+        if (viewFields.isEmpty() && viewMethods.isEmpty()) {
+            throw new QueryException(format("The view %s has none of the fields of %s", view.getName(), mc.getClazz().getName()));
+        }
+    }
+
+    /**
+     * @return the names of the stored fields the view is made from
+     */
+    List<String> getStoredNames() {
+        final List<String> names = new ArrayList<String>();
+        for (final MappedField mf : viewFields.isEmpty() ? viewMethods.values() : viewFields.values()) {
+            names.add(mf.getNameToStore());
+        }
+        return names;
+    }
+
+    /**
+     * Creates a view of an entity.
+     *
+     * @param entity the entity
+     * @return the view
+     */
+    P create(final Object entity) {
+        if (viewFields.isEmpty()) {
+            final Map<String, Object> values = new HashMap<String, Object>();
+            for (final Entry<String, MappedField> entry : viewMethods.entrySet()) {
+                values.put(entry.getKey(), entry.getValue().getFieldValue(entity));
+            }
+            return view.cast(Proxy.newProxyInstance(view.getClassLoader(), new Class[]{view}, new ViewHandler(view, values)));
+        }
+
+        final P instance = mapper.getOptions().getObjectFactory().createInstance(view);
+        for (final Entry<Field, MappedField> entry : viewFields.entrySet()) {
+            try {
+                entry.getKey().set(instance, entry.getValue().getFieldValue(entity));
+            } catch (IllegalAccessException e) {
+                throw new QueryException(e.getMessage(), e);
+            }
+        }
+        return instance;
+    }
+
+    private MappedField findField(final MappedClass mc, final String name, final Class<?> type) {
+        final MappedField mf = mc.getMappedFieldByJavaField(name);
+        if (mf == null) {
+            throw new QueryException(format("The field '%s' of the view %s is not a field of %s", name, view.getName(),
+                                            mc.getClazz().getName()));
+        }
+        if (type.isPrimitive() && !mf.getType().isPrimitive()) {
+            // a null in the entity could not be copied into the view
+            throw new QueryException(format("The field '%s' of the view %s is a %s but the field of %s may be null, use a %s instead",
+                                            name, view.getName(), type.getName(), mc.getClazz().getName(), wrap(type).getName()));
+        }
+        if (!wrap(type).isAssignableFrom(wrap(mf.getType()))) {
+            throw new QueryException(format("The field '%s' of the view %s is a %s which can not hold the %s of %s", name,
+                                            view.getName(), type.getName(), mf.getType().getName(), mc.getClazz().getName()));
+        }
+        return mf;
+    }
+
+    private static String getPropertyName(final String methodName) {
+        for (final String prefix : new String[]{"get", "is"}) {
+            if (methodName.length() > prefix.length() && methodName.startsWith(prefix)
+                && Character.isUpperCase(methodName.charAt(prefix.length()))) {
+                return Character.toLowerCase(methodName.charAt(prefix.length())) + methodName.substring(prefix.length() + 1);
+            }
+        }
+        return methodName;
+    }
+
+    private static Class<?> wrap(final Class<?> type) {
+        final Class<?> wrapper = WRAPPERS.get(type);
+        return wrapper != null ? wrapper : type;
+    }
+
+    /**
+     * Answers the getters of an interface view from the values copied out of the entity.
+     */
+    private static final class ViewHandler implements InvocationHandler {
+        private final Class<?> view;
+        private final Map<String, Object> values;
+
+        private ViewHandler(final Class<?> view, final Map<String, Object> values) {
+            this.view = view;
+            this.values = values;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            if (method.getDeclaringClass() != Object.class) {
+                return values.get(method.getName());
+            } else if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            } else if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            return view.getSimpleName() + values;
+        }
+    }
+}
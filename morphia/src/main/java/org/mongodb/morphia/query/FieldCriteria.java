@@ -26,6 +26,7 @@ class FieldCriteria extends AbstractCriteria {
     private final FilterOperator operator;
     private final Object value;
     private final boolean not;
+    private final MappedField mappedField;
 
     FieldCriteria(final QueryImpl<?> query, final String field, final FilterOperator op, final Object value) {
         this(query, field, op, value, false);
@@ -45,6 +46,23 @@ class FieldCriteria extends AbstractCriteria {
                                              query.isValidatingTypes());
 
 
+        this.field = sb.toString();
+        this.operator = op;
+        this.value = toMongoValue(mapper, mf, op, value);
+        this.not = not;
+        this.mappedField = mf;
+    }
+
+    /**
+     * Converts a criteria value to the form stored in the query document.
+     *
+     * @param mapper the Mapper to use
+     * @param mf     the MappedField the value is compared against, if known
+     * @param op     the operator used
+     * @param value  the value to convert
+     * @return the converted value
+     */
+    static Object toMongoValue(final Mapper mapper, final MappedField mf, final FilterOperator op, final Object value) {
         MappedClass mc = null;
         try {
             if (value != null && !ReflectionUtils.isPropertyType(value.getClass())
@@ -76,15 +94,16 @@ class FieldCriteria extends AbstractCriteria {
             mappedValue = Collections.emptyList();
         }
 
-        this.field = sb.toString();
-        this.operator = op;
-        this.value = mappedValue;
-        this.not = not;
+        return mappedValue;
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void addTo(final DBObject obj) {
+        addTo(obj, field, operator, value, not);
+    }
+
+    @SuppressWarnings("unchecked")
+    static void addTo(final DBObject obj, final String field, final FilterOperator operator, final Object value, final boolean not) {
         if (FilterOperator.EQUAL.equals(operator)) {
             // no operator, prop equals (or NOT equals) value
             if (not) {
@@ -123,6 +142,13 @@ class FieldCriteria extends AbstractCriteria {
         return field;
     }
 
+    /**
+     * @return the MappedField this Criteria was validated against, or null if the field is not mapped
+     */
+    MappedField getMappedField() {
+        return mappedField;
+    }
+
     /**
      * @return the operator used against this field
      * @see FilterOperator
@@ -23,6 +23,10 @@ import com.mongodb.ReadPreference;
 import com.mongodb.client.model.Collation;
 import com.mongodb.client.model.DBCollectionFindOptions;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -34,6 +38,9 @@ import java.util.concurrent.TimeUnit;
  */
 public class FindOptions {
     private DBCollectionFindOptions options = new DBCollectionFindOptions();
+    private List<String> prefetchReferences = Collections.emptyList();
+    private Executor decodeExecutor;
+    private int decodeParallelism;
 
     /**
      * Creates an empty options instance.
@@ -50,7 +57,11 @@ public class FindOptions {
      * @return the new copy
      */
     public FindOptions copy() {
-        return new FindOptions(options.copy());
+        final FindOptions copy = new FindOptions(options.copy());
+        copy.prefetchReferences = prefetchReferences;
+        copy.decodeExecutor = decodeExecutor;
+        copy.decodeParallelism = decodeParallelism;
+        return copy;
     }
 
     /**
@@ -391,6 +402,88 @@ public class FindOptions {
         return this;
     }
 
+    /**
+     * Gets the reference fields whose entities are fetched for a whole batch of results at a time.  The default is none.
+     *
+     * @return the names of the reference fields to prefetch
+     * @since 1.4
+     */
+    public List<String> getPrefetchReferences() {
+        return prefetchReferences;
+    }
+
+    /**
+     * Sets the reference fields whose entities should be fetched for a whole batch of results at a time.  Rather than querying for the
+     * referenced entity of each result as it is mapped, the references of a batch of results are loaded with one query per referenced
+     * collection before the batch is mapped.  The batch holds as many results as the batch size or 100 when no batch size is set.
+     *
+     * @param fields the java or stored names of the reference fields to prefetch
+     * @return this
+     * @see org.mongodb.morphia.annotations.Reference
+     * @since 1.4
+     */
+    public FindOptions prefetchReferences(final String... fields) {
+        prefetchReferences = Collections.unmodifiableList(Arrays.asList(fields.clone()));
+        return this;
+    }
+
+    /**
+     * Gets the Executor the results are mapped on.  The default is null, which maps each result on the calling thread as it is read.
+     *
+     * @return the Executor or null
+     * @since 1.4
+     */
+    public Executor getDecodeExecutor() {
+        return decodeExecutor;
+    }
+
+    /**
+     * Sets the Executor to map results on.  The documents are read a batch at a time on the calling thread and each batch is mapped by a
+     * task on the executor while the next batches are read.  The results are returned in the order of the documents.  Each batch is
+     * mapped with its own EntityCache so an entity referenced from more than one batch is loaded once per batch.  The batch holds as many
+     * results as the batch size or 100 when no batch size is set.
+     * <p>
+     * The executor is not used when the results are decoded by codecs or when references are prefetched, as both map the documents
+     * while they are read.
+     *
+     * @param executor the Executor to use, or null to map on the calling thread
+     * @return this
+     * @see #decodeParallelism(int)
+     * @since 1.4
+     */
+    public FindOptions decodeExecutor(final Executor executor) {
+        this.decodeExecutor = executor;
+        return this;
+    }
+
+    /**
+     * Gets the number of batches mapped at the same time when a decode executor is set.  The default is 0, meaning one per available
+     * processor.
+     *
+     * @return the number of batches
+     * @since 1.4
+     */
+    public int getDecodeParallelism() {
+        return decodeParallelism;
+    }
+
+    /**
+     * Sets the number of batches mapped at the same time when a decode executor is set.  This also bounds how many batches are read
+     * ahead of the caller.
+     *
+     * @param parallelism the number of batches, or 0 for one per available processor
+     * @return this
+     * @see #decodeExecutor(Executor)
+     * @since 1.4
+     */
+    public FindOptions decodeParallelism(final int parallelism) {
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("The decode parallelism can not be negative");
+        }
+        this.decodeParallelism = parallelism;
+        return this;
+    }
+
     DBCollectionFindOptions getOptions() {
         return options;
     }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.query;
+
+import com.mongodb.DBCursor;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCursor;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.mapping.Mapper;
+import org.mongodb.morphia.mapping.cache.EntityCache;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates the entities of a {@link FindIterable} whose documents are decoded by an {@link org.mongodb.morphia.mapping.EntityCodec}.
+ * Like a DBCursor, the query is only sent to the server once the iterator is first used.  The entities are created by the driver as it
+ * reads each batch so all of the time spent is reported as driver time.
+ *
+ * @param <T> the type being iterated
+ * @see org.mongodb.morphia.mapping.MapperOptions#setUseCodecs(boolean)
+ */
+class MorphiaCodecIterator<T> extends MorphiaIterator<T, T> {
+    private final FindIterable<T> iterable;
+    private MongoCursor<T> cursor;
+
+    MorphiaCodecIterator(final Datastore datastore, final FindIterable<T> iterable, final Mapper mapper, final Class<T> clazz,
+                         final String collection, final EntityCache cache) {
+        super(datastore, null, mapper, clazz, collection, cache);
+        this.iterable = iterable;
+    }
+
+    @Override
+    public void close() {
+        if (cursor != null) {
+            cursor.close();
+        }
+        finished();
+    }
+
+    /**
+     * @return null as the entities are not read through a DBCursor
+     */
+    @Override
+    public DBCursor getCursor() {
+        return null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        final long start = System.nanoTime();
+        final boolean ret = getMongoCursor().hasNext();
+        recordDriverTime(start);
+        if (!ret) {
+            finished();
+        }
+        return ret;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final long start = System.nanoTime();
+        final T entity = getMongoCursor().next();
+        recordRead(start);
+        return entity;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    boolean mapsOnRead() {
+        return true;
+    }
+
+    private MongoCursor<T> getMongoCursor() {
+        if (cursor == null) {
+            cursor = iterable.iterator();
+        }
+        return cursor;
+    }
+}
@@ -6,9 +6,12 @@ import com.mongodb.DBObject;
 import org.mongodb.morphia.Datastore;
 import org.mongodb.morphia.mapping.Mapper;
 import org.mongodb.morphia.mapping.cache.EntityCache;
+import org.mongodb.morphia.mapping.cache.EntityCacheStatistics;
+import org.mongodb.morphia.metrics.Operation;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
 
 
 /**
@@ -23,9 +26,15 @@ public class MorphiaIterator<T, V> implements Iterable<V>, Iterator<V> {
     private final Class<T> clazz;
     private final String collection;
     private final EntityCache cache;
-    private long driverTime;
-    private long mapperTime;
+    private final Operation operation;
+    private final EntityCacheStatistics cacheStart;
+    private long driverNanos;
+    private long mapperNanos;
+    private long documents;
+    private boolean reported;
+    private boolean reportDeferred;
     private Datastore datastore;
+    private DBObject projection;
 
     /**
      * Creates a MorphiaIterator
@@ -38,12 +47,30 @@ public class MorphiaIterator<T, V> implements Iterable<V>, Iterator<V> {
      */
     public MorphiaIterator(final Datastore datastore, final Iterator<DBObject> it, final Mapper mapper, final Class<T> clazz,
                            final String collection, final EntityCache cache) {
+        this(datastore, it, mapper, clazz, collection, cache, Operation.FIND);
+    }
+
+    /**
+     * Creates a MorphiaIterator
+     * @param datastore  the Datastore to use when fetching this reference
+     * @param it         the Iterator to use
+     * @param mapper     the Mapper to use
+     * @param clazz      the original type being iterated
+     * @param collection the mongodb collection
+     * @param cache      the EntityCache
+     * @param operation  the operation the results are reported as to the mapper's MorphiaMetrics
+     * @since 1.4
+     */
+    public MorphiaIterator(final Datastore datastore, final Iterator<DBObject> it, final Mapper mapper, final Class<T> clazz,
+                           final String collection, final EntityCache cache, final Operation operation) {
         wrapped = it;
         this.mapper = mapper;
         this.clazz = clazz;
         this.collection = collection;
         this.cache = cache;
         this.datastore = datastore;
+        this.operation = operation;
+        this.cacheStart = cache == null ? null : cache.stats();
     }
 
     /**
@@ -53,6 +80,9 @@ public class MorphiaIterator<T, V> implements Iterable<V>, Iterator<V> {
         if (wrapped != null && wrapped instanceof DBCursor) {
             ((DBCursor) wrapped).close();
         }
+        if (!reportDeferred) {
+            finished();
+        }
     }
 
     /**
@@ -80,7 +110,7 @@ public class MorphiaIterator<T, V> implements Iterable<V>, Iterator<V> {
      * @return the time spent calling the driver in ms
      */
     public long getDriverTime() {
-        return driverTime;
+        return TimeUnit.NANOSECONDS.toMillis(driverNanos);
     }
 
     /**
@@ -94,7 +124,7 @@ public class MorphiaIterator<T, V> implements Iterable<V>, Iterator<V> {
      * @return the time spent calling the mapper in ms
      */
     public long getMapperTime() {
-        return mapperTime;
+        return TimeUnit.NANOSECONDS.toMillis(getMapperNanos());
     }
 
     @Override
@@ -102,9 +132,12 @@ public class MorphiaIterator<T, V> implements Iterable<V>, Iterator<V> {
         if (wrapped == null) {
             return false;
         }
-        final long start = System.currentTimeMillis();
+        final long start = System.nanoTime();
         final boolean ret = wrapped.hasNext();
-        driverTime += System.currentTimeMillis() - start;
+        driverNanos += System.nanoTime() - start;
+        if (!ret && !reportDeferred) {
+            finished();
+        }
         return ret;
     }
 
@@ -119,9 +152,9 @@ public class MorphiaIterator<T, V> implements Iterable<V>, Iterator<V> {
 
     @Override
     public void remove() {
-        final long start = System.currentTimeMillis();
+        final long start = System.nanoTime();
         wrapped.remove();
-        driverTime += System.currentTimeMillis() - start;
+        driverNanos += System.nanoTime() - start;
     }
 
     @Override
@@ -131,24 +164,106 @@ public class MorphiaIterator<T, V> implements Iterable<V>, Iterator<V> {
 
     @SuppressWarnings("unchecked")
     protected V convertItem(final DBObject dbObj) {
-        return (V) mapper.fromDBObject(datastore, clazz, dbObj, cache);
+        return (V) mapper.fromDBObject(datastore, clazz, dbObj, cache, projection);
     }
 
     protected DBObject getNext() {
-        final long start = System.currentTimeMillis();
+        final long start = System.nanoTime();
         final DBObject dbObj = wrapped.next();
-        driverTime += System.currentTimeMillis() - start;
+        recordRead(start);
         return dbObj;
     }
 
     private V processItem(final DBObject dbObj) {
-        final long start = System.currentTimeMillis();
+        final long start = System.nanoTime();
         final V item = convertItem(dbObj);
-        mapperTime += System.currentTimeMillis() - start;
+        mapperNanos += System.nanoTime() - start;
         return item;
     }
 
+    /**
+     * Adds the time since the start given to the driver time.
+     */
+    void recordDriverTime(final long start) {
+        driverNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Adds the time since the start given to the driver time and counts a document read.
+     */
+    void recordRead(final long start) {
+        recordDriverTime(start);
+        documents++;
+    }
+
+    long getMapperNanos() {
+        return mapperNanos;
+    }
+
+    /**
+     * Stops the end of the results and {@link #close()} from reporting the results, for when the items read are mapped on another
+     * thread.  The results are then only reported by calling {@link #finished()} once both threads are done with the iterator.
+     */
+    void deferReport() {
+        reportDeferred = true;
+    }
+
+    /**
+     * Reports the results read to the mapper's MorphiaMetrics the first time the results are exhausted or the iterator is closed.
+     */
+    void finished() {
+        if (reported) {
+            return;
+        }
+        reported = true;
+        mapper.getOptions().getMetrics().recordOperation(clazz, operation, driverNanos, getMapperNanos(), documents);
+        if (cache != null) {
+            final EntityCacheStatistics stats = cache.stats();
+            final int hits = stats.getHits() - cacheStart.getHits();
+            final int misses = stats.getMisses() - cacheStart.getMisses();
+            if (hits > 0 || misses > 0) {
+                mapper.getOptions().getMetrics().recordCacheLookups(clazz, hits, misses);
+            }
+        }
+    }
+
     Datastore getDatastore() {
         return datastore;
     }
+
+    DBObject getProjection() {
+        return projection;
+    }
+
+    /**
+     * Sets the projection the documents are read with so that mapping them only looks for the fields it returns.
+     */
+    void setProjection(final DBObject projection) {
+        this.projection = projection;
+    }
+
+    /**
+     * @return true if the items are mapped while they are read, in which case {@link #mapNext(Object)} has nothing left to do
+     */
+    boolean mapsOnRead() {
+        return false;
+    }
+
+    /**
+     * Reads the next item without mapping it so that reading and mapping can run on different threads.
+     */
+    Object readNext() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return mapsOnRead() ? next() : getNext();
+    }
+
+    /**
+     * Maps an item returned by {@link #readNext()}.
+     */
+    @SuppressWarnings("unchecked")
+    V mapNext(final Object item) {
+        return mapsOnRead() ? (V) item : processItem((DBObject) item);
+    }
 }
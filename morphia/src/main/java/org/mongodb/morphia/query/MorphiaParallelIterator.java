@@ -0,0 +1,169 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.query;
+
+import com.mongodb.DBObject;
+import com.mongodb.MongoInterruptedException;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.mapping.MappingException;
+import org.mongodb.morphia.mapping.Mapper;
+import org.mongodb.morphia.mapping.cache.EntityCache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reads the documents of a query a batch at a time on the calling thread and maps each batch on an Executor while the following batches
+ * are read.  The entities are returned in the order of the documents.
+ *
+ * @param <T> the type being iterated
+ * @see FindOptions#decodeExecutor(java.util.concurrent.Executor)
+ */
+class MorphiaParallelIterator<T> extends MorphiaIterator<T, T> {
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final Executor executor;
+    private final int batchSize;
+    private final int parallelism;
+    private final LinkedList<FutureTask<List<T>>> pending = new LinkedList<FutureTask<List<T>>>();
+    private final AtomicLong mapperNanos = new AtomicLong();
+    private Iterator<T> current = Collections.<T>emptyList().iterator();
+
+    MorphiaParallelIterator(final Datastore datastore, final Iterator<DBObject> it, final Mapper mapper, final Class<T> clazz,
+                            final String collection, final EntityCache cache, final Executor executor, final int batchSize,
+                            final int parallelism) {
+        super(datastore, it, mapper, clazz, collection, cache);
+        this.executor = executor;
+        this.batchSize = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public void close() {
+        for (final FutureTask<List<T>> task : pending) {
+            task.cancel(true);
+        }
+        pending.clear();
+        current = Collections.<T>emptyList().iterator();
+        super.close();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (current.hasNext()) {
+            return true;
+        }
+        submitBatches();
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (!current.hasNext()) {
+            current = await(pending.removeFirst()).iterator();
+            submitBatches();
+        }
+        return current.next();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @return the time spent mapping, summed over the tasks mapping the batches
+     */
+    @Override
+    long getMapperNanos() {
+        return mapperNanos.get();
+    }
+
+    @Override
+    boolean mapsOnRead() {
+        // the batches are already mapped on the executor, and the documents read ahead are only reachable through next()
+        return true;
+    }
+
+    @Override
+    void finished() {
+        // the cursor runs out while the last batches are still being mapped
+        if (pending.isEmpty() && !current.hasNext()) {
+            super.finished();
+        }
+    }
+
+    private void submitBatches() {
+        while (pending.size() < parallelism && super.hasNext()) {
+            final List<DBObject> batch = new ArrayList<DBObject>(batchSize);
+            while (batch.size() < batchSize && super.hasNext()) {
+                batch.add(getNext());
+            }
+            final FutureTask<List<T>> task = new FutureTask<List<T>>(new Callable<List<T>>() {
+                @Override
+                public List<T> call() {
+                    return map(batch);
+                }
+            });
+            pending.add(task);
+            executor.execute(task);
+        }
+    }
+
+    private List<T> map(final List<DBObject> batch) {
+        final long start = System.nanoTime();
+        // the query's cache is not thread safe so each batch is mapped with its own
+        final EntityCache cache = getMapper().createEntityCache();
+        final List<T> entities = new ArrayList<T>(batch.size());
+        for (final DBObject dbObject : batch) {
+            entities.add(getMapper().fromDBObject(getDatastore(), getClazz(), dbObject, cache, getProjection()));
+        }
+        mapperNanos.addAndGet(System.nanoTime() - start);
+        return entities;
+    }
+
+    private List<T> await(final FutureTask<List<T>> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new MongoInterruptedException("Interrupted while waiting for a batch of results to be mapped", e);
+        } catch (ExecutionException e) {
+            close();
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new MappingException(cause.getMessage(), cause);
+        }
+    }
+}
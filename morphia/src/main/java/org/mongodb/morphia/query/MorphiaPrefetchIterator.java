@@ -0,0 +1,99 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.query;
+
+import com.mongodb.DBObject;
+import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.mapping.Mapper;
+import org.mongodb.morphia.mapping.cache.EntityCache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Reads the documents of a query a batch at a time and loads the references of each batch into the query's EntityCache before the
+ * documents are mapped.
+ *
+ * @param <T> the type being iterated
+ * @see FindOptions#prefetchReferences(String...)
+ */
+class MorphiaPrefetchIterator<T> extends MorphiaIterator<T, T> {
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final LinkedList<DBObject> batch = new LinkedList<DBObject>();
+    private final List<String> fields;
+    private final int batchSize;
+    private final EntityCache cache;
+    /**
+     * The entities referenced by the current batch.  The cache may only hold them weakly so they are kept here until the whole batch has
+     * been mapped.
+     */
+    private final List<Object> prefetched = new ArrayList<Object>();
+
+    MorphiaPrefetchIterator(final Datastore datastore, final Iterator<DBObject> it, final Mapper mapper, final Class<T> clazz,
+                            final String collection, final EntityCache cache, final List<String> fields, final int batchSize) {
+        super(datastore, it, mapper, clazz, collection, cache);
+        this.cache = cache;
+        this.fields = fields;
+        this.batchSize = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+    }
+
+    @Override
+    public void close() {
+        batch.clear();
+        prefetched.clear();
+        super.close();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !batch.isEmpty() || super.hasNext();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    boolean mapsOnRead() {
+        // the references are loaded into the cache as documents are read so mapping has to stay on the reading thread
+        return true;
+    }
+
+    @Override
+    void finished() {
+        // the cursor runs out while the last batch is still to be mapped
+        if (batch.isEmpty()) {
+            super.finished();
+        }
+    }
+
+    @Override
+    protected DBObject getNext() {
+        if (batch.isEmpty()) {
+            while (batch.size() < batchSize && super.hasNext()) {
+                batch.add(super.getNext());
+            }
+            prefetched.clear();
+            prefetched.addAll(getMapper().prefetchReferences(getDatastore(), getClazz(), fields, new ArrayList<DBObject>(batch), cache));
+        }
+        return batch.removeFirst();
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the results of a query.  Documents are read from the cursor a batch at a time, and only as many as have been requested, by
+ * one task on the executor while another task maps the batch read before and sends the entities to the subscriber.  At most
+ * {@link #BATCHES_AHEAD} batches are read ahead of the subscriber.  The query is reported to the mapper's MorphiaMetrics once both tasks
+ * are done with it.
+ *
+ * @param <T> the type of the results
+ */
+class MorphiaPublisher<T> implements Publisher<T> {
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final int BATCHES_AHEAD = 2;
+
+    private final QueryImpl<T> query;
+    private final FindOptions options;
+    private final Executor executor;
+
+    MorphiaPublisher(final QueryImpl<T> query, final FindOptions options, final Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("An executor is required to publish the results of a query");
+        }
+        this.query = query;
+        this.options = options;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber can not be null");
+        }
+        final int batchSize = options.getBatchSize() > 0 ? options.getBatchSize() : DEFAULT_BATCH_SIZE;
+        final MorphiaIterator<T, T> iterator;
+        try {
+            // each subscription maps into its own entity cache and its cursor fetches as many documents as are read at a time
+            iterator = query.cloneQuery().fetch(options.getBatchSize() == 0 ? options.copy().batchSize(batchSize) : options);
+            iterator.deferReport();
+        } catch (RuntimeException e) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(final long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(e);
+            return;
+        }
+        subscriber.onSubscribe(new QuerySubscription<T>(subscriber, iterator, batchSize, executor));
+    }
+
+    private static final class QuerySubscription<T> implements Subscription {
+        private final Subscriber<? super T> subscriber;
+        private final MorphiaIterator<T, T> iterator;
+        private final int batchSize;
+        private final Executor executor;
+
+        private final AtomicLong requested = new AtomicLong();
+        private final Queue<List<Object>> batches = new ConcurrentLinkedQueue<List<Object>>();
+        private final AtomicInteger queuedBatches = new AtomicInteger();
+        private final AtomicInteger readerWork = new AtomicInteger();
+        private final AtomicInteger emitterWork = new AtomicInteger();
+        private final AtomicInteger running = new AtomicInteger(2);
+        private final Runnable reader = new Runnable() {
+            @Override
+            public void run() {
+                read();
+            }
+        };
+        private final Runnable emitter = new Runnable() {
+            @Override
+            public void run() {
+                emit();
+            }
+        };
+
+        private volatile boolean cancelled;
+        private volatile boolean exhausted;
+        private volatile Throwable error;
+        private boolean closed;
+        private boolean terminated;
+
+        private QuerySubscription(final Subscriber<? super T> subscriber, final MorphiaIterator<T, T> iterator, final int batchSize,
+                                  final Executor executor) {
+            this.subscriber = subscriber;
+            this.iterator = iterator;
+            this.batchSize = batchSize;
+            this.executor = executor;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("The number of results requested must be positive but was " + n));
+                return;
+            }
+            long current;
+            long next;
+            do {
+                current = requested.get();
+                next = current + n < 0 ? Long.MAX_VALUE : current + n;
+            } while (!requested.compareAndSet(current, next));
+            scheduleRead();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            scheduleRead();
+            scheduleEmit();
+        }
+
+        private void fail(final Throwable throwable) {
+            if (error == null) {
+                error = throwable;
+            }
+            scheduleRead();
+            scheduleEmit();
+        }
+
+        private void scheduleRead() {
+            if (readerWork.getAndIncrement() == 0) {
+                executor.execute(reader);
+            }
+        }
+
+        private void scheduleEmit() {
+            if (emitterWork.getAndIncrement() == 0) {
+                executor.execute(emitter);
+            }
+        }
+
+        /**
+         * Only ever runs on one thread at a time and is the only code touching the cursor.
+         */
+        private void read() {
+            int missed = 1;
+            while (true) {
+                if (cancelled || error != null) {
+                    close();
+                } else {
+                    try {
+                        readBatches();
+                    } catch (RuntimeException e) {
+                        close();
+                        fail(e);
+                    }
+                }
+                missed = readerWork.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void readBatches() {
+            long budget;
+            while (!exhausted && !cancelled && error == null && queuedBatches.get() < BATCHES_AHEAD
+                   && (budget = requested.get()) > 0) {
+                final int size = (int) Math.min(budget, batchSize);
+                final List<Object> batch = new ArrayList<Object>(size);
+                while (batch.size() < size && iterator.hasNext()) {
+                    batch.add(iterator.readNext());
+                }
+                if (requested.get() != Long.MAX_VALUE) {
+                    requested.addAndGet(-batch.size());
+                }
+                if (!batch.isEmpty()) {
+                    queuedBatches.incrementAndGet();
+                    batches.offer(batch);
+                }
+                if (batch.size() < size || !iterator.hasNext()) {
+                    close();
+                    exhausted = true;
+                }
+                scheduleEmit();
+            }
+        }
+
+        private void close() {
+            if (!closed) {
+                closed = true;
+                iterator.close();
+                done();
+            }
+        }
+
+        /**
+         * Called once by the reader when it has closed the cursor and once by the emitter when it has stopped mapping.  The second call
+         * reports the query, after all the reading and mapping times have been recorded.
+         */
+        private void done() {
+            if (running.decrementAndGet() == 0) {
+                iterator.finished();
+            }
+        }
+
+        /**
+         * Only ever runs on one thread at a time so the subscriber is never signalled concurrently.
+         */
+        private void emit() {
+            int missed = 1;
+            while (true) {
+                if (!terminated) {
+                    emitBatches();
+                }
+                missed = emitterWork.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void emitBatches() {
+            List<Object> batch;
+            while (!cancelled && error == null && (batch = batches.poll()) != null) {
+                queuedBatches.decrementAndGet();
+                scheduleRead();
+                for (final Object item : batch) {
+                    final T entity;
+                    try {
+                        entity = iterator.mapNext(item);
+                    } catch (RuntimeException e) {
+                        fail(e);
+                        break;
+                    }
+                    try {
+                        subscriber.onNext(entity);
+                    } catch (RuntimeException e) {
+                        cancel();
+                        terminated = true;
+                        done();
+                        throw e;
+                    }
+                    if (cancelled) {
+                        break;
+                    }
+                }
+            }
+            if (cancelled) {
+                terminated = true;
+                done();
+            } else if (error != null) {
+                terminated = true;
+                batches.clear();
+                done();
+                subscriber.onError(error);
+            } else if (exhausted && batches.isEmpty()) {
+                terminated = true;
+                done();
+                subscriber.onComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.query;
+
+/**
+ * Emits the results of a query as a subscriber asks for them.  The methods here and in {@link Subscriber} and {@link Subscription} have
+ * the same signatures and contracts as those of Reactive Streams so an adapter to that API only has to delegate.
+ *
+ * @param <T> the type of the results
+ * @see QueryResults#publish(FindOptions, java.util.concurrent.Executor)
+ * @since 1.4
+ */
+public interface Publisher<T> {
+    /**
+     * Starts a new query for the subscriber.  Each subscription reads the results through its own cursor.
+     *
+     * @param subscriber the subscriber to signal
+     */
+    void subscribe(Subscriber<? super T> subscriber);
+}
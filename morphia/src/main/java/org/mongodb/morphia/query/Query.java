@@ -41,6 +41,17 @@ public interface Query<T> extends QueryResults<T>, Cloneable {
      */
     Query<T> cloneQuery();
 
+    /**
+     * Compiles the criteria of this query into a reusable template.  The field names and operators are validated and translated once
+     * and each later call to {@link QueryTemplate#bind(Object...)} only converts the values given.  The values used to build this query
+     * serve as examples for validation; every plain field criteria becomes a positional parameter of the template.
+     *
+     * @return the template
+     * @see QueryTemplate
+     * @since 1.4
+     */
+    QueryTemplate<T> compile();
+
     /**
      * This makes it possible to attach a comment to a query. Because these comments propagate to the profile log, adding comments can make
      * your profile data much easier to interpret and trace.
@@ -6,9 +6,12 @@ import com.mongodb.DBCollection;
 import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
 import com.mongodb.ReadPreference;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.DBCollectionFindOptions;
 import org.bson.BSONObject;
 import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.bson.types.CodeWScope;
 import org.mongodb.morphia.Datastore;
 import org.mongodb.morphia.Key;
@@ -19,10 +22,12 @@ import org.mongodb.morphia.mapping.MappedClass;
 import org.mongodb.morphia.mapping.MappedField;
 import org.mongodb.morphia.mapping.Mapper;
 import org.mongodb.morphia.mapping.cache.EntityCache;
+import org.mongodb.morphia.metrics.Operation;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 import static com.mongodb.CursorType.NonTailable;
@@ -160,6 +165,33 @@ public class QueryImpl<T> extends CriteriaContainerImpl implements Query<T> {
         return results;
     }
 
+    @Override
+    public <P> List<P> asList(final Class<P> view) {
+        return asList(view, getOptions());
+    }
+
+    @Override
+    public <P> List<P> asList(final Class<P> view, final FindOptions options) {
+        final EntityView<P> entityView = new EntityView<P>(ds.getMapper(), ds.getMapper().getMappedClass(clazz), view);
+        final QueryImpl<T> projected = cloneQuery();
+        projected.getOptions().projection(null);
+        projected.includeFields = true;
+        for (final String name : entityView.getStoredNames()) {
+            projected.project(name, 1);
+        }
+
+        final List<P> results = new ArrayList<P>();
+        final MorphiaIterator<T, T> iter = projected.fetch(options);
+        try {
+            for (final T ent : iter) {
+                results.add(entityView.create(ent));
+            }
+        } finally {
+            iter.close();
+        }
+        return results;
+    }
+
     @Override
     @Deprecated
     public long countAll() {
@@ -167,17 +199,22 @@ public class QueryImpl<T> extends CriteriaContainerImpl implements Query<T> {
         if (LOG.isTraceEnabled()) {
             LOG.trace("Executing count(" + dbColl.getName() + ") for query: " + query);
         }
-        return dbColl.getCount(query);
+        final long start = System.nanoTime();
+        return recordCount(start, dbColl.getCount(query));
     }
 
     @Override
     public long count() {
-        return dbColl.getCount(getQueryObject());
+        final DBObject query = getQueryObject();
+        final long start = System.nanoTime();
+        return recordCount(start, dbColl.getCount(query));
     }
 
     @Override
     public long count(final CountOptions options) {
-        return dbColl.getCount(getQueryObject(), options.getOptions());
+        final DBObject query = getQueryObject();
+        final long start = System.nanoTime();
+        return recordCount(start, dbColl.getCount(query, options.getOptions()));
     }
 
     @Override
@@ -187,12 +224,34 @@ public class QueryImpl<T> extends CriteriaContainerImpl implements Query<T> {
 
     @Override
     public MorphiaIterator<T, T> fetch(final FindOptions options) {
-        final DBCursor cursor = prepareCursor(options);
-        if (LOG.isTraceEnabled()) {
-            LOG.trace("Getting cursor(" + dbColl.getName() + ")  for query:" + cursor.getQuery());
+        final MorphiaIterator<T, T> iterator;
+        if (!options.getPrefetchReferences().isEmpty()) {
+            final DBCursor cursor = prepareCursor(options);
+            iterator = new MorphiaPrefetchIterator<T>(ds, cursor, ds.getMapper(), clazz, dbColl.getName(), cache,
+                                                      options.getPrefetchReferences(), options.getBatchSize());
+        } else if (clazz != null && ds.getMapper().getOptions().isUseCodecs()) {
+            return new MorphiaCodecIterator<T>(ds, prepareIterable(options), ds.getMapper(), clazz, dbColl.getName(), cache);
+        } else {
+            final DBCursor cursor = prepareCursor(options);
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Getting cursor(" + dbColl.getName() + ")  for query:" + cursor.getQuery());
+            }
+
+            if (options.getDecodeExecutor() != null) {
+                iterator = new MorphiaParallelIterator<T>(ds, cursor, ds.getMapper(), clazz, dbColl.getName(), cache,
+                                                          options.getDecodeExecutor(), options.getBatchSize(),
+                                                          options.getDecodeParallelism());
+            } else {
+                iterator = new MorphiaIterator<T, T>(ds, cursor, ds.getMapper(), clazz, dbColl.getName(), cache);
+            }
         }
+        iterator.setProjection(getFieldsObject());
+        return iterator;
+    }
 
-        return new MorphiaIterator<T, T>(ds, cursor, ds.getMapper(), clazz, dbColl.getName(), cache);
+    @Override
+    public Publisher<T> publish(final FindOptions options, final Executor executor) {
+        return new MorphiaPublisher<T>(cloneQuery(), options.copy(), executor);
     }
 
     @Override
@@ -292,6 +351,11 @@ public class QueryImpl<T> extends CriteriaContainerImpl implements Query<T> {
         return n;
     }
 
+    @Override
+    public QueryTemplate<T> compile() {
+        return new QueryTemplate<T>(this);
+    }
+
     protected BasicDBObject copy(final DBObject dbObject) {
         return dbObject == null ? null : new BasicDBObject(dbObject.toMap());
     }
@@ -583,6 +647,11 @@ public class QueryImpl<T> extends CriteriaContainerImpl implements Query<T> {
         return this;
     }
 
+    private long recordCount(final long start, final long count) {
+        ds.getMapper().getOptions().getMetrics().recordOperation(clazz, Operation.COUNT, System.nanoTime() - start, 0, count);
+        return count;
+    }
+
     private void project(final String fieldName, final Object value) {
         DBObject projection = getOptions().getProjection();
         if (projection == null) {
@@ -748,7 +817,41 @@ public class QueryImpl<T> extends CriteriaContainerImpl implements Query<T> {
 
     private DBCursor prepareCursor(final FindOptions findOptions) {
         final DBObject query = getQueryObject();
+        checkOptions(query, findOptions);
+
+        return dbColl.find(query, findOptions.getOptions()
+                                             .copy()
+                                             .sort(getSortObject())
+                                             .projection(getFieldsObject()))
+                     .setDecoderFactory(ds.getDecoderFact());
+    }
 
+    private FindIterable<T> prepareIterable(final FindOptions findOptions) {
+        final DBObject query = getQueryObject();
+        checkOptions(query, findOptions);
+
+        final DBCollectionFindOptions options = findOptions.getOptions();
+        final MongoCollection<T> collection = ds.getCodecCollection(dbColl.getName(), clazz, cache)
+            .withReadPreference(options.getReadPreference() != null ? options.getReadPreference() : dbColl.getReadPreference())
+            .withReadConcern(options.getReadConcern() != null ? options.getReadConcern() : dbColl.getReadConcern());
+
+        return collection.find(toBson(query))
+                         .projection(toBson(getFieldsObject()))
+                         .sort(toBson(getSortObject()))
+                         .modifiers(toBson(options.getModifiers()))
+                         .batchSize(options.getBatchSize())
+                         .limit(options.getLimit())
+                         .skip(options.getSkip())
+                         .maxTime(options.getMaxTime(MILLISECONDS), MILLISECONDS)
+                         .maxAwaitTime(options.getMaxAwaitTime(MILLISECONDS), MILLISECONDS)
+                         .noCursorTimeout(options.isNoCursorTimeout())
+                         .oplogReplay(options.isOplogReplay())
+                         .partial(options.isPartial())
+                         .cursorType(options.getCursorType())
+                         .collation(options.getCollation());
+    }
+
+    private void checkOptions(final DBObject query, final FindOptions findOptions) {
         if (LOG.isTraceEnabled()) {
             LOG.trace(String.format("Running query(%s) : %s, options: %s,", dbColl.getName(), query, findOptions));
         }
@@ -760,12 +863,13 @@ public class QueryImpl<T> extends CriteriaContainerImpl implements Query<T> {
         if (findOptions.getCursorType() != NonTailable && (findOptions.getSortDBObject() != null)) {
             LOG.warning("Sorting on tail is not allowed.");
         }
+    }
 
-        return dbColl.find(query, findOptions.getOptions()
-                                             .copy()
-                                             .sort(getSortObject())
-                                             .projection(getFieldsObject()))
-                     .setDecoderFactory(ds.getDecoderFact());
+    private Bson toBson(final DBObject dbObject) {
+        if (dbObject == null || dbObject instanceof Bson) {
+            return (Bson) dbObject;
+        }
+        return new BasicDBObject(dbObject.toMap());
     }
 
     @Override
@@ -871,6 +975,9 @@ public class QueryImpl<T> extends CriteriaContainerImpl implements Query<T> {
                                                : that.getReadConcern() != null) {
             return false;
         }
+        if (!these.getPrefetchReferences().equals(those.getPrefetchReferences())) {
+            return false;
+        }
         return dbOptions.getCollation() != null ? dbOptions.getCollation().equals(that.getCollation()) : that.getCollation() == null;
 
     }
@@ -894,6 +1001,7 @@ public class QueryImpl<T> extends CriteriaContainerImpl implements Query<T> {
         result = 31 * result + (options.getReadPreference() != null ? options.getReadPreference().hashCode() : 0);
         result = 31 * result + (options.getReadConcern() != null ? options.getReadConcern().hashCode() : 0);
         result = 31 * result + (options.getCollation() != null ? options.getCollation().hashCode() : 0);
+        result = 31 * result + options.getPrefetchReferences().hashCode();
         return result;
     }
 
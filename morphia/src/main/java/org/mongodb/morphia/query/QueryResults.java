@@ -5,6 +5,7 @@ import com.mongodb.Bytes;
 import org.mongodb.morphia.Key;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * The results of a query.  These results aren't materialized until a method on this interface is called.
@@ -44,6 +45,29 @@ public interface QueryResults<T> extends Iterable<T> {
      */
     List<T> asList(FindOptions options);
 
+    /**
+     * Execute the query and get the results as views of the entities.  A view is a class, or an interface of getters, with some of the
+     * fields of the entity, matched by their Java names.  Only those fields are requested from the server and mapped.
+     *
+     * @param view the class or interface of the view
+     * @param <P>  the type of the view
+     * @return returns a List of the views of the documents returned by a query
+     * @since 1.4
+     */
+    <P> List<P> asList(Class<P> view);
+
+    /**
+     * Execute the query and get the results as views of the entities.  A view is a class, or an interface of getters, with some of the
+     * fields of the entity, matched by their Java names.  Only those fields are requested from the server and mapped.
+     *
+     * @param view    the class or interface of the view
+     * @param options the options to apply to the find operation
+     * @param <P>     the type of the view
+     * @return returns a List of the views of the documents returned by a query
+     * @since 1.4
+     */
+    <P> List<P> asList(Class<P> view, FindOptions options);
+
     /**
      * Count the total number of values in the result, ignoring limit and offset
      *
@@ -88,6 +112,18 @@ public interface QueryResults<T> extends Iterable<T> {
      */
     MorphiaIterator<T, T> fetch(FindOptions options);
 
+    /**
+     * Publishes the results of the query to subscribers as they request them.  Reading from the server and mapping the documents are done
+     * by separate tasks on the executor so one batch is mapped while the next is read.  Only as many documents as have been requested
+     * are read, in batches of at most {@link FindOptions#getBatchSize()}.
+     *
+     * @param options  the options to apply to the find operation
+     * @param executor the executor to read and map the results on
+     * @return the Publisher
+     * @since 1.4
+     */
+    Publisher<T> publish(FindOptions options, Executor executor);
+
     /**
      * Execute the query and get only the ids of the results.  This is more efficient than fetching the actual results (transfers less
      * data).
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.query;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import org.mongodb.morphia.mapping.MappedField;
+import org.mongodb.morphia.mapping.Mapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+/**
+ * A compiled form of a query's criteria.  The field names and operators of the query are validated and translated when the template is
+ * created so binding new values only has to convert those values.  Each plain field criteria of the query is a positional parameter,
+ * numbered in the order the criteria were added.  Geo and {@code $where} criteria are kept as they were given.
+ * <p>
+ * Templates are immutable and may be shared between threads.
+ * <pre>
+ * QueryTemplate&lt;Person&gt; byName = datastore.createQuery(Person.class)
+ *                                         .field("lastName").equal("")
+ *                                         .field("age").greaterThan(0)
+ *                                         .compile();
+ * List&lt;Person&gt; people = byName.createQuery("Smith", 18).asList();
+ * </pre>
+ *
+ * @param <T> the type being queried
+ * @see Query#compile()
+ * @since 1.4
+ */
+public final class QueryTemplate<T> {
+    private final QueryImpl<T> prototype;
+    private final Mapper mapper;
+    private final DBObject baseQuery;
+    private final Node root;
+    private final int parameterCount;
+
+    @SuppressWarnings("deprecation")
+    QueryTemplate(final QueryImpl<T> query) {
+        prototype = query.cloneQuery();
+        prototype.setChildren(new ArrayList<Criteria>());
+        mapper = query.getDatastore().getMapper();
+        baseQuery = prototype.getQueryObject();
+
+        final List<Parameter> parameters = new ArrayList<Parameter>();
+        root = compile(query, parameters);
+        parameterCount = parameters.size();
+    }
+
+    /**
+     * Creates the query document for the values given.
+     *
+     * @param values the values of the parameters, in the order the criteria were added to the query
+     * @return the query document
+     * @throws QueryException if the number of values does not match the number of parameters
+     */
+    public DBObject bind(final Object... values) {
+        if (values.length != parameterCount) {
+            throw new QueryException(format("This query takes %d parameters but %d were given", parameterCount, values.length));
+        }
+        final DBObject obj = new BasicDBObject(baseQuery.toMap());
+        root.addTo(obj, values);
+        return obj;
+    }
+
+    /**
+     * Creates a new Query for the values given.  The new query keeps the options, sorting and projection of the compiled query.
+     *
+     * @param values the values of the parameters, in the order the criteria were added to the query
+     * @return the new Query
+     * @throws QueryException if the number of values does not match the number of parameters
+     */
+    public Query<T> createQuery(final Object... values) {
+        final QueryImpl<T> query = prototype.cloneQuery();
+        query.setQueryObject(bind(values));
+        return query;
+    }
+
+    /**
+     * @return the number of values {@link #bind(Object...)} expects
+     */
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * @return the stored field names of the parameters, in order
+     */
+    public List<String> getParameterNames() {
+        final List<String> names = new ArrayList<String>();
+        root.collectNames(names);
+        return Collections.unmodifiableList(names);
+    }
+
+    private Node compile(final Criteria criteria, final List<Parameter> parameters) {
+        if (criteria instanceof CriteriaContainerImpl) {
+            final CriteriaContainerImpl container = (CriteriaContainerImpl) criteria;
+            final List<Node> children = new ArrayList<Node>();
+            final Set<String> fields = new HashSet<String>();
+            int nonNullFieldNames = 0;
+            for (final Criteria child : container.getChildren()) {
+                children.add(compile(child, parameters));
+                if (child.getFieldName() != null) {
+                    fields.add(child.getFieldName());
+                    nonNullFieldNames++;
+                }
+            }
+            return new Container(container.getJoinMethod(), fields.size() < nonNullFieldNames, children);
+        } else if (criteria.getClass() == FieldCriteria.class) {
+            final Parameter parameter = new Parameter(parameters.size(), (FieldCriteria) criteria);
+            parameters.add(parameter);
+            return parameter;
+        } else {
+            return new Fixed(criteria);
+        }
+    }
+
+    private interface Node {
+        void addTo(DBObject obj, Object[] values);
+
+        void collectNames(List<String> names);
+    }
+
+    private static final class Container implements Node {
+        private final CriteriaJoin joinMethod;
+        private final boolean useAnd;
+        private final List<Node> children;
+
+        private Container(final CriteriaJoin joinMethod, final boolean useAnd, final List<Node> children) {
+            this.joinMethod = joinMethod;
+            this.useAnd = useAnd;
+            this.children = children;
+        }
+
+        @Override
+        public void addTo(final DBObject obj, final Object[] values) {
+            if (joinMethod == CriteriaJoin.AND && !useAnd) {
+                for (final Node child : children) {
+                    child.addTo(obj, values);
+                }
+            } else {
+                final BasicDBList list = new BasicDBList();
+                for (final Node child : children) {
+                    final BasicDBObject container = new BasicDBObject();
+                    child.addTo(container, values);
+                    list.add(container);
+                }
+                obj.put(joinMethod == CriteriaJoin.AND ? "$and" : "$or", list);
+            }
+        }
+
+        @Override
+        public void collectNames(final List<String> names) {
+            for (final Node child : children) {
+                child.collectNames(names);
+            }
+        }
+    }
+
+    private final class Parameter implements Node {
+        private final int index;
+        private final String field;
+        private final FilterOperator operator;
+        private final boolean not;
+        private final MappedField mappedField;
+
+        private Parameter(final int index, final FieldCriteria criteria) {
+            this.index = index;
+            field = criteria.getField();
+            operator = criteria.getOperator();
+            not = criteria.isNot();
+            mappedField = criteria.getMappedField();
+        }
+
+        @Override
+        public void addTo(final DBObject obj, final Object[] values) {
+            FieldCriteria.addTo(obj, field, operator, FieldCriteria.toMongoValue(mapper, mappedField, operator, values[index]), not);
+        }
+
+        @Override
+        public void collectNames(final List<String> names) {
+            names.add(field);
+        }
+    }
+
+    private static final class Fixed implements Node {
+        private final Criteria criteria;
+
+        private Fixed(final Criteria criteria) {
+            this.criteria = criteria;
+        }
+
+        @Override
+        public void addTo(final DBObject obj, final Object[] values) {
+            criteria.addTo(obj);
+        }
+
+        @Override
+        public void collectNames(final List<String> names) {
+        }
+    }
+}
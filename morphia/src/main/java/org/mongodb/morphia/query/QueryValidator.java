@@ -1,6 +1,8 @@
 package org.mongodb.morphia.query;
 
 import org.mongodb.morphia.annotations.Serialized;
+import org.mongodb.morphia.internal.PathCache;
+import org.mongodb.morphia.internal.PathCache.ResolvedPath;
 import org.mongodb.morphia.logging.Logger;
 import org.mongodb.morphia.logging.MorphiaLoggerFactory;
 import org.mongodb.morphia.mapping.MappedClass;
@@ -42,73 +44,25 @@ final class QueryValidator {
                                      final Object val, final boolean validateNames, final boolean validateTypes) {
         MappedField mf = null;
         final String prop = origProp.toString();
-        boolean hasTranslations = false;
 
         if (!origProp.substring(0, 1).equals("$")) {
-            final String[] parts = prop.split("\\.");
             if (clazz == null) {
                 return null;
             }
 
-            MappedClass mc = mapper.getMappedClass(clazz);
-            //CHECKSTYLE:OFF
-            for (int i = 0; ; ) {
-                //CHECKSTYLE:ON
-                final String part = parts[i];
-                boolean fieldIsArrayOperator = part.equals("$") || part.matches("[0-9]+");
-
-                mf = mc.getMappedField(part);
-
-                //translate from java field name to stored field name
-                if (mf == null && !fieldIsArrayOperator) {
-                    mf = mc.getMappedFieldByJavaField(part);
-                    if (validateNames && mf == null) {
-                        throw new ValidationException(format("The field '%s' could not be found in '%s' while validating - %s; if "
-                                                             + "you wish to continue please disable validation.", part,
-                                                             mc.getClazz().getName(), prop
-                                                            ));
-                    }
-                    hasTranslations = true;
-                    if (mf != null) {
-                        parts[i] = mf.getNameToStore();
-                    }
-                }
-
-                i++;
-                if (mf != null && mf.isMap()) {
-                    //skip the map key validation, and move to the next part
-                    i++;
-                }
-
-                if (i >= parts.length) {
-                    break;
-                }
-
-                if (!fieldIsArrayOperator) {
-                    //catch people trying to search/update into @Reference/@Serialized fields
-                    if (validateNames && !canQueryPast(mf)) {
-                        throw new ValidationException(format("Cannot use dot-notation past '%s' in '%s'; found while"
-                                                             + " validating - %s", part, mc.getClazz().getName(), prop));
-                    }
-
-                    if (mf == null && (mc.isInterface() || !validateNames)) {
-                        break;
-                    } else if (mf == null) {
-                        throw new ValidationException(format("The field '%s' could not be found in '%s'", prop, mc.getClazz().getName()));
-                    }
-                    //get the next MappedClass for the next field validation
-                    mc = mapper.getMappedClass((mf.isSingleValue()) ? mf.getType() : mf.getSubClass());
-                }
+            final PathCache cache = mapper.getPathCache();
+            ResolvedPath resolution = cache.get(QueryValidator.class, clazz, prop, validateNames);
+            if (resolution == null) {
+                resolution = resolvePath(clazz, mapper, prop, validateNames);
+                cache.put(QueryValidator.class, clazz, prop, validateNames, resolution);
             }
+            mf = resolution.getTarget();
+            final MappedClass mc = resolution.getContext();
 
             //record new property string if there has been a translation to any part
-            if (hasTranslations) {
+            if (!resolution.getTranslatedPath().equals(prop)) {
                 origProp.setLength(0); // clear existing content
-                origProp.append(parts[0]);
-                for (int i = 1; i < parts.length; i++) {
-                    origProp.append('.');
-                    origProp.append(parts[i]);
-                }
+                origProp.append(resolution.getTranslatedPath());
             }
 
             if (validateTypes && mf != null) {
@@ -134,6 +88,70 @@ final class QueryValidator {
         return mf;
     }
 
+    /**
+     * Walks the path from the given class, translating java field names to stored field names
+     */
+    private static ResolvedPath resolvePath(final Class clazz, final Mapper mapper, final String prop, final boolean validateNames) {
+        final String[] parts = prop.split("\\.");
+        MappedClass mc = mapper.getMappedClass(clazz);
+        MappedField mf;
+        //CHECKSTYLE:OFF
+        for (int i = 0; ; ) {
+            //CHECKSTYLE:ON
+            final String part = parts[i];
+            boolean fieldIsArrayOperator = part.equals("$") || part.matches("[0-9]+");
+
+            mf = mc.getMappedField(part);
+
+            //translate from java field name to stored field name
+            if (mf == null && !fieldIsArrayOperator) {
+                mf = mc.getMappedFieldByJavaField(part);
+                if (validateNames && mf == null) {
+                    throw new ValidationException(format("The field '%s' could not be found in '%s' while validating - %s; if "
+                                                         + "you wish to continue please disable validation.", part,
+                                                         mc.getClazz().getName(), prop
+                                                        ));
+                }
+                if (mf != null) {
+                    parts[i] = mf.getNameToStore();
+                }
+            }
+
+            i++;
+            if (mf != null && mf.isMap()) {
+                //skip the map key validation, and move to the next part
+                i++;
+            }
+
+            if (i >= parts.length) {
+                break;
+            }
+
+            if (!fieldIsArrayOperator) {
+                //catch people trying to search/update into @Reference/@Serialized fields
+                if (validateNames && !canQueryPast(mf)) {
+                    throw new ValidationException(format("Cannot use dot-notation past '%s' in '%s'; found while"
+                                                         + " validating - %s", part, mc.getClazz().getName(), prop));
+                }
+
+                if (mf == null && (mc.isInterface() || !validateNames)) {
+                    break;
+                } else if (mf == null) {
+                    throw new ValidationException(format("The field '%s' could not be found in '%s'", prop, mc.getClazz().getName()));
+                }
+                //get the next MappedClass for the next field validation
+                mc = mapper.getMappedClass((mf.isSingleValue()) ? mf.getType() : mf.getSubClass());
+            }
+        }
+
+        final StringBuilder translated = new StringBuilder(parts[0]);
+        for (int i = 1; i < parts.length; i++) {
+            translated.append('.');
+            translated.append(parts[i]);
+        }
+        return new ResolvedPath(translated.toString(), mf, mc);
+    }
+
     private static boolean canQueryPast(final MappedField mf) {
         return !(mf.isReference() || mf.hasAnnotation(Serialized.class));
     }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.query;
+
+/**
+ * Receives the results of a {@link Publisher}.  The signals to a subscriber are never sent concurrently.
+ *
+ * @param <T> the type of the results
+ * @since 1.4
+ */
+public interface Subscriber<T> {
+    /**
+     * Called once before any other signal.  No results are sent until they are requested through the subscription.
+     *
+     * @param subscription the subscription used to request results or cancel
+     */
+    void onSubscribe(Subscription subscription);
+
+    /**
+     * Called for each result, never more often than requested.
+     *
+     * @param result the next result
+     */
+    void onNext(T result);
+
+    /**
+     * Called if reading or mapping the results fails.  No further signals are sent.
+     *
+     * @param throwable the failure
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * Called once every result has been sent.  No further signals are sent.
+     */
+    void onComplete();
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.query;
+
+/**
+ * Links a {@link Subscriber} to the query it reads from.
+ *
+ * @since 1.4
+ */
+public interface Subscription {
+    /**
+     * Asks for more results.  Demand adds up across calls; {@link Long#MAX_VALUE} means there is no limit.
+     *
+     * @param n the number of results wanted, which must be positive
+     */
+    void request(long n);
+
+    /**
+     * Stops sending results and closes the cursor.
+     */
+    void cancel();
+}
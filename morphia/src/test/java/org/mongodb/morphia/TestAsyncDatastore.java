@@ -0,0 +1,206 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia;
+
+import org.bson.types.ObjectId;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.PostPersist;
+import org.mongodb.morphia.annotations.PrePersist;
+import org.mongodb.morphia.query.CountOptions;
+import org.mongodb.morphia.query.FindOptions;
+import org.mongodb.morphia.testmodel.Rectangle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestAsyncDatastore extends TestBase {
+    private ExecutorService executor;
+
+    @Before
+    public void startExecutor() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void operations() throws Exception {
+        final AsyncDatastore async = new AsyncDatastore(getDs(), executor, 2);
+
+        final Key<Rectangle> key = async.save(new Rectangle(1, 10)).get(10, TimeUnit.SECONDS);
+        async.save(new Rectangle(2, 20)).get(10, TimeUnit.SECONDS);
+
+        assertNotNull(async.get(Rectangle.class, key.getId()).get(10, TimeUnit.SECONDS));
+        assertEquals(2L, (long) async.getCount(getDs().find(Rectangle.class), new CountOptions()).get(10, TimeUnit.SECONDS));
+        assertEquals(1, async.find(getDs().find(Rectangle.class).filter("width", 20), new FindOptions().maxTime(5, TimeUnit.SECONDS))
+                             .get(10, TimeUnit.SECONDS)
+                             .size());
+
+        assertEquals(2, async.update(getDs().find(Rectangle.class),
+                                     getDs().createUpdateOperations(Rectangle.class).set("height", 5))
+                             .get(10, TimeUnit.SECONDS)
+                             .getUpdatedCount());
+        assertEquals(2, async.delete(getDs().find(Rectangle.class)).get(10, TimeUnit.SECONDS).getN());
+        assertEquals(0, getDs().getCount(Rectangle.class));
+    }
+
+    @Test
+    public void operationsWithTimeouts() throws Exception {
+        final AsyncDatastore async = new AsyncDatastore(getDs(), executor, 2);
+
+        final Key<Rectangle> key = async.save(new Rectangle(1, 10), 5, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS);
+        assertEquals(10, async.get(Rectangle.class, key.getId(), 5, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS).getWidth(), 0);
+        assertEquals(1, async.update(getDs().find(Rectangle.class),
+                                     getDs().createUpdateOperations(Rectangle.class).set("height", 5), 5, TimeUnit.SECONDS)
+                             .get(10, TimeUnit.SECONDS)
+                             .getUpdatedCount());
+        assertEquals(1, async.delete(getDs().find(Rectangle.class), 5, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS).getN());
+    }
+
+    @Test
+    public void listenersAreCalled() throws Exception {
+        final AsyncDatastore async = new AsyncDatastore(getDs(), executor, 1);
+        final CountDownLatch latch = new CountDownLatch(2);
+        final Runnable listener = new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        };
+
+        final DatastoreFuture<Key<Rectangle>> future = async.save(new Rectangle(1, 10));
+        future.addListener(listener, executor);
+        assertNotNull(future.get(10, TimeUnit.SECONDS));
+        future.addListener(listener, executor);
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void concurrencyIsBoundedPerCollection() throws Exception {
+        final AsyncDatastore async = new AsyncDatastore(getDs(), executor, 2);
+
+        final List<DatastoreFuture<Key<Counted>>> futures = new ArrayList<DatastoreFuture<Key<Counted>>>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(async.save(new Counted()));
+        }
+        for (final DatastoreFuture<Key<Counted>> future : futures) {
+            assertNotNull(future.get(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(20, getDs().getCount(Counted.class));
+        assertTrue(Counted.MAX_SAVING.get() > 0 && Counted.MAX_SAVING.get() <= 2);
+    }
+
+    @Test
+    public void cancelledOperationsKeepTheirSlotUntilTheyReturn() throws Exception {
+        final AsyncDatastore async = new AsyncDatastore(getDs(), executor, 1);
+
+        final DatastoreFuture<Key<Blocking>> first = async.save(new Blocking());
+        assertTrue(Blocking.STARTED.await(10, TimeUnit.SECONDS));
+        first.cancel(true);
+        final DatastoreFuture<Key<Blocking>> second = async.save(new Blocking());
+        try {
+            second.get(200, TimeUnit.MILLISECONDS);
+            fail("the second save should wait for the cancelled one to return");
+        } catch (TimeoutException e) {
+            // expected
+        }
+        assertTrue(async.save(new Blocking()).cancel(false));
+
+        Blocking.RELEASE.countDown();
+        assertNotNull(second.get(10, TimeUnit.SECONDS));
+        assertEquals(1, Blocking.MAX_SAVING.get());
+    }
+
+    @Entity
+    private static class Blocking {
+        private static final CountDownLatch STARTED = new CountDownLatch(1);
+        private static final CountDownLatch RELEASE = new CountDownLatch(1);
+        private static final AtomicInteger SAVING = new AtomicInteger();
+        private static final AtomicInteger MAX_SAVING = new AtomicInteger();
+
+        @Id
+        private ObjectId id;
+
+        @PrePersist
+        void prePersist() {
+            final int now = SAVING.incrementAndGet();
+            if (now > MAX_SAVING.get()) {
+                MAX_SAVING.set(now);
+            }
+            STARTED.countDown();
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        RELEASE.await();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                SAVING.decrementAndGet();
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    @Entity
+    private static class Counted {
+        private static final AtomicInteger SAVING = new AtomicInteger();
+        private static final AtomicInteger MAX_SAVING = new AtomicInteger();
+
+        @Id
+        private ObjectId id;
+
+        @PrePersist
+        void prePersist() {
+            final int now = SAVING.incrementAndGet();
+            int max;
+            do {
+                max = MAX_SAVING.get();
+            } while (now > max && !MAX_SAVING.compareAndSet(max, now));
+        }
+
+        @PostPersist
+        void postPersist() {
+            SAVING.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
+import org.bson.types.ObjectId;
+import org.junit.Before;
+import org.junit.Test;
+import org.mongodb.morphia.annotations.Embedded;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.Version;
+import org.mongodb.morphia.query.UpdateException;
+
+import java.util.ConcurrentModificationException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestChangeTracking extends TestBase {
+    @Before
+    public void trackChanges() {
+        getMorphia().getMapper().getOptions().setTrackChanges(true);
+        getMorphia().map(Customer.class, VersionedCustomer.class);
+    }
+
+    @Test
+    public void onlyChangesAreWritten() {
+        final Customer customer = new Customer("Alice");
+        getDs().save(customer);
+        final DBCollection collection = getDs().getCollection(Customer.class);
+
+        final Customer loaded = getDs().get(Customer.class, customer.id);
+        rename(collection, customer.id);
+        loaded.counter++;
+        loaded.address.city = "Paris";
+        getDs().save(loaded);
+
+        final DBObject stored = collection.findOne(customer.id);
+        assertEquals(1, stored.get("counter"));
+        assertEquals("Paris", ((DBObject) stored.get("address")).get("city"));
+        assertEquals("Main", ((DBObject) stored.get("address")).get("street"));
+        // replacing the document would have put back the name this copy was loaded with
+        assertEquals("Bob", stored.get("name"));
+    }
+
+    @Test
+    public void removedFieldsAreUnset() {
+        final Customer customer = new Customer("Alice");
+        getDs().save(customer);
+
+        customer.name = null;
+        customer.address = null;
+        getDs().save(customer);
+
+        final DBObject stored = getDs().getCollection(Customer.class).findOne(customer.id);
+        assertFalse(stored.containsField("name"));
+        assertFalse(stored.containsField("address"));
+        assertNull(getDs().get(Customer.class, customer.id).name);
+    }
+
+    @Test
+    public void unchangedEntitiesAreNotWritten() {
+        final Customer customer = new Customer("Alice");
+        getDs().save(customer);
+        final DBCollection collection = getDs().getCollection(Customer.class);
+        rename(collection, customer.id);
+
+        getDs().save(customer);
+
+        assertEquals("Bob", collection.findOne(customer.id).get("name"));
+    }
+
+    @Test
+    public void deletedDocumentsAreWrittenInFull() {
+        final Customer customer = new Customer("Alice");
+        getDs().save(customer);
+        getDs().delete(customer);
+
+        customer.counter = 5;
+        getDs().save(customer);
+
+        final Customer loaded = getDs().get(Customer.class, customer.id);
+        assertEquals("Alice", loaded.name);
+        assertEquals(5, loaded.counter);
+    }
+
+    @Test
+    public void versionedChanges() {
+        final VersionedCustomer customer = new VersionedCustomer();
+        customer.name = "Alice";
+        getDs().save(customer);
+        assertEquals(1L, (long) customer.version);
+        final DBCollection collection = getDs().getCollection(VersionedCustomer.class);
+
+        final VersionedCustomer loaded = getDs().get(VersionedCustomer.class, customer.id);
+        rename(collection, customer.id);
+        loaded.counter = 3;
+        getDs().save(loaded);
+        assertEquals(2L, (long) loaded.version);
+
+        // a save without changes still moves the version on
+        getDs().save(loaded);
+        assertEquals(3L, (long) loaded.version);
+
+        final DBObject stored = collection.findOne(customer.id);
+        assertEquals(3L, stored.get("version"));
+        assertEquals(3, stored.get("counter"));
+        assertEquals("Bob", stored.get("name"));
+
+        customer.name = "Stale";
+        try {
+            getDs().save(customer);
+            fail("The stale entity should not have been saved");
+        } catch (ConcurrentModificationException e) {
+            assertEquals("Bob", collection.findOne(customer.id).get("name"));
+        }
+    }
+
+    @Test
+    public void mergeOnlySetsChanges() {
+        final Customer customer = new Customer("Alice");
+        getDs().save(customer);
+        final DBCollection collection = getDs().getCollection(Customer.class);
+        collection.update(new BasicDBObject("_id", customer.id), new BasicDBObject("$set", new BasicDBObject("counter", 7)));
+
+        customer.name = "Bob";
+        getDs().merge(customer);
+
+        final DBObject stored = collection.findOne(customer.id);
+        assertEquals("Bob", stored.get("name"));
+        assertEquals(7, stored.get("counter"));
+        assertFalse(getMorphia().getMapper().getChangeTracker().isTracked(customer));
+    }
+
+    @Test
+    public void mergeWithoutChangesFailsForDeletedDocuments() {
+        final Customer customer = new Customer("Alice");
+        getDs().save(customer);
+        getDs().merge(customer);
+
+        final Customer tracked = new Customer("Bob");
+        getDs().save(tracked);
+        getDs().getCollection(Customer.class).remove(new BasicDBObject("_id", tracked.id));
+        try {
+            getDs().merge(tracked);
+            fail("The merge should fail as the document was deleted");
+        } catch (UpdateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void untrackedWhenDisabled() {
+        getMorphia().getMapper().getOptions().setTrackChanges(false);
+        final Customer customer = new Customer("Alice");
+        getDs().save(customer);
+        final DBCollection collection = getDs().getCollection(Customer.class);
+        rename(collection, customer.id);
+
+        getDs().save(customer);
+
+        assertFalse(getMorphia().getMapper().getChangeTracker().isTracked(customer));
+        assertEquals("Alice", collection.findOne(customer.id).get("name"));
+    }
+
+    @Test
+    public void loadedEntitiesAreTracked() {
+        final Customer customer = new Customer("Alice");
+        getDs().save(customer);
+
+        assertTrue(getMorphia().getMapper().getChangeTracker().isTracked(getDs().find(Customer.class).get()));
+    }
+
+    private void rename(final DBCollection collection, final ObjectId id) {
+        collection.update(new BasicDBObject("_id", id), new BasicDBObject("$set", new BasicDBObject("name", "Bob")));
+    }
+
+    @Entity(value = "tracked_customers", noClassnameStored = true)
+    private static class Customer {
+        @Id
+        private ObjectId id;
+        private String name;
+        private int counter;
+        @Embedded
+        private Address address;
+
+        Customer() {
+        }
+
+        Customer(final String name) {
+            this.name = name;
+            address = new Address();
+            address.street = "Main";
+            address.city = "London";
+        }
+    }
+
+    @Embedded
+    private static class Address {
+        private String street;
+        private String city;
+    }
+
+    @Entity(value = "tracked_versioned", noClassnameStored = true)
+    private static class VersionedCustomer {
+        @Id
+        private ObjectId id;
+        @Version
+        private Long version;
+        private String name;
+        private int counter;
+    }
+}
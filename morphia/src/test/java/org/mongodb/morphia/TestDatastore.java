@@ -578,6 +578,22 @@ public class TestDatastore extends TestBase {
         ensureEntityWriteConcern();
     }
 
+    @Test
+    public void bulkSaveOfClassesWithDifferentWriteConcerns() {
+        getMorphia().setUseBulkWriteOperations(true);
+        getDs().setDefaultWriteConcern(WriteConcern.UNACKNOWLEDGED);
+
+        // both classes share a collection, and the acknowledged entities must not be written with the default concern
+        final List<Object> entities = asList(new Simple("one"), new UnacknowledgedSimple("two"), new Simple("three"));
+        final List<String> ids = new ArrayList<String>();
+        for (final Key<Object> key : getDs().save(entities)) {
+            ids.add((String) key.getId());
+        }
+        assertEquals(asList("one", "two", "three"), ids);
+        assertNotNull(getDs().get(Simple.class, "one"));
+        assertNotNull(getDs().get(Simple.class, "three"));
+    }
+
     @SuppressWarnings("deprecation")
     private void ensureEntityWriteConcern() {
         DatastoreImpl datastore = (DatastoreImpl) getAds();
@@ -845,4 +861,17 @@ public class TestDatastore extends TestBase {
         }
     }
 
+    @Entity("Simple")
+    static class UnacknowledgedSimple {
+        @Id
+        private String id;
+
+        UnacknowledgedSimple(final String id) {
+            this.id = id;
+        }
+
+        private UnacknowledgedSimple() {
+        }
+    }
+
 }
@@ -1,12 +1,17 @@
 package org.mongodb.morphia;
 
 
+import org.bson.types.ObjectId;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mongodb.morphia.testutil.TestEntity;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static java.util.Arrays.asList;
 
@@ -30,8 +35,62 @@ public class TestGetByKeys extends TestBase {
         Assert.assertFalse(i.hasNext());
     }
 
+    @Test
+    public void testGetByKeysInKeyOrder() {
+        final List<Key<Object>> keys = new ArrayList<Key<Object>>();
+        final List<Object> expected = new ArrayList<Object>();
+        for (int i = 0; i < 5; i++) {
+            final A a = new A();
+            final B b = new B();
+            keys.add(getDs().save((Object) a));
+            keys.add(getDs().save((Object) b));
+            expected.add(a.getId());
+            expected.add(b.getId());
+        }
+        Collections.reverse(keys);
+        Collections.reverse(expected);
+        keys.add(keys.get(0));
+        expected.add(expected.get(0));
+
+        getMorphia().getMapper().getOptions().setKeyLookupBatchSize(2);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            getMorphia().getMapper().getOptions().setKeyLookupExecutor(executor);
+            Assert.assertEquals(expected, getIds(getDs().getByKeys(keys)));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testGetByKeysWithMissingKeys() {
+        final A a1 = getDs().getByKey(A.class, getDs().save(new A()));
+        final A a2 = getDs().getByKey(A.class, getDs().save(new A()));
+        final List<Key<A>> keys = new ArrayList<Key<A>>();
+        keys.add(getMorphia().getMapper().getKey(a2));
+        keys.add(new Key<A>(A.class, getMorphia().getMapper().getCollectionName(A.class), new ObjectId()));
+        keys.add(getMorphia().getMapper().getKey(a1));
+
+        Assert.assertEquals(asList((Object) a2.getId(), a1.getId()), getIds(getDs().getByKeys(keys)));
+
+        getMorphia().getMapper().getOptions().setNullsForMissingKeys(true);
+        Assert.assertEquals(asList((Object) a2.getId(), null, a1.getId()), getIds(getDs().getByKeys(keys)));
+    }
+
+    private List<Object> getIds(final List<?> entities) {
+        final List<Object> ids = new ArrayList<Object>();
+        for (final Object entity : entities) {
+            ids.add(entity == null ? null : ((TestEntity) entity).getId());
+        }
+        return ids;
+    }
+
     public static class A extends TestEntity {
         private String foo = "bar";
     }
 
+    public static class B extends TestEntity {
+        private String bar = "foo";
+    }
+
 }
@@ -17,6 +17,7 @@ import org.mongodb.morphia.mapping.Mapper;
 import org.mongodb.morphia.mapping.lazy.LazyFeatureDependencies;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.List;
 
 import static java.util.Arrays.asList;
@@ -90,6 +91,29 @@ public class TestMapper extends TestBase {
         Assert.assertTrue(subTypes.contains(mapper.getMappedClass(AnotherNested.class)));
     }
 
+    @Test
+    public void subTypesAreUpdatedAsClassesAreMapped() {
+        final Mapper mapper = getMorphia().getMapper();
+        final Collection<MappedClass> mappedClasses = mapper.getMappedClasses();
+        getMorphia().map(NestedImpl.class);
+        final int mappedCount = mappedClasses.size();
+        Assert.assertTrue(mappedClasses.contains(mapper.getMappedClass(NestedImpl.class)));
+        Assert.assertEquals(asList(mapper.getMappedClass(NestedImpl.class)), mapper.getSubTypes(mapper.getMappedClass(Nested.class)));
+
+        getMorphia().map(AnotherNested.class);
+        Assert.assertTrue(mappedClasses.size() > mappedCount);
+        Assert.assertEquals(asList(mapper.getMappedClass(NestedImpl.class), mapper.getMappedClass(AnotherNested.class)),
+                            mapper.getSubTypes(mapper.getMappedClass(Nested.class)));
+        Assert.assertTrue(mapper.getSubTypes(mapper.getMappedClass(AnotherNested.class)).isEmpty());
+
+        try {
+            mappedClasses.clear();
+            Assert.fail("The mapped classes should not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
     public static class A {
         private static int loadCount;
         @Id
@@ -160,6 +160,22 @@ public class TestMapping extends TestBase {
         }
     }
 
+    @Test
+    public void testCreateInstanceRepeatedly() {
+        final DefaultCreator objectFactory = new DefaultCreator();
+        for (int i = 0; i < 2; i++) {
+            assertEquals(ArrayList.class, objectFactory.createInstance(List.class).getClass());
+            assertEquals(HashMap.class, objectFactory.createInstance(Map.class).getClass());
+            assertEquals(MissingIdStill.class, objectFactory.createInstance(MissingIdStill.class).getClass());
+            try {
+                objectFactory.createInstance(Number.class);
+                fail("abstract types can not be created");
+            } catch (MappingException e) {
+                // expected
+            }
+        }
+    }
+
     @Test
     public void testByteArrayMapping() throws Exception {
         getMorphia().map(ContainsByteArray.class);
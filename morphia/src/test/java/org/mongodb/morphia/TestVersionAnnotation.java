@@ -68,6 +68,54 @@ public class TestVersionAnnotation extends TestBase {
         Assert.assertEquals(3, entity.getVersion().longValue());
     }
 
+    @Test
+    public void testBulkSave() {
+        getMorphia().setUseBulkWriteOperations(true);
+
+        final List<Versioned> list = asList(new Versioned(), new Versioned(), new Versioned());
+        final List<Key<Versioned>> keys = new ArrayList<Key<Versioned>>();
+        for (final Key<Versioned> key : getDs().save(list)) {
+            keys.add(key);
+        }
+        assertEquals(3, keys.size());
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(list.get(i).getId(), keys.get(i).getId());
+            assertEquals(new Long(1), list.get(i).getVersion());
+            list.get(i).setName("name" + i);
+        }
+
+        getDs().save(list);
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(new Long(2), list.get(i).getVersion());
+            final Versioned loaded = getDs().get(Versioned.class, list.get(i).getId());
+            assertEquals("name" + i, loaded.getName());
+            assertEquals(new Long(2), loaded.getVersion());
+        }
+    }
+
+    @Test
+    public void testBulkSaveReportsVersionConflicts() {
+        getMorphia().setUseBulkWriteOperations(true);
+
+        final Versioned first = new Versioned();
+        final Versioned stale = new Versioned();
+        getDs().save(asList(first, stale));
+        getDs().save(getDs().get(Versioned.class, stale.getId()));
+
+        first.setName("updated");
+        stale.setName("stale");
+        try {
+            getDs().save(asList(first, stale));
+            fail("The stale entity should have been reported");
+        } catch (ConcurrentModificationException expected) {
+            assertTrue(expected.getMessage().contains(stale.getId().toString()));
+        }
+
+        assertEquals(new Long(2), first.getVersion());
+        assertEquals("updated", getDs().get(Versioned.class, first.getId()).getName());
+        assertEquals(null, getDs().get(Versioned.class, stale.getId()).getName());
+    }
+
     @Test
     public void testCanMapAPackageContainingAVersionedAbstractBaseClass() {
         Morphia morphia = getMorphia().mapPackage("org.mongodb.morphia.entities.version");
@@ -26,6 +26,38 @@ public class CustomConverterDefaultTest extends TestBase {
         Assert.assertEquals("test", e.foo.string);
     }
 
+    @Test
+    public void testResolvedConvertersAreCached() {
+        final Converters converters = getMorphia().getMapper().getConverters();
+        final MappedField mf = getMorphia().getMapper().getMappedClass(E.class).getMappedField("foo");
+        final Foo foo = new Foo("test");
+
+        Assert.assertFalse(converters.hasSimpleValueConverter(mf));
+        final long misses = converters.getCacheMisses();
+        final long hits = converters.getCacheHits();
+        Assert.assertFalse(converters.hasSimpleValueConverter(mf));
+        Assert.assertEquals(misses, converters.getCacheMisses());
+        Assert.assertEquals(hits + 1, converters.getCacheHits());
+
+        // types without a converter are remembered too
+        Assert.assertFalse(converters.hasSimpleValueConverter(foo));
+        final long valueMisses = converters.getCacheMisses();
+        Assert.assertFalse(converters.hasSimpleValueConverter(foo));
+        Assert.assertEquals(valueMisses, converters.getCacheMisses());
+
+        final FooConverter fc = new FooConverter();
+        converters.addConverter(fc);
+        try {
+            Assert.assertTrue(converters.hasSimpleValueConverter(mf));
+            Assert.assertSame(fc, mf.getResolvedConverters().getFieldConverter());
+            Assert.assertTrue(converters.hasSimpleValueConverter(foo));
+        } finally {
+            converters.removeConverter(fc);
+        }
+        Assert.assertFalse(converters.hasSimpleValueConverter(mf));
+        Assert.assertFalse(converters.hasSimpleValueConverter(foo));
+    }
+
     @Test
     public void testRemoveConverter() {
         Converters converters = getMorphia().getMapper().getConverters();
@@ -26,6 +26,10 @@ public class UniqueIndexOnValue {
         this.name = name;
     }
 
+    public ObjectId getId() {
+        return id;
+    }
+
     public void setValue(final long value) {
         this.value = value;
     }
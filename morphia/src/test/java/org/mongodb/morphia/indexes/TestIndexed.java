@@ -19,7 +19,9 @@ import org.bson.types.ObjectId;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mongodb.morphia.BulkSaveException;
 import org.mongodb.morphia.Datastore;
+import org.mongodb.morphia.InsertOptions;
 import org.mongodb.morphia.TestBase;
 import org.mongodb.morphia.annotations.Embedded;
 import org.mongodb.morphia.annotations.Entity;
@@ -39,11 +41,16 @@ import org.mongodb.morphia.mapping.MappingException;
 import org.mongodb.morphia.utils.IndexDirection;
 import org.mongodb.morphia.utils.IndexType;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mongodb.morphia.testutil.IndexMatcher.doesNotHaveIndexNamed;
 import static org.mongodb.morphia.testutil.IndexMatcher.hasIndexNamed;
 
@@ -201,6 +208,73 @@ public class TestIndexed extends TestBase {
         // this should throw...
         getDs().save(new UniqueIndexOnValue("v"));
     }
+
+    @Test
+    public void testBulkSaveUpdatesTheEntitiesSavedBeforeAnError() throws Exception {
+        getMorphia().setUseBulkWriteOperations(true);
+        getDs().ensureIndexes();
+        final UniqueIndexOnValue first = new UniqueIndexOnValue("first");
+        first.setValue(1);
+        first.setUnique(1);
+        final UniqueIndexOnValue second = new UniqueIndexOnValue("second");
+        second.setValue(2);
+        second.setUnique(2);
+        final UniqueIndexOnValue duplicate = new UniqueIndexOnValue("duplicate");
+        duplicate.setValue(3);
+        duplicate.setUnique(1);
+        final UniqueIndexOnValue last = new UniqueIndexOnValue("last");
+        last.setValue(4);
+        last.setUnique(3);
+
+        try {
+            getDs().save(asList(first, second, duplicate, last));
+            fail("The duplicate should have been reported");
+        } catch (DuplicateKeyException expected) {
+            // the ordered writes stop at the duplicate
+        }
+
+        assertNotNull(first.getId());
+        assertNotNull(second.getId());
+        assertNull(last.getId());
+        assertEquals(2, getDs().getCount(UniqueIndexOnValue.class));
+
+        // retrying replaces the entities already saved instead of inserting them again
+        duplicate.setUnique(4);
+        getDs().save(asList(first, second, duplicate, last));
+        assertEquals(4, getDs().getCount(UniqueIndexOnValue.class));
+    }
+
+    @Test
+    public void testUnorderedBulkSaveReportsEveryError() throws Exception {
+        getMorphia().setUseBulkWriteOperations(true);
+        getDs().ensureIndexes();
+        final UniqueIndexOnValue first = new UniqueIndexOnValue("first");
+        first.setValue(1);
+        first.setUnique(1);
+        final UniqueIndexOnValue duplicate = new UniqueIndexOnValue("duplicate");
+        duplicate.setValue(1);
+        duplicate.setUnique(2);
+        final UniqueIndexOnValue second = new UniqueIndexOnValue("second");
+        second.setValue(2);
+        second.setUnique(3);
+        final UniqueIndexOnValue another = new UniqueIndexOnValue("another");
+        another.setValue(2);
+        another.setUnique(4);
+
+        try {
+            getDs().save(asList(first, duplicate, second, another), new InsertOptions().continueOnError(true));
+            fail("The duplicates should have been reported");
+        } catch (BulkSaveException expected) {
+            assertEquals(asList(1, 3), new ArrayList<Integer>(expected.getErrors().keySet()));
+        }
+
+        assertNotNull(first.getId());
+        assertNull(duplicate.getId());
+        assertNotNull(second.getId());
+        assertNull(another.getId());
+        assertEquals(2, getDs().getCount(UniqueIndexOnValue.class));
+    }
+
     @Test(expected = MappingException.class)
     public void testMixedIndexDefinitions() throws Exception {
         getMorphia().map(MixedIndexDefinitions.class);
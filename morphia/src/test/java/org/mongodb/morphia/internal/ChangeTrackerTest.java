@@ -0,0 +1,137 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.internal;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import org.junit.Test;
+
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ChangeTrackerTest {
+    private final ChangeTracker tracker = new ChangeTracker();
+    private final Object entity = new Object();
+
+    @Test
+    public void untracked() {
+        assertFalse(tracker.isTracked(entity));
+        assertNull(tracker.getChanges(entity, new BasicDBObject("_id", 1)));
+    }
+
+    @Test
+    public void unchanged() {
+        tracker.snapshot(entity, document());
+        assertTrue(tracker.isTracked(entity));
+        assertEquals(new BasicDBObject(), tracker.getChanges(entity, document()));
+    }
+
+    @Test
+    public void changedFields() {
+        tracker.snapshot(entity, document());
+        final DBObject changed = document();
+        changed.put("count", 2);
+        ((DBObject) changed.get("address")).put("city", "Paris");
+        ((BasicDBList) changed.get("tags")).add("c");
+        changed.removeField("name");
+
+        assertEquals(new BasicDBObject("$set", new BasicDBObject("address.city", "Paris")
+                                           .append("count", 2)
+                                           .append("tags", list("a", "b", "c")))
+                         .append("$unset", new BasicDBObject("name", "")),
+                     sorted(tracker.getChanges(entity, changed)));
+    }
+
+    @Test
+    public void removedDocumentsAreUnsetWhole() {
+        tracker.snapshot(entity, document());
+        final DBObject changed = document();
+        changed.removeField("address");
+
+        assertEquals(new BasicDBObject("$unset", new BasicDBObject("address", "")), tracker.getChanges(entity, changed));
+    }
+
+    @Test
+    public void valuesChangingTypeAreSetWhole() {
+        tracker.snapshot(entity, document());
+        final DBObject changed = document();
+        changed.put("address", "nowhere");
+        changed.put("count", new BasicDBObject("value", 1));
+
+        assertEquals(new BasicDBObject("$set", new BasicDBObject("address", "nowhere").append("count", new BasicDBObject("value", 1))),
+                     sorted(tracker.getChanges(entity, changed)));
+    }
+
+    @Test
+    public void keyOrderOfEmbeddedDocumentsIsIgnored() {
+        tracker.snapshot(entity, document());
+        final DBObject changed = document();
+        changed.put("address", new BasicDBObject("city", "London").append("street", "Main"));
+
+        assertEquals(new BasicDBObject(), tracker.getChanges(entity, changed));
+    }
+
+    @Test
+    public void forget() {
+        tracker.snapshot(entity, document());
+        tracker.forget(entity);
+        assertFalse(tracker.isTracked(entity));
+    }
+
+    @Test
+    public void entitiesAreComparedByIdentity() {
+        tracker.snapshot(new String("entity"), document());
+        assertFalse(tracker.isTracked(new String("entity")));
+    }
+
+    private DBObject document() {
+        return new BasicDBObject("_id", 1)
+                   .append("name", "Bob")
+                   .append("count", 1)
+                   .append("address", new BasicDBObject("street", "Main").append("city", "London"))
+                   .append("tags", list("a", "b"));
+    }
+
+    private BasicDBList list(final String... values) {
+        final BasicDBList list = new BasicDBList();
+        for (final String value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    /**
+     * The paths are compared through a hash map so their order is not part of what is tested.
+     */
+    private DBObject sorted(final DBObject changes) {
+        final BasicDBObject sorted = new BasicDBObject();
+        for (final String operator : new TreeSet<String>(changes.keySet())) {
+            final DBObject fields = (DBObject) changes.get(operator);
+            final BasicDBObject sortedFields = new BasicDBObject();
+            for (final String field : new TreeSet<String>(fields.keySet())) {
+                sortedFields.put(field, fields.get(field));
+            }
+            sorted.put(operator, sortedFields);
+        }
+        return sorted;
+    }
+}
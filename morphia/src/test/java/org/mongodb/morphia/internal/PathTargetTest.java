@@ -119,6 +119,25 @@ public class PathTargetTest extends TestBase {
         Assert.assertEquals(mapper.getMappedClass(NestedImpl.class).getMappedFieldByJavaField("field"), pathTarget.getTarget());
     }
 
+    @Test
+    public void resolutionsAreCached() {
+        getMorphia().map(ParentType.class, EmbeddedType.class);
+        Mapper mapper = getMorphia().getMapper();
+        MappedClass mappedClass = mapper.getMappedClass(ParentType.class);
+
+        Assert.assertEquals("n", new PathTarget(mapper, mappedClass, "name").translatedPath());
+        Assert.assertNotNull(mapper.getPathCache().get(PathTarget.class, ParentType.class, "name", true));
+        Assert.assertNull(mapper.getPathCache().get(PathTarget.class, ParentType.class, "name", false));
+
+        final PathTarget pathTarget = new PathTarget(mapper, mappedClass, "name");
+        Assert.assertEquals("n", pathTarget.translatedPath());
+        Assert.assertEquals(mappedClass.getMappedFieldByJavaField("name"), pathTarget.getTarget());
+
+        getMorphia().map(EmbeddedSubtype.class);
+        Assert.assertNull(mapper.getPathCache().get(PathTarget.class, ParentType.class, "name", true));
+        Assert.assertEquals("embedded.flag", new PathTarget(mapper, mappedClass, "embedded.flag").translatedPath());
+    }
+
     @Test
     public void disableValidation() {
         getMorphia().map(WithNested.class, Nested.class, NestedImpl.class, AnotherNested.class);
@@ -5,12 +5,15 @@ import org.bson.types.ObjectId;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mongodb.morphia.TestBase;
+import org.mongodb.morphia.annotations.AlsoLoad;
 import org.mongodb.morphia.annotations.Id;
 import org.mongodb.morphia.annotations.Property;
+import org.mongodb.morphia.annotations.Transient;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
+import java.util.List;
 
 
 /**
@@ -28,6 +31,68 @@ public class ClassMappingTest extends TestBase {
         Assert.assertNull(getDs().find(E.class).field("testClass2").equal(ArrayList.class).get());
     }
 
+    @Test
+    public void testFieldLookups() {
+        final MappedClass mc = getMorphia().getMapper().getMappedClass(F.class);
+
+        final MappedField name = mc.getMappedFieldByJavaField("name");
+        Assert.assertEquals("n", name.getNameToStore());
+        Assert.assertSame(name, mc.getMappedField("n"));
+        Assert.assertSame(name, mc.getMappedField("oldName"));
+        Assert.assertNull(mc.getMappedField("name"));
+        Assert.assertNull(mc.getMappedFieldByJavaField("n"));
+        Assert.assertNull(mc.getMappedFieldByJavaField("cached"));
+
+        Assert.assertEquals(1, mc.getFieldsAnnotatedWith(Property.class).size());
+        Assert.assertSame(mc.getMappedIdField(), mc.getFieldsAnnotatedWith(Id.class).get(0));
+        Assert.assertTrue(mc.getFieldsAnnotatedWith(Transient.class).isEmpty());
+
+        mc.getPersistenceFields().remove(name);
+        Assert.assertNull(mc.getMappedField("n"));
+        Assert.assertNull(mc.getMappedFieldByJavaField("name"));
+        Assert.assertTrue(mc.getFieldsAnnotatedWith(Property.class).isEmpty());
+    }
+
+    @Test
+    public void testFieldLookupsSeeAddedAnnotations() {
+        final MappedClass mc = getMorphia().getMapper().getMappedClass(F.class);
+        final MappedField name = mc.getMappedFieldByJavaField("name");
+        final MappedField id = mc.getMappedIdField();
+        Assert.assertEquals(1, mc.getFieldsAnnotatedWith(Property.class).size());
+
+        id.addAnnotation(AlsoLoad.class, name.getAnnotation(AlsoLoad.class));
+        Assert.assertEquals(2, mc.getFieldsAnnotatedWith(AlsoLoad.class).size());
+        Assert.assertSame(id, mc.getMappedField("oldName"));
+    }
+
+    @Test
+    public void testFieldLookupsSeeReplacedFields() {
+        final MappedClass mc = getMorphia().getMapper().getMappedClass(F.class);
+        final MappedField name = mc.getMappedFieldByJavaField("name");
+        Assert.assertSame(name, mc.getMappedField("n"));
+
+        final List<MappedField> fields = mc.getPersistenceFields();
+        fields.set(fields.indexOf(name), mc.getMappedIdField());
+        Assert.assertNull(mc.getMappedField("n"));
+        Assert.assertNull(mc.getMappedFieldByJavaField("name"));
+    }
+
+    @Test
+    public void testMappingPlanSeesAddedAnnotations() {
+        final Mapper mapper = getMorphia().getMapper();
+        final MappedClass mc = mapper.getMappedClass(F.class);
+        final MappingPlan plan = mapper.getMappingPlan(mc);
+        Assert.assertSame(plan, mapper.getMappingPlan(mc));
+
+        final MappedField id = mc.getMappedIdField();
+        id.addAnnotation(AlsoLoad.class, mc.getMappedFieldByJavaField("name").getAnnotation(AlsoLoad.class));
+        Assert.assertNotSame(plan, mapper.getMappingPlan(mc));
+
+        final MappingPlan updated = mapper.getMappingPlan(mc);
+        mc.update();
+        Assert.assertNotSame(updated, mapper.getMappingPlan(mc));
+    }
+
     @Test
     public void testMapping() throws Exception {
         E e = new E();
@@ -58,4 +123,16 @@ public class ClassMappingTest extends TestBase {
         private Class<? extends Collection> testClass;
         private Class<? extends Collection> testClass2;
     }
+
+    public static class F {
+        @Id
+        private ObjectId id;
+
+        @Property("n")
+        @AlsoLoad("oldName")
+        private String name;
+
+        @Transient
+        private String cached;
+    }
 }
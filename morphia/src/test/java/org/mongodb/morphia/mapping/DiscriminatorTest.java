@@ -0,0 +1,159 @@
+package org.mongodb.morphia.mapping;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import org.bson.types.ObjectId;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mongodb.morphia.TestBase;
+import org.mongodb.morphia.annotations.Discriminator;
+import org.mongodb.morphia.annotations.Embedded;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DiscriminatorTest extends TestBase {
+
+    @Test
+    public void testDiscriminatorIsStored() {
+        getMorphia().map(Shelter.class, Dog.class, Cat.class);
+        final Shelter shelter = new Shelter();
+        shelter.animals.add(new Dog("Rex"));
+        shelter.animals.add(new Cat("Tom"));
+        shelter.favorite = new Cat("Felix");
+        getDs().save(shelter);
+
+        final DBObject document = getDs().getCollection(Shelter.class).findOne();
+        Assert.assertEquals("shelter", document.get(Mapper.CLASS_NAME_FIELDNAME));
+        Assert.assertEquals("cat", ((DBObject) document.get("favorite")).get(Mapper.CLASS_NAME_FIELDNAME));
+        Assert.assertEquals("dog", ((DBObject) ((List) document.get("animals")).get(0)).get(Mapper.CLASS_NAME_FIELDNAME));
+
+        assertAnimals(getDs().find(Shelter.class).get());
+
+        getMorphia().getMapper().getOptions().setUseCodecs(true);
+        assertAnimals(getDs().find(Shelter.class).get());
+    }
+
+    @Test
+    public void testClassNamesAreStillRead() {
+        getMorphia().map(Shelter.class, Dog.class, Cat.class);
+        getDs().getCollection(Shelter.class).insert(
+            new BasicDBObject(Mapper.CLASS_NAME_FIELDNAME, Shelter.class.getName())
+                .append("favorite", new BasicDBObject(Mapper.CLASS_NAME_FIELDNAME, Cat.class.getName()).append("name", "Felix"))
+                .append("animals", asDocuments(new BasicDBObject(Mapper.CLASS_NAME_FIELDNAME, Dog.class.getName()).append("name", "Rex"),
+                                               new BasicDBObject(Mapper.CLASS_NAME_FIELDNAME, "cat").append("name", "Tom"))));
+
+        assertAnimals(getDs().find(Shelter.class).get());
+    }
+
+    @Test
+    public void testObjectFactoryIsGivenTheDiscriminatedClass() {
+        getMorphia().getMapper().getOptions().setObjectFactory(new DefaultCreator() {
+            @Override
+            public Object createInstance(final Mapper mapper, final MappedField mf, final DBObject dbObj) {
+                throw new AssertionError("discriminated documents should not be resolved by the ObjectFactory");
+            }
+        });
+        getMorphia().map(Shelter.class, Dog.class, Cat.class);
+        final Shelter shelter = new Shelter();
+        shelter.animals.add(new Dog("Rex"));
+        shelter.animals.add(new Cat("Tom"));
+        shelter.favorite = new Cat("Felix");
+        getDs().save(shelter);
+
+        assertAnimals(getDs().find(Shelter.class).get());
+    }
+
+    @Test
+    public void testUnmappedDiscriminatorsAreReported() {
+        // Cat is not mapped, so its discriminator can not be resolved
+        getMorphia().map(Shelter.class, Dog.class);
+        getDs().getCollection(Shelter.class).insert(
+            new BasicDBObject(Mapper.CLASS_NAME_FIELDNAME, "shelter")
+                .append("favorite", new BasicDBObject(Mapper.CLASS_NAME_FIELDNAME, "cat").append("name", "Felix")));
+
+        try {
+            getDs().find(Shelter.class).get();
+            Assert.fail("the discriminator of an unmapped class should be reported");
+        } catch (MappingException e) {
+            Assert.assertTrue(e.getMessage(), messages(e).contains("'cat'"));
+        }
+    }
+
+    private String messages(final Throwable throwable) {
+        final StringBuilder messages = new StringBuilder();
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            messages.append(t.getMessage()).append('\n');
+        }
+        return messages.toString();
+    }
+
+    @Test(expected = MappingException.class)
+    public void testDuplicateDiscriminators() {
+        getMorphia().map(Dog.class, Hound.class);
+    }
+
+    private void assertAnimals(final Shelter loaded) {
+        Assert.assertEquals(Cat.class, loaded.favorite.getClass());
+        Assert.assertEquals("Felix", loaded.favorite.name);
+        Assert.assertEquals(2, loaded.animals.size());
+        Assert.assertEquals(Dog.class, loaded.animals.get(0).getClass());
+        Assert.assertEquals("Rex", loaded.animals.get(0).name);
+        Assert.assertEquals(Cat.class, loaded.animals.get(1).getClass());
+    }
+
+    private List<DBObject> asDocuments(final DBObject... documents) {
+        final List<DBObject> list = new ArrayList<DBObject>();
+        for (final DBObject document : documents) {
+            list.add(document);
+        }
+        return list;
+    }
+
+    @Entity("shelters")
+    @Discriminator("shelter")
+    private static class Shelter {
+        @Id
+        private ObjectId id;
+        private Animal favorite;
+        private List<Animal> animals = new ArrayList<Animal>();
+    }
+
+    @Embedded
+    private abstract static class Animal {
+        private String name;
+
+        Animal() {
+        }
+
+        Animal(final String name) {
+            this.name = name;
+        }
+    }
+
+    @Discriminator("dog")
+    private static class Dog extends Animal {
+        Dog() {
+        }
+
+        Dog(final String name) {
+            super(name);
+        }
+    }
+
+    @Discriminator("cat")
+    private static class Cat extends Animal {
+        Cat() {
+        }
+
+        Cat(final String name) {
+            super(name);
+        }
+    }
+
+    @Discriminator("dog")
+    private static class Hound extends Animal {
+    }
+}
@@ -0,0 +1,258 @@
+package org.mongodb.morphia.mapping;
+
+import com.mongodb.DBObject;
+import com.mongodb.DBRef;
+import com.mongodb.DuplicateKeyException;
+import org.bson.types.ObjectId;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mongodb.morphia.InsertOptions;
+import org.mongodb.morphia.TestBase;
+import org.mongodb.morphia.annotations.Discriminator;
+import org.mongodb.morphia.annotations.Embedded;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.IndexOptions;
+import org.mongodb.morphia.annotations.Indexed;
+import org.mongodb.morphia.annotations.PostPersist;
+import org.mongodb.morphia.annotations.Reference;
+import org.mongodb.morphia.annotations.Transient;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+
+public class EntityCodecTest extends TestBase {
+
+    @Before
+    public void useCodecs() {
+        getMorphia().getMapper().getOptions().setUseCodecs(true);
+    }
+
+    @Test
+    public void references() {
+        final Author author = new Author("Ursula");
+        final Author other = new Author("Terry");
+        getDs().save(asList(author, other));
+
+        final Book book = new Book();
+        book.author = author;
+        book.contributors.add(author);
+        book.contributors.add(other);
+        getDs().save(book);
+
+        final DBObject document = getDs().getCollection(Book.class).findOne();
+        Assert.assertEquals(new DBRef("codec_authors", author.id), document.get("author"));
+        Assert.assertEquals(2, ((List) document.get("contributors")).size());
+
+        final Book loaded = getDs().find(Book.class).get();
+        Assert.assertEquals("Ursula", loaded.author.name);
+        Assert.assertEquals(2, loaded.contributors.size());
+        Assert.assertSame(loaded.author, loaded.contributors.get(0));
+        Assert.assertEquals("Terry", loaded.contributors.get(1).name);
+    }
+
+    @Test
+    public void embeddedListsAndMaps() {
+        final Shelf shelf = new Shelf();
+        shelf.items.add(new Item("one", 1));
+        shelf.items.add(new Item("two", 2));
+        shelf.itemsByName.put("three", new Item("three", 3));
+        shelf.tags.put("colors", asList("red", "blue"));
+        getAds().insert(shelf);
+
+        final DBObject document = getDs().getCollection(Shelf.class).findOne();
+        Assert.assertEquals("two", ((DBObject) ((List) document.get("items")).get(1)).get("name"));
+        Assert.assertEquals(3, ((DBObject) ((DBObject) document.get("itemsByName")).get("three")).get("count"));
+
+        final Shelf loaded = getDs().find(Shelf.class).get();
+        Assert.assertEquals(shelf.id, loaded.id);
+        Assert.assertEquals(2, loaded.items.size());
+        Assert.assertEquals("one", loaded.items.get(0).name);
+        Assert.assertEquals(2, loaded.items.get(1).count);
+        Assert.assertEquals(3, loaded.itemsByName.get("three").count);
+        Assert.assertEquals(asList("red", "blue"), loaded.tags.get("colors"));
+    }
+
+    @Test
+    public void discriminators() {
+        getMorphia().map(Garden.class, Rose.class, Tulip.class);
+        final Garden garden = new Garden();
+        garden.favorite = new Rose("red");
+        garden.flowers.add(new Tulip("yellow"));
+        garden.flowers.add(new Rose("white"));
+        getDs().save(garden);
+
+        final DBObject document = getDs().getCollection(Garden.class).findOne();
+        Assert.assertEquals("garden", document.get(Mapper.CLASS_NAME_FIELDNAME));
+        Assert.assertEquals("rose", ((DBObject) document.get("favorite")).get(Mapper.CLASS_NAME_FIELDNAME));
+        Assert.assertEquals("tulip", ((DBObject) ((List) document.get("flowers")).get(0)).get(Mapper.CLASS_NAME_FIELDNAME));
+
+        final Garden loaded = getDs().find(Garden.class).get();
+        Assert.assertEquals(Rose.class, loaded.favorite.getClass());
+        Assert.assertEquals("red", loaded.favorite.color);
+        Assert.assertEquals(Tulip.class, loaded.flowers.get(0).getClass());
+        Assert.assertEquals(Rose.class, loaded.flowers.get(1).getClass());
+        Assert.assertEquals("white", loaded.flowers.get(1).color);
+    }
+
+    @Test
+    public void duplicateKeys() {
+        getMorphia().map(Account.class);
+        getDs().ensureIndexes(Account.class);
+        try {
+            getAds().insert(asList(new Account("first"), new Account("second"), new Account("first"), new Account("third")),
+                            new InsertOptions());
+            Assert.fail("The duplicate should have been reported");
+        } catch (DuplicateKeyException expected) {
+            // the ordered insert stops at the duplicate
+        }
+        Assert.assertEquals(2, getDs().getCount(Account.class));
+
+        try {
+            getDs().save(new Account("second"));
+            Assert.fail("The duplicate should have been reported");
+        } catch (DuplicateKeyException expected) {
+            // expected
+        }
+        Assert.assertEquals(2, getDs().getCount(Account.class));
+    }
+
+    @Test
+    public void embeddedEntitiesArePersistedByEverySave() {
+        // the codec is shared by the saves, but each one must collect its own embedded entities
+        final Logbook first = new Logbook();
+        final Logbook second = new Logbook();
+        getDs().save(first);
+        getDs().save(second);
+        getDs().save(first);
+
+        Assert.assertEquals(2, first.entry.persisted);
+        Assert.assertEquals(1, second.entry.persisted);
+    }
+
+    @Entity("codec_authors")
+    private static class Author {
+        @Id
+        private ObjectId id;
+        private String name;
+
+        Author() {
+        }
+
+        Author(final String name) {
+            this.name = name;
+        }
+    }
+
+    @Entity("codec_books")
+    private static class Book {
+        @Id
+        private ObjectId id;
+        @Reference
+        private Author author;
+        @Reference
+        private List<Author> contributors = new ArrayList<Author>();
+    }
+
+    @Entity("codec_shelves")
+    private static class Shelf {
+        @Id
+        private ObjectId id;
+        private List<Item> items = new ArrayList<Item>();
+        private Map<String, Item> itemsByName = new HashMap<String, Item>();
+        private Map<String, List<String>> tags = new HashMap<String, List<String>>();
+    }
+
+    @Embedded
+    private static class Item {
+        private String name;
+        private int count;
+
+        Item() {
+        }
+
+        Item(final String name, final int count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+
+    @Entity("codec_gardens")
+    @Discriminator("garden")
+    private static class Garden {
+        @Id
+        private ObjectId id;
+        private Flower favorite;
+        private List<Flower> flowers = new ArrayList<Flower>();
+    }
+
+    @Embedded
+    private abstract static class Flower {
+        private String color;
+
+        Flower() {
+        }
+
+        Flower(final String color) {
+            this.color = color;
+        }
+    }
+
+    @Discriminator("rose")
+    private static class Rose extends Flower {
+        Rose() {
+        }
+
+        Rose(final String color) {
+            super(color);
+        }
+    }
+
+    @Discriminator("tulip")
+    private static class Tulip extends Flower {
+        Tulip() {
+        }
+
+        Tulip(final String color) {
+            super(color);
+        }
+    }
+
+    @Entity("codec_logbooks")
+    private static class Logbook {
+        @Id
+        private ObjectId id;
+        private Entry entry = new Entry();
+    }
+
+    @Embedded
+    private static class Entry {
+        @Transient
+        private int persisted;
+
+        @PostPersist
+        void persisted() {
+            persisted++;
+        }
+    }
+
+    @Entity("codec_accounts")
+    private static class Account {
+        @Id
+        private ObjectId id;
+        @Indexed(options = @IndexOptions(unique = true))
+        private String name;
+
+        Account() {
+        }
+
+        Account(final String name) {
+            this.name = name;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.mongodb.morphia.mapping;
 
 
+import com.mongodb.BasicDBObject;
 import com.mongodb.DBObject;
 import org.bson.types.ObjectId;
 import org.junit.Assert;
@@ -8,12 +9,18 @@ import org.junit.Test;
 import org.mongodb.morphia.TestBase;
 import org.mongodb.morphia.annotations.Entity;
 import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.converters.SimpleValueConverter;
+import org.mongodb.morphia.converters.TypeConverter;
+import org.mongodb.morphia.mapping.accessor.FieldAccessor;
+import org.mongodb.morphia.mapping.accessor.ReflectiveFieldAccessorFactory;
 
 import java.io.Serializable;
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.Collection;
 
 
@@ -109,6 +116,118 @@ public class MapperOptionsTest extends TestBase {
         shouldNotFindField(hm);
     }
 
+    @Test
+    public void compiledMappings() {
+        getMorphia().getMapper().getOptions().setCompileMappings(true);
+
+        final HasComplexObjectValuedMap hm = new HasComplexObjectValuedMap();
+        hm.properties = new HashMap<String, ComplexObject>();
+        final ComplexObject value = new ComplexObject();
+        value.stringVal = "value";
+        value.intVal = 42;
+        hm.properties.put("key", value);
+        getDs().save(hm);
+
+        final HasComplexObjectValuedMap loaded = getDs().find(HasComplexObjectValuedMap.class).get();
+        Assert.assertEquals(hm.id, loaded.id);
+        Assert.assertEquals("value", loaded.properties.get("key").stringVal);
+        Assert.assertEquals(42, loaded.properties.get("key").intVal);
+    }
+
+    @Test
+    public void compiledMappingsFollowConverterChanges() {
+        final Mapper mapper = getMorphia().getMapper();
+        mapper.getOptions().setCompileMappings(true);
+
+        final HasComplexObject entity = new HasComplexObject();
+        entity.complex = new ComplexObject();
+        entity.complex.stringVal = "value";
+        Assert.assertTrue(mapper.toDBObject(entity).get("complex") instanceof DBObject);
+
+        mapper.getConverters().addConverter(new ComplexObjectConverter());
+        Assert.assertEquals("value", mapper.toDBObject(entity).get("complex"));
+    }
+
+    @Test
+    public void codecs() {
+        getMorphia().getMapper().getOptions().setUseCodecs(true);
+
+        final HasComplexObject saved = new HasComplexObject();
+        saved.complex = new ComplexObject();
+        saved.complex.stringVal = "saved";
+        saved.complex.intVal = 1;
+        getDs().save(saved);
+
+        final HasComplexObject inserted = new HasComplexObject();
+        inserted.complex = new ComplexObject();
+        inserted.complex.stringVal = "inserted";
+        getAds().insert(inserted);
+
+        final DBObject dbObj = getDs().getCollection(HasComplexObject.class).findOne(new BasicDBObject("_id", saved.id));
+        Assert.assertEquals(HasComplexObject.class.getName(), dbObj.get(Mapper.CLASS_NAME_FIELDNAME));
+        Assert.assertEquals("saved", ((DBObject) dbObj.get("complex")).get("stringVal"));
+
+        final List<HasComplexObject> list = getDs().find(HasComplexObject.class).order("complex.stringVal").asList();
+        Assert.assertEquals(2, list.size());
+        Assert.assertEquals(inserted.id, list.get(0).id);
+        Assert.assertEquals("inserted", list.get(0).complex.stringVal);
+        Assert.assertEquals(saved.id, list.get(1).id);
+        Assert.assertEquals(1, list.get(1).complex.intVal);
+    }
+
+    @Test
+    public void codecsWithClassNameAfterOtherFields() {
+        getMorphia().getMapper().getOptions().setUseCodecs(true);
+        getMorphia().map(HasComplexObject.class);
+
+        getDs().getCollection(HasComplexObject.class).insert(new BasicDBObject("unknown", new BasicDBObject("a", 1))
+                                                                 .append("complex", new BasicDBObject("stringVal", "late")
+                                                                     .append("intVal", 2))
+                                                                 .append(Mapper.CLASS_NAME_FIELDNAME, HasComplexObject.class.getName()));
+
+        final List<HasComplexObject> list = getDs().find(HasComplexObject.class).asList();
+        Assert.assertEquals(1, list.size());
+        Assert.assertNotNull(list.get(0).id);
+        Assert.assertEquals("late", list.get(0).complex.stringVal);
+        Assert.assertEquals(2, list.get(0).complex.intVal);
+    }
+
+    @Test
+    public void codecsWithUuidIds() {
+        getMorphia().getMapper().getOptions().setUseCodecs(true);
+
+        final HasUuidId entity = new HasUuidId();
+        entity.names = new ArrayList<String>();
+        entity.names.add("one");
+        getDs().save(entity);
+        entity.names.add("two");
+        getDs().save(entity);
+
+        final HasUuidId loaded = getDs().find(HasUuidId.class).get();
+        Assert.assertEquals(1, getDs().getCount(HasUuidId.class));
+        Assert.assertEquals(entity.id, loaded.id);
+        Assert.assertEquals(entity.names, loaded.names);
+    }
+
+    @Test
+    public void fieldAccessorFactory() {
+        final CountingAccessorFactory factory = new CountingAccessorFactory();
+        final MapperOptions options = new MapperOptions();
+        options.setFieldAccessorFactory(factory);
+        final Mapper mapper = new Mapper(options);
+
+        final HasList hl = new HasList();
+        hl.names = new ArrayList<String>();
+        hl.names.add("one");
+        final DBObject dbObj = mapper.toDBObject(hl);
+        Assert.assertTrue(factory.reads > 0);
+
+        final HasList loaded = mapper.fromDb(getDs(), dbObj, new HasList(), mapper.createEntityCache());
+        Assert.assertTrue(factory.writes > 0);
+        Assert.assertEquals(hl.id, loaded.id);
+        Assert.assertEquals(hl.names, loaded.names);
+    }
+
     @Test
     public void lowercaseDefaultCollection() {
         DummyEntity entity = new DummyEntity();
@@ -218,6 +337,29 @@ public class MapperOptionsTest extends TestBase {
         Assert.assertNull(getDs().find(HasComplexObjectValuedMap.class).get().properties);
     }
 
+    private static class CountingAccessorFactory extends ReflectiveFieldAccessorFactory {
+        private int reads;
+        private int writes;
+
+        @Override
+        public FieldAccessor createAccessor(final Field field) {
+            final FieldAccessor accessor = super.createAccessor(field);
+            return new FieldAccessor() {
+                @Override
+                public Object get(final Object instance) {
+                    reads++;
+                    return accessor.get(instance);
+                }
+
+                @Override
+                public void set(final Object instance, final Object value) {
+                    writes++;
+                    accessor.set(instance, value);
+                }
+            };
+        }
+    }
+
     private static class HasList implements Serializable {
         @Id
         private ObjectId id = new ObjectId();
@@ -254,6 +396,36 @@ public class MapperOptionsTest extends TestBase {
         }
     }
 
+    private static class HasUuidId {
+        @Id
+        private UUID id = UUID.randomUUID();
+        private List<String> names;
+    }
+
+    private static class HasComplexObject {
+        @Id
+        private ObjectId id = new ObjectId();
+        private ComplexObject complex;
+    }
+
+    private static class ComplexObjectConverter extends TypeConverter implements SimpleValueConverter {
+        ComplexObjectConverter() {
+            super(ComplexObject.class);
+        }
+
+        @Override
+        public Object decode(final Class<?> targetClass, final Object fromDBObject, final MappedField optionalExtraInfo) {
+            final ComplexObject complexObject = new ComplexObject();
+            complexObject.stringVal = (String) fromDBObject;
+            return complexObject;
+        }
+
+        @Override
+        public Object encode(final Object value, final MappedField optionalExtraInfo) {
+            return value == null ? null : ((ComplexObject) value).stringVal;
+        }
+    }
+
     @Entity
     private static class DummyEntity {
     }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import org.bson.types.ObjectId;
+import org.junit.Test;
+import org.mongodb.morphia.TestBase;
+import org.mongodb.morphia.annotations.AlsoLoad;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.Property;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class MappingPlanTest extends TestBase {
+    @Test
+    public void includedFields() {
+        assertEquals(Arrays.asList("id", "name"), fields(new BasicDBObject("n", 1)));
+        assertEquals(Arrays.asList("name"), fields(new BasicDBObject("n", true).append("_id", 0)));
+        assertEquals(Arrays.asList("id", "tags"), fields(new BasicDBObject("tags.0", 1)));
+        assertEquals(Arrays.asList("id", "oldCount"), fields(new BasicDBObject("count", 1)));
+        assertEquals(Arrays.asList("id"), fields(new BasicDBObject("_id", 1)));
+    }
+
+    @Test
+    public void excludedFields() {
+        assertEquals(Arrays.asList("id", "tags", "oldCount"), fields(new BasicDBObject("n", 0)));
+        assertEquals(Arrays.asList("name", "tags", "oldCount"), fields(new BasicDBObject("_id", false)));
+        // only part of the tags are left out
+        assertEquals(Arrays.asList("id", "name", "tags", "oldCount"), fields(new BasicDBObject("tags.label", 0)));
+        // the other fields of a document are still returned
+        assertEquals(Arrays.asList("id", "name", "tags", "oldCount"),
+                     fields(new BasicDBObject("tags", new BasicDBObject("$slice", 2))));
+        assertEquals(Arrays.asList("id", "tags"), fields(new BasicDBObject("tags", new BasicDBObject("$elemMatch", new BasicDBObject()))));
+    }
+
+    @Test
+    public void fieldsAreWorkedOutOncePerProjection() {
+        final MappingPlan plan = getPlan();
+        final DBObject projection = new BasicDBObject("n", 1);
+        assertSame(plan.getFields(projection), plan.getFields(projection));
+        assertSame(plan.getFields(), plan.getFields(new BasicDBObject("missing", 0)));
+    }
+
+    @Test
+    public void projectedDocumentsAreMapped() {
+        final Item item = new Item();
+        item.name = "first";
+        item.tags = Arrays.asList("a", "b");
+        getDs().save(item);
+
+        final Item loaded = getDs().find(Item.class).project("name", true).get();
+        assertEquals(item.id, loaded.id);
+        assertEquals("first", loaded.name);
+        assertEquals(null, loaded.tags);
+    }
+
+    private List<String> fields(final DBObject projection) {
+        final List<String> names = new ArrayList<String>();
+        for (final MappingPlan.FieldPlan fieldPlan : getPlan().getFields(projection)) {
+            names.add(fieldPlan.getField().getJavaFieldName());
+        }
+        return names;
+    }
+
+    private MappingPlan getPlan() {
+        return getMorphia().getMapper().getMappingPlan(getMorphia().getMapper().getMappedClass(Item.class));
+    }
+
+    @Entity
+    private static class Item {
+        @Id
+        private ObjectId id;
+        @Property("n")
+        private String name;
+        private List<String> tags;
+        @AlsoLoad("count")
+        private int oldCount;
+    }
+}
@@ -124,6 +124,59 @@ public class ReferenceTest extends ProxyTestBase {
         assertEquals(expectedRefMap, unwrapMap(retrieved.getLazyMapRef()));
     }
 
+    @Test
+    public void testBatchedReferences() {
+        getMorphia().getMapper().getOptions().setBatchReferences(true);
+
+        final List<Ref> refs = asList(new Ref("baz"), new Ref("foo"), new Ref("bar"), new Ref("foo"));
+        getDs().save(refs);
+        final Container c = new Container(refs);
+        final Key<Container> key = getDs().save(c);
+
+        final Container retrieved = getDs().getByKey(Container.class, key);
+        assertEquals(refs, retrieved.getCollectionRef());
+        final Map<Integer, Ref> expectedRefMap = new LinkedHashMap<Integer, Ref>();
+        for (int i = 0; i < refs.size(); i++) {
+            expectedRefMap.put(i, refs.get(i));
+        }
+        assertEquals(expectedRefMap, retrieved.getMapRef());
+        assertEquals(asList(retrieved.getMapRef().get(0), retrieved.getMapRef().get(1), retrieved.getMapRef().get(2)),
+                     retrieved.getCollectionRef().subList(0, 3));
+
+        final List<Complex> list = asList(new Complex(new ChildId("Turk", 27), "Turk"),
+                                          new Complex(new ChildId("JD", 26), "Dorian"));
+        getDs().save(list);
+        final ComplexParent parent = new ComplexParent();
+        parent.complex = list.get(0);
+        parent.list = list;
+        parent.lazyList = list;
+        getDs().save(parent);
+        assertEquals(parent, getDs().get(ComplexParent.class, parent.id));
+    }
+
+    @Test
+    public void testBatchedReferencesWithMissingEntities() {
+        final List<Ref> refs = asList(new Ref("first"), new Ref("missing"), new Ref("last"));
+        getDs().save(refs.get(0));
+        getDs().save(refs.get(2));
+
+        final BatchedContainer container = new BatchedContainer();
+        container.ignoreMissing = refs;
+        getDs().save(container);
+        final BatchedContainer retrieved = getDs().get(BatchedContainer.class, container.id);
+        assertEquals(asList(refs.get(0), refs.get(2)), retrieved.ignoreMissing);
+
+        container.ignoreMissing = null;
+        container.refs = refs;
+        getDs().save(container);
+        try {
+            getDs().get(BatchedContainer.class, container.id);
+            Assert.fail("The missing reference should have been reported");
+        } catch (MappingException ignored) {
+            // expected
+        }
+    }
+
     @Test
     public void testNullReferences() {
         Container container = new Container();
@@ -284,6 +337,17 @@ public class ReferenceTest extends ProxyTestBase {
         }
     }
 
+    private static class BatchedContainer {
+        @Id
+        private ObjectId id;
+
+        @Reference(idOnly = true, batch = true)
+        private List<Ref> refs;
+
+        @Reference(idOnly = true, batch = true, ignoreMissing = true)
+        private List<Ref> ignoreMissing;
+    }
+
     @Entity
     public static class Ref {
         @Id
@@ -0,0 +1,173 @@
+package org.mongodb.morphia.mapping.cache;
+
+import com.mongodb.BasicDBObject;
+import org.bson.types.ObjectId;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mongodb.morphia.Key;
+import org.mongodb.morphia.TestBase;
+import org.mongodb.morphia.annotations.Cached;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.Reference;
+
+import java.util.concurrent.TimeUnit;
+
+public class SharedEntityCacheFactoryTest extends TestBase {
+
+    @Test
+    public void testEntitiesAreSharedBetweenQueries() {
+        final SharedEntityCacheFactory factory = new SharedEntityCacheFactory(100);
+        getMorphia().getMapper().getOptions().setCacheFactory(factory);
+
+        final Country country = new Country("CA", "Canada");
+        getDs().save(country);
+        getDs().save(new Order(country));
+        getDs().save(new Order(country));
+
+        final Country loaded = getDs().get(Country.class, "CA");
+        Assert.assertEquals("Canada", loaded.name);
+        Assert.assertSame(loaded, getDs().get(Country.class, "CA"));
+        for (final Order order : getDs().find(Order.class).asList()) {
+            Assert.assertSame(loaded, order.country);
+        }
+
+        getDs().getCollection(Country.class).remove(new BasicDBObject());
+        Assert.assertSame(loaded, getDs().get(Country.class, "CA"));
+        Assert.assertTrue(factory.getStatistics().getHitRatio() > 0);
+    }
+
+    @Test
+    public void testSharedEntitiesAreNotCopied() {
+        final SharedEntityCacheFactory factory = new SharedEntityCacheFactory(100);
+        final Key<Country> canada = new Key<Country>(Country.class, "countries", "CA");
+        factory.putEntity(canada, new Country("CA", "Canada"), 0);
+
+        // every cache gets the same instance so an unsaved change is seen by all of them
+        final Country first = factory.createCache().getEntity(canada);
+        first.name = "Kanata";
+        final Country second = factory.createCache().getEntity(canada);
+        Assert.assertSame(first, second);
+        Assert.assertEquals("Kanata", second.name);
+    }
+
+    @Test
+    public void testEntitiesAreInvalidatedByWrites() {
+        final SharedEntityCacheFactory factory = new SharedEntityCacheFactory(100);
+        getMorphia().getMapper().getOptions().setCacheFactory(factory);
+
+        getDs().save(new Country("CA", "Canada"));
+        final Country loaded = getDs().get(Country.class, "CA");
+        Assert.assertSame(loaded, getDs().get(Country.class, "CA"));
+
+        getDs().save(new Country("CA", "Kanata"));
+        Assert.assertEquals("Kanata", getDs().get(Country.class, "CA").name);
+
+        getDs().update(getDs().find(Country.class).filter("name", "Kanata"),
+                       getDs().createUpdateOperations(Country.class).set("name", "Canada"));
+        Assert.assertEquals("Canada", getDs().get(Country.class, "CA").name);
+
+        getDs().findAndModify(getDs().find(Country.class).filter("_id", "CA"),
+                              getDs().createUpdateOperations(Country.class).set("name", "Kanada"));
+        Assert.assertEquals("Kanada", getDs().get(Country.class, "CA").name);
+
+        getDs().delete(Country.class, "CA");
+        Assert.assertNull(getDs().get(Country.class, "CA"));
+    }
+
+    @Test
+    public void testEviction() {
+        final SharedEntityCacheFactory factory = new SharedEntityCacheFactory(1);
+        final Key<Country> canada = new Key<Country>(Country.class, "countries", "CA");
+        final Key<Country> mexico = new Key<Country>(Country.class, "countries", "MX");
+
+        factory.putEntity(canada, new Country("CA", "Canada"), 0);
+        Assert.assertNotNull(factory.getEntity(canada));
+        factory.putEntity(mexico, new Country("MX", "Mexico"), 0);
+        Assert.assertNull(factory.getEntity(canada));
+        Assert.assertNotNull(factory.getEntity(mexico));
+
+        factory.putEntity(new Key<Order>(Order.class, "orders", new ObjectId()), new Order(null), 0);
+        Assert.assertNotNull(factory.getEntity(mexico));
+
+        final EntityCacheStatistics stats = factory.getStatistics();
+        Assert.assertEquals(1, stats.getEntities());
+        Assert.assertEquals(3, stats.getHits());
+        Assert.assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    public void testEntityCountFollowsInvalidations() {
+        final SharedEntityCacheFactory factory = new SharedEntityCacheFactory(10);
+        final Key<Country> canada = new Key<Country>(Country.class, "countries", "CA");
+        final Key<Country> mexico = new Key<Country>(Country.class, "countries", "MX");
+
+        factory.putEntity(canada, new Country("CA", "Canada"), 0);
+        factory.putEntity(mexico, new Country("MX", "Mexico"), 0);
+        Assert.assertEquals(2, factory.getStatistics().getEntities());
+        factory.invalidate("countries", "CA");
+        Assert.assertEquals(1, factory.getStatistics().getEntities());
+        factory.invalidateAll();
+        Assert.assertEquals(0, factory.getStatistics().getEntities());
+    }
+
+    @Test
+    public void testEntitiesReadBeforeAnInvalidationAreNotShared() {
+        final SharedEntityCacheFactory factory = new SharedEntityCacheFactory(10);
+        final Key<Country> canada = new Key<Country>(Country.class, "countries", "CA");
+        final Country country = new Country("CA", "Canada");
+
+        final EntityCache stale = factory.createCache();
+        factory.invalidate("countries", "CA");
+        // the mapper puts an entity before and after reading its fields
+        stale.putEntity(canada, country);
+        stale.putEntity(canada, country);
+        Assert.assertNull(factory.getEntity(canada));
+
+        final EntityCache fresh = factory.createCache();
+        fresh.putEntity(canada, country);
+        fresh.putEntity(canada, country);
+        Assert.assertSame(country, factory.getEntity(canada));
+    }
+
+    @Test
+    public void testExpiry() throws InterruptedException {
+        final SharedEntityCacheFactory factory = new SharedEntityCacheFactory(10, 1, TimeUnit.MILLISECONDS);
+        final Key<Country> canada = new Key<Country>(Country.class, "countries", "CA");
+
+        factory.putEntity(canada, new Country("CA", "Canada"), 0);
+        Thread.sleep(10);
+        Assert.assertNull(factory.getEntity(canada));
+    }
+
+    @Entity("countries")
+    @Cached
+    private static class Country {
+        @Id
+        private String code;
+        private String name;
+
+        Country() {
+        }
+
+        Country(final String code, final String name) {
+            this.code = code;
+            this.name = name;
+        }
+    }
+
+    @Entity("orders")
+    private static class Order {
+        @Id
+        private ObjectId id;
+        @Reference
+        private Country country;
+
+        Order() {
+        }
+
+        Order(final Country country) {
+            this.country = country;
+        }
+    }
+}
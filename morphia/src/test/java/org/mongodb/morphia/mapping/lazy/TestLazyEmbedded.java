@@ -0,0 +1,159 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.mapping.lazy;
+
+import org.bson.types.ObjectId;
+import org.junit.Test;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.Lazy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestLazyEmbedded extends ProxyTestBase {
+    @Test
+    public void valuesAreMappedOnFirstUse() {
+        if (!LazyFeatureDependencies.testDependencyFullFilled()) {
+            return;
+        }
+        getDs().save(new Order("first", "second"));
+
+        final Order order = getDs().find(Order.class).get();
+        assertIsProxy(order.lines);
+        assertIsProxy(order.linesBySku);
+        // collections of values the database stores as they are have nothing to map
+        assertNotProxy(order.tags);
+        assertNotFetched(order.lines);
+        assertNotFetched(order.linesBySku);
+
+        assertEquals(2, order.lines.size());
+        assertEquals("second", order.lines.get(1).sku);
+        assertFetched(order.lines);
+        assertNotFetched(order.linesBySku);
+
+        assertEquals(2, order.linesBySku.get("first").quantity);
+        assertEquals(new HashSet<String>(Arrays.asList("first", "second")), order.tags);
+    }
+
+    @Test
+    public void arraysAndEmptyValuesAreMappedEagerly() {
+        if (!LazyFeatureDependencies.testDependencyFullFilled()) {
+            return;
+        }
+        final Order saved = new Order("first");
+        saved.linesBySku.clear();
+        getDs().save(saved);
+
+        final Order order = getDs().find(Order.class).get();
+        assertNotProxy(order.skus);
+        assertArrayEquals(new String[]{"first"}, order.skus);
+        assertIsProxy(order.lines);
+        assertNotProxy(order.linesBySku);
+        assertTrue(order.linesBySku.isEmpty());
+    }
+
+    @Test
+    public void onlyAnnotatedFieldsAreLazy() {
+        if (!LazyFeatureDependencies.testDependencyFullFilled()) {
+            return;
+        }
+        final Basket basket = new Basket();
+        basket.lines.add(new Line("first"));
+        basket.history.add(new Line("second"));
+        getDs().save(basket);
+
+        final Basket loaded = getDs().get(Basket.class, basket.id);
+        assertNotProxy(loaded.lines);
+        assertIsProxy(loaded.history);
+        assertEquals("second", loaded.history.get(0).sku);
+    }
+
+    @Test
+    public void unmappedValuesAreSaved() {
+        if (!LazyFeatureDependencies.testDependencyFullFilled()) {
+            return;
+        }
+        getDs().save(new Order("first", "second"));
+
+        final Order order = getDs().find(Order.class).get();
+        order.note = "changed";
+        getDs().save(order);
+
+        final Order loaded = getDs().find(Order.class).get();
+        assertEquals("changed", loaded.note);
+        assertEquals(2, loaded.lines.size());
+        assertEquals("first", loaded.lines.get(0).sku);
+        assertEquals(2, loaded.linesBySku.size());
+        assertTrue(loaded.tags.contains("second"));
+    }
+
+    @Entity
+    @Lazy
+    private static class Order {
+        @Id
+        private ObjectId id;
+        private String note;
+        private List<Line> lines = new ArrayList<Line>();
+        private Map<String, Line> linesBySku = new HashMap<String, Line>();
+        private Set<String> tags = new HashSet<String>();
+        private String[] skus;
+
+        Order() {
+        }
+
+        Order(final String... skus) {
+            this.skus = skus;
+            for (final String sku : skus) {
+                final Line line = new Line(sku);
+                lines.add(line);
+                linesBySku.put(sku, line);
+                tags.add(sku);
+            }
+        }
+    }
+
+    @Entity
+    private static class Basket {
+        @Id
+        private ObjectId id;
+        private List<Line> lines = new ArrayList<Line>();
+        @Lazy
+        private List<Line> history = new ArrayList<Line>();
+    }
+
+    private static class Line {
+        private String sku;
+        private int quantity = 2;
+
+        Line() {
+        }
+
+        Line(final String sku) {
+            this.sku = sku;
+        }
+    }
+}
@@ -1,15 +1,26 @@
 package org.mongodb.morphia.mapping.lazy;
 
 
+import com.mongodb.DBObject;
 import org.bson.types.ObjectId;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mongodb.morphia.AbstractEntityInterceptor;
 import org.mongodb.morphia.Key;
 import org.mongodb.morphia.annotations.IdGetter;
 import org.mongodb.morphia.annotations.Reference;
+import org.mongodb.morphia.mapping.Mapper;
 import org.mongodb.morphia.mapping.lazy.proxy.ProxiedEntityReference;
 import org.mongodb.morphia.testutil.TestEntity;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
 
 public class TestLazySingleReference extends ProxyTestBase {
 
@@ -144,6 +155,55 @@ public class TestLazySingleReference extends ProxyTestBase {
         assertNotFetched(root.secondReference);
     }
 
+    @Test
+    public final void testConcurrentFetch() throws Exception {
+        if (!LazyFeatureDependencies.testDependencyFullFilled()) {
+            return;
+        }
+
+        final AtomicInteger loads = new AtomicInteger();
+        getMorphia().getMapper().addInterceptor(new AbstractEntityInterceptor() {
+            @Override
+            public void postLoad(final Object ent, final DBObject dbObj, final Mapper mapper) {
+                if (ent instanceof ReferencedEntity) {
+                    loads.incrementAndGet();
+                }
+            }
+        });
+
+        RootEntity root = new RootEntity();
+        final ReferencedEntity reference = new ReferencedEntity();
+        reference.setFoo("bar");
+        root.r = reference;
+        getDs().save(reference);
+        getDs().save(root);
+
+        root = getDs().get(root);
+        final ReferencedEntity p = root.r;
+        assertNotFetched(p);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<String>> results = new ArrayList<Future<String>>();
+            for (int i = 0; i < 32; i++) {
+                results.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() {
+                        return p.getFoo();
+                    }
+                }));
+            }
+            for (final Future<String> result : results) {
+                Assert.assertEquals("bar", result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertFetched(p);
+        Assert.assertEquals(1, loads.get());
+    }
+
     public static class RootEntity extends TestEntity {
         @Reference(lazy = true)
         private ReferencedEntity r;
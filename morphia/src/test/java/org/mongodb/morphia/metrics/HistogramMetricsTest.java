@@ -0,0 +1,213 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.metrics;
+
+import org.bson.types.ObjectId;
+import org.junit.Before;
+import org.junit.Test;
+import org.mongodb.morphia.TestBase;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.Reference;
+import org.mongodb.morphia.query.FindOptions;
+import org.mongodb.morphia.query.Query;
+import org.mongodb.morphia.query.Subscriber;
+import org.mongodb.morphia.query.Subscription;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class HistogramMetricsTest extends TestBase {
+    private final HistogramMetrics metrics = new HistogramMetrics();
+
+    @Before
+    public void registerMetrics() {
+        getMorphia().setMetrics(metrics);
+        getMorphia().map(Parent.class, Child.class);
+    }
+
+    @Test
+    public void defaultsToNoOp() {
+        getMorphia().setMetrics(null);
+        assertTrue(getMorphia().getMetrics() instanceof NoOpMetrics);
+    }
+
+    @Test
+    public void operations() {
+        getDs().save(new Child("one"));
+        getDs().save(Arrays.asList(new Child("two"), new Child("three")));
+        getAds().insert(new Child("four"));
+
+        assertEquals(4, getDs().find(Child.class).asList().size());
+        assertEquals(4, getDs().getCount(Child.class));
+        final Query<Child> query = getDs().find(Child.class).filter("name", "one");
+        getDs().update(query, getDs().createUpdateOperations(Child.class).set("name", "uno"));
+        assertNotNull(getDs().findAndModify(getDs().find(Child.class).filter("name", "uno"),
+                                            getDs().createUpdateOperations(Child.class).set("name", "one")));
+        getDs().delete(getDs().find(Child.class));
+
+        final EntityMetrics child = metrics.get(Child.class);
+        assertNotNull(child);
+        assertSame(Child.class, child.getType());
+        assertEquals(3, child.getOperation(Operation.SAVE).getDocuments());
+        assertEquals(1, child.getOperation(Operation.INSERT).getDocuments());
+        assertEquals(4, child.getOperation(Operation.FIND).getDocuments());
+        assertEquals(1, child.getOperation(Operation.UPDATE).getDocuments());
+        assertEquals(1, child.getOperation(Operation.FIND_AND_MODIFY).getDocuments());
+        assertEquals(4, child.getOperation(Operation.DELETE).getDocuments());
+        assertEquals(1, child.getOperation(Operation.COUNT).getCount());
+        assertNull(child.getOperation(Operation.AGGREGATE));
+
+        final OperationMetrics find = child.getOperation(Operation.FIND);
+        assertEquals(1, find.getCount());
+        assertTrue(find.getDriverTimes().getMax() > 0);
+        assertTrue(find.getMappingTimes().getMax() > 0);
+    }
+
+    @Test
+    public void publishedQueries() throws InterruptedException {
+        getDs().save(Arrays.asList(new Child("one"), new Child("two"), new Child("three")));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final CountDownLatch done = new CountDownLatch(1);
+            getDs().find(Child.class).publish(new FindOptions().batchSize(1), executor).subscribe(new Subscriber<Child>() {
+                @Override
+                public void onSubscribe(final Subscription subscription) {
+                    subscription.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(final Child result) {
+                }
+
+                @Override
+                public void onError(final Throwable throwable) {
+                }
+
+                @Override
+                public void onComplete() {
+                    done.countDown();
+                }
+            });
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+
+        // the query is reported before the subscriber is told it is complete, once every result has been mapped
+        final OperationMetrics find = metrics.get(Child.class).getOperation(Operation.FIND);
+        assertEquals(1, find.getCount());
+        assertEquals(3, find.getDocuments());
+        assertTrue(find.getMappingTimes().getMax() > 0);
+    }
+
+    @Test
+    public void references() {
+        final Child child = new Child("child");
+        getDs().save(child);
+        getDs().save(new Parent(child));
+        getDs().save(new Parent(child));
+
+        assertEquals(2, getDs().find(Parent.class).asList().size());
+
+        final EntityMetrics childMetrics = metrics.get(Child.class);
+        assertEquals(1, childMetrics.getReferenceFetches());
+        final EntityMetrics parentMetrics = metrics.get(Parent.class);
+        // both parents miss when they are looked up, and the child misses for the first parent and is found for the second
+        assertEquals(1, parentMetrics.getCacheHits());
+        assertEquals(4, parentMetrics.getCacheMisses());
+        assertEquals(0.2, parentMetrics.getCacheHitRatio(), 0.0001);
+    }
+
+    @Test
+    public void lazyReferences() {
+        final Child child = new Child("child");
+        getDs().save(child);
+        getDs().save(new LazyParent(child));
+
+        final LazyParent parent = getDs().find(LazyParent.class).get();
+        assertEquals(0, metrics.get(Child.class).getReferenceFetches());
+        assertEquals("child", parent.child.getName());
+        assertEquals(1, metrics.get(Child.class).getReferenceFetches());
+    }
+
+    @Test
+    public void clear() {
+        getDs().save(new Child("one"));
+        assertEquals(1, metrics.getAll().size());
+        metrics.clear();
+        assertNull(metrics.get(Child.class));
+    }
+
+    @Entity("metrics_parent")
+    private static class Parent {
+        @Id
+        private ObjectId id;
+        @Reference
+        private Child child;
+
+        Parent() {
+        }
+
+        Parent(final Child child) {
+            this.child = child;
+        }
+    }
+
+    @Entity("metrics_lazy_parent")
+    private static class LazyParent {
+        @Id
+        private ObjectId id;
+        @Reference(lazy = true)
+        private Child child;
+
+        LazyParent() {
+        }
+
+        LazyParent(final Child child) {
+            this.child = child;
+        }
+    }
+
+    @Entity("metrics_child")
+    public static class Child {
+        @Id
+        private ObjectId id;
+        private String name;
+
+        public Child() {
+        }
+
+        Child(final String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -24,9 +24,13 @@ import com.mongodb.client.model.Collation;
 import com.mongodb.client.model.DBCollectionFindOptions;
 import org.junit.Test;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class FindOptionsTest {
@@ -71,4 +75,24 @@ public class FindOptionsTest {
         assertEquals(ReadConcern.LOCAL, options.getReadConcern());
         assertEquals(collation, options.getCollation());
     }
+
+    @Test
+    public void prefetchReferences() {
+        final FindOptions options = new FindOptions().prefetchReferences("author", "category");
+
+        assertEquals(asList("author", "category"), options.getPrefetchReferences());
+        assertEquals(asList("author", "category"), options.copy().getPrefetchReferences());
+        assertTrue(new FindOptions().getPrefetchReferences().isEmpty());
+    }
+
+    @Test
+    public void decodeExecutor() {
+        final Executor executor = Executors.newSingleThreadExecutor();
+        final FindOptions options = new FindOptions().decodeExecutor(executor).decodeParallelism(3);
+
+        assertEquals(executor, options.copy().getDecodeExecutor());
+        assertEquals(3, options.copy().getDecodeParallelism());
+        assertNull(new FindOptions().getDecodeExecutor());
+        assertEquals(0, new FindOptions().getDecodeParallelism());
+    }
 }
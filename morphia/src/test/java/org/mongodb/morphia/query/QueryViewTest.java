@@ -0,0 +1,145 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.query;
+
+import org.bson.types.ObjectId;
+import org.junit.Before;
+import org.junit.Test;
+import org.mongodb.morphia.TestBase;
+import org.mongodb.morphia.annotations.Embedded;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.Property;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class QueryViewTest extends TestBase {
+    @Before
+    public void saveCustomers() {
+        getDs().save(new Customer("Alice", 30, "London"));
+        getDs().save(new Customer("Bob", 40, "Paris"));
+    }
+
+    @Test
+    public void classViews() {
+        final List<Summary> summaries = getDs().find(Customer.class).order("name").asList(Summary.class);
+
+        assertEquals(2, summaries.size());
+        assertEquals("Alice", summaries.get(0).name);
+        assertEquals(30, summaries.get(0).age);
+        assertEquals("Bob", summaries.get(1).name);
+        assertTrue(summaries.get(0).id != null);
+    }
+
+    @Test
+    public void interfaceViews() {
+        final List<Named> names = getDs().find(Customer.class).filter("age >", 35).asList(Named.class, new FindOptions().limit(5));
+
+        assertEquals(1, names.size());
+        assertEquals("Bob", names.get(0).getName());
+        assertEquals(40, names.get(0).age());
+        assertEquals("Paris", names.get(0).getAddress().city);
+        assertTrue(names.get(0).toString().contains("Bob"));
+        assertFalse(names.get(0).equals(names.get(0).getAddress()));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void onlyTheViewsFieldsAreRead() {
+        final Query<Customer> query = getDs().find(Customer.class).order("name");
+        query.asList(Summary.class);
+
+        // the view's projection is not left on the query
+        assertNull(query.getFieldsObject());
+        final Customer customer = query.project("name", true).get();
+        assertEquals("Alice", customer.name);
+        assertNull(customer.address);
+        assertEquals(0, customer.age);
+    }
+
+    @Test(expected = QueryException.class)
+    public void unknownFields() {
+        getDs().find(Customer.class).asList(Unknown.class);
+    }
+
+    @Test(expected = QueryException.class)
+    public void mismatchedTypes() {
+        getDs().find(Customer.class).asList(Mismatched.class);
+    }
+
+    @Test(expected = QueryException.class)
+    public void primitivesForBoxedFields() {
+        getDs().find(Customer.class).asList(PrimitiveVisits.class);
+    }
+
+    public interface Named {
+        String getName();
+
+        int age();
+
+        Address getAddress();
+    }
+
+    public interface Unknown {
+        String getNickname();
+    }
+
+    private static class Summary {
+        private ObjectId id;
+        private String name;
+        private int age;
+    }
+
+    private static class Mismatched {
+        private String age;
+    }
+
+    private static class PrimitiveVisits {
+        private int visits;
+    }
+
+    @Entity("view_customers")
+    private static class Customer {
+        @Id
+        private ObjectId id;
+        @Property("n")
+        private String name;
+        private int age;
+        private Integer visits;
+        private Address address;
+
+        Customer() {
+        }
+
+        Customer(final String name, final int age, final String city) {
+            this.name = name;
+            this.age = age;
+            address = new Address();
+            address.city = city;
+        }
+    }
+
+    @Embedded
+    public static class Address {
+        private String city;
+    }
+}
@@ -44,6 +44,7 @@ import org.mongodb.morphia.annotations.PrePersist;
 import org.mongodb.morphia.annotations.Property;
 import org.mongodb.morphia.annotations.Reference;
 import org.mongodb.morphia.mapping.Mapper;
+import org.mongodb.morphia.metrics.NoOpMetrics;
 import org.mongodb.morphia.testmodel.Hotel;
 import org.mongodb.morphia.testmodel.Rectangle;
 
@@ -55,6 +56,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -435,6 +439,49 @@ public class TestQuery extends TestBase {
                                                 .filter("width", 10)));
     }
 
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testCompiledQuery() {
+        getDs().save(asList(new Rectangle(1, 10), new Rectangle(4, 2), new Rectangle(6, 10), new Rectangle(8, 5), new Rectangle(10, 4)));
+
+        final Query<Rectangle> query = getDs().find(Rectangle.class)
+                                              .filter("height >", 3)
+                                              .filter("height <", 8)
+                                              .filter("width", 10);
+        final QueryTemplate<Rectangle> template = query.compile();
+
+        assertEquals(3, template.getParameterCount());
+        assertEquals(asList("h", "h", "w"), template.getParameterNames());
+        assertEquals(query.getQueryObject(), template.bind(3, 8, 10));
+        assertEquals(1, template.createQuery(3, 8, 10).count());
+        assertEquals(2, template.createQuery(0, 11, 10).count());
+        assertEquals(0, template.createQuery(0, 11, 7).count());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testCompiledOrQuery() {
+        getDs().save(new PhotoWithKeywords("scott", "hernandez"));
+
+        final Query<PhotoWithKeywords> query = getAds().find(PhotoWithKeywords.class);
+        query.or(
+            query.criteria("keywords.keyword").equal("scott"),
+            query.criteria("keywords.keyword").equal("ralph"));
+        final QueryTemplate<PhotoWithKeywords> template = query.compile();
+
+        assertEquals(query.getQueryObject(), template.bind("scott", "ralph"));
+        assertEquals(1, template.createQuery("ralph", "hernandez").count());
+        assertEquals(0, template.createQuery("ralph", "bob").count());
+    }
+
+    @Test(expected = QueryException.class)
+    public void testCompiledQueryWithWrongParameterCount() {
+        getDs().find(Rectangle.class)
+               .filter("width", 10)
+               .compile()
+               .bind(10, 4);
+    }
+
     @Test
     public void testCompoundSort() {
         getDs().save(asList(new Rectangle(1, 10), new Rectangle(3, 8), new Rectangle(6, 10), new Rectangle(10, 10), new Rectangle(10, 1)));
@@ -1054,6 +1101,120 @@ public class TestQuery extends TestBase {
         assertEquals(expected.toString(), queryObject.toString());
     }
 
+    @Test
+    public void testParallelDecoding() {
+        final List<Rectangle> rectangles = new ArrayList<Rectangle>();
+        for (int i = 0; i < 250; i++) {
+            rectangles.add(new Rectangle(i, i));
+        }
+        getDs().save(rectangles);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final List<Rectangle> decoded = getDs().find(Rectangle.class)
+                                                   .order("width")
+                                                   .asList(new FindOptions()
+                                                               .batchSize(20)
+                                                               .decodeExecutor(executor)
+                                                               .decodeParallelism(3));
+            assertEquals(getDs().find(Rectangle.class).order("width").asList(), decoded);
+            assertEquals(250, decoded.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testPublish() throws InterruptedException {
+        getDs().save(asList(new Rectangle(1, 10), new Rectangle(4, 2), new Rectangle(6, 10), new Rectangle(8, 5), new Rectangle(10, 4)));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final CollectingSubscriber<Rectangle> subscriber = new CollectingSubscriber<Rectangle>(2, -1);
+            getDs().find(Rectangle.class)
+                   .order("width")
+                   .publish(new FindOptions().batchSize(2), executor)
+                   .subscribe(subscriber);
+
+            assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+            assertNull(subscriber.error);
+            assertEquals(5, subscriber.results.size());
+            assertEquals(2, subscriber.results.get(0).getWidth(), 0);
+            assertEquals(10, subscriber.results.get(4).getWidth(), 0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testPublishCompletesOnExactDemand() throws InterruptedException {
+        getDs().save(asList(new Rectangle(1, 10), new Rectangle(4, 2), new Rectangle(6, 10), new Rectangle(8, 5), new Rectangle(10, 4)));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final CollectingSubscriber<Rectangle> subscriber = new CollectingSubscriber<Rectangle>(5, -1, false);
+            getDs().find(Rectangle.class)
+                   .publish(new FindOptions(), executor)
+                   .subscribe(subscriber);
+
+            assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+            assertNull(subscriber.error);
+            assertEquals(5, subscriber.results.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testPublishWithDecodeExecutor() throws InterruptedException {
+        final List<Rectangle> rectangles = new ArrayList<Rectangle>();
+        for (int i = 0; i < 50; i++) {
+            rectangles.add(new Rectangle(i, i));
+        }
+        getDs().save(rectangles);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final ExecutorService decodeExecutor = Executors.newFixedThreadPool(2);
+        try {
+            final CollectingSubscriber<Rectangle> subscriber = new CollectingSubscriber<Rectangle>(7, -1);
+            getDs().find(Rectangle.class)
+                   .order("width")
+                   .publish(new FindOptions().batchSize(5).decodeExecutor(decodeExecutor).decodeParallelism(2), executor)
+                   .subscribe(subscriber);
+
+            assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+            assertNull(subscriber.error);
+            assertEquals(getDs().find(Rectangle.class).order("width").asList(), subscriber.results);
+        } finally {
+            executor.shutdown();
+            decodeExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void testPublishCancel() throws InterruptedException {
+        getDs().save(asList(new Rectangle(1, 10), new Rectangle(4, 2), new Rectangle(6, 10), new Rectangle(8, 5), new Rectangle(10, 4)));
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CollectingSubscriber<Rectangle> subscriber = new CollectingSubscriber<Rectangle>(Long.MAX_VALUE, 2);
+        getDs().find(Rectangle.class)
+               .publish(new FindOptions(), executor)
+               .subscribe(subscriber);
+
+        Awaitility.await()
+                  .atMost(10, TimeUnit.SECONDS)
+                  .until(new Callable<Boolean>() {
+                      @Override
+                      public Boolean call() {
+                          return subscriber.results.size() == 2;
+                      }
+                  });
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(2, subscriber.results.size());
+        assertEquals(1, subscriber.done.getCount());
+    }
+
     @Test
     @SuppressWarnings("deprecation")
     public void testProject() {
@@ -1133,6 +1294,68 @@ public class TestQuery extends TestBase {
         assertNotNull(loaded);
     }
 
+    @Test
+    public void testPrefetchReferences() {
+        for (int i = 0; i < 4; i++) {
+            final Pic pic = new Pic("pic" + i);
+            getDs().save(pic);
+            final ContainsPic cp = new ContainsPic();
+            cp.setName("cp" + i);
+            cp.setPic(pic);
+            getDs().save(cp);
+        }
+
+        final Iterator<ContainsPic> iterator = getDs().find(ContainsPic.class)
+                                                      .order("name")
+                                                      .fetch(new FindOptions()
+                                                                 .batchSize(2)
+                                                                 .prefetchReferences("pic"));
+        assertEquals("pic0", iterator.next().getPic().getName());
+
+        // the rest of the first batch was prefetched with the first entity so its reference no longer needs the Pic collection
+        getDs().getCollection(Pic.class).remove(new BasicDBObject("name", "pic1"));
+        assertEquals("pic1", iterator.next().getPic().getName());
+
+        assertEquals("pic2", iterator.next().getPic().getName());
+        assertEquals("pic3", iterator.next().getPic().getName());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testPrefetchReferencesFetchesEachBatchOnce() {
+        final List<Integer> fetches = new CopyOnWriteArrayList<Integer>();
+        getMorphia().setMetrics(new NoOpMetrics() {
+            @Override
+            public void recordReferenceFetches(final Class<?> type, final int count) {
+                fetches.add(count);
+            }
+        });
+        for (int i = 0; i < 6; i++) {
+            final Pic pic = new Pic("pic" + i);
+            getDs().save(pic);
+            final ContainsPic cp = new ContainsPic();
+            cp.setName("cp" + i);
+            cp.setPic(pic);
+            getDs().save(cp);
+        }
+
+        final Iterator<ContainsPic> iterator = getDs().find(ContainsPic.class)
+                                                      .order("name")
+                                                      .fetch(new FindOptions()
+                                                                 .batchSize(3)
+                                                                 .prefetchReferences("pic"));
+        int count = 0;
+        while (iterator.hasNext()) {
+            // the default cache only holds the prefetched entities weakly so they must outlive a collection to be found
+            System.gc();
+            assertEquals("pic" + count++, iterator.next().getPic().getName());
+        }
+
+        assertEquals(6, count);
+        // one query per batch, and none for the single references
+        assertEquals(asList(3, 3), fetches);
+    }
+
     @Test
     public void testQueryCount() {
         getDs().save(asList(new Rectangle(1, 10),
@@ -1466,6 +1689,53 @@ public class TestQuery extends TestBase {
         Assert.assertEquals("foo", retrievedValue.value1);
     }
 
+    private static class CollectingSubscriber<T> implements Subscriber<T> {
+        private final List<T> results = new CopyOnWriteArrayList<T>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private final long chunk;
+        private final int cancelAfter;
+        private final boolean requestMore;
+        private Subscription subscription;
+        private volatile Throwable error;
+
+        CollectingSubscriber(final long chunk, final int cancelAfter) {
+            this(chunk, cancelAfter, true);
+        }
+
+        CollectingSubscriber(final long chunk, final int cancelAfter, final boolean requestMore) {
+            this.chunk = chunk;
+            this.cancelAfter = cancelAfter;
+            this.requestMore = requestMore;
+        }
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(chunk);
+        }
+
+        @Override
+        public void onNext(final T result) {
+            results.add(result);
+            if (results.size() == cancelAfter) {
+                subscription.cancel();
+            } else if (requestMore && results.size() % chunk == 0) {
+                subscription.request(chunk);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+    }
+
     @Entity(value = "user", noClassnameStored = true)
     public static class Class1 {
         @Id
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.processor;
+
+import org.mongodb.morphia.annotations.Embedded;
+import org.mongodb.morphia.annotations.Entity;
+import org.mongodb.morphia.annotations.Id;
+import org.mongodb.morphia.annotations.Transient;
+import org.mongodb.morphia.annotations.Version;
+import org.mongodb.morphia.internal.MappedClassIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static java.lang.String.format;
+
+/**
+ * Lists the concrete {@code @Entity} and {@code @Embedded} classes being compiled in {@value MappedClassIndex#LOCATION} so that
+ * {@link org.mongodb.morphia.Morphia#mapPackage(String)} can find them without scanning the classpath once reading the index is turned on
+ * with {@link org.mongodb.morphia.mapping.MapperOptions#setUseMappedClassIndex(boolean)}.  The class level mapping rules are
+ * checked as the classes are compiled and a class breaking one of them fails the compilation.
+ * <p>
+ * The processor is found by the compiler when the {@code morphia-processor} jar is on its classpath.  When only some classes are
+ * recompiled, the classes listed by the previous compilation are kept as long as they still exist.
+ *
+ * @see org.mongodb.morphia.mapping.MapperOptions#setUseMappedClassIndex(boolean)
+ * @see org.mongodb.morphia.mapping.MapperOptions#setValidateIndexedClasses(boolean)
+ * @since 1.4
+ */
+@SupportedAnnotationTypes({"org.mongodb.morphia.annotations.Entity", "org.mongodb.morphia.annotations.Embedded"})
+public class MappedClassProcessor extends AbstractProcessor {
+    private final Set<String> indexed = new TreeSet<String>();
+    private final Set<String> processed = new HashSet<String>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (!processed.isEmpty() && !roundEnv.errorRaised()) {
+                writeIndex();
+            }
+            return false;
+        }
+        final Set<TypeElement> types = new HashSet<TypeElement>();
+        types.addAll(ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(Entity.class)));
+        types.addAll(ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(Embedded.class)));
+        for (final TypeElement type : types) {
+            final String name = processingEnv.getElementUtils().getBinaryName(type).toString();
+            processed.add(name);
+            if (type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT) && check(type)) {
+                indexed.add(name);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks the rules of {@link org.mongodb.morphia.mapping.validation.MappingValidator} which only depend on the class and the
+     * annotations of its fields.
+     *
+     * @return true if the class follows the rules
+     */
+    private boolean check(final TypeElement type) {
+        if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+            return error(type, "Cannot use non-static inner class: %s. Please make static.", type.getQualifiedName());
+        }
+
+        final List<VariableElement> ids = new ArrayList<VariableElement>();
+        final List<VariableElement> versions = new ArrayList<VariableElement>();
+        for (final VariableElement field : getMappedFields(type)) {
+            if (isAnnotated(field, Id.class.getName())) {
+                ids.add(field);
+            }
+            if (isAnnotated(field, Version.class.getName())) {
+                versions.add(field);
+            }
+        }
+
+        final boolean embedded = isAnnotated(type, Embedded.class.getName());
+        if (ids.isEmpty() && !embedded) {
+            return error(type, "No field is annotated with @Id; but it is required");
+        } else if (!ids.isEmpty() && embedded) {
+            return error(type, "@Embedded classes cannot specify a @Id field");
+        } else if (ids.size() > 1) {
+            return error(type, "More than one @Id Field found (%s).", ids);
+        } else if (versions.size() > 1) {
+            return error(type, "Multiple @Version annotations are not allowed. (%s)", versions);
+        }
+        return true;
+    }
+
+    private boolean error(final TypeElement type, final String message, final Object... args) {
+        processingEnv.getMessager().printMessage(Kind.ERROR, format(message, args), type);
+        return false;
+    }
+
+    /**
+     * @return the fields declared by the type and its superclasses, less those Morphia never maps
+     */
+    private List<VariableElement> getMappedFields(final TypeElement type) {
+        final List<VariableElement> fields = new ArrayList<VariableElement>();
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals(Object.class.getName())) {
+            for (final VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                final Set<Modifier> modifiers = field.getModifiers();
+                if (!modifiers.contains(Modifier.STATIC) && !modifiers.contains(Modifier.TRANSIENT)
+                    && !isAnnotated(field, Transient.class.getName())) {
+                    fields.add(field);
+                }
+            }
+            final TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        return fields;
+    }
+
+    /**
+     * Looks for an annotation on an element, including those a class inherits from its superclasses.
+     */
+    private boolean isAnnotated(final Element element, final String annotation) {
+        for (final AnnotationMirror mirror : processingEnv.getElementUtils().getAllAnnotationMirrors(element)) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeIndex() {
+        final Set<String> names = new TreeSet<String>(indexed);
+        names.addAll(readPreviousIndex());
+        try {
+            final FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                                                                                MappedClassIndex.LOCATION);
+            final PrintWriter writer = new PrintWriter(new OutputStreamWriter(resource.openOutputStream(), "UTF-8"));
+            try {
+                writer.println("# Generated by " + getClass().getName());
+                for (final String name : names) {
+                    writer.println(name);
+                }
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Kind.ERROR, "Could not write " + MappedClassIndex.LOCATION + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the classes listed by an earlier compilation which were not compiled this time and still exist
+     */
+    private Set<String> readPreviousIndex() {
+        final Set<String> previous = new TreeSet<String>();
+        try {
+            final FileObject resource = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+                                                                             MappedClassIndex.LOCATION);
+            MappedClassIndex.read(resource.toUri().toURL(), previous);
+        } catch (IOException e) {
+            // there is no earlier index
+            return previous;
+        } catch (IllegalArgumentException e) {
+            // the compiler's output is not somewhere a URL can point to
+            return previous;
+        }
+        final Set<String> kept = new TreeSet<String>();
+        for (final String name : previous) {
+            if (!processed.contains(name) && processingEnv.getElementUtils().getTypeElement(name.replace('$', '.')) != null) {
+                kept.add(name);
+            }
+        }
+        return kept;
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2016 MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.mongodb.morphia.processor;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mongodb.morphia.Morphia;
+import org.mongodb.morphia.internal.MappedClassIndex;
+import org.mongodb.morphia.mapping.MappingException;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MappedClassProcessorTest {
+    private static final String PERSON = "package com.example;\n"
+                                         + "import org.mongodb.morphia.annotations.*;\n"
+                                         + "@Entity public class Person {\n"
+                                         + "    @Id private String id;\n"
+                                         + "    @Version private Long version;\n"
+                                         + "    private Name name;\n"
+                                         + "    @Embedded public static class Name { private String first; }\n"
+                                         + "}\n";
+    private static final String ADDRESS = "package com.example;\n"
+                                          + "@org.mongodb.morphia.annotations.Embedded public class Address { private String city; }\n";
+    private static final String BASE = "package com.example;\n"
+                                       + "@org.mongodb.morphia.annotations.Entity public abstract class Base {\n"
+                                       + "    @org.mongodb.morphia.annotations.Id private String id;\n"
+                                       + "}\n";
+    private static final String CHILD = "package com.example;\n"
+                                        + "public class Child extends Base { private String name; }\n";
+    private static final String PLAIN = "package com.example;\n"
+                                        + "public class Plain { private String name; }\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void indexesConcreteMappedClasses() throws IOException {
+        final File output = folder.newFolder("classes");
+        assertCompiles(output, source("com/example/Person.java", PERSON), source("com/example/Address.java", ADDRESS),
+                       source("com/example/Base.java", BASE), source("com/example/Child.java", CHILD),
+                       source("com/example/Plain.java", PLAIN));
+
+        assertEquals(new LinkedHashSet<String>(Arrays.asList("com.example.Address", "com.example.Child", "com.example.Person",
+                                                             "com.example.Person$Name")),
+                     readIndex(output));
+    }
+
+    @Test
+    public void keepsClassesFromEarlierCompilations() throws IOException {
+        final File output = folder.newFolder("classes");
+        assertCompiles(output, source("com/example/Person.java", PERSON), source("com/example/Base.java", BASE));
+        assertCompiles(output, source("com/example/Address.java", ADDRESS));
+
+        assertEquals(new LinkedHashSet<String>(Arrays.asList("com.example.Address", "com.example.Person", "com.example.Person$Name")),
+                     readIndex(output));
+    }
+
+    @Test
+    public void rejectsInvalidClasses() throws IOException {
+        assertFails("No field is annotated with @Id", "@Entity public class Invalid { private String name; }");
+        assertFails("More than one @Id", "@Entity public class Invalid { @Id private String id; @Id private String other; }");
+        assertFails("@Embedded classes cannot specify a @Id field", "@Embedded public class Invalid { @Id private String id; }");
+        assertFails("Multiple @Version", "@Entity public class Invalid { @Id String id; @Version Long v1; @Version Long v2; }");
+        assertFails("non-static inner class", "public class Invalid { @Embedded class Inner { } }");
+    }
+
+    @Test
+    public void mapsPackagesFromTheIndex() throws Exception {
+        final File output = folder.newFolder("classes");
+        assertCompiles(output, source("com/example/Person.java", PERSON), source("com/example/Address.java", ADDRESS),
+                       source("com/invalid/Versioned.java", "package com.invalid;\n"
+                                                           + "import org.mongodb.morphia.annotations.*;\n"
+                                                           + "@Entity public class Versioned {\n"
+                                                           + "    @Id private String id;\n"
+                                                           + "    @Version private String version;\n"
+                                                           + "}\n"));
+        // compiled without the processor so it is only found by scanning the classpath
+        assertCompiles(output, false, source("com/example/Unindexed.java",
+                                             "package com.example;\n"
+                                             + "import org.mongodb.morphia.annotations.*;\n"
+                                             + "@Entity public class Unindexed { @Id private String id; }\n"));
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader original = thread.getContextClassLoader();
+        final URLClassLoader loader = new URLClassLoader(new URL[]{output.toURI().toURL()}, getClass().getClassLoader());
+        thread.setContextClassLoader(loader);
+        try {
+            try {
+                final Morphia invalid = new Morphia();
+                invalid.getMapper().getOptions().setUseMappedClassIndex(true);
+                invalid.getMapper().getOptions().setValidateIndexedClasses(false);
+                invalid.mapPackage("com.invalid");
+                fail("The @Version on a String should be found when the indexed classes are mapped");
+            } catch (MappingException e) {
+                // expected
+            }
+
+            final Morphia morphia = new Morphia();
+            morphia.getMapper().getOptions().setUseMappedClassIndex(true);
+            morphia.getMapper().getOptions().setValidateIndexedClasses(false);
+            morphia.mapPackage("com.example");
+            assertTrue(morphia.isMapped(loader.loadClass("com.example.Person")));
+            assertTrue(morphia.isMapped(loader.loadClass("com.example.Person$Name")));
+            assertFalse(morphia.isMapped(loader.loadClass("com.example.Unindexed")));
+
+            // the index is only read when asked for
+            final Morphia scanning = new Morphia();
+            scanning.getMapper().getOptions().setValidateIndexedClasses(false);
+            scanning.mapPackage("com.example");
+            assertTrue(scanning.isMapped(loader.loadClass("com.example.Unindexed")));
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+    }
+
+    private void assertFails(final String message, final String body) throws IOException {
+        final File output = folder.newFolder();
+        final DiagnosticCollector<JavaFileObject> diagnostics = compile(output, true, source("com/example/Invalid.java",
+            "package com.example;\nimport org.mongodb.morphia.annotations.*;\n" + body + "\n"));
+        final List<String> errors = new ArrayList<String>();
+        for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic.getMessage(null));
+            }
+        }
+        assertEquals(errors.toString(), 1, errors.size());
+        assertTrue(errors.get(0), errors.get(0).contains(message));
+        assertFalse(new File(output, MappedClassIndex.LOCATION).exists());
+    }
+
+    private void assertCompiles(final File output, final File... sources) throws IOException {
+        assertCompiles(output, true, sources);
+    }
+
+    private void assertCompiles(final File output, final boolean process, final File... sources) throws IOException {
+        final DiagnosticCollector<JavaFileObject> diagnostics = compile(output, process, sources);
+        for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            assertFalse(diagnostic.toString(), diagnostic.getKind() == Diagnostic.Kind.ERROR);
+        }
+    }
+
+    private DiagnosticCollector<JavaFileObject> compile(final File output, final boolean process, final File... sources)
+        throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        final StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+        try {
+            final String classpath = System.getProperty("java.class.path") + File.pathSeparator + output.getPath();
+            final List<String> options = new ArrayList<String>(Arrays.asList("-d", output.getPath(), "-classpath", classpath));
+            if (process) {
+                options.addAll(Arrays.asList("-processor", MappedClassProcessor.class.getName()));
+            } else {
+                options.add("-proc:none");
+            }
+            compiler.getTask(null, fileManager, diagnostics, options, null, fileManager.getJavaFileObjects(sources)).call();
+        } finally {
+            fileManager.close();
+        }
+        return diagnostics;
+    }
+
+    private Set<String> readIndex(final File output) throws IOException {
+        final Set<String> names = new LinkedHashSet<String>();
+        MappedClassIndex.read(new File(output, MappedClassIndex.LOCATION).toURI().toURL(), names);
+        return names;
+    }
+
+    private File source(final String path, final String content) throws IOException {
+        final File file = new File(folder.getRoot(), "src/" + path);
+        file.getParentFile().mkdirs();
+        final Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+        return file;
+    }
+}